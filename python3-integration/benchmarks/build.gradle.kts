@@ -0,0 +1,90 @@
+plugins {
+    `java-library`
+    id("me.champeau.jmh") version "0.7.2"
+}
+
+java {
+    toolchain {
+        languageVersion.set(JavaLanguageVersion.of(17))
+    }
+}
+
+// JMH microbenchmarks (v2.6.0) - not packaged into the module.
+// Run with: ./gradlew :benchmarks:jmh
+// Results are written to benchmarks/build/results/jmh/results.json - keep the file from each
+// release and compare runs with any JMH JSON diff/visualizer.
+dependencies {
+    jmh(projects.gateway)
+
+    // Provided by Ignition at runtime, needed on the benchmark classpath
+    jmh("com.google.code.gson:gson:2.10.1")
+    jmh("org.slf4j:slf4j-api:1.7.36")
+    jmh("org.slf4j:slf4j-nop:1.7.36")
+
+    // Pool load generator (src/main) - see loadTest below
+    implementation(projects.gateway)
+    implementation("com.google.code.gson:gson:2.10.1")
+    implementation("org.slf4j:slf4j-api:1.7.36")
+    runtimeOnly("org.slf4j:slf4j-nop:1.7.36")
+}
+
+jmh {
+    jmhVersion.set("1.37")
+    resultFormat.set("JSON")
+    fork.set(1)
+    warmupIterations.set(3)
+    iterations.set(5)
+
+    // Narrow the run, e.g. ./gradlew :benchmarks:jmh -Pjmh.includes=MetricsCollector
+    if (project.hasProperty("jmh.includes")) {
+        includes.set(listOf(project.property("jmh.includes").toString()))
+    }
+
+    // Executor / pool benchmarks start real Python processes ("python3" on the PATH by default),
+    // e.g. ./gradlew :benchmarks:jmh -Pjmh.python=/opt/python3.11/bin/python3
+    if (project.hasProperty("jmh.python")) {
+        jvmArgsAppend.add("-Dignition.python3.path=${project.property("jmh.python")}")
+    }
+}
+
+// Open-loop capacity test of Python3ProcessPool against the fake bridge (v2.6.0), e.g.
+// ./gradlew :benchmarks:loadTest -Pload.args="--pool=4 --rate=300 --arrivals=bursty --service=lognormal:5:0.8"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "Drives the process pool with open-loop load against a fake Python bridge"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.inductiveautomation.ignition.examples.python3.benchmarks.PoolLoadGenerator")
+    args = (project.findProperty("load.args")?.toString() ?: "").split(" ").filter { it.isNotBlank() }
+}
+
+// Fault-injection soak test of pool recovery against the real bridge (v2.6.0), e.g.
+// ./gradlew :benchmarks:soakTest -Psoak.args="--pool=4 --rate=50 --duration=300 --json=soak.json"
+tasks.register<JavaExec>("soakTest") {
+    group = "verification"
+    description = "Injects process faults under steady load and reports pool recovery times"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.inductiveautomation.ignition.examples.python3.benchmarks.PoolSoakTest")
+    args = (project.findProperty("soak.args")?.toString() ?: "").split(" ").filter { it.isNotBlank() }
+}
+
+// Replay of a gateway execution recording (-Dignition.python3.record=true) against pools of
+// different sizes (v2.6.0), e.g.
+// ./gradlew :benchmarks:replay -Preplay.args="--input=/path/to/recordings --pools=2,4,8 --speed=2"
+tasks.register<JavaExec>("replay") {
+    group = "verification"
+    description = "Re-drives a recorded execution trace against the process pool and fake Python bridge"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.inductiveautomation.ignition.examples.python3.benchmarks.TraceReplay")
+    args = (project.findProperty("replay.args")?.toString() ?: "").split(" ").filter { it.isNotBlank() }
+}
+
+// Concurrent save/restore/delete vs. lookup, history and search stress test of the script repository,
+// plus restore-then-compact and reload checks (v2.6.0), e.g.
+// ./gradlew :benchmarks:repositoryStressTest -Pstress.args="--readers=8 --writers=2 --duration=30"
+tasks.register<JavaExec>("repositoryStressTest") {
+    group = "verification"
+    description = "Checks script repository lookups, history and search stay consistent under concurrent changes"
+    classpath = sourceSets["main"].runtimeClasspath
+    mainClass.set("com.inductiveautomation.ignition.examples.python3.benchmarks.RepositoryStressTest")
+    args = (project.findProperty("stress.args")?.toString() ?: "").split(" ").filter { it.isNotBlank() }
+}
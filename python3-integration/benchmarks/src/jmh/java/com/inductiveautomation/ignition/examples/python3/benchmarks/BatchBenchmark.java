@@ -0,0 +1,81 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-item cost of small evaluations sent one request each vs. as a single batch request
+ * on one {@link Python3Executor}. Scores are per evaluation (OperationsPerInvocation = 100).
+ *
+ * v2.6.0: Added with executeBatch
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class BatchBenchmark {
+
+    private static final int ITEMS = 100;
+
+    private Python3Executor executor;
+    private Map<String, Object> variables;
+    private List<String> expressions;
+    private List<Map<String, Object>> operations;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        executor = new Python3Executor(BenchmarkSupport.pythonPath());
+        variables = Map.of("x", 1);
+        expressions = new ArrayList<>(ITEMS);
+        operations = new ArrayList<>(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            String expression = "x + " + i;
+            expressions.add(expression);
+
+            Map<String, Object> operation = new HashMap<>();
+            operation.put("command", "evaluate");
+            operation.put("expression", expression);
+            operation.put("variables", variables);
+            operations.add(operation);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public void sequential(Blackhole blackhole) throws Python3Exception {
+        for (String expression : expressions) {
+            blackhole.consume(executor.evaluate(expression, variables, "ADMIN"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ITEMS)
+    public Python3Result batch() throws Python3Exception {
+        return executor.executeBatch(operations, "ADMIN");
+    }
+}
@@ -0,0 +1,34 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+/**
+ * Shared settings for benchmarks that run against a real CPython.
+ *
+ * The interpreter defaults to "python3" on the PATH and can be overridden with
+ * ./gradlew :benchmarks:jmh -Pjmh.python=/path/to/python3 (passed to the forked JVM as
+ * -Dignition.python3.path).
+ *
+ * v2.6.0: Added for the executor / pool benchmarks
+ */
+final class BenchmarkSupport {
+
+    static final String PYTHON_PATH_PROPERTY = "ignition.python3.path";
+
+    private BenchmarkSupport() {
+    }
+
+    static String pythonPath() {
+        String path = System.getProperty(PYTHON_PATH_PROPERTY);
+        return path != null && !path.isBlank() ? path : "python3";
+    }
+
+    /**
+     * ASCII payload of the given length (deterministic, so results are comparable between runs).
+     */
+    static String payload(int length) {
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            sb.append((char) ('a' + (i % 26)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,78 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip latency of a single {@link Python3Executor} (one real Python process) for each
+ * command, across payload sizes. The payload is sent as a variable / argument and returned as
+ * the result, so both directions of the pipe and both JSON codecs carry it.
+ *
+ * Sample mode, so the JSON results include p50/p90/p99 per benchmark and payload size.
+ *
+ * v2.6.0: Added
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class ExecutorRoundTripBenchmark {
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    private Python3Executor executor;
+    private Map<String, Object> variables;
+    private List<Object> args;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        executor = new Python3Executor(BenchmarkSupport.pythonPath());
+        String payload = BenchmarkSupport.payload(payloadSize);
+        variables = Map.of("data", payload);
+        // json.loads of a JSON string literal: same payload in, same payload out
+        args = List.of("\"" + payload + "\"");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public boolean ping() {
+        return executor.ping();
+    }
+
+    @Benchmark
+    public Python3Result evaluate() throws Python3Exception {
+        return executor.evaluate("data", variables, "ADMIN");
+    }
+
+    @Benchmark
+    public Python3Result execute() throws Python3Exception {
+        return executor.execute("result = data", variables, "ADMIN");
+    }
+
+    @Benchmark
+    public Python3Result callModule() throws Python3Exception {
+        return executor.callModule("json", "loads", args, Map.of(), "ADMIN");
+    }
+}
@@ -0,0 +1,79 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonObject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of bridge requests and decoding of bridge responses, mirroring what
+ * Python3Executor.sendRequest does on every call (without the pipe).
+ *
+ * The payload is a string variable (typical of execute/evaluate) plus a list of numbers of
+ * the same element count in the result (typical of tag/table data returned to Ignition).
+ *
+ * v2.6.0: Added
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class GsonCodecBenchmark {
+
+    private static final Gson GSON = new Gson();
+
+    @Param({"16", "1024", "65536"})
+    public int payloadSize;
+
+    private Map<String, Object> request;
+    private String responseLine;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> variables = new HashMap<>();
+        variables.put("data", BenchmarkSupport.payload(payloadSize));
+        variables.put("count", payloadSize);
+
+        request = new HashMap<>();
+        request.put("command", "execute");
+        request.put("code", "result = {'data': data, 'values': list(range(count // 16))}");
+        request.put("variables", variables);
+        request.put("security_mode", "ADMIN");
+
+        List<Object> values = new ArrayList<>();
+        for (int i = 0; i < payloadSize / 16; i++) {
+            values.add(i * 1.5);
+        }
+        Map<String, Object> result = new HashMap<>();
+        result.put("data", BenchmarkSupport.payload(payloadSize));
+        result.put("values", values);
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("result", result);
+        responseLine = GSON.toJson(response);
+    }
+
+    @Benchmark
+    public String encodeRequest() {
+        return GSON.toJson(request);
+    }
+
+    @Benchmark
+    public Object decodeResponse() {
+        JsonObject response = GSON.fromJson(responseLine, JsonObject.class);
+        boolean success = response.has("success") && response.get("success").getAsBoolean();
+        return success ? GSON.fromJson(response.get("result"), Object.class) : null;
+    }
+}
@@ -0,0 +1,136 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3MetricsCollector;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of recording into {@link Python3MetricsCollector} from the process pool hot path.
+ *
+ * Each pooled call records one pool wait and one execution (or failure). The same benchmarks
+ * run single-threaded and at 8 / 32 threads; with contention-free recording the per-op time
+ * should stay flat as threads are added (well under 1 µs per op, i.e. far above 10k ops/sec).
+ *
+ * The collector's background scheduler is running, as it is in the Gateway, so snapshot and
+ * alert evaluation happen concurrently with recording.
+ *
+ * v2.6.0: Added with the lock-free metrics rework
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+public class MetricsCollectorBenchmark {
+
+    private static final String[] SCRIPTS = {
+        "Utils/Math", "Utils/Strings", "Reports/Daily", "Reports/Shift", null, null, null, null
+    };
+
+    private Python3MetricsCollector collector;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        collector = new Python3MetricsCollector();
+        collector.setPoolSize(8);
+        collector.start();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        collector.shutdown();
+    }
+
+    private static long sampleNanos() {
+        // 50 µs - 5 ms, the typical range of pooled evaluate/execute calls
+        return ThreadLocalRandom.current().nextLong(50_000L, 5_000_000L);
+    }
+
+    private static String sampleScript() {
+        return SCRIPTS[ThreadLocalRandom.current().nextInt(SCRIPTS.length)];
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordExecutionSingleThread() {
+        recordExecution();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordExecutionThreads8() {
+        recordExecution();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void recordExecutionThreads32() {
+        recordExecution();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void recordFailureSingleThread() {
+        recordFailure();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void recordFailureThreads8() {
+        recordFailure();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void pooledCallSingleThread() {
+        pooledCall();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public void pooledCallThreads8() {
+        pooledCall();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public void pooledCallThreads32() {
+        pooledCall();
+    }
+
+    /**
+     * Reader running alongside recording threads (REST /api/v1/metrics polling).
+     */
+    @Benchmark
+    @Threads(1)
+    public Object getMetrics() {
+        return collector.getMetrics();
+    }
+
+    private void recordExecution() {
+        collector.recordExecution(Python3MetricsCollector.COMMAND_EVALUATE, sampleScript(), sampleNanos());
+    }
+
+    private void recordFailure() {
+        collector.recordFailure(Python3MetricsCollector.COMMAND_EXECUTE, "NameError", sampleScript(), sampleNanos());
+    }
+
+    /**
+     * Everything the pool records around a single borrowed call.
+     */
+    private void pooledCall() {
+        collector.recordPoolWaitNanos(ThreadLocalRandom.current().nextLong(0L, 20_000L));
+        collector.incrementActiveExecutions();
+        collector.recordExecution(Python3MetricsCollector.COMMAND_EXECUTE, sampleScript(), sampleNanos());
+        collector.decrementActiveExecutions();
+    }
+}
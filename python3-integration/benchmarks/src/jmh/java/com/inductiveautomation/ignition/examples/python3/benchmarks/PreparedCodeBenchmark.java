@@ -0,0 +1,70 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Round-trip cost of re-sending (and re-compiling) the same script on every call vs. running it
+ * by prepared handle on one {@link Python3Executor}, for growing script sizes.
+ *
+ * v2.6.0: Added with prepared-code handles
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(1)
+public class PreparedCodeBenchmark {
+
+    private static final String HANDLE = "benchmark";
+
+    @Param({"10", "200", "2000"})
+    public int lines;
+
+    private Python3Executor executor;
+    private Map<String, Object> variables;
+    private String code;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        executor = new Python3Executor(BenchmarkSupport.pythonPath());
+        variables = Map.of("x", 1);
+
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < lines; i++) {
+            sb.append("v").append(i).append(" = x + ").append(i).append('\n');
+        }
+        sb.append("result = x\n");
+        code = sb.toString();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        executor.shutdown();
+    }
+
+    @Benchmark
+    public Python3Result execute() throws Python3Exception {
+        return executor.execute(code, variables, "ADMIN");
+    }
+
+    @Benchmark
+    public Python3Result executePrepared() throws Python3Exception {
+        return executor.executePrepared(HANDLE, code, variables, "ADMIN");
+    }
+}
@@ -0,0 +1,100 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3MetricsCollector;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ProcessPool;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * {@link Python3ProcessPool} under thread contention.
+ *
+ * borrowReturn* isolates the pool's own overhead (queue hand-off, health check, metrics);
+ * evaluate* adds a minimal Python round trip so the effect of pool size vs. caller count
+ * on end-to-end latency is visible. With more threads than executors the difference
+ * between the two is time spent queued for an executor.
+ *
+ * v2.6.0: Added
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ProcessPoolBenchmark {
+
+    @Param({"4"})
+    public int poolSize;
+
+    private Python3ProcessPool pool;
+    private Python3MetricsCollector collector;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        collector = new Python3MetricsCollector();
+        collector.start();
+        pool = new Python3ProcessPool(BenchmarkSupport.pythonPath(), poolSize, collector);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+        collector.shutdown();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Python3Executor borrowReturnSingleThread() throws InterruptedException, TimeoutException {
+        return borrowReturn();
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Python3Executor borrowReturnThreads8() throws InterruptedException, TimeoutException {
+        return borrowReturn();
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Python3Executor borrowReturnThreads32() throws InterruptedException, TimeoutException {
+        return borrowReturn();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Python3Result evaluateSingleThread() throws Python3Exception {
+        return pool.evaluate("1 + 1", Map.of(), "ADMIN");
+    }
+
+    @Benchmark
+    @Threads(8)
+    public Python3Result evaluateThreads8() throws Python3Exception {
+        return pool.evaluate("1 + 1", Map.of(), "ADMIN");
+    }
+
+    @Benchmark
+    @Threads(32)
+    public Python3Result evaluateThreads32() throws Python3Exception {
+        return pool.evaluate("1 + 1", Map.of(), "ADMIN");
+    }
+
+    private Python3Executor borrowReturn() throws InterruptedException, TimeoutException {
+        Python3Executor executor = pool.borrowExecutor(30, TimeUnit.SECONDS);
+        pool.returnExecutor(executor);
+        return executor;
+    }
+}
@@ -0,0 +1,104 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.google.gson.Gson;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ScriptRepository;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ScriptRepository.SavedScript;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ScriptSigner;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * {@link Python3ScriptRepository} lookups against repositories of different sizes.
+ *
+ * The index is written directly to a temporary directory in setup (saving scripts one at a
+ * time rewrites the whole index per save). Scripts are spread over 10 folders and looked up
+ * by name, by "Folder/Name" path and as a full listing, as the REST endpoints do.
+ *
+ * v2.6.0: Added
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+public class ScriptRepositoryBenchmark {
+
+    private static final int FOLDERS = 10;
+
+    @Param({"10", "100", "1000"})
+    public int scriptCount;
+
+    private Path directory;
+    private Python3ScriptRepository repository;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        directory = Files.createTempDirectory("python3-repo-bench");
+        Path scriptsDirectory = Files.createDirectories(directory.resolve("scripts"));
+
+        String now = Instant.now().toString();
+        Map<String, SavedScript> index = new HashMap<>();
+        for (int i = 0; i < scriptCount; i++) {
+            String name = scriptName(i);
+            String code = "def main(x):\n    return x * " + i + "\n\nresult = main(" + i + ")\n";
+            index.put(name, new SavedScript(name, name, code, "Benchmark script " + i, "bench", now, now,
+                    folder(i), "1.0", Python3ScriptSigner.signScript(code)));
+        }
+        Files.writeString(scriptsDirectory.resolve("index.json"), new Gson().toJson(index), StandardCharsets.UTF_8);
+
+        repository = new Python3ScriptRepository(directory);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) paths.sorted(Comparator.reverseOrder())::iterator) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static String scriptName(int i) {
+        return "script_" + i;
+    }
+
+    private static String folder(int i) {
+        return "Folder" + (i % FOLDERS);
+    }
+
+    @Benchmark
+    public SavedScript loadScriptByName() {
+        int i = ThreadLocalRandom.current().nextInt(scriptCount);
+        return repository.loadScript(scriptName(i));
+    }
+
+    @Benchmark
+    public SavedScript loadScriptByPath() {
+        int i = ThreadLocalRandom.current().nextInt(scriptCount);
+        return repository.loadScriptByPath(folder(i) + "/" + scriptName(i));
+    }
+
+    @Benchmark
+    public List<Python3ScriptRepository.ScriptMetadata> listScripts() {
+        return repository.listScripts();
+    }
+}
@@ -0,0 +1,356 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.google.gson.GsonBuilder;
+import com.inductiveautomation.ignition.examples.python3.gateway.LatencyHistogram;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3MetricsCollector;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ProcessPool;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3TimeoutException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-loop load generator for {@link Python3ProcessPool}, run against the fake bridge.
+ *
+ * Requests arrive on a schedule that does not depend on how fast the pool answers (Poisson,
+ * bursty or uniform), and response time is measured from the scheduled arrival, so queueing
+ * shows up in the results instead of silently lowering the offered load. Each request is an
+ * evaluate whose expression tells the fake bridge how long to "run" (or to fail, hang or
+ * crash), with service times drawn from a seeded distribution - the same arguments give the
+ * same workload on every run.
+ *
+ * <pre>
+ *   ./gradlew :benchmarks:loadTest -Pload.args="--pool=4 --rate=300 --duration=30 \
+ *       --arrivals=bursty --service=lognormal:5:0.8 --fail=0.01 --hang=0.001 --timeoutMs=2000"
+ * </pre>
+ *
+ * Options (all optional):
+ * <ul>
+ *   <li>--pool=N               executors in the pool (4)</li>
+ *   <li>--rate=R               mean arrivals per second (100)</li>
+ *   <li>--duration=S           seconds of arrivals (30)</li>
+ *   <li>--arrivals=TYPE        poisson | bursty | uniform (poisson)</li>
+ *   <li>--burst=F              bursty: rate multiplier during a burst (4)</li>
+ *   <li>--burstMs=MS / --periodMs=MS  bursty: burst length and cycle length (200 / 1000)</li>
+ *   <li>--service=DIST         const:MS | exp:MEAN | uniform:MIN:MAX | lognormal:MEDIAN:SIGMA (exp:5)</li>
+ *   <li>--fail=P / --hang=P / --crash=P  probability of an injected failure, hang or crash (0)</li>
+ *   <li>--timeoutMs=MS         executor response timeout (5000)</li>
+ *   <li>--seed=N               random seed (42)</li>
+ *   <li>--python=PATH          interpreter used to run the fake bridge (python3)</li>
+ *   <li>--json=FILE            also write the report as JSON</li>
+ * </ul>
+ *
+ * v2.6.0: Added for pool sizing and scheduling experiments
+ */
+public final class PoolLoadGenerator {
+
+    private PoolLoadGenerator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+
+        int poolSize = Integer.parseInt(options.getOrDefault("pool", "4"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "100"));
+        double durationSeconds = Double.parseDouble(options.getOrDefault("duration", "30"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        Arrivals arrivals = Arrivals.parse(options, rate, new Random(seed));
+        ServiceTime serviceTime = ServiceTime.parse(options.getOrDefault("service", "exp:5"));
+        Workload workload = new Workload(serviceTime,
+                Double.parseDouble(options.getOrDefault("fail", "0")),
+                Double.parseDouble(options.getOrDefault("hang", "0")),
+                Double.parseDouble(options.getOrDefault("crash", "0")),
+                new Random(seed + 1));
+
+        // Executors pick these up when the pool creates them
+        System.setProperty(Python3Executor.BRIDGE_SCRIPT_PROPERTY, extractFakeBridge().toString());
+        System.setProperty(Python3Executor.TIMEOUT_PROPERTY, options.getOrDefault("timeoutMs", "5000"));
+
+        Python3MetricsCollector collector = new Python3MetricsCollector();
+        Python3ProcessPool pool = new Python3ProcessPool(
+                options.getOrDefault("python", BenchmarkSupport.pythonPath()), poolSize, collector);
+
+        Report report = run(pool, arrivals, workload, durationSeconds);
+        report.put("pool_size", poolSize);
+        report.put("offered_rate", rate);
+        report.put("arrivals", options.getOrDefault("arrivals", "poisson"));
+        report.put("service", options.getOrDefault("service", "exp:5"));
+        Map<String, Object> metrics = collector.getMetrics();
+        report.put("pool_wait", metrics.get("pool_wait"));
+        report.put("executor_respawns", metrics.get("executor_respawns"));
+        report.put("acquire_timeouts", metrics.get("acquire_timeouts"));
+
+        pool.shutdown();
+
+        report.print();
+        if (options.containsKey("json")) {
+            Files.writeString(Path.of(options.get("json")),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(report.values), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Issue requests on the arrival schedule until the duration is over, then wait for
+     * the stragglers.
+     */
+    static Report run(Python3ProcessPool pool, Arrivals arrivals, Workload workload, double durationSeconds)
+            throws InterruptedException {
+        LatencyHistogram responseTime = LatencyHistogram.striped();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder timedOut = new LongAdder();
+        LongAdder unavailable = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // Unbounded: an arrival never waits for a free caller thread, only for an executor
+        ExecutorService callers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "LoadGen-Caller");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long start = System.nanoTime();
+        long end = start + (long) (durationSeconds * 1_000_000_000L);
+        long next = start;
+        long issued = 0;
+
+        while (true) {
+            next += arrivals.nextGapNanos(next - start);
+            if (next >= end) {
+                break;
+            }
+            long delay = next - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            long scheduled = next;
+            String directive = workload.nextDirective();
+            issued++;
+            callers.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Python3Result result = pool.evaluate(directive, Map.of(), "ADMIN");
+                    if (result.isSuccess()) {
+                        succeeded.increment();
+                    } else {
+                        failed.increment();
+                    }
+                } catch (Python3TimeoutException e) {
+                    timedOut.increment();
+                } catch (Python3Exception e) {
+                    unavailable.increment();
+                } finally {
+                    responseTime.recordNanos(System.nanoTime() - scheduled);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long arrivalsDone = System.nanoTime();
+        callers.shutdown();
+        callers.awaitTermination(5, TimeUnit.MINUTES);
+        long finished = System.nanoTime();
+
+        long completed = succeeded.sum() + failed.sum();
+        Report report = new Report();
+        report.put("issued", issued);
+        report.put("succeeded", succeeded.sum());
+        report.put("failed", failed.sum());
+        report.put("timed_out", timedOut.sum());
+        report.put("unavailable", unavailable.sum());
+        report.put("achieved_arrival_rate", issued / ((arrivalsDone - start) / 1e9));
+        report.put("throughput", completed / ((finished - start) / 1e9));
+        report.put("max_in_flight", maxInFlight.get());
+        report.put("response_time", responseTime.toMap());
+        return report;
+    }
+
+    static Path extractFakeBridge() throws IOException {
+        Path script = Files.createTempFile("fake_bridge", ".py");
+        script.toFile().deleteOnExit();
+        try (InputStream is = PoolLoadGenerator.class.getResourceAsStream("/fake_bridge.py")) {
+            if (is == null) {
+                throw new IOException("Could not find fake_bridge.py in resources");
+            }
+            Files.copy(is, script, StandardCopyOption.REPLACE_EXISTING);
+        }
+        return script;
+    }
+
+    static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--")) {
+                throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            if (eq < 0) {
+                options.put(arg.substring(2), "true");
+            } else {
+                options.put(arg.substring(2, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    /**
+     * Inter-arrival times for an open-loop schedule
+     */
+    interface Arrivals {
+
+        /**
+         * @param elapsedNanos time since the run started (for time-varying rates)
+         * @return nanoseconds until the next arrival
+         */
+        long nextGapNanos(long elapsedNanos);
+
+        static Arrivals parse(Map<String, String> options, double rate, Random random) {
+            String type = options.getOrDefault("arrivals", "poisson");
+            switch (type) {
+                case "uniform":
+                    return elapsed -> (long) (1e9 / rate);
+                case "poisson":
+                    return elapsed -> exponentialNanos(random, rate);
+                case "bursty":
+                    double burst = Double.parseDouble(options.getOrDefault("burst", "4"));
+                    long burstNanos = Long.parseLong(options.getOrDefault("burstMs", "200")) * 1_000_000L;
+                    long periodNanos = Long.parseLong(options.getOrDefault("periodMs", "1000")) * 1_000_000L;
+                    double burstFraction = (double) burstNanos / periodNanos;
+                    if (burst * burstFraction >= 1.0) {
+                        throw new IllegalArgumentException("burst * burstMs / periodMs must be < 1");
+                    }
+                    // Poisson with rate x burst inside each burst and a lower rate between
+                    // bursts, keeping the long-run mean equal to --rate
+                    double burstRate = rate * burst;
+                    double quietRate = rate * (1.0 - burst * burstFraction) / (1.0 - burstFraction);
+                    return elapsed -> exponentialNanos(random,
+                            elapsed % periodNanos < burstNanos ? burstRate : quietRate);
+                default:
+                    throw new IllegalArgumentException("Unknown arrivals: " + type);
+            }
+        }
+
+        private static long exponentialNanos(Random random, double ratePerSecond) {
+            return (long) (-Math.log(1.0 - random.nextDouble()) / ratePerSecond * 1e9);
+        }
+    }
+
+    /**
+     * Service time distribution in milliseconds
+     */
+    interface ServiceTime {
+
+        double nextMillis(Random random);
+
+        static ServiceTime parse(String spec) {
+            String[] parts = spec.split(":");
+            switch (parts[0]) {
+                case "const":
+                    double constant = Double.parseDouble(parts[1]);
+                    return random -> constant;
+                case "exp":
+                    double mean = Double.parseDouble(parts[1]);
+                    return random -> -Math.log(1.0 - random.nextDouble()) * mean;
+                case "uniform":
+                    double min = Double.parseDouble(parts[1]);
+                    double max = Double.parseDouble(parts[2]);
+                    return random -> min + random.nextDouble() * (max - min);
+                case "lognormal":
+                    double mu = Math.log(Double.parseDouble(parts[1]));
+                    double sigma = Double.parseDouble(parts[2]);
+                    return random -> Math.exp(mu + sigma * random.nextGaussian());
+                default:
+                    throw new IllegalArgumentException("Unknown service time distribution: " + spec);
+            }
+        }
+    }
+
+    /**
+     * Draws the fake bridge directive for each request
+     */
+    static final class Workload {
+        private final ServiceTime serviceTime;
+        private final double failProbability;
+        private final double hangProbability;
+        private final double crashProbability;
+        private final Random random;
+
+        Workload(ServiceTime serviceTime, double failProbability, double hangProbability,
+                 double crashProbability, Random random) {
+            this.serviceTime = serviceTime;
+            this.failProbability = failProbability;
+            this.hangProbability = hangProbability;
+            this.crashProbability = crashProbability;
+            this.random = random;
+        }
+
+        /**
+         * Only called from the arrival thread, so the shared Random keeps runs reproducible.
+         */
+        String nextDirective() {
+            double roll = random.nextDouble();
+            if (roll < crashProbability) {
+                return "crash";
+            }
+            roll -= crashProbability;
+            if (roll < hangProbability) {
+                return "hang";
+            }
+            roll -= hangProbability;
+            if (roll < failProbability) {
+                return "fail";
+            }
+            return String.format(Locale.ROOT, "sleep %.3f", serviceTime.nextMillis(random));
+        }
+    }
+
+    /**
+     * Ordered results of one run
+     */
+    static final class Report {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        void put(String key, Object value) {
+            values.put(key, value);
+        }
+
+        Map<String, Object> getValues() {
+            return values;
+        }
+
+        void print() {
+            print("Python3ProcessPool load test");
+        }
+
+        void print(String title) {
+            System.out.println("=== " + title + " ===");
+            for (Map.Entry<String, Object> entry : values.entrySet()) {
+                Object value = entry.getValue();
+                if (value instanceof Double) {
+                    value = String.format(Locale.ROOT, "%.1f", (Double) value);
+                }
+                System.out.printf("%-22s %s%n", entry.getKey(), value);
+            }
+        }
+    }
+}
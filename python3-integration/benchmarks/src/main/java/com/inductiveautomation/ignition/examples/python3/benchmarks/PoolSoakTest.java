@@ -0,0 +1,391 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.google.gson.GsonBuilder;
+import com.inductiveautomation.ignition.examples.python3.gateway.LatencyHistogram;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3MetricsCollector;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ProcessPool;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Collectors;
+
+/**
+ * Fault-injection soak test for {@link Python3ProcessPool} recovery.
+ *
+ * Steady open-loop traffic (Poisson, small evaluate calls against the real bridge) runs for the
+ * whole test while a fault is injected every --faultInterval seconds, cycling through:
+ * <ul>
+ *   <li>kill         SIGKILL a random Python child</li>
+ *   <li>stall        SIGSTOP a random Python child (stdout stops; requests time out)</li>
+ *   <li>stderr_flood a request that writes to fd 2 until the unread stderr pipe blocks it</li>
+ *   <li>memory       a request that allocates until RLIMIT_AS (ignition.python3.max.memory.mb) is hit</li>
+ * </ul>
+ *
+ * A monitor samples {@link Python3ProcessPool#getStats()} every 20 ms. For each fault the report
+ * gives the time until the pool noticed (healthy &lt; size), the time until it was back at full
+ * capacity, the requests that failed while it recovered, and p50/p99 latency during recovery
+ * against the fault-free baseline. Output is text plus an optional JSON file for tracking per
+ * release.
+ *
+ * <pre>
+ *   ./gradlew :benchmarks:soakTest -Psoak.args="--pool=4 --rate=50 --duration=300 --json=soak-2.6.0.json"
+ * </pre>
+ *
+ * Needs a Unix-like OS (kill -STOP, SIGKILL via ProcessHandle, RLIMIT_AS).
+ *
+ * v2.6.0: Added
+ */
+public final class PoolSoakTest {
+
+    private static final long MONITOR_INTERVAL_NANOS = 20_000_000L;
+    private static final long RECOVERY_LIMIT_NANOS = 120_000_000_000L;
+
+    private static final String STDERR_FLOOD_CODE = "import os\n"
+            + "chunk = b'E' * 65536\n"
+            + "for _ in range(1024):\n"
+            + "    os.write(2, chunk)\n"
+            + "result = 'flooded'\n";
+    private static final String MEMORY_CODE = "blocks = []\n"
+            + "while True:\n"
+            + "    blocks.append(bytearray(16 * 1024 * 1024))\n";
+
+    private PoolSoakTest() {
+    }
+
+    /**
+     * Kinds of injected fault, used in rotation
+     */
+    enum Fault {
+        KILL, STALL, STDERR_FLOOD, MEMORY
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int poolSize = Integer.parseInt(options.getOrDefault("pool", "4"));
+        double rate = Double.parseDouble(options.getOrDefault("rate", "50"));
+        long durationNanos = (long) (Double.parseDouble(options.getOrDefault("duration", "120")) * 1e9);
+        long faultIntervalNanos = (long) (Double.parseDouble(options.getOrDefault("faultInterval", "15")) * 1e9);
+        long warmupNanos = (long) (Double.parseDouble(options.getOrDefault("warmup", "5")) * 1e9);
+        Random random = new Random(Long.parseLong(options.getOrDefault("seed", "42")));
+
+        // Short response timeout so stalls are detected within the test
+        System.setProperty(Python3Executor.TIMEOUT_PROPERTY, options.getOrDefault("timeoutMs", "2000"));
+
+        Python3MetricsCollector collector = new Python3MetricsCollector();
+        Python3ProcessPool pool = new Python3ProcessPool(
+                options.getOrDefault("python", BenchmarkSupport.pythonPath()), poolSize, collector);
+
+        ConcurrentLinkedQueue<long[]> samples = new ConcurrentLinkedQueue<>();
+        ConcurrentLinkedQueue<long[]> capacity = new ConcurrentLinkedQueue<>();
+        List<FaultRecord> faults = new ArrayList<>();
+
+        ExecutorService callers = Executors.newCachedThreadPool(daemon("Soak-Caller"));
+        Thread monitor = daemon("Soak-Monitor").newThread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                Python3ProcessPool.PoolStats stats = pool.getStats();
+                capacity.add(new long[]{System.nanoTime(), stats.healthy, stats.totalSize});
+                LockSupport.parkNanos(MONITOR_INTERVAL_NANOS);
+            }
+        });
+        monitor.start();
+
+        long start = System.nanoTime();
+        long end = start + durationNanos;
+        long nextArrival = start;
+        long nextFault = start + warmupNanos;
+        int faultIndex = 0;
+
+        while (true) {
+            nextArrival += (long) (-Math.log(1.0 - random.nextDouble()) / rate * 1e9);
+            if (nextArrival >= end) {
+                break;
+            }
+            if (nextFault <= nextArrival && nextFault < end - faultIntervalNanos / 2) {
+                Fault fault = Fault.values()[faultIndex++ % Fault.values().length];
+                FaultRecord record = new FaultRecord(fault, System.nanoTime());
+                record.detail = inject(fault, pool, callers, random);
+                faults.add(record);
+                nextFault += faultIntervalNanos;
+            }
+
+            long delay = nextArrival - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+            long scheduled = nextArrival;
+            callers.execute(() -> {
+                boolean ok = false;
+                try {
+                    Python3Result result = pool.evaluate("sum(range(1000))", Map.of(), "ADMIN");
+                    ok = result.isSuccess();
+                } catch (Python3Exception e) {
+                    ok = false;
+                } finally {
+                    samples.add(new long[]{scheduled, System.nanoTime() - scheduled, ok ? 1 : 0});
+                }
+            });
+        }
+
+        callers.shutdown();
+        callers.awaitTermination(5, TimeUnit.MINUTES);
+        // Let the last fault finish recovering (health check runs every 30 s)
+        waitForFullCapacity(pool, poolSize, RECOVERY_LIMIT_NANOS);
+        monitor.interrupt();
+        monitor.join();
+
+        Map<String, Object> report = buildReport(options, poolSize, rate, start, faults,
+                new ArrayList<>(samples), new ArrayList<>(capacity), collector);
+        pool.shutdown();
+
+        print(report);
+        if (options.containsKey("json")) {
+            Files.writeString(Path.of(options.get("json")),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(report), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Inject one fault. Request-based faults are submitted like normal traffic.
+     *
+     * @return a short description (e.g. the affected PID)
+     */
+    private static String inject(Fault fault, Python3ProcessPool pool, ExecutorService callers, Random random)
+            throws IOException {
+        switch (fault) {
+            case KILL: {
+                ProcessHandle child = randomChild(random);
+                if (child == null) {
+                    return "no child";
+                }
+                child.destroyForcibly();
+                return "pid " + child.pid();
+            }
+            case STALL: {
+                ProcessHandle child = randomChild(random);
+                if (child == null) {
+                    return "no child";
+                }
+                new ProcessBuilder("kill", "-STOP", Long.toString(child.pid())).inheritIO().start();
+                return "pid " + child.pid();
+            }
+            case STDERR_FLOOD:
+                callers.execute(() -> runQuietly(pool, STDERR_FLOOD_CODE));
+                return "64 MB to stderr";
+            case MEMORY:
+                callers.execute(() -> runQuietly(pool, MEMORY_CODE));
+                return "allocate until RLIMIT_AS";
+            default:
+                throw new IllegalArgumentException("Unknown fault: " + fault);
+        }
+    }
+
+    private static void runQuietly(Python3ProcessPool pool, String code) {
+        try {
+            pool.execute(code, Map.of(), "ADMIN");
+        } catch (Python3Exception e) {
+            // Expected - the fault is the point
+        }
+    }
+
+    private static ProcessHandle randomChild(Random random) {
+        // Only the bridge processes, not e.g. a "kill" helper started by a previous fault
+        List<ProcessHandle> children = ProcessHandle.current().children()
+                .filter(ProcessHandle::isAlive)
+                .filter(child -> child.info().commandLine().map(cmd -> cmd.contains("python")).orElse(true))
+                .collect(Collectors.toList());
+        return children.isEmpty() ? null : children.get(random.nextInt(children.size()));
+    }
+
+    private static void waitForFullCapacity(Python3ProcessPool pool, int poolSize, long limitNanos) {
+        long deadline = System.nanoTime() + limitNanos;
+        while (System.nanoTime() < deadline) {
+            Python3ProcessPool.PoolStats stats = pool.getStats();
+            if (stats.healthy >= poolSize) {
+                return;
+            }
+            LockSupport.parkNanos(MONITOR_INTERVAL_NANOS * 10);
+        }
+    }
+
+    private static Map<String, Object> buildReport(Map<String, String> options, int poolSize, double rate, long start,
+                                                   List<FaultRecord> faults, List<long[]> samples,
+                                                   List<long[]> capacity, Python3MetricsCollector collector) {
+        // Recovery window per fault: injection -> first sample back at full capacity after it degraded
+        for (FaultRecord fault : faults) {
+            for (long[] point : capacity) {
+                if (point[0] < fault.injectedNanos) {
+                    continue;
+                }
+                boolean full = point[1] >= point[2];
+                if (!full && fault.detectedNanos == 0L) {
+                    fault.detectedNanos = point[0];
+                } else if (full && fault.detectedNanos != 0L) {
+                    fault.recoveredNanos = point[0];
+                    break;
+                }
+            }
+        }
+
+        LatencyHistogram baseline = new LatencyHistogram();
+        long baselineFailed = 0;
+        for (long[] sample : samples) {
+            FaultRecord fault = windowFor(faults, sample[0]);
+            if (fault == null) {
+                baseline.recordNanos(sample[1]);
+                baselineFailed += sample[2] == 0 ? 1 : 0;
+            } else {
+                fault.latency.recordNanos(sample[1]);
+                fault.failed += sample[2] == 0 ? 1 : 0;
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("module_version", options.getOrDefault("version", "unknown"));
+        report.put("timestamp", Instant.now().toString());
+        report.put("pool_size", poolSize);
+        report.put("rate", rate);
+        report.put("requests", samples.size());
+        report.put("baseline_failed", baselineFailed);
+        report.put("baseline_latency", baseline.toMap());
+
+        double p50Baseline = baseline.getValueAtPercentile(50.0);
+        List<Map<String, Object>> faultReports = new ArrayList<>();
+        Map<Fault, List<Double>> recoveryByType = new HashMap<>();
+        for (FaultRecord fault : faults) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("fault", fault.fault.name().toLowerCase(Locale.ROOT));
+            entry.put("detail", fault.detail);
+            entry.put("at_s", round((fault.injectedNanos - start) / 1e9));
+            entry.put("time_to_detect_ms", fault.detectedNanos != 0L
+                    ? round((fault.detectedNanos - fault.injectedNanos) / 1e6) : null);
+            Double recoveryMs = fault.recoveredNanos != 0L
+                    ? round((fault.recoveredNanos - fault.injectedNanos) / 1e6) : null;
+            entry.put("time_to_full_capacity_ms", recoveryMs);
+            entry.put("failed_requests", fault.failed);
+            entry.put("latency", fault.latency.toMap());
+            long p50 = fault.latency.getValueAtPercentile(50.0);
+            entry.put("p50_inflation", p50Baseline > 0 && fault.latency.getCount() > 0
+                    ? round(p50 / p50Baseline) : null);
+            faultReports.add(entry);
+            if (recoveryMs != null) {
+                recoveryByType.computeIfAbsent(fault.fault, f -> new ArrayList<>()).add(recoveryMs);
+            }
+        }
+        report.put("faults", faultReports);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        for (Fault type : Fault.values()) {
+            List<Double> times = recoveryByType.getOrDefault(type, List.of());
+            long injected = faults.stream().filter(f -> f.fault == type).count();
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("injected", injected);
+            entry.put("degraded", faults.stream().filter(f -> f.fault == type && f.detectedNanos != 0L).count());
+            entry.put("recovered", times.size());
+            entry.put("max_time_to_full_capacity_ms", times.stream().mapToDouble(Double::doubleValue).max().orElse(0.0));
+            entry.put("failed_requests", faults.stream().filter(f -> f.fault == type).mapToLong(f -> f.failed).sum());
+            summary.put(type.name().toLowerCase(Locale.ROOT), entry);
+        }
+        report.put("summary", summary);
+
+        Map<String, Object> metrics = collector.getMetrics();
+        report.put("executor_respawns", metrics.get("executor_respawns"));
+        report.put("execution_timeouts", metrics.get("execution_timeouts"));
+        report.put("acquire_timeouts", metrics.get("acquire_timeouts"));
+        return report;
+    }
+
+    /**
+     * The fault whose recovery window contains the given time, if any. A fault the pool never
+     * noticed has no window; one that never recovered extends to the end of the test.
+     */
+    private static FaultRecord windowFor(List<FaultRecord> faults, long nanos) {
+        for (FaultRecord fault : faults) {
+            if (fault.detectedNanos == 0L || nanos < fault.injectedNanos) {
+                continue;
+            }
+            if (fault.recoveredNanos == 0L || nanos <= fault.recoveredNanos) {
+                return fault;
+            }
+        }
+        return null;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void print(Map<String, Object> report) {
+        System.out.println("=== Python3ProcessPool soak test ===");
+        for (Map.Entry<String, Object> entry : report.entrySet()) {
+            if (entry.getKey().equals("faults")) {
+                System.out.println("faults:");
+                for (Map<String, Object> fault : (List<Map<String, Object>>) entry.getValue()) {
+                    System.out.printf("  %-13s t=%-7s detect=%-9s full=%-9s failed=%-4s p50x=%s  (%s)%n",
+                            fault.get("fault"), fault.get("at_s"), fault.get("time_to_detect_ms"),
+                            fault.get("time_to_full_capacity_ms"), fault.get("failed_requests"),
+                            fault.get("p50_inflation"), fault.get("detail"));
+                }
+            } else {
+                System.out.printf("%-20s %s%n", entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    private static ThreadFactory daemon(String name) {
+        return r -> {
+            Thread t = new Thread(r, name);
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+
+    /**
+     * One injected fault and what happened after it
+     */
+    private static final class FaultRecord {
+        final Fault fault;
+        final long injectedNanos;
+        final LatencyHistogram latency = new LatencyHistogram();
+        String detail;
+        long detectedNanos;
+        long recoveredNanos;
+        long failed;
+
+        FaultRecord(Fault fault, long injectedNanos) {
+            this.fault = fault;
+            this.injectedNanos = injectedNanos;
+        }
+    }
+}
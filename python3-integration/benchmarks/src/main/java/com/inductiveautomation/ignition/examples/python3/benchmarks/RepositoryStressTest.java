@@ -0,0 +1,379 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ScriptRepository;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Concurrency stress test for {@link Python3ScriptRepository}.
+ *
+ * Writer threads save (often moving scripts between folders), restore old revisions of and delete
+ * a fixed set of script names while reader threads hammer every lookup path: loadScript (signature
+ * check), loadScriptByPath (exact and case-insensitive), resolveImport, listScripts, history and
+ * search. Readers check each answer is internally consistent: a script found by path is at that
+ * path, its code (current or any revision, rebuilt from deltas or not) belongs to the requested
+ * name, its signature verifies, and search only returns scripts whose code matches. Scripts are
+ * large enough that superseded revisions are stored as deltas while all this runs. At the end the
+ * in-memory index is compared with a fresh repository loaded from disk (snapshot plus journal
+ * replay, then compaction): same scripts and revision, every revision readable, search finding
+ * every script, and no changes reported since the reloaded revision.
+ *
+ * A second, single-threaded phase saves two large revisions of each script, restores the first
+ * right after it was superseded (while the delta for it may still be being stored) and saves a
+ * third, then reopens the repository twice so compaction sweeps the bodies. Every history entry
+ * must still read back as the code saved at that revision.
+ *
+ * <pre>
+ *   ./gradlew :benchmarks:repositoryStressTest -Pstress.args="--readers=8 --writers=2 --duration=30"
+ * </pre>
+ *
+ * Exits with status 1 if any inconsistency or unexpected exception was seen.
+ *
+ * v2.6.0: Added with the snapshot index
+ */
+public final class RepositoryStressTest {
+
+    private static final String[] FOLDERS = {"", "Lib", "Lib/Util", "Reports/Daily"};
+
+    private RepositoryStressTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        int readers = Integer.parseInt(options.getOrDefault("readers", "8"));
+        int writers = Integer.parseInt(options.getOrDefault("writers", "2"));
+        int names = Integer.parseInt(options.getOrDefault("scripts", "200"));
+        long durationNanos = (long) (Double.parseDouble(options.getOrDefault("duration", "20")) * 1e9);
+
+        Path directory = Files.createTempDirectory("python3-repository-stress");
+        Python3ScriptRepository repository = new Python3ScriptRepository(directory);
+        for (int i = 0; i < names; i++) {
+            repository.saveScript(name(i), code(i, 0), "", "stress", FOLDERS[i % FOLDERS.length], "1.0");
+        }
+
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        LongAdder misses = new LongAdder();
+        ConcurrentLinkedQueue<String> violations = new ConcurrentLinkedQueue<>();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch done = new CountDownLatch(readers + writers);
+        List<Thread> threads = new ArrayList<>();
+
+        for (int w = 0; w < writers; w++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                long version = 0;
+                try {
+                    while (running.get()) {
+                        int i = random.nextInt(names);
+                        int action = random.nextInt(20);
+                        if (action < 2) {
+                            repository.deleteScript(name(i));
+                        } else if (action == 2) {
+                            try {
+                                repository.restoreRevision(name(i), 1, "stress");
+                            } catch (IllegalArgumentException e) {
+                                // deleted meanwhile
+                            }
+                        } else {
+                            repository.saveScript(name(i), code(i, ++version), "", "stress",
+                                    FOLDERS[random.nextInt(FOLDERS.length)], "1.0");
+                        }
+                        writes.increment();
+                    }
+                } catch (Exception e) {
+                    violations.add("writer: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, "Stress-Writer-" + w));
+        }
+
+        for (int r = 0; r < readers; r++) {
+            threads.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                try {
+                    while (running.get()) {
+                        int i = random.nextInt(names);
+                        String folder = FOLDERS[random.nextInt(FOLDERS.length)];
+                        String path = folder.isEmpty() ? name(i) : folder + "/" + name(i);
+                        if (random.nextBoolean()) {
+                            path = path.toLowerCase();
+                        }
+                        check(repository, i, path, violations, misses);
+                        if (random.nextInt(50) == 0) {
+                            checkHistory(repository, i, violations, misses);
+                        }
+                        if (random.nextInt(100) == 0) {
+                            checkSearch(repository, i, violations);
+                        }
+                        if (random.nextInt(100) == 0) {
+                            repository.listScripts().forEach(meta -> {
+                                if (meta.getName() == null) {
+                                    violations.add("listScripts returned a script without a name");
+                                }
+                            });
+                        }
+                        reads.increment();
+                    }
+                } catch (Exception e) {
+                    violations.add("reader: " + e);
+                } finally {
+                    done.countDown();
+                }
+            }, "Stress-Reader-" + r));
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        Thread.sleep(durationNanos / 1_000_000L);
+        running.set(false);
+        done.await();
+        double seconds = (System.nanoTime() - start) / 1e9;
+
+        // The published snapshot must match what was persisted (snapshot plus journal replay)
+        repository.close();
+        Python3ScriptRepository reloaded = new Python3ScriptRepository(directory);
+        if (reloaded.getScriptCount() != repository.getScriptCount()) {
+            violations.add("reloaded repository has " + reloaded.getScriptCount() + " scripts, memory has "
+                    + repository.getScriptCount());
+        }
+        if (reloaded.getRevision() != repository.getRevision()) {
+            violations.add("reloaded repository is at revision " + reloaded.getRevision() + ", memory at "
+                    + repository.getRevision());
+        }
+        for (Python3ScriptRepository.ScriptMetadata meta : repository.listScripts()) {
+            String path = meta.getFolderPath().isEmpty() ? meta.getName() : meta.getFolderPath() + "/" + meta.getName();
+            if (repository.loadScriptByPath(path) == null || reloaded.loadScriptByPath(path) == null) {
+                violations.add("listed script not found by path after the run: " + path);
+            }
+        }
+        LongAdder ignoredMisses = new LongAdder();
+        for (int i = 0; i < names; i++) {
+            if (reloaded.exists(name(i))) {
+                checkHistory(reloaded, i, violations, ignoredMisses);
+                if (!searchFinds(reloaded, i)) {
+                    violations.add("search of the reloaded repository does not find " + name(i));
+                }
+            }
+        }
+        if (ignoredMisses.sum() > 0) {
+            violations.add(ignoredMisses.sum() + " history reads missed on the reloaded repository");
+        }
+        Python3ScriptRepository.ScriptChanges changes = reloaded.changesSince(reloaded.getRevision());
+        if (changes.isReset() || !changes.getAdded().isEmpty() || !changes.getUpdated().isEmpty()
+                || !changes.getDeleted().isEmpty()) {
+            violations.add("reloaded repository reports changes since its own revision");
+        }
+
+        System.out.println("=== Python3ScriptRepository stress test ===");
+        System.out.printf("%-20s %d readers, %d writers, %d script names%n", "threads", readers, writers, names);
+        System.out.printf("%-20s %.0f/s (%d)%n", "reads", reads.sum() / seconds, reads.sum());
+        System.out.printf("%-20s %.0f/s (%d)%n", "writes", writes.sum() / seconds, writes.sum());
+        System.out.printf("%-20s %d%n", "lookup misses", misses.sum());
+        System.out.printf("%-20s %d%n", "lookup violations", violations.size());
+
+        reloaded.close();
+        deleteRecursively(directory);
+
+        checkRestoreThenCompact(violations);
+        System.out.printf("%-20s %d%n", "violations", violations.size());
+        violations.stream().limit(20).forEach(v -> System.out.println("  " + v));
+        if (!violations.isEmpty()) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Save A, save B, restore A at once (while A may still be being stored as a delta against B), then
+     * save C so A is superseded again. After compaction every revision must read back - an old revision
+     * must never end up rebuilt from a revision that is itself rebuilt from it.
+     */
+    private static void checkRestoreThenCompact(ConcurrentLinkedQueue<String> violations) throws Exception {
+        Path directory = Files.createTempDirectory("python3-repository-restore");
+        int scripts = 100;
+        String[] variants = {"a", "b", "a", "c"};
+        Python3ScriptRepository repository = new Python3ScriptRepository(directory);
+        for (int i = 0; i < scripts; i++) {
+            repository.saveScript(name(i), largeCode(i, "a"), "", "stress", "", "1.0");
+            repository.saveScript(name(i), largeCode(i, "b"), "", "stress", "", "1.0");
+            repository.restoreRevision(name(i), 1, "stress");
+            repository.saveScript(name(i), largeCode(i, "c"), "", "stress", "", "1.0");
+        }
+        Thread.sleep(500);  // let the queued deltas be stored
+        repository.close();
+
+        // Each reopen compacts, and the sweep may drop full copies that have a delta
+        new Python3ScriptRepository(directory).close();
+        Python3ScriptRepository reloaded = new Python3ScriptRepository(directory);
+        for (int i = 0; i < scripts; i++) {
+            List<Python3ScriptRepository.ScriptRevision> history = reloaded.listHistory(name(i));
+            if (history.size() != variants.length) {
+                violations.add(name(i) + " has " + history.size() + " revisions, expected " + variants.length);
+                continue;
+            }
+            for (Python3ScriptRepository.ScriptRevision revision : history) {
+                String expected = largeCode(i, variants[revision.getRevision() - 1]);
+                try {
+                    if (!expected.equals(reloaded.loadRevision(name(i), revision.getRevision()))) {
+                        violations.add(name(i) + " r" + revision.getRevision() + " read back different code");
+                    }
+                } catch (RuntimeException | StackOverflowError e) {
+                    violations.add(name(i) + " r" + revision.getRevision() + " unreadable after compaction: " + e);
+                }
+            }
+        }
+        reloaded.close();
+        deleteRecursively(directory);
+    }
+
+    /**
+     * A script big enough that a one-line change is stored as a delta
+     */
+    private static String largeCode(int i, String variant) {
+        StringBuilder code = new StringBuilder(codePrefix(i));
+        for (int line = 0; line < 2000; line++) {
+            code.append("value_").append(line).append(" = ").append(line).append('\n');
+        }
+        return code.append("variant = '").append(variant).append("'\n").toString();
+    }
+
+    /**
+     * One read of each kind for script i; misses are expected (moved or deleted), torn answers are not
+     */
+    private static void check(Python3ScriptRepository repository, int i, String path,
+                              ConcurrentLinkedQueue<String> violations, LongAdder misses) {
+        Python3ScriptRepository.SavedScript byPath = repository.loadScriptByPath(path);
+        if (byPath == null) {
+            misses.increment();
+        } else if (!byPath.getPath().equalsIgnoreCase(path) || !byPath.getCode().startsWith(codePrefix(i))) {
+            violations.add("loadScriptByPath(" + path + ") returned " + byPath.getPath());
+        }
+
+        try {
+            Python3ScriptRepository.SavedScript byName = repository.loadScript(name(i));
+            if (byName != null && !byName.getCode().startsWith(codePrefix(i))) {
+                violations.add("loadScript(" + name(i) + ") returned code for another script");
+            }
+
+            Map<String, Object> resolved = repository.resolveImport(path);
+            if (resolved != null && "module".equals(resolved.get("kind"))
+                    && !resolved.get("code").toString().startsWith(codePrefix(i))) {
+                violations.add("resolveImport(" + path + ") returned code for another script");
+            }
+        } catch (SecurityException e) {
+            violations.add("signature check failed for " + name(i) + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Every revision of script i must read back as code of script i. A script deleted (or deleted and
+     * re-created) between listing and reading is a miss; a revision that cannot be rebuilt is not.
+     */
+    private static void checkHistory(Python3ScriptRepository repository, int i,
+                                     ConcurrentLinkedQueue<String> violations, LongAdder misses) {
+        List<Python3ScriptRepository.ScriptRevision> history;
+        try {
+            history = repository.listHistory(name(i));
+        } catch (IOException | RuntimeException e) {
+            violations.add("listHistory(" + name(i) + ") failed: " + e);
+            return;
+        }
+        if (history == null) {
+            misses.increment();
+            return;
+        }
+        for (Python3ScriptRepository.ScriptRevision revision : history) {
+            try {
+                String code = repository.loadRevision(name(i), revision.getRevision());
+                if (!code.startsWith(codePrefix(i))) {
+                    violations.add(name(i) + " r" + revision.getRevision() + " returned code for another script");
+                }
+            } catch (IllegalArgumentException e) {
+                misses.increment();
+                return;
+            } catch (IOException | RuntimeException | StackOverflowError e) {
+                violations.add(name(i) + " r" + revision.getRevision() + " unreadable: " + e);
+            }
+        }
+    }
+
+    /**
+     * Search for script i's first line may miss it (deleted meanwhile) but must not return another script
+     */
+    private static void checkSearch(Python3ScriptRepository repository, int i,
+                                    ConcurrentLinkedQueue<String> violations) {
+        for (Python3ScriptRepository.ScriptSearchResult result : repository.search(firstLinePattern(i), true,
+                true, 1)) {
+            if (!result.getName().equals(name(i))) {
+                violations.add("search for " + name(i) + " returned " + result.getPath());
+            }
+        }
+    }
+
+    private static boolean searchFinds(Python3ScriptRepository repository, int i) {
+        for (Python3ScriptRepository.ScriptSearchResult result : repository.search(firstLinePattern(i), true,
+                true, 1)) {
+            if (result.getName().equals(name(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String firstLinePattern(int i) {
+        return "^# script " + i + "$";
+    }
+
+    private static String name(int i) {
+        return "Script" + i;
+    }
+
+    private static String codePrefix(int i) {
+        return "# script " + i + "\n";
+    }
+
+    /**
+     * Script i at a version: a fixed body (so old revisions are stored as deltas) and a result line
+     */
+    private static String code(int i, long version) {
+        StringBuilder code = new StringBuilder(codePrefix(i));
+        for (int line = 0; line < 40; line++) {
+            code.append("value_").append(line).append(" = ").append(i * line).append('\n');
+        }
+        return code.append("result = ").append(version).append('\n').toString();
+    }
+
+    private static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.deleteIfExists(path);
+            }
+        }
+    }
+
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0) {
+                throw new IllegalArgumentException("Expected --name=value, got: " + arg);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        return options;
+    }
+}
@@ -0,0 +1,261 @@
+package com.inductiveautomation.ignition.examples.python3.benchmarks;
+
+import com.google.gson.GsonBuilder;
+import com.inductiveautomation.ignition.examples.python3.gateway.LatencyHistogram;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Exception;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ExecutionRecorder;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Executor;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3MetricsCollector;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3ProcessPool;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3Result;
+import com.inductiveautomation.ignition.examples.python3.gateway.Python3TimeoutException;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Re-drives a production execution recording ({@link Python3ExecutionRecorder}) against the
+ * fake bridge, to answer "what pool size does this traffic need?" before changing a gateway.
+ *
+ * Every recorded execution is issued open-loop at its recorded arrival time (divided by the
+ * speed multiplier) and holds an executor for its recorded service time, so the replay keeps
+ * the real burstiness and service time mix while the pool size is varied. Failed executions are
+ * replayed as failures after the same service time and timeouts as hangs. Requests that never
+ * got an executor in production have no service time and are replayed as no-ops.
+ *
+ * Recorded service time is the whole executor hold time (IPC included) and the replay adds its
+ * own IPC on top, so replays are slightly pessimistic for sub-millisecond scripts.
+ *
+ * <pre>
+ *   ./gradlew :benchmarks:replay -Preplay.args="--input=/path/to/recordings --pools=2,4,8 --speed=2"
+ * </pre>
+ *
+ * Options:
+ * <ul>
+ *   <li>--input=PATH           recording file or directory of recordings (required)</li>
+ *   <li>--pools=N[,N...]       pool sizes to replay against, one run each (4)</li>
+ *   <li>--speed=F              arrival speed multiplier; 2 replays the trace in half the time (1)</li>
+ *   <li>--serviceScale=F       multiplier for recorded service times (1)</li>
+ *   <li>--limit=N              replay only the first N records</li>
+ *   <li>--timeoutMs=MS         executor response timeout (30000)</li>
+ *   <li>--python=PATH          interpreter used to run the fake bridge (python3)</li>
+ *   <li>--json=FILE            also write the reports as JSON</li>
+ * </ul>
+ *
+ * v2.6.0: Added for record-and-replay capacity planning
+ */
+public final class TraceReplay {
+
+    private TraceReplay() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = PoolLoadGenerator.parseOptions(args);
+        if (!options.containsKey("input")) {
+            throw new IllegalArgumentException("--input=<recording file or directory> is required");
+        }
+
+        double speed = Double.parseDouble(options.getOrDefault("speed", "1"));
+        double serviceScale = Double.parseDouble(options.getOrDefault("serviceScale", "1"));
+        if (speed <= 0 || serviceScale < 0) {
+            throw new IllegalArgumentException("--speed must be > 0 and --serviceScale >= 0");
+        }
+
+        List<Python3ExecutionRecorder.Record> records = Python3ExecutionRecorder.read(Path.of(options.get("input")));
+        // Rotated files can overlap by a few in-flight records
+        records.sort(Comparator.comparingLong(record -> record.epochMicros));
+        if (options.containsKey("limit")) {
+            int limit = Integer.parseInt(options.get("limit"));
+            records = records.subList(0, Math.min(limit, records.size()));
+        }
+        if (records.isEmpty()) {
+            System.out.println("No records in " + options.get("input"));
+            return;
+        }
+
+        System.setProperty(Python3Executor.BRIDGE_SCRIPT_PROPERTY, PoolLoadGenerator.extractFakeBridge().toString());
+        System.setProperty(Python3Executor.TIMEOUT_PROPERTY, options.getOrDefault("timeoutMs", "30000"));
+
+        PoolLoadGenerator.Report recorded = summarize(records);
+        recorded.print("Recorded trace");
+
+        List<Map<String, Object>> runs = new ArrayList<>();
+        for (String size : options.getOrDefault("pools", "4").split(",")) {
+            int poolSize = Integer.parseInt(size.trim());
+
+            Python3MetricsCollector collector = new Python3MetricsCollector();
+            Python3ProcessPool pool = new Python3ProcessPool(
+                    options.getOrDefault("python", BenchmarkSupport.pythonPath()), poolSize, collector);
+
+            PoolLoadGenerator.Report report = replay(pool, records, speed, serviceScale);
+            report.put("pool_size", poolSize);
+            report.put("speed", speed);
+            report.put("service_scale", serviceScale);
+            Map<String, Object> metrics = collector.getMetrics();
+            report.put("pool_wait", metrics.get("pool_wait"));
+            report.put("executor_respawns", metrics.get("executor_respawns"));
+            report.put("acquire_timeouts", metrics.get("acquire_timeouts"));
+
+            pool.shutdown();
+
+            report.print("Replay against pool of " + poolSize);
+            runs.add(report.getValues());
+        }
+
+        if (options.containsKey("json")) {
+            Map<String, Object> json = new LinkedHashMap<>();
+            json.put("recorded", recorded.getValues());
+            json.put("replays", runs);
+            Files.writeString(Path.of(options.get("json")),
+                    new GsonBuilder().setPrettyPrinting().create().toJson(json), StandardCharsets.UTF_8);
+        }
+    }
+
+    /**
+     * Issue every record at its (scaled) arrival offset, then wait for the stragglers.
+     */
+    static PoolLoadGenerator.Report replay(Python3ProcessPool pool, List<Python3ExecutionRecorder.Record> records,
+                                           double speed, double serviceScale) throws InterruptedException {
+        LatencyHistogram responseTime = LatencyHistogram.striped();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder timedOut = new LongAdder();
+        LongAdder unavailable = new LongAdder();
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+
+        // Unbounded: an arrival never waits for a free caller thread, only for an executor
+        ExecutorService callers = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "Replay-Caller");
+            t.setDaemon(true);
+            return t;
+        });
+
+        long firstMicros = records.get(0).epochMicros;
+        long start = System.nanoTime();
+
+        for (Python3ExecutionRecorder.Record record : records) {
+            long scheduled = start + (long) ((record.epochMicros - firstMicros) * 1000L / speed);
+            long delay = scheduled - System.nanoTime();
+            if (delay > 0) {
+                LockSupport.parkNanos(delay);
+            }
+
+            String directive = directive(record, serviceScale);
+            callers.execute(() -> {
+                maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                try {
+                    Python3Result result = pool.evaluate(directive, Map.of(), "ADMIN");
+                    if (result.isSuccess()) {
+                        succeeded.increment();
+                    } else {
+                        failed.increment();
+                    }
+                } catch (Python3TimeoutException e) {
+                    timedOut.increment();
+                } catch (Python3Exception e) {
+                    unavailable.increment();
+                } finally {
+                    responseTime.recordNanos(System.nanoTime() - scheduled);
+                    inFlight.decrementAndGet();
+                }
+            });
+        }
+
+        long arrivalsDone = System.nanoTime();
+        callers.shutdown();
+        callers.awaitTermination(5, TimeUnit.MINUTES);
+        long finished = System.nanoTime();
+
+        long completed = succeeded.sum() + failed.sum();
+        PoolLoadGenerator.Report report = new PoolLoadGenerator.Report();
+        report.put("issued", records.size());
+        report.put("succeeded", succeeded.sum());
+        report.put("failed", failed.sum());
+        report.put("timed_out", timedOut.sum());
+        report.put("unavailable", unavailable.sum());
+        report.put("achieved_arrival_rate", records.size() / ((arrivalsDone - start) / 1e9));
+        report.put("throughput", completed / ((finished - start) / 1e9));
+        report.put("max_in_flight", maxInFlight.get());
+        report.put("response_time", responseTime.toMap());
+        return report;
+    }
+
+    /**
+     * Fake bridge directive reproducing one recorded execution
+     */
+    private static String directive(Python3ExecutionRecorder.Record record, double serviceScale) {
+        double serviceMillis = record.serviceMicros * serviceScale / 1000.0;
+        switch (record.outcome) {
+            case Python3ExecutionRecorder.OUTCOME_SUCCESS:
+                return String.format(Locale.ROOT, "sleep %.3f", serviceMillis);
+            case Python3ExecutionRecorder.OUTCOME_TIMEOUT:
+                return "hang";
+            case Python3ExecutionRecorder.OUTCOME_UNAVAILABLE:
+                return "sleep 0";
+            default:
+                return String.format(Locale.ROOT, "fail %.3f", serviceMillis);
+        }
+    }
+
+    /**
+     * What production saw: arrival rate, outcomes, pool wait and service time distributions
+     */
+    private static PoolLoadGenerator.Report summarize(List<Python3ExecutionRecorder.Record> records) {
+        LatencyHistogram poolWait = new LatencyHistogram();
+        LatencyHistogram serviceTime = new LatencyHistogram();
+        long[] outcomes = new long[5];
+        long[] commands = new long[5];
+        long scripts = 0;
+
+        for (Python3ExecutionRecorder.Record record : records) {
+            poolWait.recordMicros(record.poolWaitMicros);
+            if (record.outcome != Python3ExecutionRecorder.OUTCOME_UNAVAILABLE) {
+                serviceTime.recordMicros(record.serviceMicros);
+            }
+            if (record.outcome >= 0 && record.outcome < outcomes.length) {
+                outcomes[record.outcome]++;
+            }
+            if (record.command > 0 && record.command < commands.length) {
+                commands[record.command]++;
+            }
+            if (record.isScript()) {
+                scripts++;
+            }
+        }
+
+        double spanSeconds = Math.max(1L, records.get(records.size() - 1).epochMicros - records.get(0).epochMicros) / 1e6;
+        Map<String, Object> byCommand = new LinkedHashMap<>();
+        for (byte code = 1; code < commands.length; code++) {
+            byCommand.put(Python3ExecutionRecorder.commandName(code), commands[code]);
+        }
+
+        PoolLoadGenerator.Report report = new PoolLoadGenerator.Report();
+        report.put("records", records.size());
+        report.put("span_seconds", spanSeconds);
+        report.put("arrival_rate", records.size() / spanSeconds);
+        report.put("commands", byCommand);
+        report.put("saved_scripts", scripts);
+        report.put("succeeded", outcomes[Python3ExecutionRecorder.OUTCOME_SUCCESS]);
+        report.put("failed", outcomes[Python3ExecutionRecorder.OUTCOME_ERROR]
+                + outcomes[Python3ExecutionRecorder.OUTCOME_COMMUNICATION_ERROR]);
+        report.put("timed_out", outcomes[Python3ExecutionRecorder.OUTCOME_TIMEOUT]);
+        report.put("unavailable", outcomes[Python3ExecutionRecorder.OUTCOME_UNAVAILABLE]);
+        report.put("pool_wait", poolWait.toMap());
+        report.put("service_time", serviceTime.toMap());
+        return report;
+    }
+}
@@ -0,0 +1,76 @@
+#!/usr/bin/env python3
+"""
+Fake bridge for pool capacity tests (v2.6.0)
+
+Speaks the same line-delimited JSON protocol as python_bridge.py but runs no user code.
+The code / expression of an execute or evaluate request is a directive chosen by the
+load generator or trace replay, so service times are drawn (and seeded) on the Java side:
+
+    sleep <ms>   sleep for <ms> milliseconds (float) and succeed
+    fail [<ms>]  fail with a NameError-style error, optionally after <ms> milliseconds
+    hang         never respond (the executor times out and replaces the process)
+    crash        exit the process without responding
+
+Selected with -Dignition.python3.bridge.script=<path to this file>.
+"""
+
+import json
+import sys
+import time
+
+
+def handle(request):
+    command = request.get('command')
+
+    if command == 'ping':
+        return {'success': True, 'result': 'pong'}
+
+    if command == 'version':
+        return {'success': True, 'result': {'version': 'fake-bridge', 'major': 3, 'minor': 0, 'micro': 0}}
+
+    if command in ('execute', 'evaluate'):
+        directive = (request.get('code') or request.get('expression') or '').strip()
+
+        if directive.startswith('sleep '):
+            millis = float(directive[6:])
+            time.sleep(millis / 1000.0)
+            return {'success': True, 'result': millis}
+
+        if directive == 'fail' or directive.startswith('fail '):
+            if directive != 'fail':
+                time.sleep(float(directive[5:]) / 1000.0)
+            return {
+                'success': False,
+                'error': 'Injected failure',
+                'traceback': 'Traceback (most recent call last):\nNameError: injected failure'
+            }
+
+        if directive == 'hang':
+            while True:
+                time.sleep(3600)
+
+        if directive == 'crash':
+            sys.exit(1)
+
+        return {'success': True, 'result': None}
+
+    return {'success': False, 'error': f"Unknown command: {command}"}
+
+
+def main():
+    sys.stdout.write(json.dumps({'status': 'ready'}) + '\n')
+    sys.stdout.flush()
+
+    for line in sys.stdin:
+        request = json.loads(line)
+        if request.get('command') == 'shutdown':
+            sys.stdout.write(json.dumps({'success': True, 'result': 'shutting down'}) + '\n')
+            sys.stdout.flush()
+            break
+
+        sys.stdout.write(json.dumps(handle(request)) + '\n')
+        sys.stdout.flush()
+
+
+if __name__ == '__main__':
+    main()
@@ -31,6 +31,24 @@ public interface Python3RpcFunctions {
      */
     Object eval(String expression, Map<String, Object> variables) throws Exception;
 
+    /**
+     * Register code once and get a handle (content hash) to run it by.
+     *
+     * @param code Python code to prepare
+     * @return Handle for execPrepared
+     */
+    String prepare(String code);
+
+    /**
+     * Execute prepared code by handle.
+     *
+     * @param handle Handle returned by prepare
+     * @param variables Variables to pass to Python (can be null)
+     * @return Result of the execution
+     * @throws Exception if the handle is unknown or execution fails
+     */
+    Object execPrepared(String handle, Map<String, Object> variables) throws Exception;
+
     /**
      * Call a function from a Python module.
      *
@@ -42,6 +60,78 @@ public interface Python3RpcFunctions {
      */
     Object callModule(String moduleName, String functionName, List<Object> args) throws Exception;
 
+    /**
+     * Run several pieces of Python code on one executor in a single round trip.
+     * A failing item is reported in its own result and does not stop the batch.
+     *
+     * @param operations Code strings, or maps with "command" (execute, evaluate, call_module) and its arguments
+     * @return One map per item with 'success', 'result', 'error' and 'traceback' keys
+     * @throws Exception if the batch as a whole fails
+     */
+    List<Map<String, Object>> execBatch(List<Object> operations) throws Exception;
+
+    /**
+     * Evaluate several Python expressions on one executor in a single round trip.
+     *
+     * @param expressions Expression strings (or operation maps, see execBatch)
+     * @param variables Variables passed to every expression (can be null)
+     * @return One map per item with 'success', 'result', 'error' and 'traceback' keys
+     * @throws Exception if the batch as a whole fails
+     */
+    List<Map<String, Object>> evalBatch(List<Object> expressions, Map<String, Object> variables) throws Exception;
+
+    /**
+     * Call a module function once per argument, spread over several executors in chunks.
+     *
+     * @param moduleName Python module name
+     * @param functionName Function name
+     * @param argsList One entry per call: a list of positional arguments, or a single argument
+     * @param chunkSize Calls sent to one executor at a time (0 picks a size)
+     * @return Map with 'results' (in argument order), 'errors' ([{index, error}]), 'succeeded' and 'failed' keys
+     * @throws Exception if the map as a whole fails
+     */
+    Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList, int chunkSize)
+            throws Exception;
+
+    /**
+     * Queue a saved script as a durable background job.
+     *
+     * @param scriptPath Saved script path
+     * @param args Positional arguments
+     * @param kwargs Keyword arguments
+     * @param priority Higher runs first
+     * @param maxRetries Retries after a failed attempt
+     * @return Job status map ('id', 'state', ...)
+     * @throws Exception if the job could not be queued
+     */
+    Map<String, Object> submitJob(String scriptPath, List<Object> args, Map<String, Object> kwargs, int priority,
+                                  int maxRetries) throws Exception;
+
+    /**
+     * Get a background job's status and, once finished, its result or error.
+     *
+     * @param jobId Job id returned by submitJob
+     * @return Job status map, or null if unknown or expired
+     */
+    Map<String, Object> getJob(String jobId);
+
+    /**
+     * List background jobs.
+     *
+     * @param state Only jobs in this state ('pending', 'running', 'succeeded', 'failed', 'cancelled'), or null for all
+     * @return Job status maps in submission order
+     */
+    List<Map<String, Object>> listJobs(String state);
+
+    /**
+     * Cancel a background job that has not started (or is waiting to retry).
+     *
+     * @param jobId Job id returned by submitJob
+     * @return true if the job was cancelled
+     * @throws Exception if the cancellation could not be recorded
+     */
+    boolean cancelJob(String jobId) throws Exception;
+
     /**
      * Get Python version information.
      *
@@ -7,10 +7,16 @@ import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
 import java.awt.*;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Panel displaying real-time performance diagnostics and metrics.
  * Shows execution statistics, pool usage, and gateway impact.
+ *
+ * v2.6.0: Added a phase breakdown (last execution vs. Gateway average per phase)
  */
 public class DiagnosticsPanel extends JPanel {
     private static final Logger LOGGER = LoggerFactory.getLogger(DiagnosticsPanel.class);
@@ -24,6 +30,10 @@ public class DiagnosticsPanel extends JPanel {
     private final JLabel avgExecutionTimeLabel;
     private final JLabel ramUsageLabel;        // v2.5.19: NEW - RAM usage
     private final JLabel cpuUsageLabel;        // v2.5.19: NEW - CPU usage
+    private final JLabel phaseBreakdownLabel;  // v2.6.0: Where execution time goes
+
+    private Map<String, Double> lastPhases = Collections.emptyMap();
+    private Map<String, Double> averagePhases = Collections.emptyMap();
 
     private Python3RestClient restClient;
     private Timer refreshTimer;
@@ -83,6 +93,14 @@ public class DiagnosticsPanel extends JPanel {
 
         add(fieldsPanel, BorderLayout.CENTER);
 
+        // v2.6.0: Phase breakdown below the summary fields
+        phaseBreakdownLabel = new JLabel();
+        phaseBreakdownLabel.setFont(ModernTheme.withSize(ModernTheme.FONT_REGULAR, 11));
+        phaseBreakdownLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+        phaseBreakdownLabel.setVerticalAlignment(SwingConstants.TOP);
+        phaseBreakdownLabel.setBorder(new EmptyBorder(0, 5, 5, 5));
+        add(phaseBreakdownLabel, BorderLayout.SOUTH);
+
         // Initially show "Not connected"
         clear();
 
@@ -109,6 +127,16 @@ public class DiagnosticsPanel extends JPanel {
         }
     }
 
+    /**
+     * Shows the phase timings of the most recent execution (v2.6.0).
+     *
+     * @param result the execution result (phases may be empty for older Gateways)
+     */
+    public void showLastExecution(ExecutionResult result) {
+        lastPhases = result != null ? result.getPhases() : Collections.emptyMap();
+        updatePhaseBreakdown();
+    }
+
     /**
      * Refreshes metrics from the Gateway.
      *
@@ -187,12 +215,15 @@ public class DiagnosticsPanel extends JPanel {
             successRateLabel.setForeground(getSuccessRateColor(successRate));
 
             avgExecutionTimeLabel.setText(String.format("%.1f", data.metrics.getAverageExecutionTime()));
+            averagePhases = data.metrics.getPhaseMeansMs();
         } else {
             totalExecutionsLabel.setText("—");
             successRateLabel.setText("—");
             successRateLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
             avgExecutionTimeLabel.setText("—");
+            averagePhases = Collections.emptyMap();
         }
+        updatePhaseBreakdown();
 
         // v2.5.19: RAM and CPU usage from impact data
         GatewayImpact impact = data.impact;
@@ -253,6 +284,36 @@ public class DiagnosticsPanel extends JPanel {
         cpuUsageLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
         impactLevelLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
         healthScoreLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+
+        averagePhases = Collections.emptyMap();
+        updatePhaseBreakdown();
+    }
+
+    /**
+     * Renders the phase breakdown table: one row per phase with the last execution's time and
+     * the Gateway-wide mean (v2.6.0). Hidden until there is something to show.
+     */
+    private void updatePhaseBreakdown() {
+        if (lastPhases.isEmpty() && averagePhases.isEmpty()) {
+            phaseBreakdownLabel.setText("");
+            return;
+        }
+
+        Set<String> names = new LinkedHashSet<>(lastPhases.keySet());
+        names.addAll(averagePhases.keySet());
+
+        StringBuilder html = new StringBuilder("<html><b>Phase (ms)</b>&nbsp;&nbsp;last / avg<table cellpadding=0>");
+        for (String name : names) {
+            Double last = lastPhases.get(name);
+            Double avg = averagePhases.get(name);
+            html.append("<tr><td>").append(name).append("</td><td align=right>")
+                    .append(last != null ? String.format("%.2f", last) : "—")
+                    .append("</td><td align=right>")
+                    .append(avg != null ? String.format("%.2f", avg) : "—")
+                    .append("</td></tr>");
+        }
+        html.append("</table></html>");
+        phaseBreakdownLabel.setText(html.toString());
     }
 
     /**
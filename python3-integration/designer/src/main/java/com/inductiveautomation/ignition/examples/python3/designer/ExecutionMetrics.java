@@ -1,12 +1,18 @@
 package com.inductiveautomation.ignition.examples.python3.designer;
 
+import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.common.gson.JsonParser;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Represents execution metrics from the Gateway diagnostics endpoint.
  *
  * v2.0.8: Created for enhanced diagnostics panel
+ * v2.6.0: Added per-phase mean latency (phaseBreakdown)
  */
 public class ExecutionMetrics {
 
@@ -15,6 +21,7 @@ public class ExecutionMetrics {
     private final long failedExecutions;
     private final double averageExecutionTime;
     private final double successRate;
+    private final Map<String, Double> phaseMeansMs;
 
     /**
      * Creates ExecutionMetrics from JSON response.
@@ -33,6 +40,18 @@ public class ExecutionMetrics {
         } else {
             this.successRate = 0.0;
         }
+
+        // v2.6.0: {"phaseBreakdown": {"pool_wait": {"count": n, "mean_ms": x, "p99_ms": y}, ...}}
+        Map<String, Double> phases = new LinkedHashMap<>();
+        if (json.has("phaseBreakdown") && json.get("phaseBreakdown").isJsonObject()) {
+            for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("phaseBreakdown").entrySet()) {
+                JsonObject phase = entry.getValue().getAsJsonObject();
+                if (phase.has("mean_ms")) {
+                    phases.put(entry.getKey(), phase.get("mean_ms").getAsDouble());
+                }
+            }
+        }
+        this.phaseMeansMs = Collections.unmodifiableMap(phases);
     }
 
     /**
@@ -66,6 +85,13 @@ public class ExecutionMetrics {
         return successRate;
     }
 
+    /**
+     * @return mean duration per execution phase in milliseconds, in execution order (empty if unavailable)
+     */
+    public Map<String, Double> getPhaseMeansMs() {
+        return phaseMeansMs;
+    }
+
     @Override
     public String toString() {
         return String.format("ExecutionMetrics{total=%d, successful=%d, failed=%d, avgTime=%.2fms, successRate=%.1f%%}",
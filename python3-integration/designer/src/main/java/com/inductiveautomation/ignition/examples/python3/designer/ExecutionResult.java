@@ -1,5 +1,9 @@
 package com.inductiveautomation.ignition.examples.python3.designer;
 
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 /**
  * Represents the result of a Python code execution via REST API.
  * This class models the JSON response from the Gateway's REST API endpoints.
@@ -10,8 +14,12 @@ package com.inductiveautomation.ignition.examples.python3.designer;
  *   "result": "42",
  *   "executionTimeMs": 15,
  *   "timestamp": 1760571024031,
+ *   "traceId": "4bf92f3577b34da6a3ce929d0e0e4736",
+ *   "phases": {"rest_parse": 0.04, "pool_wait": 0.01, ..., "decode": 0.02},
  *   "error": null
  * }</pre>
+ *
+ * v2.6.0: Added traceId and per-phase timings
  */
 public class ExecutionResult {
     private final boolean success;
@@ -19,6 +27,8 @@ public class ExecutionResult {
     private final String error;
     private final Long executionTimeMs;
     private final Long timestamp;
+    private String traceId;
+    private Map<String, Double> phases = Collections.emptyMap();
 
     /**
      * Constructor for successful execution.
@@ -87,6 +97,31 @@ public class ExecutionResult {
         return timestamp;
     }
 
+    /**
+     * @return the Gateway trace id for this execution, or null if the Gateway did not report one
+     */
+    public String getTraceId() {
+        return traceId;
+    }
+
+    /**
+     * @return phase durations in milliseconds in execution order (empty if not reported)
+     */
+    public Map<String, Double> getPhases() {
+        return phases;
+    }
+
+    /**
+     * Attach trace information parsed from the response (v2.6.0).
+     *
+     * @param traceId the Gateway trace id
+     * @param phases  phase durations in milliseconds, in execution order
+     */
+    void setTrace(String traceId, Map<String, Double> phases) {
+        this.traceId = traceId;
+        this.phases = Collections.unmodifiableMap(new LinkedHashMap<>(phases));
+    }
+
     @Override
     public String toString() {
         if (success) {
@@ -101,6 +101,26 @@ public class Python3DesignerScriptModule {
         }
     }
 
+    public String prepare(String code) {
+        try {
+            return getRpcFunctions().prepare(code);
+        } catch (Exception e) {
+            LOGGER.error("Failed to prepare Python code via RPC", e);
+            throw new RuntimeException("Failed to prepare Python code on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public Object execPrepared(String handle, Map<String, Object> variables) {
+        LOGGER.debug("execPrepared() called in Designer scope (will execute on Gateway via RPC)");
+
+        try {
+            return getRpcFunctions().execPrepared(handle, variables != null ? variables : Collections.emptyMap());
+        } catch (Exception e) {
+            LOGGER.error("Failed to execute prepared Python code via RPC", e);
+            throw new RuntimeException("Failed to execute prepared Python code on Gateway: " + e.getMessage(), e);
+        }
+    }
+
     public Object callModule(String moduleName, String functionName, List<Object> args) {
         LOGGER.debug("callModule() called in Designer scope (will execute on Gateway via RPC)");
 
@@ -112,6 +132,80 @@ public class Python3DesignerScriptModule {
         }
     }
 
+    public List<Map<String, Object>> execBatch(List<Object> operations) {
+        LOGGER.debug("execBatch() called in Designer scope (will execute on Gateway via RPC)");
+
+        try {
+            return getRpcFunctions().execBatch(operations);
+        } catch (Exception e) {
+            LOGGER.error("Failed to execute Python batch via RPC", e);
+            throw new RuntimeException("Failed to execute Python batch on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public List<Map<String, Object>> evalBatch(List<Object> expressions, Map<String, Object> variables) {
+        LOGGER.debug("evalBatch() called in Designer scope (will execute on Gateway via RPC)");
+
+        try {
+            return getRpcFunctions().evalBatch(expressions, variables != null ? variables : Collections.emptyMap());
+        } catch (Exception e) {
+            LOGGER.error("Failed to evaluate Python batch via RPC", e);
+            throw new RuntimeException("Failed to evaluate Python batch on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList,
+                                           int chunkSize) {
+        LOGGER.debug("parallelMap() called in Designer scope (will execute on Gateway via RPC)");
+
+        try {
+            return getRpcFunctions().parallelMap(moduleName, functionName, argsList, chunkSize);
+        } catch (Exception e) {
+            LOGGER.error("Failed to run Python parallel map via RPC", e);
+            throw new RuntimeException("Failed to run Python parallel map on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> submitJob(String scriptPath, List<Object> args, Map<String, Object> kwargs,
+                                         int priority, int maxRetries) {
+        LOGGER.debug("submitJob() called in Designer scope (will queue on Gateway via RPC)");
+
+        try {
+            return getRpcFunctions().submitJob(scriptPath, args != null ? args : Collections.emptyList(),
+                    kwargs != null ? kwargs : Collections.emptyMap(), priority, maxRetries);
+        } catch (Exception e) {
+            LOGGER.error("Failed to submit Python job via RPC", e);
+            throw new RuntimeException("Failed to submit Python job on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public Map<String, Object> getJob(String jobId) {
+        try {
+            return getRpcFunctions().getJob(jobId);
+        } catch (Exception e) {
+            LOGGER.error("Failed to get Python job via RPC", e);
+            throw new RuntimeException("Failed to get Python job from Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public List<Map<String, Object>> listJobs(String state) {
+        try {
+            return getRpcFunctions().listJobs(state);
+        } catch (Exception e) {
+            LOGGER.error("Failed to list Python jobs via RPC", e);
+            throw new RuntimeException("Failed to list Python jobs on Gateway: " + e.getMessage(), e);
+        }
+    }
+
+    public boolean cancelJob(String jobId) {
+        try {
+            return getRpcFunctions().cancelJob(jobId);
+        } catch (Exception e) {
+            LOGGER.error("Failed to cancel Python job via RPC", e);
+            throw new RuntimeException("Failed to cancel Python job on Gateway: " + e.getMessage(), e);
+        }
+    }
+
     public Map<String, Object> getVersion() {
         try {
             return getRpcFunctions().getVersion();
@@ -2,6 +2,7 @@ package com.inductiveautomation.ignition.examples.python3.designer;
 
 import com.inductiveautomation.ignition.designer.model.DesignerContext;
 import com.inductiveautomation.ignition.examples.python3.designer.ui.FindReplaceDialog;
+import com.inductiveautomation.ignition.examples.python3.designer.ui.ScriptSearchDialog;
 import org.fife.ui.rsyntaxtextarea.RSyntaxTextArea;
 import org.fife.ui.rsyntaxtextarea.SyntaxConstants;
 import org.fife.ui.rsyntaxtextarea.Theme;
@@ -19,6 +20,8 @@ import org.slf4j.LoggerFactory;
 import javax.swing.*;
 import javax.swing.border.EmptyBorder;
 import javax.swing.border.TitledBorder;
+import javax.swing.event.TreeExpansionEvent;
+import javax.swing.event.TreeExpansionListener;
 import javax.swing.tree.DefaultTreeModel;
 import javax.swing.tree.TreePath;
 import javax.swing.tree.TreeSelectionModel;
@@ -30,6 +33,7 @@ import java.awt.datatransfer.Transferable;
 import java.awt.event.*;
 import java.io.*;
 import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -94,6 +98,9 @@ public class Python3IDE extends JPanel {
     private JTree scriptTree;
     private DefaultTreeModel treeModel;
     private ScriptTreeNode rootNode;
+    // v2.6.0: Gateway script revision the tree reflects (-1 = not loaded yet), and its script nodes by id
+    private long scriptTreeRevision = -1;
+    private final Map<String, ScriptTreeNode> scriptNodesById = new HashMap<>();
     private ScriptMetadataPanel metadataPanel;
     private DiagnosticsPanel diagnosticsPanel;
 
@@ -101,6 +108,7 @@ public class Python3IDE extends JPanel {
     private ModernButton newFolderBtn;
     private ModernButton newScriptBtn;
     private ModernButton refreshBtn;
+    private ModernButton searchBtn;  // v2.6.0
 
     // v2.5.17: Removed JTabbedPane, replaced with custom tab solution
 
@@ -124,6 +132,7 @@ public class Python3IDE extends JPanel {
     private FindDialog findDialog;
     private ReplaceDialog replaceDialog;
     private FindReplaceDialog advancedFindReplaceDialog;
+    private ScriptSearchDialog scriptSearchDialog;  // v2.6.0: Search all scripts on the Gateway
 
     // Unsaved Changes Tracking
     private UnsavedChangesTracker changesTracker;
@@ -419,9 +428,15 @@ public class Python3IDE extends JPanel {
         refreshBtn.setToolTipText("Refresh Scripts");
         refreshBtn.addActionListener(e -> refreshScriptTree());
 
+        // v2.6.0: Search the code of all saved scripts
+        searchBtn = ModernButton.createSmall("Search");
+        searchBtn.setToolTipText("Search All Scripts (Ctrl+Alt+F)");
+        searchBtn.addActionListener(e -> showScriptSearchDialog());
+
         treeToolbar.add(newFolderBtn);
         treeToolbar.add(newScriptBtn);
         treeToolbar.add(refreshBtn);
+        treeToolbar.add(searchBtn);
 
         JPanel treePanel = new JPanel(new BorderLayout());
         treePanel.setBackground(ModernTheme.BACKGROUND_DARK);
@@ -708,6 +723,21 @@ public class Python3IDE extends JPanel {
         // Tree selection
         scriptTree.addTreeSelectionListener(e -> onTreeSelectionChanged());
 
+        // Tree expansion: prefetch the folder's scripts so opening them is a 304 (v2.6.0)
+        scriptTree.addTreeExpansionListener(new TreeExpansionListener() {
+            @Override
+            public void treeExpanded(TreeExpansionEvent e) {
+                Object node = e.getPath().getLastPathComponent();
+                if (node instanceof ScriptTreeNode) {
+                    prefetchFolderScripts((ScriptTreeNode) node);
+                }
+            }
+
+            @Override
+            public void treeCollapsed(TreeExpansionEvent e) {
+            }
+        });
+
         // Tree double-click
         scriptTree.addMouseListener(new MouseAdapter() {
             @Override
@@ -845,6 +875,16 @@ public class Python3IDE extends JPanel {
                 showAdvancedFindReplaceDialog();
             }
         });
+
+        // Ctrl+Alt+F: Search all scripts (v2.6.0)
+        KeyStroke ctrlAltF = KeyStroke.getKeyStroke("control alt F");
+        inputMap.put(ctrlAltF, "searchAllScripts");
+        actionMap.put("searchAllScripts", new AbstractAction() {
+            @Override
+            public void actionPerformed(ActionEvent e) {
+                showScriptSearchDialog();
+            }
+        });
     }
 
     /**
@@ -865,6 +905,7 @@ public class Python3IDE extends JPanel {
 
         try {
             restClient = new Python3RestClient(url);
+            scriptTreeRevision = -1;  // v2.6.0: revisions are per Gateway
             statusBar.setStatus("Connected to " + url, ModernStatusBar.MessageType.SUCCESS);
             statusBar.setConnection("Connected", ModernTheme.SUCCESS);
             statusBar.setPoolStats("Pool: Checking...", ModernTheme.INFO);
@@ -1031,7 +1072,14 @@ public class Python3IDE extends JPanel {
             outputArea.setText(output);
 
             long time = result.getExecutionTimeMs() != null ? result.getExecutionTimeMs() : 0;
-            setStatus(String.format("Execution completed in %d ms", time), new Color(0, 128, 0));
+            // v2.6.0: Split user code time from module overhead when the Gateway reports phases
+            Double userCodeMs = result.getPhases().get("python_user_code");
+            if (userCodeMs != null) {
+                setStatus(String.format("Execution completed in %d ms (user code %.1f ms, overhead %.1f ms)",
+                        time, userCodeMs, Math.max(0.0, time - userCodeMs)), new Color(0, 128, 0));
+            } else {
+                setStatus(String.format("Execution completed in %d ms", time), new Color(0, 128, 0));
+            }
 
         } else {
             String error = result.getError() != null ? result.getError() : "Unknown error";
@@ -1039,6 +1087,9 @@ public class Python3IDE extends JPanel {
             setStatus("Execution failed", Color.RED);
         }
 
+        if (diagnosticsPanel != null) {
+            diagnosticsPanel.showLastExecution(result);
+        }
         refreshDiagnostics();
     }
 
@@ -1460,24 +1511,39 @@ public class Python3IDE extends JPanel {
 
     /**
      * Refreshes the script tree from the Gateway.
+     *
+     * v2.6.0: Asks only for the scripts changed since the last refresh and patches their nodes, so
+     * expansion and selection survive; the tree is rebuilt on first load or when the Gateway resets.
      */
     private void refreshScriptTree() {
         if (restClient == null) {
             return;
         }
 
-        SwingWorker<List<ScriptMetadata>, Void> worker = new SwingWorker<List<ScriptMetadata>, Void>() {
+        Python3RestClient client = restClient;
+        long since = scriptTreeRevision;
+
+        SwingWorker<ScriptChanges, Void> worker = new SwingWorker<ScriptChanges, Void>() {
             @Override
-            protected List<ScriptMetadata> doInBackground() throws Exception {
-                return restClient.listScripts();
+            protected ScriptChanges doInBackground() throws Exception {
+                return client.getScriptChanges(since);
             }
 
             @Override
             protected void done() {
                 try {
-                    List<ScriptMetadata> scripts = get();
-                    buildScriptTree(scripts);
-                    LOGGER.info("Loaded {} scripts", scripts.size());
+                    ScriptChanges changes = get();
+                    if (client != restClient || (scriptTreeRevision != since && changes.getRevision() <= scriptTreeRevision)) {
+                        return;  // reconnected, or an overlapping refresh already got further
+                    }
+
+                    if (changes.isReset()) {
+                        buildScriptTree(changes.getAdded());
+                        LOGGER.info("Loaded {} scripts", changes.getAdded().size());
+                    } else {
+                        applyScriptChanges(changes);
+                    }
+                    scriptTreeRevision = changes.getRevision();
                 } catch (Exception e) {
                     LOGGER.error("Failed to load scripts", e);
                 }
@@ -1487,25 +1553,68 @@ public class Python3IDE extends JPanel {
         worker.execute();
     }
 
+    /**
+     * Loads the scripts directly inside a folder into the REST client's script cache in the
+     * background, so opening one of them afterwards only revalidates the cached copy (v2.6.0).
+     */
+    private void prefetchFolderScripts(ScriptTreeNode folder) {
+        if (restClient == null) {
+            return;
+        }
+
+        List<ScriptMetadata> scripts = new ArrayList<>();
+        for (int i = 0; i < folder.getChildCount(); i++) {
+            Object child = folder.getChildAt(i);
+            if (child instanceof ScriptTreeNode && ((ScriptTreeNode) child).isScript()) {
+                scripts.add(((ScriptTreeNode) child).getScriptMetadata());
+            }
+        }
+        if (scripts.isEmpty()) {
+            return;
+        }
+
+        Python3RestClient client = restClient;
+        SwingWorker<Integer, Void> worker = new SwingWorker<Integer, Void>() {
+            @Override
+            protected Integer doInBackground() throws Exception {
+                return client.prefetchScripts(scripts);
+            }
+
+            @Override
+            protected void done() {
+                try {
+                    LOGGER.debug("Prefetched {} scripts", get());
+                } catch (Exception e) {
+                    LOGGER.debug("Script prefetch failed: {}", e.getMessage());
+                }
+            }
+        };
+
+        worker.execute();
+    }
+
     /**
      * Builds the script tree from a list of scripts.
      */
     private void buildScriptTree(List<ScriptMetadata> scripts) {
         rootNode.removeAllChildren();
+        scriptNodesById.clear();
 
         // Build folder structure
         Map<String, ScriptTreeNode> folders = new HashMap<>();
 
         for (ScriptMetadata script : scripts) {
             String folderPath = script.getFolderPath();
+            ScriptTreeNode scriptNode = new ScriptTreeNode(script);
+            scriptNodesById.put(script.getId(), scriptNode);
 
             if (folderPath == null || folderPath.isEmpty()) {
                 // Script at root level
-                rootNode.add(new ScriptTreeNode(script));
+                rootNode.add(scriptNode);
             } else {
                 // Create folder hierarchy
                 ScriptTreeNode parent = getOrCreateFolder(folderPath, folders);
-                parent.add(new ScriptTreeNode(script));
+                parent.add(scriptNode);
             }
         }
 
@@ -1513,6 +1622,98 @@ public class Python3IDE extends JPanel {
         scriptTree.expandRow(0);  // Expand root
     }
 
+    /**
+     * Patches the script tree with changes from the Gateway (v2.6.0). Nodes are updated, moved or
+     * removed through the tree model, so the rest of the tree keeps its expansion and selection.
+     * Folders left empty by a move or delete are removed, as a full rebuild would.
+     */
+    private void applyScriptChanges(ScriptChanges changes) {
+        for (ScriptMetadata script : changes.getDeleted()) {
+            removeScriptNode(scriptNodesById.remove(script.getId()));
+        }
+
+        List<ScriptMetadata> saved = new ArrayList<>(changes.getAdded());
+        saved.addAll(changes.getUpdated());
+        for (ScriptMetadata script : saved) {
+            ScriptTreeNode node = scriptNodesById.get(script.getId());
+            if (node != null && node.getParent() != null && node.getParent() == findFolderNode(script.getFolderPath(), false)) {
+                node.setScriptMetadata(script);
+                treeModel.nodeChanged(node);
+                continue;
+            }
+
+            // New, or moved to another folder: remove first so emptied folders are pruned
+            removeScriptNode(node);
+            if (node == null) {
+                node = new ScriptTreeNode(script);
+                scriptNodesById.put(script.getId(), node);
+            } else {
+                node.setScriptMetadata(script);
+            }
+            ScriptTreeNode folder = findFolderNode(script.getFolderPath(), true);
+            treeModel.insertNodeInto(node, folder, folder.getChildCount());
+        }
+
+        LOGGER.info("Script tree updated to revision {}: {} added, {} updated, {} deleted", changes.getRevision(),
+                changes.getAdded().size(), changes.getUpdated().size(), changes.getDeleted().size());
+    }
+
+    /**
+     * Removes a script node, then any folders above it that it leaves empty (v2.6.0).
+     */
+    private void removeScriptNode(ScriptTreeNode node) {
+        if (node == null || node.getParent() == null) {
+            return;
+        }
+
+        ScriptTreeNode parent = (ScriptTreeNode) node.getParent();
+        treeModel.removeNodeFromParent(node);
+        while (parent != null && parent != rootNode && parent.getChildCount() == 0) {
+            ScriptTreeNode grandparent = (ScriptTreeNode) parent.getParent();
+            treeModel.removeNodeFromParent(parent);
+            parent = grandparent;
+        }
+    }
+
+    /**
+     * Finds the folder node for a folder path in the current tree (v2.6.0).
+     *
+     * @param create whether to create missing folders (through the tree model)
+     * @return the folder node (the root for an empty path), or null if missing and not created
+     */
+    private ScriptTreeNode findFolderNode(String folderPath, boolean create) {
+        ScriptTreeNode current = rootNode;
+        if (folderPath == null) {
+            return current;
+        }
+
+        for (String part : folderPath.split("/")) {
+            if (part.isEmpty()) {
+                continue;
+            }
+
+            ScriptTreeNode next = null;
+            for (int i = 0; i < current.getChildCount(); i++) {
+                ScriptTreeNode child = (ScriptTreeNode) current.getChildAt(i);
+                if (child.isFolder() && part.equals(child.getFolderName())) {
+                    next = child;
+                    break;
+                }
+            }
+
+            if (next == null) {
+                if (!create) {
+                    return null;
+                }
+                next = new ScriptTreeNode(part);
+                treeModel.insertNodeInto(next, current, current.getChildCount());
+            }
+            current = next;
+        }
+
+        return current;
+    }
+
     /**
      * Gets or creates a folder node at the specified path.
      */
@@ -1619,6 +1820,13 @@ public class Python3IDE extends JPanel {
      * Loads a script by name.
      */
     private void loadScript(String name) {
+        loadScript(name, 0);
+    }
+
+    /**
+     * Loads a script by name and moves the caret to the start of the given 1-based line (0 = top).
+     */
+    private void loadScript(String name, int line) {
         if (restClient == null) {
             return;
         }
@@ -1636,6 +1844,11 @@ public class Python3IDE extends JPanel {
                     changesTracker.loadContent(script.getCode());
                     currentScript = convertToMetadata(script);
                     updateCurrentScriptLabel();
+                    if (line > 0) {
+                        int target = Math.min(line, codeEditor.getLineCount()) - 1;
+                        codeEditor.setCaretPosition(codeEditor.getLineStartOffset(target));
+                        codeEditor.requestFocusInWindow();
+                    }
                     setStatus("Loaded: " + script.getName(), new Color(0, 128, 0));
                 } catch (Exception e) {
                     LOGGER.error("Failed to load script", e);
@@ -2885,6 +3098,7 @@ public class Python3IDE extends JPanel {
                 updateButtonTheme(newFolderBtn, ModernTheme.BUTTON_BACKGROUND, ModernTheme.BUTTON_HOVER, ModernTheme.BUTTON_ACTIVE);
                 updateButtonTheme(newScriptBtn, ModernTheme.BUTTON_BACKGROUND, ModernTheme.BUTTON_HOVER, ModernTheme.BUTTON_ACTIVE);
                 updateButtonTheme(refreshBtn, ModernTheme.BUTTON_BACKGROUND, ModernTheme.BUTTON_HOVER, ModernTheme.BUTTON_ACTIVE);
+                updateButtonTheme(searchBtn, ModernTheme.BUTTON_BACKGROUND, ModernTheme.BUTTON_HOVER, ModernTheme.BUTTON_ACTIVE);
 
                 // v2.5.17: outputTabs removed, replaced with custom tab solution
 
@@ -2948,6 +3162,7 @@ public class Python3IDE extends JPanel {
                 updateButtonTheme(newFolderBtn, lightDefault, lightDefaultHover, lightDefaultActive);
                 updateButtonTheme(newScriptBtn, lightDefault, lightDefaultHover, lightDefaultActive);
                 updateButtonTheme(refreshBtn, lightDefault, lightDefaultHover, lightDefaultActive);
+                updateButtonTheme(searchBtn, lightDefault, lightDefaultHover, lightDefaultActive);
 
                 // v2.5.17: outputTabs removed, replaced with custom tab solution
 
@@ -3317,6 +3532,52 @@ public class Python3IDE extends JPanel {
         advancedFindReplaceDialog.showDialog();
     }
 
+    /**
+     * Shows the "Search All Scripts" dialog (v2.6.0), pre-filled with the selected text.
+     */
+    private void showScriptSearchDialog() {
+        if (scriptSearchDialog == null) {
+            // Lazy initialization
+            scriptSearchDialog = new ScriptSearchDialog(
+                (JFrame) SwingUtilities.getWindowAncestor(this),
+                () -> restClient,
+                this::openSearchResult
+            );
+        }
+
+        scriptSearchDialog.showDialog(codeEditor.getSelectedText());
+    }
+
+    /**
+     * Opens a script found by "Search All Scripts" at the matching line (v2.6.0).
+     */
+    private void openSearchResult(String name, int line) {
+        if (currentScript != null && name.equals(currentScript.getName()) && !changesTracker.isDirty()) {
+            // Already open: just jump to the line
+            try {
+                int target = Math.min(line, codeEditor.getLineCount()) - 1;
+                codeEditor.setCaretPosition(codeEditor.getLineStartOffset(target));
+                codeEditor.requestFocusInWindow();
+            } catch (javax.swing.text.BadLocationException e) {
+                LOGGER.debug("Line {} not found in {}", line, name);
+            }
+            return;
+        }
+
+        // Check for unsaved changes
+        if (changesTracker.isDirty()) {
+            int choice = showUnsavedChangesDialog();
+
+            if (choice == JOptionPane.YES_OPTION) {
+                saveCurrentScript();
+            } else if (choice == JOptionPane.CANCEL_OPTION) {
+                return;
+            }
+        }
+
+        loadScript(name, line);
+    }
+
     /**
      * Search listener implementation for Find/Replace dialogs.
      */
@@ -1,6 +1,7 @@
 package com.inductiveautomation.ignition.examples.python3.designer;
 
 import com.inductiveautomation.ignition.common.gson.JsonArray;
+import com.inductiveautomation.ignition.common.gson.JsonElement;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.common.gson.JsonParser;
 import com.inductiveautomation.ignition.designer.model.DesignerContext;
@@ -17,6 +18,7 @@ import java.nio.charset.StandardCharsets;
 import java.time.Duration;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -39,10 +41,18 @@ public class Python3RestClient {
 
     private static final String API_BASE_PATH = "/data/python3integration/api/v1";
     private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    private static final int MAX_PREFETCH_SCRIPTS = 200;  // Gateway limit per /scripts/batch call
 
     private final HttpClient httpClient;
     private final String gatewayUrl;
 
+    // v2.6.0: Last script list and its ETag, reused while the Gateway answers 304 Not Modified
+    private volatile String scriptListEtag;
+    private volatile List<ScriptMetadata> cachedScriptList;
+
+    // v2.6.0: Script sources by id, revalidated with If-None-Match on every load
+    private final ScriptCache scriptCache = new ScriptCache();
+
     /**
      * Creates a new REST client for the Python 3 Integration module.
      *
@@ -542,7 +552,19 @@ public class Python3RestClient {
                 LOGGER.warn("Execution error: {}", error);
             }
 
-            return new ExecutionResult(success, result, error, executionTimeMs, timestamp);
+            ExecutionResult executionResult = new ExecutionResult(success, result, error, executionTimeMs, timestamp);
+
+            // v2.6.0: Trace id and per-phase timings
+            if (json.has("phases") && json.get("phases").isJsonObject()) {
+                Map<String, Double> phases = new LinkedHashMap<>();
+                for (Map.Entry<String, JsonElement> entry : json.getAsJsonObject("phases").entrySet()) {
+                    phases.put(entry.getKey(), entry.getValue().getAsDouble());
+                }
+                String traceId = json.has("traceId") ? json.get("traceId").getAsString() : null;
+                executionResult.setTrace(traceId, phases);
+            }
+
+            return executionResult;
 
         } catch (Exception e) {
             LOGGER.error("Failed to parse execution result from JSON: {}", jsonResponse, e);
@@ -633,69 +655,308 @@ public class Python3RestClient {
      *
      * @return list of script metadata
      * @throws IOException if the HTTP request fails
+     *
+     * v2.6.0: Sends If-None-Match with the last list's ETag and reuses that list if nothing changed
      */
     public List<ScriptMetadata> listScripts() throws IOException {
         LOGGER.debug("Listing saved scripts via REST API");
 
-        String response = get("/scripts/list");
-        JsonObject json = JsonParser.parseString(response).getAsJsonObject();
+        String url = gatewayUrl + API_BASE_PATH + "/scripts/list";
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .header("Accept", "application/json");
+        String etag = scriptListEtag;
+        List<ScriptMetadata> cached = cachedScriptList;
+        if (etag != null && cached != null) {
+            builder.header("If-None-Match", etag);
+        }
 
-        List<ScriptMetadata> scripts = new ArrayList<>();
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request interrupted", e);
+        }
 
-        if (json.has("scripts") && json.get("scripts").isJsonArray()) {
-            JsonArray scriptsArray = json.getAsJsonArray("scripts");
-            for (int i = 0; i < scriptsArray.size(); i++) {
-                JsonObject scriptJson = scriptsArray.get(i).getAsJsonObject();
-                ScriptMetadata metadata = new ScriptMetadata();
-                metadata.setId(getJsonString(scriptJson, "id"));
-                metadata.setName(getJsonString(scriptJson, "name"));
-                metadata.setDescription(getJsonString(scriptJson, "description"));
-                metadata.setAuthor(getJsonString(scriptJson, "author"));
-                metadata.setCreatedDate(getJsonString(scriptJson, "createdDate"));
-                metadata.setLastModified(getJsonString(scriptJson, "lastModified"));
-                metadata.setFolderPath(getJsonString(scriptJson, "folderPath"));
-                metadata.setVersion(getJsonString(scriptJson, "version"));
-                scripts.add(metadata);
-            }
+        if (response.statusCode() == 304 && cached != null) {
+            LOGGER.debug("Script list not modified ({} scripts)", cached.size());
+            return copyOf(cached);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
         }
 
+        JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
+        List<ScriptMetadata> scripts = json.has("scripts") && json.get("scripts").isJsonArray()
+                ? parseScriptMetadata(json.getAsJsonArray("scripts"))
+                : new ArrayList<>();
+
+        cachedScriptList = scripts;
+        scriptListEtag = response.headers().firstValue("ETag").orElse(null);
+
         LOGGER.debug("Loaded {} scripts", scripts.size());
+        return copyOf(scripts);
+    }
+
+    /**
+     * Gets the scripts added, updated and deleted since a repository revision.
+     *
+     * @param since the revision from the previous call, or -1 to get every script (as a reset)
+     * @return the changes and the revision they bring the caller up to
+     * @throws IOException if the HTTP request fails
+     *
+     * v2.6.0: Added for incremental script tree refreshes
+     */
+    public ScriptChanges getScriptChanges(long since) throws IOException {
+        LOGGER.debug("Getting script changes since revision {}", since);
+
+        String response = get("/scripts/changes?since=" + since);
+        JsonObject json = JsonParser.parseString(response).getAsJsonObject();
+
+        if (!json.has("success") || !json.get("success").getAsBoolean()) {
+            String error = json.has("error") ? json.get("error").getAsString() : "Unknown error";
+            throw new IOException("Failed to get script changes: " + error);
+        }
+
+        ScriptChanges changes = new ScriptChanges();
+        changes.setRevision(json.get("revision").getAsLong());
+        changes.setReset(json.has("reset") && json.get("reset").getAsBoolean());
+        if (json.has("added") && json.get("added").isJsonArray()) {
+            changes.setAdded(parseScriptMetadata(json.getAsJsonArray("added")));
+        }
+        if (json.has("updated") && json.get("updated").isJsonArray()) {
+            changes.setUpdated(parseScriptMetadata(json.getAsJsonArray("updated")));
+        }
+        if (json.has("deleted") && json.get("deleted").isJsonArray()) {
+            changes.setDeleted(parseScriptMetadata(json.getAsJsonArray("deleted")));
+        }
+
+        LOGGER.debug("Script changes to revision {}: {} added, {} updated, {} deleted{}", changes.getRevision(),
+                changes.getAdded().size(), changes.getUpdated().size(), changes.getDeleted().size(),
+                changes.isReset() ? " (reset)" : "");
+        return changes;
+    }
+
+    private List<ScriptMetadata> parseScriptMetadata(JsonArray scriptsArray) {
+        List<ScriptMetadata> scripts = new ArrayList<>();
+        for (int i = 0; i < scriptsArray.size(); i++) {
+            JsonObject scriptJson = scriptsArray.get(i).getAsJsonObject();
+            ScriptMetadata metadata = new ScriptMetadata();
+            metadata.setId(getJsonString(scriptJson, "id"));
+            metadata.setName(getJsonString(scriptJson, "name"));
+            metadata.setDescription(getJsonString(scriptJson, "description"));
+            metadata.setAuthor(getJsonString(scriptJson, "author"));
+            metadata.setCreatedDate(getJsonString(scriptJson, "createdDate"));
+            metadata.setLastModified(getJsonString(scriptJson, "lastModified"));
+            metadata.setFolderPath(getJsonString(scriptJson, "folderPath"));
+            metadata.setVersion(getJsonString(scriptJson, "version"));
+            scripts.add(metadata);
+        }
         return scripts;
     }
 
+    /**
+     * Copies of cached metadata, so callers may modify what they get
+     */
+    private static List<ScriptMetadata> copyOf(List<ScriptMetadata> scripts) {
+        List<ScriptMetadata> copy = new ArrayList<>(scripts.size());
+        for (ScriptMetadata script : scripts) {
+            copy.add(new ScriptMetadata(script.getId(), script.getName(), script.getDescription(),
+                    script.getAuthor(), script.getCreatedDate(), script.getLastModified(),
+                    script.getFolderPath(), script.getVersion()));
+        }
+        return copy;
+    }
+
     /**
      * Loads a saved script from the Gateway.
      *
      * @param name the script name
      * @return the saved script with code
      * @throws IOException if the HTTP request fails
+     *
+     * v2.6.0: Sends If-None-Match for a cached copy and returns that copy if the script is unchanged
      */
     public SavedScript loadScript(String name) throws IOException {
         LOGGER.debug("Loading script: {}", name);
 
         // URL encode the name to handle spaces and special characters
         String encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8);
-        String response = get("/scripts/load/" + encodedName);
-        JsonObject json = JsonParser.parseString(response).getAsJsonObject();
+        String url = gatewayUrl + API_BASE_PATH + "/scripts/load/" + encodedName;
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .header("Accept", "application/json");
+        String etag = scriptCache.getEtag(name);
+        if (etag != null) {
+            builder.header("If-None-Match", etag);
+        }
+
+        HttpResponse<String> response;
+        try {
+            response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Request interrupted", e);
+        }
+
+        if (response.statusCode() == 304) {
+            SavedScript cached = scriptCache.get(name, etag);
+            if (cached != null) {
+                LOGGER.debug("Script not modified, using cached copy: {}", name);
+                return cached;
+            }
+            // Evicted or replaced while the request was in flight: fetch it outright
+            scriptCache.remove(name);
+            return loadScript(name);
+        }
+        if (response.statusCode() != 200) {
+            throw new IOException("HTTP " + response.statusCode() + ": " + response.body());
+        }
+
+        JsonObject json = JsonParser.parseString(response.body()).getAsJsonObject();
 
         if (json.has("script") && json.get("script").isJsonObject()) {
-            JsonObject scriptJson = json.getAsJsonObject("script");
-            SavedScript script = new SavedScript();
-            script.setId(getJsonString(scriptJson, "id"));
-            script.setName(getJsonString(scriptJson, "name"));
-            script.setCode(getJsonString(scriptJson, "code"));
-            script.setDescription(getJsonString(scriptJson, "description"));
-            script.setAuthor(getJsonString(scriptJson, "author"));
-            script.setCreatedDate(getJsonString(scriptJson, "createdDate"));
-            script.setLastModified(getJsonString(scriptJson, "lastModified"));
-            script.setFolderPath(getJsonString(scriptJson, "folderPath"));
-            script.setVersion(getJsonString(scriptJson, "version"));
+            SavedScript script = parseSavedScript(json.getAsJsonObject("script"));
+            scriptCache.put(script, response.headers().firstValue("ETag").orElse(null));
             return script;
         }
 
+        scriptCache.remove(name);
         throw new IOException("Failed to load script: " + name);
     }
 
+    /**
+     * Loads the sources of several scripts into the local cache in one request, skipping those
+     * whose cached copy is already current. Later {@link #loadScript} calls for them are then
+     * answered by 304 Not Modified.
+     *
+     * @param scripts the scripts to prefetch (at most {@value #MAX_PREFETCH_SCRIPTS} are fetched)
+     * @return the number of scripts fetched
+     * @throws IOException if the HTTP request fails
+     *
+     * v2.6.0: Added to prefetch a folder's scripts when it is expanded
+     */
+    public int prefetchScripts(List<ScriptMetadata> scripts) throws IOException {
+        JsonArray names = new JsonArray();
+        JsonObject cached = new JsonObject();
+        for (ScriptMetadata metadata : scripts) {
+            if (names.size() >= MAX_PREFETCH_SCRIPTS) {
+                break;
+            }
+            if (metadata.getName() == null || scriptCache.isCurrent(metadata.getId(), metadata.getLastModified())) {
+                continue;
+            }
+            names.add(metadata.getName());
+            String lastModified = metadata.getId() != null ? scriptCache.getLastModified(metadata.getId()) : null;
+            if (lastModified != null) {
+                cached.addProperty(metadata.getId(), lastModified);
+            }
+        }
+        if (names.size() == 0) {
+            return 0;
+        }
+
+        LOGGER.debug("Prefetching {} scripts", names.size());
+
+        JsonObject requestBody = new JsonObject();
+        requestBody.add("names", names);
+        requestBody.add("cached", cached);
+
+        String response = post("/scripts/batch", requestBody.toString());
+        JsonObject json = JsonParser.parseString(response).getAsJsonObject();
+
+        if (!json.has("success") || !json.get("success").getAsBoolean()) {
+            String error = json.has("error") ? json.get("error").getAsString() : "Unknown error";
+            throw new IOException("Failed to prefetch scripts: " + error);
+        }
+
+        int fetched = 0;
+        if (json.has("scripts") && json.get("scripts").isJsonArray()) {
+            for (JsonElement element : json.getAsJsonArray("scripts")) {
+                JsonObject scriptJson = element.getAsJsonObject();
+                scriptCache.put(parseSavedScript(scriptJson), getJsonString(scriptJson, "etag"));
+                fetched++;
+            }
+        }
+
+        LOGGER.debug("Prefetched {} scripts ({} cached scripts)", fetched, scriptCache.size());
+        return fetched;
+    }
+
+    private SavedScript parseSavedScript(JsonObject scriptJson) {
+        SavedScript script = new SavedScript();
+        script.setId(getJsonString(scriptJson, "id"));
+        script.setName(getJsonString(scriptJson, "name"));
+        script.setCode(getJsonString(scriptJson, "code"));
+        script.setDescription(getJsonString(scriptJson, "description"));
+        script.setAuthor(getJsonString(scriptJson, "author"));
+        script.setCreatedDate(getJsonString(scriptJson, "createdDate"));
+        script.setLastModified(getJsonString(scriptJson, "lastModified"));
+        script.setFolderPath(getJsonString(scriptJson, "folderPath"));
+        script.setVersion(getJsonString(scriptJson, "version"));
+        return script;
+    }
+
+    /**
+     * Searches the code and paths of all saved scripts on the Gateway.
+     *
+     * @param query the text or regular expression to find
+     * @param regex whether query is a regular expression
+     * @param matchCase whether matching is case-sensitive
+     * @param limit maximum number of scripts to return
+     * @return matching scripts, best first, each with up to 5 matching lines
+     * @throws IOException if the HTTP request fails or the query is rejected
+     *
+     * v2.6.0: Added for "Search All Scripts"
+     */
+    public List<ScriptSearchResult> searchScripts(String query, boolean regex, boolean matchCase, int limit)
+            throws IOException {
+        LOGGER.debug("Searching scripts for: {}", query);
+
+        String response = get("/scripts/search?q=" + URLEncoder.encode(query, StandardCharsets.UTF_8)
+                + "&regex=" + regex + "&matchCase=" + matchCase + "&limit=" + limit);
+        JsonObject json = JsonParser.parseString(response).getAsJsonObject();
+
+        if (!json.has("success") || !json.get("success").getAsBoolean()) {
+            String error = json.has("error") ? json.get("error").getAsString() : "Unknown error";
+            throw new IOException(error);
+        }
+
+        List<ScriptSearchResult> results = new ArrayList<>();
+        if (json.has("results") && json.get("results").isJsonArray()) {
+            for (JsonElement element : json.getAsJsonArray("results")) {
+                JsonObject resultJson = element.getAsJsonObject();
+                ScriptSearchResult result = new ScriptSearchResult();
+                result.setId(getJsonString(resultJson, "id"));
+                result.setName(getJsonString(resultJson, "name"));
+                result.setFolderPath(getJsonString(resultJson, "folderPath"));
+                result.setPath(getJsonString(resultJson, "path"));
+                result.setLastModified(getJsonString(resultJson, "lastModified"));
+                result.setPathMatch(resultJson.has("pathMatch") && resultJson.get("pathMatch").getAsBoolean());
+                result.setMatchingLines(resultJson.has("matchingLines") ? resultJson.get("matchingLines").getAsInt() : 0);
+
+                if (resultJson.has("matches") && resultJson.get("matches").isJsonArray()) {
+                    for (JsonElement matchElement : resultJson.getAsJsonArray("matches")) {
+                        JsonObject matchJson = matchElement.getAsJsonObject();
+                        result.getMatches().add(new ScriptSearchResult.Match(
+                                matchJson.get("line").getAsInt(),
+                                matchJson.get("column").getAsInt(),
+                                getJsonString(matchJson, "text")));
+                    }
+                }
+                results.add(result);
+            }
+        }
+
+        LOGGER.debug("Script search found {} scripts", results.size());
+        return results;
+    }
+
     /**
      * Saves a script to the Gateway.
      *
@@ -719,6 +980,7 @@ public class Python3RestClient {
         requestBody.addProperty("folderPath", folderPath);
         requestBody.addProperty("version", version);
 
+        scriptCache.remove(name);
         String response = post("/scripts/save", requestBody.toString());
         JsonObject json = JsonParser.parseString(response).getAsJsonObject();
 
@@ -753,6 +1015,7 @@ public class Python3RestClient {
         // URL encode the name to handle spaces and special characters
         String encodedName = URLEncoder.encode(name, StandardCharsets.UTF_8);
         String url = gatewayUrl + API_BASE_PATH + "/scripts/delete/" + encodedName;
+        scriptCache.remove(name);
 
         HttpRequest request = HttpRequest.newBuilder()
                 .uri(URI.create(url))
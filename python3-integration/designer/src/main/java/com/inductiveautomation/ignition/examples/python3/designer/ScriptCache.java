@@ -0,0 +1,139 @@
+package com.inductiveautomation.ignition.examples.python3.designer;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Size-bounded cache of script sources loaded from the Gateway, keyed by script id.
+ *
+ * Each entry keeps the ETag the Gateway sent with it, so a reopen can be a conditional request
+ * answered by 304 Not Modified. Least recently used entries are dropped once the cached code
+ * exceeds the budget (-Dignition.python3.designer.scriptCacheMb, default 16 MB). Callers get
+ * copies, so editing a loaded script never changes the cached one.
+ *
+ * v2.6.0: Added for conditional script loads and folder prefetch
+ */
+public class ScriptCache {
+    public static final String CACHE_MB_PROPERTY = "ignition.python3.designer.scriptCacheMb";
+
+    private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+    private final long maxBytes;
+    private final LinkedHashMap<String, Entry> byId = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> idByName = new HashMap<>();
+    private long bytes;
+
+    public ScriptCache() {
+        this(Integer.getInteger(CACHE_MB_PROPERTY, 16) * 1024L * 1024L);
+    }
+
+    public ScriptCache(long maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * The cached copy of a script if it is still the one sent with the given ETag, or null
+     */
+    public synchronized SavedScript get(String name, String etag) {
+        Entry entry = entryFor(name);
+        return entry != null && Objects.equals(entry.etag, etag) ? copyOf(entry.script) : null;
+    }
+
+    /**
+     * The ETag sent with the cached copy of a script, or null if it is not cached
+     */
+    public synchronized String getEtag(String name) {
+        Entry entry = entryFor(name);
+        return entry != null ? entry.etag : null;
+    }
+
+    /**
+     * Whether the cached copy of a script is the one last modified at the given time
+     */
+    public synchronized boolean isCurrent(String id, String lastModified) {
+        Entry entry = byId.get(id);
+        return entry != null && Objects.equals(entry.script.getLastModified(), lastModified);
+    }
+
+    /**
+     * The lastModified of the cached copy of a script, or null if it is not cached
+     */
+    public synchronized String getLastModified(String id) {
+        Entry entry = byId.get(id);
+        return entry != null ? entry.script.getLastModified() : null;
+    }
+
+    /**
+     * Cache a script as loaded from the Gateway, replacing any older copy
+     */
+    public synchronized void put(SavedScript script, String etag) {
+        if (script.getId() == null || script.getName() == null) {
+            return;
+        }
+        removeId(script.getId());
+        Entry entry = new Entry(copyOf(script), etag);
+        if (entry.size > maxBytes) {
+            return;
+        }
+        byId.put(script.getId(), entry);
+        idByName.put(script.getName(), script.getId());
+        bytes += entry.size;
+
+        Iterator<Entry> eldest = byId.values().iterator();
+        while (bytes > maxBytes && eldest.hasNext()) {
+            Entry evicted = eldest.next();
+            eldest.remove();
+            idByName.remove(evicted.script.getName(), evicted.script.getId());
+            bytes -= evicted.size;
+        }
+    }
+
+    /**
+     * Drop the cached copy of a script, e.g. after it was saved or deleted
+     */
+    public synchronized void remove(String name) {
+        String id = idByName.get(name);
+        if (id != null) {
+            removeId(id);
+        }
+    }
+
+    public synchronized int size() {
+        return byId.size();
+    }
+
+    private void removeId(String id) {
+        Entry entry = byId.remove(id);
+        if (entry != null) {
+            idByName.remove(entry.script.getName(), id);
+            bytes -= entry.size;
+        }
+    }
+
+    private Entry entryFor(String name) {
+        String id = idByName.get(name);
+        return id != null ? byId.get(id) : null;
+    }
+
+    private static SavedScript copyOf(SavedScript script) {
+        return new SavedScript(script.getId(), script.getName(), script.getCode(), script.getDescription(),
+                script.getAuthor(), script.getCreatedDate(), script.getLastModified(),
+                script.getFolderPath(), script.getVersion());
+    }
+
+    private static final class Entry {
+        final SavedScript script;
+        final String etag;
+        final long size;
+
+        Entry(SavedScript script, String etag) {
+            this.script = script;
+            this.etag = etag;
+            String code = script.getCode();
+            this.size = ENTRY_OVERHEAD_BYTES + 2L * (code != null ? code.length() : 0);
+        }
+    }
+}
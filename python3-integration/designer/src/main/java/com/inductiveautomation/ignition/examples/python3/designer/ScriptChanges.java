@@ -0,0 +1,66 @@
+package com.inductiveautomation.ignition.examples.python3.designer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Scripts added, updated and deleted on the Gateway since a repository revision.
+ *
+ * If reset is true the Gateway no longer knew the changes since that revision, and added holds
+ * every script: the client should drop what it has and start over from these.
+ *
+ * v2.6.0: Added for incremental script tree refreshes
+ */
+public class ScriptChanges {
+    private long revision;
+    private boolean reset;
+    private List<ScriptMetadata> added = new ArrayList<>();
+    private List<ScriptMetadata> updated = new ArrayList<>();
+    private List<ScriptMetadata> deleted = new ArrayList<>();
+
+    public ScriptChanges() {
+    }
+
+    public long getRevision() {
+        return revision;
+    }
+
+    public void setRevision(long revision) {
+        this.revision = revision;
+    }
+
+    public boolean isReset() {
+        return reset;
+    }
+
+    public void setReset(boolean reset) {
+        this.reset = reset;
+    }
+
+    public List<ScriptMetadata> getAdded() {
+        return added;
+    }
+
+    public void setAdded(List<ScriptMetadata> added) {
+        this.added = added;
+    }
+
+    public List<ScriptMetadata> getUpdated() {
+        return updated;
+    }
+
+    public void setUpdated(List<ScriptMetadata> updated) {
+        this.updated = updated;
+    }
+
+    /**
+     * Deleted scripts as they were before deletion.
+     */
+    public List<ScriptMetadata> getDeleted() {
+        return deleted;
+    }
+
+    public void setDeleted(List<ScriptMetadata> deleted) {
+        this.deleted = deleted;
+    }
+}
@@ -0,0 +1,124 @@
+package com.inductiveautomation.ignition.examples.python3.designer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A script matched by a Gateway-side script search, with its first matching lines.
+ *
+ * v2.6.0: Added for "Search All Scripts"
+ */
+public class ScriptSearchResult {
+    private String id;
+    private String name;
+    private String folderPath;
+    private String path;
+    private String lastModified;
+    private boolean pathMatch;
+    private int matchingLines;
+    private List<Match> matches = new ArrayList<>();
+
+    public ScriptSearchResult() {
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public void setId(String id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getFolderPath() {
+        return folderPath;
+    }
+
+    public void setFolderPath(String folderPath) {
+        this.folderPath = folderPath;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getLastModified() {
+        return lastModified;
+    }
+
+    public void setLastModified(String lastModified) {
+        this.lastModified = lastModified;
+    }
+
+    public boolean isPathMatch() {
+        return pathMatch;
+    }
+
+    public void setPathMatch(boolean pathMatch) {
+        this.pathMatch = pathMatch;
+    }
+
+    public int getMatchingLines() {
+        return matchingLines;
+    }
+
+    public void setMatchingLines(int matchingLines) {
+        this.matchingLines = matchingLines;
+    }
+
+    public List<Match> getMatches() {
+        return matches;
+    }
+
+    public void setMatches(List<Match> matches) {
+        this.matches = matches;
+    }
+
+    @Override
+    public String toString() {
+        return path + " (" + matchingLines + (matchingLines == 1 ? " match)" : " matches)");
+    }
+
+    /**
+     * One matching line (1-based line and column of the first match on it).
+     */
+    public static class Match {
+        private final int line;
+        private final int column;
+        private final String text;
+
+        public Match(int line, int column, String text) {
+            this.line = line;
+            this.column = column;
+            this.text = text;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public String toString() {
+            return line + ": " + (text != null ? text.trim() : "");
+        }
+    }
+}
@@ -79,6 +79,18 @@ public class ScriptTreeNode extends DefaultMutableTreeNode {
         return scriptMetadata;
     }
 
+    /**
+     * Replaces the script metadata (only for script nodes), e.g. after a rename on the Gateway.
+     *
+     * @param metadata the new script metadata
+     *
+     * v2.6.0: Added for incremental script tree refreshes
+     */
+    public void setScriptMetadata(ScriptMetadata metadata) {
+        this.scriptMetadata = metadata;
+        setUserObject(metadata.getName());
+    }
+
     /**
      * Gets the folder name (only for folder nodes).
      *
@@ -0,0 +1,335 @@
+package com.inductiveautomation.ignition.examples.python3.designer.ui;
+
+import com.inductiveautomation.ignition.examples.python3.designer.ModernTheme;
+import com.inductiveautomation.ignition.examples.python3.designer.Python3RestClient;
+import com.inductiveautomation.ignition.examples.python3.designer.ScriptSearchResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JCheckBox;
+import javax.swing.JDialog;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JTextField;
+import javax.swing.JTree;
+import javax.swing.KeyStroke;
+import javax.swing.SwingWorker;
+import javax.swing.tree.DefaultMutableTreeNode;
+import javax.swing.tree.DefaultTreeCellRenderer;
+import javax.swing.tree.DefaultTreeModel;
+import javax.swing.tree.TreePath;
+import java.awt.BorderLayout;
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.FlowLayout;
+import java.awt.event.KeyEvent;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+/**
+ * "Search All Scripts" dialog: finds text or a regex in every script saved on the Gateway.
+ *
+ * The search runs on the Gateway (/api/v1/scripts/search), so only the ranked results and their
+ * matching lines are sent to the Designer. Results are shown as a tree of scripts with their
+ * matching lines; double-click (or Enter) opens the script at that line.
+ *
+ * v2.6.0: Added with Gateway-side script search
+ */
+public class ScriptSearchDialog extends JDialog {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScriptSearchDialog.class);
+    private static final int MAX_RESULTS = 200;
+
+    private final Supplier<Python3RestClient> restClientSupplier;
+    private final BiConsumer<String, Integer> openHandler;
+
+    private final JTextField queryField;
+    private final JCheckBox matchCaseCheckbox;
+    private final JCheckBox regexCheckbox;
+    private final JButton searchButton;
+    private final DefaultMutableTreeNode resultsRoot;
+    private final DefaultTreeModel resultsModel;
+    private final JTree resultsTree;
+    private final JLabel statusLabel;
+
+    private SwingWorker<List<ScriptSearchResult>, Void> currentSearch;
+
+    /**
+     * Creates a new script search dialog.
+     *
+     * @param parent the parent frame
+     * @param restClientSupplier the current Gateway client (null while disconnected)
+     * @param openHandler called with the script name and 1-based line when a result is opened
+     */
+    public ScriptSearchDialog(JFrame parent, Supplier<Python3RestClient> restClientSupplier,
+                              BiConsumer<String, Integer> openHandler) {
+        super(parent, "Search All Scripts", false); // Non-modal
+        this.restClientSupplier = restClientSupplier;
+        this.openHandler = openHandler;
+
+        queryField = new JTextField();
+        queryField.setPreferredSize(new Dimension(320, 25));
+        queryField.setFont(ModernTheme.FONT_REGULAR);
+        queryField.setBackground(ModernTheme.INPUT_BACKGROUND);
+        queryField.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+        queryField.setCaretColor(ModernTheme.FOREGROUND_PRIMARY);
+        queryField.addActionListener(e -> search());
+
+        matchCaseCheckbox = new JCheckBox("Match Case");
+        matchCaseCheckbox.setFont(ModernTheme.FONT_REGULAR);
+        matchCaseCheckbox.setBackground(ModernTheme.PANEL_BACKGROUND);
+        matchCaseCheckbox.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+
+        regexCheckbox = new JCheckBox("Regular Expression");
+        regexCheckbox.setFont(ModernTheme.FONT_REGULAR);
+        regexCheckbox.setBackground(ModernTheme.PANEL_BACKGROUND);
+        regexCheckbox.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+
+        searchButton = new JButton("Search");
+        searchButton.setFont(ModernTheme.FONT_REGULAR);
+        searchButton.setBackground(ModernTheme.BUTTON_BACKGROUND);
+        searchButton.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+        searchButton.setFocusPainted(false);
+        searchButton.addActionListener(e -> search());
+
+        resultsRoot = new DefaultMutableTreeNode("Results");
+        resultsModel = new DefaultTreeModel(resultsRoot);
+        resultsTree = new JTree(resultsModel);
+        resultsTree.setRootVisible(false);
+        resultsTree.setShowsRootHandles(true);
+        resultsTree.setFont(ModernTheme.FONT_REGULAR);
+        resultsTree.setBackground(ModernTheme.TREE_BACKGROUND);
+        resultsTree.setCellRenderer(createResultRenderer());
+        resultsTree.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                if (e.getClickCount() == 2) {
+                    openSelected();
+                }
+            }
+        });
+        resultsTree.registerKeyboardAction(
+            e -> openSelected(),
+            KeyStroke.getKeyStroke(KeyEvent.VK_ENTER, 0),
+            javax.swing.JComponent.WHEN_FOCUSED
+        );
+
+        statusLabel = new JLabel(" ");
+        statusLabel.setFont(ModernTheme.FONT_REGULAR);
+        statusLabel.setForeground(ModernTheme.INFO);
+
+        // Build UI
+        setLayout(new BorderLayout());
+        getContentPane().setBackground(ModernTheme.BACKGROUND_DARK);
+
+        add(createQueryPanel(), BorderLayout.NORTH);
+        add(createResultsPanel(), BorderLayout.CENTER);
+        add(createStatusPanel(), BorderLayout.SOUTH);
+
+        // Escape - Close
+        getRootPane().registerKeyboardAction(
+            e -> setVisible(false),
+            KeyStroke.getKeyStroke(KeyEvent.VK_ESCAPE, 0),
+            javax.swing.JComponent.WHEN_IN_FOCUSED_WINDOW
+        );
+
+        // Dialog settings
+        setSize(620, 480);
+        setLocationRelativeTo(parent);
+        setDefaultCloseOperation(JDialog.HIDE_ON_CLOSE);
+    }
+
+    /**
+     * Creates the query panel with the search field, options and search button.
+     */
+    private JPanel createQueryPanel() {
+        JPanel fieldPanel = new JPanel(new BorderLayout(8, 0));
+        fieldPanel.setBackground(ModernTheme.PANEL_BACKGROUND);
+        JLabel findLabel = new JLabel("Find:");
+        findLabel.setFont(ModernTheme.FONT_REGULAR);
+        findLabel.setForeground(ModernTheme.FOREGROUND_PRIMARY);
+        fieldPanel.add(findLabel, BorderLayout.WEST);
+        fieldPanel.add(queryField, BorderLayout.CENTER);
+        fieldPanel.add(searchButton, BorderLayout.EAST);
+
+        JPanel optionsPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        optionsPanel.setBackground(ModernTheme.PANEL_BACKGROUND);
+        optionsPanel.add(matchCaseCheckbox);
+        optionsPanel.add(regexCheckbox);
+
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(ModernTheme.PANEL_BACKGROUND);
+        panel.setBorder(BorderFactory.createEmptyBorder(10, 10, 5, 10));
+        panel.add(fieldPanel, BorderLayout.NORTH);
+        panel.add(optionsPanel, BorderLayout.SOUTH);
+        return panel;
+    }
+
+    /**
+     * Creates the scrollable results tree.
+     */
+    private JScrollPane createResultsPanel() {
+        JScrollPane scroll = new JScrollPane(resultsTree);
+        scroll.setBorder(BorderFactory.createLineBorder(ModernTheme.BORDER_DEFAULT));
+        scroll.getViewport().setBackground(ModernTheme.TREE_BACKGROUND);
+        return scroll;
+    }
+
+    /**
+     * Creates the status panel with status label.
+     */
+    private JPanel createStatusPanel() {
+        JPanel panel = new JPanel(new BorderLayout());
+        panel.setBackground(ModernTheme.BACKGROUND_DARKER);
+        panel.setBorder(BorderFactory.createEmptyBorder(5, 10, 5, 10));
+        panel.add(statusLabel, BorderLayout.WEST);
+        return panel;
+    }
+
+    /**
+     * Renders scripts in the primary color and matching lines dimmed, without folder icons.
+     */
+    private DefaultTreeCellRenderer createResultRenderer() {
+        DefaultTreeCellRenderer renderer = new DefaultTreeCellRenderer() {
+            @Override
+            public Component getTreeCellRendererComponent(JTree tree, Object value, boolean selected,
+                                                          boolean expanded, boolean leaf, int row,
+                                                          boolean hasFocus) {
+                super.getTreeCellRendererComponent(tree, value, selected, expanded, leaf, row, hasFocus);
+                Object item = ((DefaultMutableTreeNode) value).getUserObject();
+                setIcon(null);
+                setForeground(item instanceof ScriptSearchResult.Match
+                        ? ModernTheme.FOREGROUND_SECONDARY
+                        : ModernTheme.FOREGROUND_PRIMARY);
+                return this;
+            }
+        };
+        renderer.setBackgroundNonSelectionColor(ModernTheme.TREE_BACKGROUND);
+        return renderer;
+    }
+
+    /**
+     * Runs the search on the Gateway in the background and shows the results.
+     */
+    private void search() {
+        String query = queryField.getText();
+        if (query == null || query.isEmpty()) {
+            setStatus("Please enter search text", ModernTheme.WARNING);
+            return;
+        }
+        Python3RestClient client = restClientSupplier.get();
+        if (client == null) {
+            setStatus("Not connected to a Gateway", ModernTheme.WARNING);
+            return;
+        }
+        if (currentSearch != null) {
+            currentSearch.cancel(true);
+        }
+
+        boolean regex = regexCheckbox.isSelected();
+        boolean matchCase = matchCaseCheckbox.isSelected();
+        setStatus("Searching...", ModernTheme.INFO);
+
+        SwingWorker<List<ScriptSearchResult>, Void> worker = new SwingWorker<List<ScriptSearchResult>, Void>() {
+            @Override
+            protected List<ScriptSearchResult> doInBackground() throws Exception {
+                return client.searchScripts(query, regex, matchCase, MAX_RESULTS);
+            }
+
+            @Override
+            protected void done() {
+                if (isCancelled() || currentSearch != this) {
+                    return;
+                }
+                try {
+                    showResults(get());
+                } catch (ExecutionException e) {
+                    LOGGER.warn("Script search failed", e.getCause());
+                    resultsRoot.removeAllChildren();
+                    resultsModel.reload();
+                    setStatus("Search failed: " + e.getCause().getMessage(), ModernTheme.ERROR);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        };
+        currentSearch = worker;
+        worker.execute();
+    }
+
+    /**
+     * Replaces the results tree contents and expands every script.
+     */
+    private void showResults(List<ScriptSearchResult> results) {
+        resultsRoot.removeAllChildren();
+        int lines = 0;
+        for (ScriptSearchResult result : results) {
+            DefaultMutableTreeNode scriptNode = new DefaultMutableTreeNode(result);
+            for (ScriptSearchResult.Match match : result.getMatches()) {
+                scriptNode.add(new DefaultMutableTreeNode(match, false));
+            }
+            resultsRoot.add(scriptNode);
+            lines += result.getMatchingLines();
+        }
+        resultsModel.reload();
+        for (int row = 0; row < resultsTree.getRowCount(); row++) {
+            resultsTree.expandRow(row);
+        }
+
+        if (results.isEmpty()) {
+            setStatus("No matches found", ModernTheme.WARNING);
+        } else {
+            setStatus("Found " + lines + " matching line(s) in " + results.size() + " script(s)", ModernTheme.SUCCESS);
+        }
+    }
+
+    /**
+     * Opens the selected script (at its first match) or matching line.
+     */
+    private void openSelected() {
+        TreePath path = resultsTree.getSelectionPath();
+        if (path == null) {
+            return;
+        }
+        DefaultMutableTreeNode node = (DefaultMutableTreeNode) path.getLastPathComponent();
+        Object item = node.getUserObject();
+
+        if (item instanceof ScriptSearchResult.Match) {
+            ScriptSearchResult result = (ScriptSearchResult) ((DefaultMutableTreeNode) node.getParent()).getUserObject();
+            openHandler.accept(result.getName(), ((ScriptSearchResult.Match) item).getLine());
+        } else if (item instanceof ScriptSearchResult) {
+            ScriptSearchResult result = (ScriptSearchResult) item;
+            int line = result.getMatches().isEmpty() ? 1 : result.getMatches().get(0).getLine();
+            openHandler.accept(result.getName(), line);
+        }
+    }
+
+    /**
+     * Sets the status message with color.
+     */
+    private void setStatus(String message, Color color) {
+        statusLabel.setText(message);
+        statusLabel.setForeground(color);
+    }
+
+    /**
+     * Shows the dialog and focuses the search field, pre-filled with the given text if any.
+     */
+    public void showDialog(String initialQuery) {
+        if (initialQuery != null && !initialQuery.isEmpty() && !initialQuery.contains("\n")) {
+            queryField.setText(initialQuery);
+        }
+        setVisible(true);
+        queryField.requestFocusInWindow();
+        queryField.selectAll();
+    }
+}
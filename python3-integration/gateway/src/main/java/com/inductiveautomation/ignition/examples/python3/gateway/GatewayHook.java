@@ -11,6 +11,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Gateway hook for Python 3 Integration module.
@@ -26,6 +27,12 @@ public class GatewayHook extends AbstractGatewayModuleHook {
     private Python3ScriptModule scriptModule;
     private Python3ScriptRepository scriptRepository;
     private Python3PackageManager packageManager;
+    private final Python3MetricsCollector metricsCollector = new Python3MetricsCollector();
+    private Python3TraceExporter traceExporter;
+    private Python3ExecutionRecorder executionRecorder;
+    private Python3AsyncService asyncService;
+    private Python3JobQueue jobQueue;
+    private Consumer<String> scriptChangeListener;
 
     // Configuration
     private int poolSize = 3; // Default pool size
@@ -50,6 +57,7 @@ public class GatewayHook extends AbstractGatewayModuleHook {
             scriptRepository = new Python3ScriptRepository(
                     context.getSystemManager().getDataDir().toPath().resolve("python3-integration")
             );
+            scriptRepository.setMetricsCollector(metricsCollector);
             LOGGER.info("Script repository initialized");
         } catch (IOException e) {
             LOGGER.error("Failed to initialize script repository", e);
@@ -63,6 +71,18 @@ public class GatewayHook extends AbstractGatewayModuleHook {
     public void startup(LicenseState licenseState) {
         LOGGER.info("Python 3 Integration module startup");
 
+        // v2.6.0: Background snapshot history and health alert evaluation
+        metricsCollector.start();
+
+        // v2.6.0: Optional OTLP/JSON span export (-Dignition.python3.trace.file=...)
+        String moduleVersion = GatewayHook.class.getPackage().getImplementationVersion();
+        traceExporter = Python3TraceExporter.fromSystemProperties(moduleVersion != null ? moduleVersion : "unknown");
+        Python3Trace.setExporter(traceExporter);
+
+        // v2.6.0: Worker threads behind execAsync()/callScriptAsync()
+        asyncService = Python3AsyncService.fromSystemProperties();
+        Python3RestEndpoints.setJobStore(Python3JobStore.fromSystemProperties(asyncService));
+
         try {
             // Get Python path (may download if needed)
             String pythonPath = distributionManager.getPythonPath();
@@ -70,7 +90,30 @@ public class GatewayHook extends AbstractGatewayModuleHook {
 
             // Initialize process pool
             LOGGER.info("Initializing Python 3 process pool (size: {})", poolSize);
-            processPool = new Python3ProcessPool(pythonPath, poolSize);
+            processPool = new Python3ProcessPool(pythonPath, poolSize, metricsCollector);
+
+            // v2.6.0: Optional execution recording for capacity planning (-Dignition.python3.record=true)
+            executionRecorder = Python3ExecutionRecorder.fromSystemProperties(
+                    gatewayContext.getSystemManager().getDataDir().toPath().resolve("python3-integration"));
+            processPool.setRecorder(executionRecorder);
+
+            // v2.6.0: "import scripts.Folder.Name" inside executors, reloaded when the script is re-saved
+            if (scriptRepository != null) {
+                processPool.setScriptSource(scriptRepository::resolveImport);
+                scriptChangeListener = processPool::invalidateScript;
+                scriptRepository.addChangeListener(scriptChangeListener);
+            }
+
+            // v2.6.0: Durable background job queue (journal under the module data dir)
+            try {
+                jobQueue = Python3JobQueue.fromSystemProperties(
+                        gatewayContext.getSystemManager().getDataDir().toPath().resolve("python3-integration"),
+                        (scriptPath, args, kwargs, timeoutMs) -> scriptModule.callScript(scriptPath, args, kwargs,
+                                timeoutMs));
+                Python3RestEndpoints.setJobQueue(jobQueue);
+            } catch (IOException e) {
+                LOGGER.error("Failed to open background job queue - submitJob() will be unavailable", e);
+            }
 
             // Initialize package manager (v2.3.0)
             try {
@@ -129,6 +172,26 @@ public class GatewayHook extends AbstractGatewayModuleHook {
             LOGGER.error("Error closing interactive shell sessions", e);
         }
 
+        // v2.6.0: Cancel queued async calls before their executors go away
+        Python3RestEndpoints.setJobStore(null);
+        Python3RestEndpoints.setJobQueue(null);
+        if (jobQueue != null) {
+            jobQueue.shutdown();
+            jobQueue = null;
+        }
+        if (asyncService != null) {
+            asyncService.shutdown();
+            asyncService = null;
+        }
+
+        if (scriptRepository != null && scriptChangeListener != null) {
+            scriptRepository.removeChangeListener(scriptChangeListener);
+            scriptChangeListener = null;
+        }
+        if (scriptRepository != null) {
+            scriptRepository.close();
+        }
+
         // Shutdown process pool
         if (processPool != null) {
             try {
@@ -138,6 +201,19 @@ public class GatewayHook extends AbstractGatewayModuleHook {
             }
         }
 
+        if (executionRecorder != null) {
+            executionRecorder.shutdown();
+            executionRecorder = null;
+        }
+
+        metricsCollector.shutdown();
+
+        Python3Trace.setExporter(null);
+        if (traceExporter != null) {
+            traceExporter.shutdown();
+            traceExporter = null;
+        }
+
         LOGGER.info("Python 3 Integration module shutdown complete");
     }
 
@@ -160,6 +236,7 @@ public class GatewayHook extends AbstractGatewayModuleHook {
 
         // Initialize REST API endpoints with script module
         Python3RestEndpoints.initialize(scriptModule);
+        Python3RestEndpoints.setMetricsCollector(metricsCollector);
         if (scriptRepository != null) {
             Python3RestEndpoints.setScriptRepository(scriptRepository);
         }
@@ -227,6 +304,27 @@ public class GatewayHook extends AbstractGatewayModuleHook {
         return processPool;
     }
 
+    /**
+     * Get the async scripting service (v2.6.0)
+     */
+    public Python3AsyncService getAsyncService() {
+        return asyncService;
+    }
+
+    /**
+     * Get the durable background job queue (v2.6.0)
+     */
+    public Python3JobQueue getJobQueue() {
+        return jobQueue;
+    }
+
+    /**
+     * Get the metrics collector shared by the process pool and REST API (v2.6.0)
+     */
+    public Python3MetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
     /**
      * Get the distribution manager (for testing/debugging)
      */
@@ -0,0 +1,298 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-size, log-linear latency histogram (HDR-style).
+ *
+ * Values are recorded in microseconds into a preallocated bucket array, so recording never
+ * allocates and is safe to call from any number of threads. Each power-of-two range is split
+ * into 32 linear sub-buckets, which keeps the relative error of any reported percentile
+ * below ~3% across the whole range (1 µs up to ~38 hours).
+ *
+ * Histograms with the same layout can be merged, which lets per-script or per-command
+ * histograms be rolled up into totals without losing percentile accuracy.
+ *
+ * v2.6.0: Added to replace min/avg/max execution timing with real percentiles
+ * v2.6.0: Optional striping - {@link #striped()} spreads bucket counts over one array per
+ *         CPU (picked by thread id) so hot histograms don't bounce a single cache line
+ *         between recording threads. Reads sum the stripes.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;       // 32
+    private static final int MAX_EXPONENT = 37;                             // 2^37 µs ≈ 38 hours
+    private static final long MAX_TRACKABLE_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+    private static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKET_COUNT;
+
+    // Each stripe is ~8.5 KB, so cap the stripe count for many-core gateways
+    private static final int MAX_STRIPES = 16;
+
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final LongAdder totalCount = new LongAdder();
+    private final LongAdder totalMicros = new LongAdder();
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0L);
+
+    /**
+     * Create a single-stripe histogram. Suitable for low-traffic histograms (e.g. per script).
+     */
+    public LatencyHistogram() {
+        this(1);
+    }
+
+    private LatencyHistogram(int stripeCount) {
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = new AtomicLongArray(BUCKET_COUNT);
+        }
+        this.stripeMask = stripeCount - 1;
+    }
+
+    /**
+     * Create a histogram striped across roughly one bucket array per available processor.
+     * Use for histograms recorded from every pool thread (overall, per command, pool wait).
+     *
+     * @return a new striped histogram
+     */
+    public static LatencyHistogram striped() {
+        int cpus = Math.max(1, Runtime.getRuntime().availableProcessors());
+        int stripeCount = Math.min(MAX_STRIPES, Integer.highestOneBit(cpus - 1) << 1);
+        return new LatencyHistogram(Math.max(1, stripeCount));
+    }
+
+    /**
+     * Record a duration measured with {@link System#nanoTime()}.
+     *
+     * @param durationNanos the duration in nanoseconds (negative values are clamped to 0)
+     */
+    public void recordNanos(long durationNanos) {
+        recordMicros(durationNanos / 1000L);
+    }
+
+    /**
+     * Record a duration in microseconds.
+     *
+     * @param micros the duration in microseconds (clamped to the trackable range)
+     */
+    public void recordMicros(long micros) {
+        long value = micros < 0 ? 0 : Math.min(micros, MAX_TRACKABLE_MICROS);
+
+        stripeForCurrentThread().incrementAndGet(bucketIndex(value));
+        totalCount.increment();
+        totalMicros.add(value);
+        maxMicros.accumulate(value);
+    }
+
+    /**
+     * Add all recorded values of another histogram into this one.
+     *
+     * @param other the histogram to merge (not modified)
+     */
+    public void add(LatencyHistogram other) {
+        AtomicLongArray target = stripes[0];
+        long[] otherCounts = other.snapshotCounts();
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            if (otherCounts[i] != 0) {
+                target.addAndGet(i, otherCounts[i]);
+            }
+        }
+        totalCount.add(other.totalCount.sum());
+        totalMicros.add(other.totalMicros.sum());
+        maxMicros.accumulate(other.maxMicros.get());
+    }
+
+    /**
+     * @return a point-in-time copy of this histogram
+     */
+    public LatencyHistogram copy() {
+        LatencyHistogram copy = new LatencyHistogram();
+        copy.add(this);
+        return copy;
+    }
+
+    /**
+     * Clear all recorded values.
+     */
+    public void reset() {
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                stripe.set(i, 0);
+            }
+        }
+        totalCount.reset();
+        totalMicros.reset();
+        maxMicros.reset();
+    }
+
+    public long getCount() {
+        return totalCount.sum();
+    }
+
+    public long getTotalMicros() {
+        return totalMicros.sum();
+    }
+
+    public long getMaxMicros() {
+        return maxMicros.get();
+    }
+
+    /**
+     * Get the value at a given percentile.
+     *
+     * @param percentile percentile in the range 0-100 (e.g. 99.9)
+     * @return the highest value equivalent to the bucket holding the percentile, in microseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        return valueAtPercentile(snapshotCounts(), percentile);
+    }
+
+    /**
+     * Cumulative count of recorded values less than or equal to the given bound.
+     * Used when exporting the histogram with fixed bucket boundaries.
+     *
+     * @param upperBoundMicros inclusive upper bound in microseconds
+     * @return number of recorded values at or below the bound
+     */
+    public long getCountAtOrBelow(long upperBoundMicros) {
+        if (upperBoundMicros < 0) {
+            return 0;
+        }
+        int lastIndex = bucketIndex(Math.min(upperBoundMicros, MAX_TRACKABLE_MICROS));
+        long seen = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i <= lastIndex; i++) {
+                seen += stripe.get(i);
+            }
+        }
+        return seen;
+    }
+
+    /**
+     * The highest value recorded into the same bucket as the given one. Counts returned for an upper
+     * bound include values up to this, so it is the bound to report them under.
+     *
+     * @param micros a value in microseconds
+     * @return the inclusive upper end of its bucket, in microseconds
+     */
+    public static long highestEquivalentMicros(long micros) {
+        if (micros < 0) {
+            return 0;
+        }
+        return highestEquivalentValue(bucketIndex(Math.min(micros, MAX_TRACKABLE_MICROS)));
+    }
+
+    /**
+     * Cumulative counts for a set of ascending upper bounds in a single pass over the buckets.
+     * Used by the Prometheus exporter so each scrape reads every stripe once per histogram.
+     *
+     * @param upperBoundsMicros inclusive upper bounds in microseconds, ascending
+     * @param cumulative        receives the count at or below each bound (same length as the bounds)
+     */
+    public void getCumulativeCounts(long[] upperBoundsMicros, long[] cumulative) {
+        long seen = 0;
+        int bucket = 0;
+        for (int b = 0; b < upperBoundsMicros.length; b++) {
+            long bound = upperBoundsMicros[b];
+            if (bound >= 0) {
+                int lastIndex = bucketIndex(Math.min(bound, MAX_TRACKABLE_MICROS));
+                for (; bucket <= lastIndex; bucket++) {
+                    for (AtomicLongArray stripe : stripes) {
+                        seen += stripe.get(bucket);
+                    }
+                }
+            }
+            cumulative[b] = seen;
+        }
+    }
+
+    /**
+     * Summary of the histogram in milliseconds (count, mean, p50, p90, p99, p999, max).
+     */
+    public Map<String, Object> toMap() {
+        long[] counts = snapshotCounts();
+        Map<String, Object> map = new HashMap<>();
+        long count = getCount();
+        map.put("count", count);
+        map.put("mean_ms", count > 0 ? toMillis(totalMicros.sum() / count) : 0.0);
+        map.put("p50_ms", toMillis(valueAtPercentile(counts, 50.0)));
+        map.put("p90_ms", toMillis(valueAtPercentile(counts, 90.0)));
+        map.put("p99_ms", toMillis(valueAtPercentile(counts, 99.0)));
+        map.put("p999_ms", toMillis(valueAtPercentile(counts, 99.9)));
+        map.put("max_ms", toMillis(maxMicros.get()));
+        return map;
+    }
+
+    /**
+     * Convert microseconds to milliseconds (3 decimal places).
+     */
+    static double toMillis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private AtomicLongArray stripeForCurrentThread() {
+        if (stripeMask == 0) {
+            return stripes[0];
+        }
+        return stripes[(int) Thread.currentThread().getId() & stripeMask];
+    }
+
+    /**
+     * Sum the stripes into a single bucket array (one pass, so percentiles are self-consistent).
+     */
+    private long[] snapshotCounts() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                counts[i] += stripe.get(i);
+            }
+        }
+        return counts;
+    }
+
+    private long valueAtPercentile(long[] counts, double percentile) {
+        long total = 0;
+        for (long c : counts) {
+            total += c;
+        }
+        if (total == 0) {
+            return 0;
+        }
+
+        double clamped = Math.min(100.0, Math.max(0.0, percentile));
+        long target = Math.max(1, (long) Math.ceil(clamped / 100.0 * total));
+
+        long max = maxMicros.get();
+        long seen = 0;
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int shift = exponent - SUB_BUCKET_BITS;
+        return (shift * SUB_BUCKET_COUNT) + (int) (value >>> shift);
+    }
+
+    private static long highestEquivalentValue(int index) {
+        int shift = Math.max(0, index / SUB_BUCKET_COUNT - 1);
+        long subBucket = index < 2 * SUB_BUCKET_COUNT ? index : (index % SUB_BUCKET_COUNT) + SUB_BUCKET_COUNT;
+        if (shift == 0) {
+            return subBucket;
+        }
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
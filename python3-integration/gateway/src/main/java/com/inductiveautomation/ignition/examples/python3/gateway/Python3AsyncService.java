@@ -0,0 +1,419 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Runs scripting calls off the calling thread and hands back a {@link Handle} straight away.
+ *
+ * Gateway event scripts (tag change, timer, message handlers) run on a small set of shared
+ * threads; a blocking exec() holds one of them for the whole Python run. The async variants
+ * queue the call on the "Python3-Async" workers instead, which then wait for an executor from the
+ * process pool. Completion callbacks run on a separate "Python3-AsyncCallback" executor so a slow
+ * callback never holds a worker that could be driving Python.
+ *
+ * Configured with -Dignition.python3.async.threads (workers, default 16),
+ * -Dignition.python3.async.queue (queued calls before submissions are rejected, default 10000)
+ * and -Dignition.python3.async.callbackThreads (default 2).
+ *
+ * v2.6.0: Added for the async scripting API
+ */
+public class Python3AsyncService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Python3AsyncService.class);
+
+    public static final String THREADS_PROPERTY = "ignition.python3.async.threads";
+    public static final String QUEUE_PROPERTY = "ignition.python3.async.queue";
+    public static final String CALLBACK_THREADS_PROPERTY = "ignition.python3.async.callbackThreads";
+
+    private final ThreadPoolExecutor workers;
+    private final ExecutorService callbackExecutor;
+    private final AtomicLong nextId = new AtomicLong();
+    private volatile boolean shutdown = false;
+
+    public static Python3AsyncService fromSystemProperties() {
+        return new Python3AsyncService(
+                Integer.getInteger(THREADS_PROPERTY, 16),
+                Integer.getInteger(QUEUE_PROPERTY, 10000),
+                Integer.getInteger(CALLBACK_THREADS_PROPERTY, 2));
+    }
+
+    public Python3AsyncService(int threads, int queueCapacity, int callbackThreads) {
+        int workerCount = Math.max(1, threads);
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(Math.max(1, queueCapacity)), daemonThreads("Python3-Async"));
+        this.workers.allowCoreThreadTimeOut(true);
+
+        int callbackCount = Math.max(1, callbackThreads);
+        ThreadPoolExecutor callbacks = new ThreadPoolExecutor(callbackCount, callbackCount, 60L, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), daemonThreads("Python3-AsyncCallback"));
+        callbacks.allowCoreThreadTimeOut(true);
+        this.callbackExecutor = callbacks;
+
+        LOGGER.info("Async scripting service started ({} workers, queue {}, {} callback threads)",
+                workerCount, queueCapacity, callbackCount);
+    }
+
+    /**
+     * Queue a call and return its handle without waiting.
+     *
+     * @param description short label for logs and status maps (e.g. "exec", "callScript My Script")
+     * @param call        the blocking call to run on a worker thread
+     * @param callback    invoked with the handle's status map when the call finishes (may be null)
+     * @throws IllegalStateException if the service is shut down or the queue is full
+     */
+    public Handle submit(String description, Callable<Object> call, Consumer<Map<String, Object>> callback) {
+        if (shutdown) {
+            throw new IllegalStateException("Async scripting service is shut down");
+        }
+
+        Handle handle = new Handle(nextId.incrementAndGet(), description);
+        try {
+            workers.execute(new Task(handle, call));
+        } catch (RejectedExecutionException e) {
+            String errorMsg = "Async scripting queue is full (" + workers.getQueue().size()
+                    + " calls waiting) - raise -D" + QUEUE_PROPERTY + " or -D" + THREADS_PROPERTY;
+            handle.future.completeExceptionally(new IllegalStateException(errorMsg));
+            throw new IllegalStateException(errorMsg, e);
+        }
+
+        // Attached only once queued: a rejected call is reported by the exception alone, not also
+        // through the callback. A call that already finished still gets its callback.
+        if (callback != null) {
+            handle.future.whenCompleteAsync((value, error) -> runCallback(handle, callback), callbackExecutor);
+        }
+        return handle;
+    }
+
+    private void runCallback(Handle handle, Consumer<Map<String, Object>> callback) {
+        try {
+            callback.accept(handle.toMap());
+        } catch (Throwable t) {
+            LOGGER.error("Completion callback for async call #{} ({}) failed", handle.id, handle.description, t);
+        }
+    }
+
+    /**
+     * Wait until every handle has finished or the timeout has passed, whichever comes first.
+     *
+     * @param handles   handles returned by the async functions
+     * @param timeoutMs how long to wait in total (0 or less waits without limit)
+     * @return one status map per handle, in the same order (unfinished calls have "done": false)
+     */
+    public static List<Map<String, Object>> awaitAll(List<Handle> handles, long timeoutMs) throws InterruptedException {
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[handles.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = handles.get(i).future;
+        }
+
+        try {
+            CompletableFuture<Void> all = CompletableFuture.allOf(futures);
+            if (timeoutMs > 0) {
+                all.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } else {
+                all.get();
+            }
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // Failures and stragglers are reported per handle below
+        }
+        return pollAll(handles);
+    }
+
+    /**
+     * Wait until any one of the handles has finished.
+     *
+     * @return the first finished handle in list order, or null if none finished within the timeout
+     */
+    public static Handle awaitAny(List<Handle> handles, long timeoutMs) throws InterruptedException {
+        if (handles.isEmpty()) {
+            return null;
+        }
+
+        CompletableFuture<?>[] futures = new CompletableFuture<?>[handles.size()];
+        for (int i = 0; i < futures.length; i++) {
+            futures[i] = handles.get(i).future;
+        }
+
+        try {
+            CompletableFuture<Object> any = CompletableFuture.anyOf(futures);
+            if (timeoutMs > 0) {
+                any.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } else {
+                any.get();
+            }
+        } catch (ExecutionException | CancellationException | TimeoutException e) {
+            // A failed call counts as finished
+        }
+
+        for (Handle handle : handles) {
+            if (handle.isDone()) {
+                return handle;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Current status of every handle without waiting.
+     */
+    public static List<Map<String, Object>> pollAll(List<Handle> handles) {
+        List<Map<String, Object>> statuses = new ArrayList<>(handles.size());
+        for (Handle handle : handles) {
+            statuses.add(handle.toMap());
+        }
+        return statuses;
+    }
+
+    /**
+     * Worker and queue counters for diagnostics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("workers", workers.getMaximumPoolSize());
+        map.put("active", workers.getActiveCount());
+        map.put("queued", workers.getQueue().size());
+        map.put("queueRemaining", workers.getQueue().remainingCapacity());
+        map.put("completed", workers.getCompletedTaskCount());
+        map.put("submitted", nextId.get());
+        return map;
+    }
+
+    /**
+     * Stop accepting calls, cancel queued ones and give running ones a few seconds to finish.
+     */
+    public void shutdown() {
+        shutdown = true;
+        List<Runnable> queued = new ArrayList<>();
+        workers.getQueue().drainTo(queued);
+        workers.shutdown();
+        for (Runnable task : queued) {
+            ((Task) task).handle.cancel();
+        }
+        if (!queued.isEmpty()) {
+            LOGGER.warn("Cancelled {} queued async calls on shutdown", queued.size());
+        }
+        try {
+            if (!workers.awaitTermination(5, TimeUnit.SECONDS)) {
+                LOGGER.warn("Async calls still running after shutdown timeout");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        callbackExecutor.shutdown();
+        LOGGER.info("Async scripting service shut down");
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return r -> {
+            Thread t = new Thread(r, name + "-" + counter.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        };
+    }
+
+    /**
+     * Queued call; kept as a named type so shutdown can cancel the handles still in the queue
+     */
+    private static final class Task implements Runnable {
+        private final Handle handle;
+        private final Callable<Object> call;
+
+        private Task(Handle handle, Callable<Object> call) {
+            this.handle = handle;
+            this.call = call;
+        }
+
+        @Override
+        public void run() {
+            handle.run(call);
+        }
+    }
+
+    /**
+     * Future handle for one async scripting call.
+     *
+     * get() blocks for the value and raises the same error the blocking function would have;
+     * isDone() and toMap() never block, so handles can be polled from timer scripts.
+     */
+    public static final class Handle {
+        private final long id;
+        private final String description;
+        private final CompletableFuture<Object> future = new CompletableFuture<>();
+        private final AtomicBoolean claimed = new AtomicBoolean(false);
+        private final long submittedNanos = System.nanoTime();
+        private volatile long startedNanos;
+        private volatile long finishedNanos;
+
+        private Handle(long id, String description) {
+            this.id = id;
+            this.description = description;
+        }
+
+        private void run(Callable<Object> call) {
+            // Lost to cancel() while queued
+            if (!claimed.compareAndSet(false, true)) {
+                return;
+            }
+            startedNanos = System.nanoTime();
+            try {
+                Object value = call.call();
+                finishedNanos = System.nanoTime();
+                future.complete(value);
+            } catch (Throwable t) {
+                finishedNanos = System.nanoTime();
+                future.completeExceptionally(t);
+            }
+        }
+
+        public long getId() {
+            return id;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isDone() {
+            return future.isDone();
+        }
+
+        public boolean isCancelled() {
+            return future.isCancelled();
+        }
+
+        /**
+         * True once a worker has picked the call up (or it was cancelled while queued)
+         */
+        public boolean isStarted() {
+            return claimed.get();
+        }
+
+        /**
+         * True if the call finished and did not raise
+         */
+        public boolean isSuccess() {
+            return future.isDone() && !future.isCompletedExceptionally();
+        }
+
+        /**
+         * Wait for the result.
+         *
+         * @return the value the blocking function would have returned
+         * @throws RuntimeException the error the blocking function would have raised
+         */
+        public Object get() throws InterruptedException {
+            try {
+                return future.get();
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            }
+        }
+
+        /**
+         * Wait at most timeoutMs for the result.
+         *
+         * @throws RuntimeException the call's own error, or a timeout if it has not finished
+         */
+        public Object get(long timeoutMs) throws InterruptedException {
+            try {
+                return future.get(timeoutMs, TimeUnit.MILLISECONDS);
+            } catch (ExecutionException e) {
+                throw unwrap(e.getCause());
+            } catch (TimeoutException e) {
+                throw new RuntimeException("Async call #" + id + " (" + description + ") did not finish within "
+                        + timeoutMs + "ms");
+            }
+        }
+
+        /**
+         * Cancel the call if it has not started yet. A call already talking to Python runs to
+         * completion (or to the executor timeout).
+         *
+         * @return true if the call was cancelled
+         */
+        public boolean cancel() {
+            if (claimed.compareAndSet(false, true)) {
+                finishedNanos = System.nanoTime();
+                return future.cancel(false);
+            }
+            return false;
+        }
+
+        /**
+         * The underlying future, for Java callers that want to compose on it
+         */
+        public CompletableFuture<Object> toCompletableFuture() {
+            return future;
+        }
+
+        /**
+         * Non-blocking status: id, description, done, cancelled, success, result or error,
+         * queuedMs and elapsedMs
+         */
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", id);
+            map.put("description", description);
+            map.put("done", future.isDone());
+            map.put("cancelled", future.isCancelled());
+
+            long started = startedNanos;
+            long finished = finishedNanos;
+            if (started != 0) {
+                map.put("queuedMs", (started - submittedNanos) / 1_000_000.0);
+            }
+            if (started != 0 && finished != 0) {
+                map.put("elapsedMs", (finished - started) / 1_000_000.0);
+            }
+
+            if (future.isDone()) {
+                try {
+                    map.put("result", future.getNow(null));
+                    map.put("success", true);
+                } catch (CancellationException e) {
+                    map.put("success", false);
+                    map.put("error", "Cancelled");
+                } catch (CompletionException e) {
+                    Throwable cause = e.getCause() != null ? e.getCause() : e;
+                    map.put("success", false);
+                    map.put("error", cause.getMessage() != null ? cause.getMessage() : cause.toString());
+                }
+            }
+            return map;
+        }
+
+        @Override
+        public String toString() {
+            return "Python3AsyncHandle#" + id + "[" + description + ", done=" + future.isDone() + "]";
+        }
+
+        private static RuntimeException unwrap(Throwable cause) {
+            if (cause instanceof RuntimeException) {
+                return (RuntimeException) cause;
+            }
+            return new RuntimeException(cause.getMessage(), cause);
+        }
+    }
+}
@@ -0,0 +1,534 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Records a compact binary trace of every pooled execution for offline capacity planning.
+ *
+ * Each execution becomes one fixed-size record (timestamp, command, script id or code hash,
+ * request/response size, pool wait, service time and outcome). Executions only claim a slot in a
+ * preallocated lock-free ring buffer; a daemon thread drains the ring to rotating files, so the
+ * request path never blocks on disk. Records are dropped (and counted) if the ring is full.
+ *
+ * Recordings are re-driven against a pool of any size with the TraceReplay tool in the
+ * benchmarks project ("gradlew :benchmarks:replay").
+ *
+ * Enabled with -Dignition.python3.record=true. Files are written to
+ * "&lt;data dir&gt;/python3-integration/recordings" (or -Dignition.python3.record.dir), rotated at
+ * -Dignition.python3.record.maxMb (default 16) and the oldest deleted beyond
+ * -Dignition.python3.record.maxFiles (default 8).
+ *
+ * <pre>
+ *   file header (16 bytes): int magic "P3RC", short version, short record size, long start epoch ms
+ *   record (40 bytes):      long arrival epoch micros, long key hash, int request chars, int response chars,
+ *                           int pool wait micros, int service micros, int executor pid,
+ *                           byte command, byte outcome, byte flags, byte reserved
+ * </pre>
+ *
+ * The key hash is a 64-bit FNV-1a hash of the script path (flag {@link #FLAG_SCRIPT}), the
+ * "module.function" name or the ad-hoc code, so no source text leaves the gateway.
+ *
+ * v2.6.0: Added for record-and-replay capacity planning
+ */
+public class Python3ExecutionRecorder {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Python3ExecutionRecorder.class);
+
+    public static final String ENABLED_PROPERTY = "ignition.python3.record";
+    public static final String DIR_PROPERTY = "ignition.python3.record.dir";
+    public static final String MAX_MB_PROPERTY = "ignition.python3.record.maxMb";
+    public static final String MAX_FILES_PROPERTY = "ignition.python3.record.maxFiles";
+
+    public static final String FILE_EXTENSION = ".p3rec";
+
+    // Command codes
+    public static final byte COMMAND_EXECUTE = 1;
+    public static final byte COMMAND_EVALUATE = 2;
+    public static final byte COMMAND_CALL_MODULE = 3;
+    public static final byte COMMAND_CALL_SCRIPT = 4;
+    public static final byte COMMAND_BATCH = 5;
+
+    // Outcome codes
+    public static final byte OUTCOME_SUCCESS = 0;
+    public static final byte OUTCOME_ERROR = 1;
+    public static final byte OUTCOME_TIMEOUT = 2;
+    public static final byte OUTCOME_UNAVAILABLE = 3;
+    public static final byte OUTCOME_COMMUNICATION_ERROR = 4;
+
+    // Flags
+    public static final byte FLAG_SCRIPT = 1;
+
+    private static final int MAGIC = 0x50335243; // "P3RC"
+    private static final short VERSION = 1;
+    private static final int HEADER_SIZE = 16;
+    private static final int RECORD_SIZE = 40;
+    private static final int RING_CAPACITY = 8192;
+    private static final int WRITE_BUFFER_SIZE = RECORD_SIZE * 1024;
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final Path directory;
+    private final long maxFileBytes;
+    private final int maxFiles;
+
+    // Multi-producer, single-consumer ring: producers claim sequences from head, the writer
+    // thread publishes progress through tail. A slot is readable once its sequence == tail.
+    private final Slot[] ring = new Slot[RING_CAPACITY];
+    private final int mask = RING_CAPACITY - 1;
+    private final AtomicLong head = new AtomicLong();
+    private volatile long tail;
+
+    private final LongAdder recorded = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+    private final ByteBuffer writeBuffer = ByteBuffer.allocateDirect(WRITE_BUFFER_SIZE);
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private FileChannel channel;
+    private Path currentFile;
+    private long currentFileBytes;
+    private long filesWritten;
+
+    /**
+     * Create a recorder from system properties.
+     *
+     * @param moduleDataDir module data directory ("&lt;data dir&gt;/python3-integration")
+     * @return the recorder, or null if recording is not enabled
+     */
+    public static Python3ExecutionRecorder fromSystemProperties(Path moduleDataDir) {
+        if (!Boolean.getBoolean(ENABLED_PROPERTY)) {
+            return null;
+        }
+        String dir = System.getProperty(DIR_PROPERTY);
+        Path directory = dir != null && !dir.isBlank() ? Path.of(dir) : moduleDataDir.resolve("recordings");
+        long maxMb = Long.getLong(MAX_MB_PROPERTY, 16L);
+        int maxFiles = Integer.getInteger(MAX_FILES_PROPERTY, 8);
+        try {
+            return new Python3ExecutionRecorder(directory, maxMb * 1024 * 1024, maxFiles);
+        } catch (IOException e) {
+            LOGGER.error("Failed to open execution recording in {} - recording disabled", directory, e);
+            return null;
+        }
+    }
+
+    public Python3ExecutionRecorder(Path directory, long maxFileBytes, int maxFiles) throws IOException {
+        this.directory = directory;
+        this.maxFileBytes = Math.max(maxFileBytes, HEADER_SIZE + WRITE_BUFFER_SIZE);
+        this.maxFiles = Math.max(1, maxFiles);
+        for (int i = 0; i < RING_CAPACITY; i++) {
+            ring[i] = new Slot(i - RING_CAPACITY);
+        }
+
+        Files.createDirectories(directory);
+        openFile();
+
+        writerThread = new Thread(this::writeLoop, "Python3-ExecutionRecorder");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        LOGGER.info("Recording executions to {}", directory);
+    }
+
+    /**
+     * Record one execution. Never blocks; the record is dropped if the ring is full.
+     *
+     * @param command          metrics command (see Python3MetricsCollector.COMMAND_*)
+     * @param scriptIdentifier saved script path, or null for ad-hoc code
+     * @param codeKey          code, expression or "module.function" when there is no script path
+     * @param poolWaitNanos    time spent waiting to borrow an executor
+     * @param serviceNanos     time the executor was held for this request
+     * @param executorPid      executor process id (-1 if none was borrowed)
+     * @param trace            the execution's trace (carries the payload sizes), may be null
+     * @param outcome          one of the OUTCOME_* codes
+     */
+    public void record(String command, String scriptIdentifier, String codeKey, long poolWaitNanos,
+                       long serviceNanos, long executorPid, Python3Trace trace, byte outcome) {
+        if (!running) {
+            dropped.increment();
+            return;
+        }
+
+        long sequence;
+        do {
+            sequence = head.get();
+            if (sequence - tail >= RING_CAPACITY) {
+                dropped.increment();
+                return;
+            }
+        } while (!head.compareAndSet(sequence, sequence + 1));
+
+        Slot slot = ring[(int) (sequence & mask)];
+        // Timestamp the arrival, not the completion, so a replay reproduces the offered load
+        slot.epochMicros = System.currentTimeMillis() * 1000L - (poolWaitNanos + serviceNanos) / 1000L;
+        slot.keyHash = hash(scriptIdentifier != null ? scriptIdentifier : codeKey);
+        slot.requestChars = trace != null ? trace.getRequestChars() : 0;
+        slot.responseChars = trace != null ? trace.getResponseChars() : 0;
+        slot.poolWaitMicros = toMicros(poolWaitNanos);
+        slot.serviceMicros = toMicros(serviceNanos);
+        slot.executorPid = (int) executorPid;
+        slot.command = commandCode(command);
+        slot.outcome = outcome;
+        slot.flags = scriptIdentifier != null ? FLAG_SCRIPT : 0;
+        slot.published = sequence;
+        recorded.increment();
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * @return number of executions recorded (accepted into the ring)
+     */
+    public long getRecordedCount() {
+        return recorded.sum();
+    }
+
+    /**
+     * @return number of executions dropped because the ring was full or the recorder was stopped
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Write buffered records and close the current file.
+     */
+    public void shutdown() {
+        // No interrupt: an interrupted channel write would close the file mid-record
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public Map<String, Object> toMap() {
+        Map<String, Object> map = new HashMap<>();
+        map.put("directory", directory.toString());
+        map.put("currentFile", currentFile != null ? currentFile.getFileName().toString() : null);
+        map.put("recorded", getRecordedCount());
+        map.put("dropped", getDroppedCount());
+        map.put("filesWritten", filesWritten);
+        return map;
+    }
+
+    private void writeLoop() {
+        try {
+            while (true) {
+                boolean stopping = !running;
+                int drained = drain();
+                if (drained == 0) {
+                    if (stopping) {
+                        break;
+                    }
+                    flushBuffer();
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+            flushBuffer();
+        } catch (IOException e) {
+            running = false;
+            LOGGER.error("Failed to write execution recording - recording stopped", e);
+        } finally {
+            closeFile();
+        }
+    }
+
+    /**
+     * Copy every published record at the tail of the ring into the write buffer.
+     *
+     * @return number of records drained
+     */
+    private int drain() throws IOException {
+        int drained = 0;
+        long next = tail;
+        while (true) {
+            Slot slot = ring[(int) (next & mask)];
+            if (slot.published != next) {
+                break;
+            }
+            if (writeBuffer.remaining() < RECORD_SIZE) {
+                flushBuffer();
+            }
+            writeBuffer.putLong(slot.epochMicros)
+                    .putLong(slot.keyHash)
+                    .putInt(slot.requestChars)
+                    .putInt(slot.responseChars)
+                    .putInt(slot.poolWaitMicros)
+                    .putInt(slot.serviceMicros)
+                    .putInt(slot.executorPid)
+                    .put(slot.command)
+                    .put(slot.outcome)
+                    .put(slot.flags)
+                    .put((byte) 0);
+            next++;
+            drained++;
+            // Release the slot to producers only after it has been copied
+            tail = next;
+        }
+        return drained;
+    }
+
+    private void flushBuffer() throws IOException {
+        if (writeBuffer.position() == 0) {
+            return;
+        }
+        if (currentFileBytes + writeBuffer.position() > maxFileBytes) {
+            rotate();
+        }
+        writeBuffer.flip();
+        while (writeBuffer.hasRemaining()) {
+            currentFileBytes += channel.write(writeBuffer);
+        }
+        writeBuffer.clear();
+    }
+
+    private void rotate() throws IOException {
+        closeFile();
+        openFile();
+        deleteOldFiles();
+    }
+
+    private void openFile() throws IOException {
+        String name = "executions-" + new SimpleDateFormat("yyyyMMdd-HHmmss-SSS").format(new Date())
+                + "-" + filesWritten + FILE_EXTENSION;
+        currentFile = directory.resolve(name);
+        channel = FileChannel.open(currentFile, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC).putShort(VERSION).putShort((short) RECORD_SIZE).putLong(System.currentTimeMillis());
+        header.flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+        currentFileBytes = HEADER_SIZE;
+        filesWritten++;
+    }
+
+    private void closeFile() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing execution recording {}", currentFile, e);
+            }
+            channel = null;
+        }
+    }
+
+    private void deleteOldFiles() {
+        try {
+            List<Path> files = listRecordings(directory);
+            for (int i = 0; i < files.size() - maxFiles; i++) {
+                Files.deleteIfExists(files.get(i));
+            }
+        } catch (IOException e) {
+            LOGGER.warn("Failed to delete old execution recordings in {}", directory, e);
+        }
+    }
+
+    private static int toMicros(long nanos) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0L, nanos / 1000L));
+    }
+
+    private static byte commandCode(String command) {
+        if (Python3MetricsCollector.COMMAND_EVALUATE.equals(command)) {
+            return COMMAND_EVALUATE;
+        }
+        if (Python3MetricsCollector.COMMAND_CALL_MODULE.equals(command)) {
+            return COMMAND_CALL_MODULE;
+        }
+        if (Python3MetricsCollector.COMMAND_CALL_SCRIPT.equals(command)) {
+            return COMMAND_CALL_SCRIPT;
+        }
+        if (Python3MetricsCollector.COMMAND_BATCH.equals(command)) {
+            return COMMAND_BATCH;
+        }
+        return COMMAND_EXECUTE;
+    }
+
+    /**
+     * Map a command code back to its metrics command name.
+     */
+    public static String commandName(byte code) {
+        switch (code) {
+            case COMMAND_EVALUATE:
+                return Python3MetricsCollector.COMMAND_EVALUATE;
+            case COMMAND_CALL_MODULE:
+                return Python3MetricsCollector.COMMAND_CALL_MODULE;
+            case COMMAND_CALL_SCRIPT:
+                return Python3MetricsCollector.COMMAND_CALL_SCRIPT;
+            case COMMAND_BATCH:
+                return Python3MetricsCollector.COMMAND_BATCH;
+            default:
+                return Python3MetricsCollector.COMMAND_EXECUTE;
+        }
+    }
+
+    /**
+     * 64-bit FNV-1a over the UTF-16 code units of a string (0 for null)
+     */
+    static long hash(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        long hash = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            hash = (hash ^ (c & 0xff)) * FNV_PRIME;
+            hash = (hash ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return hash;
+    }
+
+    /**
+     * List recording files in a directory, oldest first.
+     */
+    public static List<Path> listRecordings(Path directory) throws IOException {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + FILE_EXTENSION)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        // Names start with a sortable timestamp
+        files.sort(null);
+        return files;
+    }
+
+    /**
+     * Read all records from a recording file, or from every recording in a directory (oldest first).
+     *
+     * @param path recording file or directory
+     * @return records in file order
+     * @throws IOException if a file cannot be read or is not a recording
+     */
+    public static List<Record> read(Path path) throws IOException {
+        List<Path> files = Files.isDirectory(path) ? listRecordings(path) : List.of(path);
+        List<Record> records = new ArrayList<>();
+        for (Path file : files) {
+            readFile(file, records);
+        }
+        return records;
+    }
+
+    private static void readFile(Path file, List<Record> records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+        if (buffer.remaining() < HEADER_SIZE || buffer.getInt() != MAGIC) {
+            throw new IOException("Not an execution recording: " + file);
+        }
+        short version = buffer.getShort();
+        int recordSize = buffer.getShort();
+        buffer.getLong();
+        if (version != VERSION || recordSize < RECORD_SIZE) {
+            throw new IOException("Unsupported recording version " + version + " in " + file);
+        }
+
+        // A partial trailing record (gateway killed mid-write) is ignored
+        while (buffer.remaining() >= recordSize) {
+            int start = buffer.position();
+            records.add(new Record(
+                    buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getInt(),
+                    buffer.getInt(), buffer.getInt(), buffer.getInt(),
+                    buffer.get(), buffer.get(), buffer.get()));
+            buffer.position(start + recordSize);
+        }
+    }
+
+    /**
+     * Ring buffer slot, reused for every RING_CAPACITY-th record
+     */
+    private static final class Slot {
+        long epochMicros;
+        long keyHash;
+        int requestChars;
+        int responseChars;
+        int poolWaitMicros;
+        int serviceMicros;
+        int executorPid;
+        byte command;
+        byte outcome;
+        byte flags;
+        volatile long published;
+
+        Slot(long published) {
+            this.published = published;
+        }
+    }
+
+    /**
+     * One recorded execution
+     */
+    public static final class Record {
+        public final long epochMicros;
+        public final long keyHash;
+        public final int requestChars;
+        public final int responseChars;
+        public final int poolWaitMicros;
+        public final int serviceMicros;
+        public final int executorPid;
+        public final byte command;
+        public final byte outcome;
+        public final byte flags;
+
+        public Record(long epochMicros, long keyHash, int requestChars, int responseChars, int poolWaitMicros,
+                      int serviceMicros, int executorPid, byte command, byte outcome, byte flags) {
+            this.epochMicros = epochMicros;
+            this.keyHash = keyHash;
+            this.requestChars = requestChars;
+            this.responseChars = responseChars;
+            this.poolWaitMicros = poolWaitMicros;
+            this.serviceMicros = serviceMicros;
+            this.executorPid = executorPid;
+            this.command = command;
+            this.outcome = outcome;
+            this.flags = flags;
+        }
+
+        public boolean isScript() {
+            return (flags & FLAG_SCRIPT) != 0;
+        }
+
+        public boolean isSuccess() {
+            return outcome == OUTCOME_SUCCESS;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("epochMicros", epochMicros);
+            map.put("key", Long.toHexString(keyHash));
+            map.put("script", isScript());
+            map.put("command", commandName(command));
+            map.put("outcome", outcome);
+            map.put("requestChars", requestChars);
+            map.put("responseChars", responseChars);
+            map.put("poolWaitMicros", poolWaitMicros);
+            map.put("serviceMicros", serviceMicros);
+            map.put("executorPid", executorPid);
+            return map;
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.inductiveautomation.ignition.examples.python3.gateway;
 
 import com.google.gson.Gson;
+import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,7 +18,10 @@ import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -33,8 +37,20 @@ import java.util.concurrent.TimeoutException;
 public class Python3Executor {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Python3Executor.class);
+
+    /**
+     * Per-request response timeout in milliseconds (v2.6.0, default 30000)
+     */
+    public static final String TIMEOUT_PROPERTY = "ignition.python3.timeout.ms";
+
+    /**
+     * Path of an alternative bridge script to run instead of the bundled python_bridge.py.
+     * Only intended for test harnesses (e.g. the fake bridge used for pool capacity tests). v2.6.0
+     */
+    public static final String BRIDGE_SCRIPT_PROPERTY = "ignition.python3.bridge.script";
+
     private static final Gson GSON = new Gson();
-    private static final long DEFAULT_TIMEOUT_MS = 30000; // 30 seconds
+    private static final long DEFAULT_TIMEOUT_MS = Long.getLong(TIMEOUT_PROPERTY, 30000L); // 30 seconds
 
     private final String pythonPath;
     private final Path bridgeScriptPath;
@@ -44,6 +60,39 @@ public class Python3Executor {
     private BufferedReader processError;
     private final Object executionLock = new Object();
     private volatile boolean isHealthy = false;
+    private volatile long pid = -1L;  // v2.6.0: OS process id, reported in JFR events
+
+    /**
+     * Bridge error prefix for a prepared handle or saved-script key the process does not hold (v2.6.0)
+     */
+    public static final String UNKNOWN_HANDLE_ERROR = "PREPARED_HANDLE_UNKNOWN";
+
+    // v2.6.0: Start of a bridge line asking for saved-script source rather than answering the request
+    private static final String FETCH_SCRIPT_PREFIX = "{\"fetch_script\"";
+
+    // v2.6.0: Prepared handles and saved-script keys this process has been sent the code for. A replacement
+    // executor starts empty.
+    private static final int MAX_RESIDENT_HANDLES = 2000;
+    private final Set<String> residentHandles = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Resolves {@code import scripts.<Folder>.<Name>} inside the bridge against the script repository (v2.6.0)
+     */
+    @FunctionalInterface
+    public interface ScriptSource {
+        /**
+         * @param path repository path requested by the bridge ("Folder/Name")
+         * @return {"kind": "module", "path", "code", "version"} for a script, {"kind": "package", "path"}
+         *         for a folder, or null if there is nothing at that path
+         */
+        Map<String, Object> resolve(String path) throws Exception;
+    }
+
+    // v2.6.0: Repository paths (lower case) this process has imported as scripts.* modules. When one of
+    // them is re-saved the next request tells the bridge to drop its cached scripts.* modules.
+    private volatile ScriptSource scriptSource;
+    private final Set<String> importedScripts = ConcurrentHashMap.newKeySet();
+    private volatile boolean importedScriptsStale = false;
 
     /**
      * Create a new Python3Executor
@@ -61,6 +110,12 @@ public class Python3Executor {
      * Extract the python_bridge.py script from resources to a temporary file
      */
     private Path extractBridgeScript() throws IOException {
+        String overrideScript = System.getProperty(BRIDGE_SCRIPT_PROPERTY);
+        if (overrideScript != null && !overrideScript.isBlank()) {
+            LOGGER.warn("Using alternative bridge script: {}", overrideScript);
+            return Path.of(overrideScript);
+        }
+
         Path tempScript = Files.createTempFile("python_bridge", ".py");
         tempScript.toFile().deleteOnExit();
 
@@ -104,6 +159,11 @@ public class Python3Executor {
 
         // Start process
         process = pb.start();
+        try {
+            pid = process.pid();
+        } catch (UnsupportedOperationException e) {
+            pid = -1L;
+        }
 
         // Set up streams
         processInput = new BufferedWriter(
@@ -164,13 +224,30 @@ public class Python3Executor {
      * @throws Python3Exception if execution fails
      */
     public Python3Result execute(String code, Map<String, Object> variables, String securityMode) throws Python3Exception {
+        return execute(code, variables, securityMode, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Execute Python code with security mode and an explicit response timeout
+     *
+     * @param code         Python code to execute
+     * @param variables    Variables to pass to Python
+     * @param securityMode Security mode: "RESTRICTED" (default) or "ADMIN" (for Ignition Administrators)
+     * @param timeoutMs    How long to wait for the response before the process is treated as hung
+     * @return Result object
+     * @throws Python3Exception if execution fails
+     *
+     * v2.6.0: Added for long-running background jobs
+     */
+    public Python3Result execute(String code, Map<String, Object> variables, String securityMode, long timeoutMs)
+            throws Python3Exception {
         Map<String, Object> request = new HashMap<>();
         request.put("command", "execute");
         request.put("code", code);
         request.put("variables", variables);
         request.put("security_mode", securityMode);
 
-        return sendRequest(request, DEFAULT_TIMEOUT_MS);
+        return sendRequest(request, timeoutMs);
     }
 
     /**
@@ -243,6 +320,121 @@ public class Python3Executor {
         return sendRequest(request, DEFAULT_TIMEOUT_MS);
     }
 
+    /**
+     * Run several execute / evaluate / call_module operations in one request.
+     * The bridge runs them in order; the result is a list with one
+     * {success, result, error, traceback} map per operation, and a failing operation
+     * does not stop the ones after it.
+     *
+     * @param operations   Operations, each a request map with "command" and its arguments
+     * @param securityMode Security mode applied to every operation: "RESTRICTED" or "ADMIN"
+     * @return Result whose value is the list of per-operation results
+     * @throws Python3Exception if the batch request itself fails
+     *
+     * v2.6.0: Added for batch execution
+     */
+    public Python3Result executeBatch(List<Map<String, Object>> operations, String securityMode) throws Python3Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "batch");
+        request.put("operations", operations);
+        request.put("security_mode", securityMode);
+
+        return sendRequest(request, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Execute prepared code by handle, sending the source only if this process has not been given it yet.
+     * If the process no longer holds the handle (evicted by the bridge), the source is re-sent once.
+     *
+     * @param handle       Content hash from Python3ProcessPool.prepare
+     * @param code         Source for the handle, sent on first use
+     * @param variables    Variables to pass to Python
+     * @param securityMode Security mode: "RESTRICTED" or "ADMIN"
+     * @return Result object
+     * @throws Python3Exception if execution fails
+     *
+     * v2.6.0: Added for prepared-code handles
+     */
+    public Python3Result executePrepared(String handle, String code, Map<String, Object> variables,
+                                         String securityMode) throws Python3Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "execute_prepared");
+        request.put("handle", handle);
+        request.put("variables", variables);
+        request.put("security_mode", securityMode);
+
+        return sendResident(handle, code, request, DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Call a saved script, loading it into this process only the first time its key is seen.
+     *
+     * A script that declares an entry point ({@code __entry_point__ = "main"} naming one of its
+     * functions) has its module body run once per process; later calls only invoke that function and
+     * its return value is the result. Other scripts keep the run-top-to-bottom semantics (with
+     * 'args'/'kwargs' variables and a 'result' variable) but are compiled once.
+     * {@link Python3Result#getWarm()} reports whether the script was already loaded.
+     *
+     * @param scriptKey    Script id and last-modified time, so a re-saved script gets a new key
+     * @param code         Script source, sent on first use
+     * @param args         Positional arguments
+     * @param kwargs       Keyword arguments
+     * @param securityMode Security mode: "RESTRICTED" or "ADMIN"
+     * @param timeoutMs    Response timeout in milliseconds (0 for the default)
+     * @return Result object
+     * @throws Python3Exception if the request fails
+     *
+     * v2.6.0: Added for entry-point scripts
+     */
+    public Python3Result callScript(String scriptKey, String code, List<Object> args, Map<String, Object> kwargs,
+                                    String securityMode, long timeoutMs) throws Python3Exception {
+        Map<String, Object> request = new HashMap<>();
+        request.put("command", "call_script");
+        request.put("key", scriptKey);
+        request.put("args", args);
+        request.put("kwargs", kwargs);
+        request.put("security_mode", securityMode);
+
+        return sendResident(scriptKey, code, request, timeoutMs > 0 ? timeoutMs : DEFAULT_TIMEOUT_MS);
+    }
+
+    /**
+     * Send a request for code the bridge caches by key: the code is attached only if this process
+     * has not been sent it yet, and re-sent once if the bridge has since dropped it.
+     */
+    private Python3Result sendResident(String key, String code, Map<String, Object> request, long timeoutMs)
+            throws Python3Exception {
+        boolean resident = residentHandles.contains(key);
+        if (!resident) {
+            request.put("code", code);
+        }
+        Python3Result result = sendRequest(request, timeoutMs);
+
+        if (resident && !result.isSuccess() && result.getError() != null
+                && result.getError().startsWith(UNKNOWN_HANDLE_ERROR)) {
+            LOGGER.debug("Handle {} no longer resident in executor {} - re-sending code", key, pid);
+            request.put("code", code);
+            result = sendRequest(request, timeoutMs);
+        }
+
+        if (!resident && result.isSuccess()) {
+            // Only once the bridge has answered for the code; a failed send is simply sent again.
+            // Bounded by the pool registry in practice; dropping the set only costs a re-send
+            if (residentHandles.size() >= MAX_RESIDENT_HANDLES) {
+                residentHandles.clear();
+            }
+            residentHandles.add(key);
+        }
+        return result;
+    }
+
+    /**
+     * Number of prepared handles and saved-script keys this process has been sent the code for (v2.6.0)
+     */
+    public int getResidentHandleCount() {
+        return residentHandles.size();
+    }
+
     /**
      * Check Python code syntax
      *
@@ -317,38 +509,99 @@ public class Python3Executor {
                 throw new Python3Exception("Python process is not alive");
             }
 
+            // v2.6.0: Phase timing when the caller is traced; the bridge then reports its own phases
+            Python3Trace trace = Python3Trace.current();
+
             try {
                 // Send request
+                Python3JfrEvents.RequestSend sendEvent = new Python3JfrEvents.RequestSend();
+                sendEvent.begin();
+                long encodeStart = System.nanoTime();
+                if (trace != null) {
+                    request.put("trace", true);
+                }
+                if (importedScriptsStale) {
+                    importedScriptsStale = false;
+                    importedScripts.clear();
+                    request.put("reset_scripts", true);
+                }
                 String requestJson = GSON.toJson(request);
-                LOGGER.debug("Sending request: {}", requestJson);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Sending request: {}", requestJson);
+                }
 
+                long writeStart = System.nanoTime();
                 processInput.write(requestJson);
                 processInput.newLine();
                 processInput.flush();
+                long writeEnd = System.nanoTime();
+
+                sendEvent.end();
+                if (sendEvent.shouldCommit()) {
+                    sendEvent.command = (String) request.get("command");
+                    sendEvent.scriptId = trace != null ? trace.getAttribute("python3.script") : null;
+                    sendEvent.executorPid = pid;
+                    sendEvent.payloadBytes = utf8Length(requestJson);
+                    sendEvent.commit();
+                }
 
                 // Read response with timeout
+                Python3JfrEvents.ResponseReceive receiveEvent = new Python3JfrEvents.ResponseReceive();
+                receiveEvent.begin();
+                long deadline = System.currentTimeMillis() + timeoutMs;
                 String responseLine = readLineWithTimeout(timeoutMs);
 
+                // v2.6.0: The bridge may ask for saved-script source (import scripts.X) before it answers;
+                // the whole exchange shares the request's timeout
+                while (responseLine != null && responseLine.startsWith(FETCH_SCRIPT_PREFIX)) {
+                    JsonObject fetch = GSON.fromJson(responseLine, JsonObject.class);
+                    processInput.write(GSON.toJson(resolveScript(fetch.get("fetch_script").getAsString())));
+                    processInput.newLine();
+                    processInput.flush();
+                    long remainingMs = deadline - System.currentTimeMillis();
+                    responseLine = remainingMs > 0 ? readLineWithTimeout(remainingMs) : null;
+                }
+                long readEnd = System.nanoTime();
+
+                if (trace != null) {
+                    trace.setPayloadSizes(requestJson.length(), responseLine != null ? responseLine.length() : 0);
+                }
+
                 if (responseLine == null) {
                     isHealthy = false;
-                    throw new Python3Exception("No response from Python process (timeout: " + timeoutMs + "ms)");
+                    commitReceive(receiveEvent, request, trace, null, false);
+                    throw new Python3TimeoutException("No response from Python process (timeout: " + timeoutMs + "ms)");
                 }
 
-                LOGGER.debug("Received response: {}", responseLine);
+                if (LOGGER.isDebugEnabled()) {
+                    LOGGER.debug("Received response: {}", responseLine);
+                }
 
                 // Parse response
                 JsonObject response = GSON.fromJson(responseLine, JsonObject.class);
                 boolean success = response.has("success") && response.get("success").getAsBoolean();
 
+                Python3Result result;
                 if (success) {
-                    Object result = GSON.fromJson(response.get("result"), Object.class);
-                    return new Python3Result(true, result, null, null);
+                    Object value = GSON.fromJson(response.get("result"), Object.class);
+                    result = new Python3Result(true, value, null, null);
                 } else {
                     String error = response.has("error") ? response.get("error").getAsString() : "Unknown error";
                     String traceback = response.has("traceback") ? response.get("traceback").getAsString() : null;
-                    return new Python3Result(false, null, error, traceback);
+                    result = new Python3Result(false, null, error, traceback);
+                }
+                if (response.has("warm")) {
+                    result.setWarm(response.get("warm").getAsBoolean());
                 }
 
+                if (trace != null) {
+                    recordPhases(trace, response, encodeStart, writeStart, writeEnd, readEnd, System.nanoTime());
+                }
+                commitReceive(receiveEvent, request, trace, responseLine, success);
+                return result;
+
+            } catch (Python3Exception e) {
+                throw e;
             } catch (IOException e) {
                 isHealthy = false;
                 throw new Python3Exception("Communication error with Python process", e);
@@ -358,6 +611,119 @@ public class Python3Executor {
         }
     }
 
+    /**
+     * Answer a bridge fetch_script message. The path is recorded before the repository is read so a
+     * save that races with the fetch still marks this process stale.
+     */
+    private Map<String, Object> resolveScript(String path) {
+        Map<String, Object> reply = new HashMap<>();
+        ScriptSource source = scriptSource;
+        if (source == null) {
+            reply.put("error", "Saved-script imports are not available (script repository not initialized)");
+            return reply;
+        }
+
+        importedScripts.add(path.toLowerCase(Locale.ROOT));
+        try {
+            Map<String, Object> script = source.resolve(path);
+            if (script != null) {
+                Object canonicalPath = script.get("path");
+                if (canonicalPath != null) {
+                    importedScripts.add(canonicalPath.toString().toLowerCase(Locale.ROOT));
+                }
+                reply.putAll(script);
+            }
+        } catch (Exception e) {
+            LOGGER.warn("Failed to resolve saved-script import '{}': {}", path, e.getMessage());
+            reply.put("error", e.getMessage());
+        }
+        return reply;
+    }
+
+    /**
+     * Set where the bridge's scripts.* imports are loaded from (null disables them)
+     *
+     * v2.6.0
+     */
+    public void setScriptSource(ScriptSource scriptSource) {
+        this.scriptSource = scriptSource;
+    }
+
+    /**
+     * A saved script (or folder) changed: if this process imported it, its scripts.* modules are
+     * dropped at the start of the next request and re-imported on demand.
+     *
+     * v2.6.0
+     */
+    public void invalidateScript(String path) {
+        if (path != null && importedScripts.contains(path.toLowerCase(Locale.ROOT))) {
+            importedScriptsStale = true;
+        }
+    }
+
+    /**
+     * End and (if enabled) commit the JFR receive event; a null response means the read timed out (v2.6.0)
+     */
+    private void commitReceive(Python3JfrEvents.ResponseReceive event, Map<String, Object> request,
+                               Python3Trace trace, String responseLine, boolean success) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = (String) request.get("command");
+            event.scriptId = trace != null ? trace.getAttribute("python3.script") : null;
+            event.executorPid = pid;
+            event.payloadBytes = responseLine != null ? utf8Length(responseLine) : 0L;
+            event.success = success;
+            event.timedOut = responseLine == null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Encoded size of a string in UTF-8, without encoding it
+     */
+    private static long utf8Length(String value) {
+        long bytes = value.length();
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x800) {
+                // Surrogate pairs are 4 bytes for 2 chars, everything else here is 3 bytes for 1 char
+                bytes += Character.isSurrogate(c) ? 1 : 2;
+            } else if (c >= 0x80) {
+                bytes += 1;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Add the Java and bridge phases of one request to the trace (v2.6.0).
+     * Bridge phases are laid out back to back after the write; the remainder of the
+     * round trip is reported as pipe_wait.
+     */
+    private static void recordPhases(Python3Trace trace, JsonObject response, long encodeStart,
+                                     long writeStart, long writeEnd, long readEnd, long decodeEnd) {
+        trace.phase(Python3Trace.PHASE_ENCODE, encodeStart, writeStart);
+        trace.phase(Python3Trace.PHASE_PIPE_WRITE, writeStart, writeEnd);
+
+        long bridgeNanos = 0L;
+        if (response.has("timing") && response.get("timing").isJsonObject()) {
+            long offset = writeEnd;
+            for (Map.Entry<String, JsonElement> entry : response.getAsJsonObject("timing").entrySet()) {
+                String key = entry.getKey();
+                if (!key.endsWith("_us") || !entry.getValue().isJsonPrimitive()) {
+                    continue;
+                }
+                long nanos = entry.getValue().getAsLong() * 1000L;
+                trace.phaseDuration(Python3Trace.PYTHON_PHASE_PREFIX + key.substring(0, key.length() - 3), offset, nanos);
+                offset += nanos;
+                bridgeNanos += nanos;
+            }
+        }
+
+        trace.phaseDuration(Python3Trace.PHASE_PIPE_WAIT, writeEnd + bridgeNanos, (readEnd - writeEnd) - bridgeNanos);
+        trace.phase(Python3Trace.PHASE_DECODE, readEnd, decodeEnd);
+    }
+
     /**
      * Read a line from process output with timeout
      */
@@ -378,6 +744,17 @@ public class Python3Executor {
         }
     }
 
+    /**
+     * Get the OS process id of the Python process
+     *
+     * @return the PID, or -1 if not known
+     *
+     * v2.6.0
+     */
+    public long getPid() {
+        return pid;
+    }
+
     /**
      * Check if process is alive
      */
@@ -0,0 +1,213 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * JDK Flight Recorder events for Python executions, pool operations and REST calls.
+ *
+ * Recorded alongside the JVM's own events (GC, safepoints, thread parking), so a single
+ * recording shows whether a slow Python call was the bridge, the pool or a JVM pause.
+ * All events are disabled unless a recording enables them, e.g.:
+ *
+ * <pre>
+ *   jcmd &lt;gateway-pid&gt; JFR.start name=python3 settings=profile
+ *   jfr print --categories "Python 3" recording.jfr
+ * </pre>
+ *
+ * Callers follow the usual pattern - {@code begin()}, {@code end()}, then only fill fields and
+ * {@code commit()} when {@link Event#shouldCommit()} - so a disabled event costs an allocation
+ * the JIT can usually eliminate and no field work.
+ *
+ * v2.6.0: Added for JFR-based production profiling
+ */
+public final class Python3JfrEvents {
+
+    private static final String CATEGORY_IGNITION = "Ignition";
+    private static final String CATEGORY_PYTHON = "Python 3";
+
+    private Python3JfrEvents() {
+    }
+
+    /**
+     * Waiting for and taking an executor from the pool
+     */
+    @Name("com.inductiveautomation.python3.ExecutorBorrow")
+    @Label("Python Executor Borrow")
+    @Description("Time a caller waited to borrow a Python executor from the pool")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "Pool"})
+    @StackTrace(false)
+    public static final class ExecutorBorrow extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Script Id")
+        public String scriptId;
+
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Queue Depth")
+        @Description("Callers waiting for an executor when this borrow completed")
+        public long queueDepth;
+
+        @Label("Timed Out")
+        public boolean timedOut;
+    }
+
+    /**
+     * Giving an executor back to the pool (replaced if it became unhealthy)
+     */
+    @Name("com.inductiveautomation.python3.ExecutorReturn")
+    @Label("Python Executor Return")
+    @Description("An executor returned to the pool, with how long it was held")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "Pool"})
+    @StackTrace(false)
+    public static final class ExecutorReturn extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Script Id")
+        public String scriptId;
+
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Held")
+        @Timespan(Timespan.NANOSECONDS)
+        public long heldNanos;
+
+        @Label("Healthy")
+        public boolean healthy;
+    }
+
+    /**
+     * Encoding a request and writing it to the bridge's stdin
+     */
+    @Name("com.inductiveautomation.python3.RequestSend")
+    @Label("Python Request Send")
+    @Description("Encoding a request and writing it to the Python process")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "IPC"})
+    @StackTrace(false)
+    public static final class RequestSend extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Script Id")
+        public String scriptId;
+
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Payload Size")
+        @DataAmount(DataAmount.BYTES)
+        public long payloadBytes;
+    }
+
+    /**
+     * Waiting for, reading and decoding the bridge's response
+     */
+    @Name("com.inductiveautomation.python3.ResponseReceive")
+    @Label("Python Response Receive")
+    @Description("Waiting for and decoding the Python process response (includes Python execution time)")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "IPC"})
+    @StackTrace(false)
+    public static final class ResponseReceive extends Event {
+        @Label("Command")
+        public String command;
+
+        @Label("Script Id")
+        public String scriptId;
+
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Payload Size")
+        @DataAmount(DataAmount.BYTES)
+        public long payloadBytes;
+
+        @Label("Success")
+        public boolean success;
+
+        @Label("Timed Out")
+        public boolean timedOut;
+    }
+
+    /**
+     * Starting a Python process (until it reports ready)
+     */
+    @Name("com.inductiveautomation.python3.ExecutorSpawn")
+    @Label("Python Executor Spawn")
+    @Description("Starting a Python process and waiting for its ready signal")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "Lifecycle"})
+    @StackTrace(false)
+    public static final class ExecutorSpawn extends Event {
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Reason")
+        @Description("startup, replace or resize")
+        public String reason;
+
+        @Label("Success")
+        public boolean success;
+    }
+
+    /**
+     * Replacing an unhealthy executor (shutdown of the old process plus spawn of the new one)
+     */
+    @Name("com.inductiveautomation.python3.ExecutorReplace")
+    @Label("Python Executor Replace")
+    @Description("Replacing an unhealthy Python process")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "Lifecycle"})
+    @StackTrace(false)
+    public static final class ExecutorReplace extends Event {
+        @Label("Old Executor PID")
+        public long oldExecutorPid;
+
+        @Label("New Executor PID")
+        public long newExecutorPid;
+
+        @Label("Success")
+        public boolean success;
+    }
+
+    /**
+     * Retiring a healthy executor (pool shrink or shutdown)
+     */
+    @Name("com.inductiveautomation.python3.ExecutorRecycle")
+    @Label("Python Executor Recycle")
+    @Description("Shutting down a Python process that is no longer needed")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "Lifecycle"})
+    @StackTrace(false)
+    public static final class ExecutorRecycle extends Event {
+        @Label("Executor PID")
+        public long executorPid;
+
+        @Label("Reason")
+        @Description("resize or shutdown")
+        public String reason;
+    }
+
+    /**
+     * One REST API call, from handler entry to the response object
+     */
+    @Name("com.inductiveautomation.python3.RestRequest")
+    @Label("Python REST Request")
+    @Description("Duration of a Python 3 REST API handler")
+    @Category({CATEGORY_IGNITION, CATEGORY_PYTHON, "REST"})
+    @StackTrace(false)
+    public static final class RestRequest extends Event {
+        @Label("Route")
+        public String route;
+
+        @Label("Success")
+        public boolean success;
+    }
+}
@@ -0,0 +1,679 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import com.google.gson.ToNumberPolicy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Durable background queue for long-running saved scripts (nightly batch work).
+ *
+ * Jobs survive gateway restarts: every state change is appended as one JSON line to
+ * "&lt;data dir&gt;/python3-integration/jobs/jobs.journal" and forced to disk before the change is
+ * acted on. Appends happen under the queue's lock and fsyncs outside it, so changes that arrive
+ * while an fsync is running share the next one. On startup the journal is replayed (last record per job wins) and jobs that were
+ * running when the gateway stopped go back to pending. The journal is compacted to the live jobs
+ * on startup and whenever it grows past four times the live job count.
+ *
+ * Jobs run on their own worker threads, -Dignition.python3.queue.concurrency (default 1), each
+ * running one job at a time, so batch work never holds more than that many pool executors and
+ * real-time scripting keeps the rest. Ready jobs run highest priority first, then oldest first.
+ * A failed job is retried up to its maxRetries with exponential backoff starting at
+ * -Dignition.python3.queue.retryBackoffMs (default 30000, capped at one hour). Finished jobs and
+ * their results are kept for -Dignition.python3.queue.resultTtlHours (default 24).
+ *
+ * Each attempt may run for -Dignition.python3.queue.timeoutMs (default 3600000) instead of the
+ * interactive executor timeout. The bridge's CPU limit (-Dignition.python3.max.cpu.seconds) still
+ * applies and may need raising for CPU-heavy jobs.
+ *
+ * v2.6.0: Added for durable background jobs
+ */
+public class Python3JobQueue {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Python3JobQueue.class);
+    // Whole numbers in args, kwargs and results must come back from the journal as Long, not Double
+    private static final Gson GSON = new GsonBuilder()
+            .setObjectToNumberStrategy(ToNumberPolicy.LONG_OR_DOUBLE)
+            .create();
+
+    public static final String CONCURRENCY_PROPERTY = "ignition.python3.queue.concurrency";
+    public static final String RETRY_BACKOFF_PROPERTY = "ignition.python3.queue.retryBackoffMs";
+    public static final String RESULT_TTL_PROPERTY = "ignition.python3.queue.resultTtlHours";
+    public static final String TIMEOUT_PROPERTY = "ignition.python3.queue.timeoutMs";
+    public static final String MAX_JOBS_PROPERTY = "ignition.python3.queue.maxJobs";
+
+    public static final String STATE_PENDING = "pending";
+    public static final String STATE_RUNNING = "running";
+    public static final String STATE_SUCCEEDED = "succeeded";
+    public static final String STATE_FAILED = "failed";
+    public static final String STATE_CANCELLED = "cancelled";
+
+    public static final int MAX_RETRIES = 20;
+    private static final long MAX_BACKOFF_MS = TimeUnit.HOURS.toMillis(1);
+    private static final int MIN_COMPACTION_LINES = 1000;
+
+    /**
+     * Runs one attempt of a job (Python3ScriptModule.callScript with a timeout)
+     */
+    @FunctionalInterface
+    public interface ScriptRunner {
+        Object run(String scriptPath, List<Object> args, Map<String, Object> kwargs, long timeoutMs) throws Exception;
+    }
+
+    private final Path journalPath;
+    private final ScriptRunner runner;
+    private final int concurrency;
+    private final long retryBackoffMs;
+    private final long resultTtlMs;
+    private final long timeoutMs;
+    private final int maxJobs;
+
+    // All guarded by this
+    private final Map<String, Job> jobs = new LinkedHashMap<>();
+    private final PriorityQueue<Job> ready = new PriorityQueue<>(
+            Comparator.comparingInt((Job job) -> job.priority).reversed().thenComparingLong(job -> job.submittedAt));
+    private final PriorityQueue<Job> delayed = new PriorityQueue<>(Comparator.comparingLong(job -> job.nextAttemptAt));
+    private FileChannel journal;
+    private int journalLines = 0;
+    private boolean shutdown = false;
+
+    // Journal durability: records are numbered as appended (under this) and synced under syncLock
+    private final Object syncLock = new Object();
+    private volatile long appendedRecords = 0;
+    private volatile long syncedRecords = 0;
+
+    private final List<Thread> workers = new ArrayList<>();
+    private final ScheduledExecutorService maintenance;
+
+    public static Python3JobQueue fromSystemProperties(Path moduleDataDir, ScriptRunner runner) throws IOException {
+        return new Python3JobQueue(moduleDataDir.resolve("jobs"), runner,
+                Integer.getInteger(CONCURRENCY_PROPERTY, 1),
+                Long.getLong(RETRY_BACKOFF_PROPERTY, 30000L),
+                TimeUnit.HOURS.toMillis(Long.getLong(RESULT_TTL_PROPERTY, 24L)),
+                Long.getLong(TIMEOUT_PROPERTY, TimeUnit.HOURS.toMillis(1)),
+                Integer.getInteger(MAX_JOBS_PROPERTY, 10000));
+    }
+
+    public Python3JobQueue(Path directory, ScriptRunner runner, int concurrency, long retryBackoffMs,
+                           long resultTtlMs, long timeoutMs, int maxJobs) throws IOException {
+        this.journalPath = directory.resolve("jobs.journal");
+        this.runner = runner;
+        this.concurrency = Math.max(1, concurrency);
+        this.retryBackoffMs = Math.max(0L, retryBackoffMs);
+        this.resultTtlMs = Math.max(0L, resultTtlMs);
+        this.timeoutMs = Math.max(1000L, timeoutMs);
+        this.maxJobs = Math.max(1, maxJobs);
+
+        Files.createDirectories(directory);
+        synchronized (this) {
+            replay();
+            compact();
+        }
+
+        for (int i = 0; i < this.concurrency; i++) {
+            Thread worker = new Thread(this::workLoop, "Python3-JobQueue-" + (i + 1));
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Python3-JobQueue-Maintenance");
+            t.setDaemon(true);
+            return t;
+        });
+        maintenance.scheduleWithFixedDelay(this::purgeExpired, 1, 1, TimeUnit.MINUTES);
+
+        LOGGER.info("Job queue started: {} jobs restored from {}, concurrency {}", jobs.size(), journalPath,
+                this.concurrency);
+    }
+
+    /**
+     * Queue a saved script as a background job.
+     *
+     * @param scriptPath saved script path
+     * @param args       positional arguments
+     * @param kwargs     keyword arguments
+     * @param priority   higher runs first
+     * @param maxRetries retries after the first failed attempt (0 to MAX_RETRIES)
+     * @return the new job's status map
+     * @throws IOException           if the job could not be journaled. The job is not queued, and a
+     *                               remove record is journaled after its put; if that cannot be made
+     *                               durable either, the job may still be restored and run after a restart
+     * @throws IllegalStateException if the queue is full or shut down
+     */
+    public Map<String, Object> submit(String scriptPath, List<Object> args, Map<String, Object> kwargs,
+                                      int priority, int maxRetries) throws IOException {
+        if (scriptPath == null || scriptPath.isBlank()) {
+            throw new IllegalArgumentException("scriptPath is required");
+        }
+        if (maxRetries < 0 || maxRetries > MAX_RETRIES) {
+            throw new IllegalArgumentException("maxRetries must be between 0 and " + MAX_RETRIES);
+        }
+
+        Job job = new Job();
+        job.id = UUID.randomUUID().toString();
+        job.scriptPath = scriptPath;
+        job.args = args != null ? new ArrayList<>(args) : new ArrayList<>();
+        job.kwargs = kwargs != null ? new HashMap<>(kwargs) : new HashMap<>();
+        job.priority = priority;
+        job.maxRetries = maxRetries;
+        job.state = STATE_PENDING;
+        job.submittedAt = System.currentTimeMillis();
+
+        long record;
+        synchronized (this) {
+            if (shutdown) {
+                throw new IllegalStateException("Job queue is shut down");
+            }
+            if (jobs.size() >= maxJobs) {
+                purgeExpired();
+                if (jobs.size() >= maxJobs) {
+                    throw new IllegalStateException("Job queue is full (" + jobs.size() + " jobs) - raise -D"
+                            + MAX_JOBS_PROPERTY + " or lower -D" + RESULT_TTL_PROPERTY);
+                }
+            }
+            record = appendPut(job);
+            jobs.put(job.id, job);  // counts toward maxJobs, but is not runnable until durable
+        }
+
+        try {
+            awaitDurable(record);
+        } catch (IOException e) {
+            withdraw(job);
+            throw e;
+        }
+
+        synchronized (this) {
+            if (STATE_PENDING.equals(job.state)) {  // not cancelled meanwhile
+                ready.add(job);
+                notifyAll();
+            }
+            LOGGER.info("Queued job {} for script '{}' (priority {}, max retries {})", job.id, scriptPath, priority,
+                    maxRetries);
+            return job.toMap();
+        }
+    }
+
+    /**
+     * Forget a job whose put could not be made durable. The put may still have reached the disk, so a
+     * remove record follows it - otherwise a restart would run a job its caller was told failed.
+     */
+    private void withdraw(Job job) {
+        long record;
+        synchronized (this) {
+            jobs.remove(job.id);
+            if (journal == null) {
+                LOGGER.warn("Job {} was not queued, but may still run after a restart (journal closed)", job.id);
+                return;
+            }
+            JsonObject remove = new JsonObject();
+            remove.addProperty("op", "remove");
+            remove.addProperty("id", job.id);
+            try {
+                record = append(remove);
+            } catch (IOException e) {
+                LOGGER.warn("Job {} was not queued, but may still run after a restart: {}", job.id, e.getMessage());
+                return;
+            }
+        }
+        try {
+            awaitDurable(record);
+        } catch (IOException e) {
+            LOGGER.warn("Job {} was not queued, but may still run after a restart: {}", job.id, e.getMessage());
+        }
+    }
+
+    /**
+     * Status map of one job, or null if unknown or expired
+     */
+    public synchronized Map<String, Object> get(String id) {
+        Job job = jobs.get(id);
+        return job != null ? job.toMap() : null;
+    }
+
+    /**
+     * Status maps of jobs in submission order, optionally only those in one state.
+     *
+     * @param state one of the STATE_* values, or null for all
+     * @param limit maximum jobs returned (0 = no limit)
+     */
+    public synchronized List<Map<String, Object>> list(String state, int limit) {
+        List<Map<String, Object>> list = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (state == null || state.isEmpty() || state.equals(job.state)) {
+                list.add(job.toMap());
+                if (limit > 0 && list.size() >= limit) {
+                    break;
+                }
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Cancel a pending job (including one waiting to retry). Running jobs are not interrupted.
+     *
+     * @return true if the job was cancelled
+     */
+    public boolean cancel(String id) throws IOException {
+        long record;
+        synchronized (this) {
+            Job job = jobs.get(id);
+            if (job == null || !STATE_PENDING.equals(job.state)) {
+                return false;
+            }
+            job.state = STATE_CANCELLED;
+            job.completedAt = System.currentTimeMillis();
+            ready.remove(job);
+            delayed.remove(job);
+            record = appendPut(job);
+        }
+        awaitDurable(record);
+        LOGGER.info("Cancelled job {}", id);
+        return true;
+    }
+
+    public synchronized Map<String, Object> getStats() {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String state : new String[] {STATE_PENDING, STATE_RUNNING, STATE_SUCCEEDED, STATE_FAILED,
+                STATE_CANCELLED}) {
+            counts.put(state, 0);
+        }
+        for (Job job : jobs.values()) {
+            counts.merge(job.state, 1, Integer::sum);
+        }
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("jobs", jobs.size());
+        map.put("states", counts);
+        map.put("concurrency", concurrency);
+        map.put("maxJobs", maxJobs);
+        map.put("retryBackoffMs", retryBackoffMs);
+        map.put("resultTtlHours", resultTtlMs / TimeUnit.HOURS.toMillis(1));
+        map.put("timeoutMs", timeoutMs);
+        map.put("journalLines", journalLines);
+        return map;
+    }
+
+    /**
+     * Stop taking jobs and close the journal. Running jobs are left running and, since their
+     * completion can no longer be journaled, run again after the next startup.
+     */
+    public void shutdown() {
+        synchronized (this) {
+            shutdown = true;
+            notifyAll();
+        }
+        maintenance.shutdownNow();
+        for (Thread worker : workers) {
+            try {
+                worker.join(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            synchronized (syncLock) {
+                closeJournal();
+            }
+        }
+        LOGGER.info("Job queue shut down");
+    }
+
+    private void workLoop() {
+        while (true) {
+            Job job;
+            try {
+                job = take();
+            } catch (InterruptedException e) {
+                return;
+            }
+            if (job == null) {
+                return;
+            }
+            try {
+                awaitDurable(appendedRecords);  // covers the record of its start
+            } catch (IOException e) {
+                // Still run it; a restart would only run it again
+                LOGGER.error("Failed to journal start of job {}", job.id, e);
+            }
+            runAttempt(job);
+        }
+    }
+
+    /**
+     * Next runnable job, waiting for one or for a retry to become due; null on shutdown
+     */
+    private synchronized Job take() throws InterruptedException {
+        while (!shutdown) {
+            long now = System.currentTimeMillis();
+            while (!delayed.isEmpty() && delayed.peek().nextAttemptAt <= now) {
+                ready.add(delayed.poll());
+            }
+
+            Job job = ready.poll();
+            if (job != null) {
+                job.state = STATE_RUNNING;
+                job.attempts++;
+                job.startedAt = now;
+                try {
+                    appendPut(job);
+                } catch (IOException e) {
+                    // Still run it; a restart would only run it again
+                    LOGGER.error("Failed to journal start of job {}", job.id, e);
+                }
+                return job;
+            }
+
+            long waitMs = delayed.isEmpty() ? 0L : Math.max(1L, delayed.peek().nextAttemptAt - now);
+            wait(waitMs);
+        }
+        return null;
+    }
+
+    private void runAttempt(Job job) {
+        LOGGER.info("Running job {} ('{}'), attempt {} of {}", job.id, job.scriptPath, job.attempts,
+                job.maxRetries + 1);
+
+        Object result = null;
+        String error = null;
+        try {
+            result = runner.run(job.scriptPath, job.args, job.kwargs, timeoutMs);
+        } catch (Exception e) {
+            error = e.getMessage() != null ? e.getMessage() : e.toString();
+        } catch (Throwable t) {
+            // An Error must not kill the worker or leave the job marked running
+            LOGGER.error("Job {} attempt {} failed with an error", job.id, job.attempts, t);
+            error = t.toString();
+        }
+
+        long record;
+        synchronized (this) {
+            if (shutdown && journal == null) {
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            if (error == null) {
+                job.state = STATE_SUCCEEDED;
+                job.result = result;
+                job.error = null;
+                job.completedAt = now;
+                LOGGER.info("Job {} succeeded after {} attempt(s)", job.id, job.attempts);
+            } else if (job.attempts <= job.maxRetries) {
+                long backoff = Math.min(MAX_BACKOFF_MS, retryBackoffMs << Math.min(job.attempts - 1, 20));
+                job.state = STATE_PENDING;
+                job.error = error;
+                job.nextAttemptAt = now + backoff;
+                delayed.add(job);
+                notifyAll();
+                LOGGER.warn("Job {} attempt {} failed, retrying in {}ms: {}", job.id, job.attempts, backoff, error);
+            } else {
+                job.state = STATE_FAILED;
+                job.error = error;
+                job.completedAt = now;
+                LOGGER.error("Job {} failed after {} attempt(s): {}", job.id, job.attempts, error);
+            }
+
+            try {
+                record = appendPut(job);
+            } catch (IOException e) {
+                LOGGER.error("Failed to journal completion of job {}", job.id, e);
+                return;
+            }
+        }
+
+        try {
+            awaitDurable(record);
+        } catch (IOException e) {
+            LOGGER.error("Failed to journal completion of job {}", job.id, e);
+        }
+    }
+
+    /**
+     * Drop finished jobs older than the result TTL, then compact if the journal has grown
+     */
+    private synchronized void purgeExpired() {
+        if (journal == null) {
+            return;
+        }
+
+        long cutoff = System.currentTimeMillis() - resultTtlMs;
+        List<Job> expired = new ArrayList<>();
+        for (Job job : jobs.values()) {
+            if (job.completedAt != 0 && job.completedAt < cutoff) {
+                expired.add(job);
+            }
+        }
+
+        try {
+            for (Job job : expired) {
+                jobs.remove(job.id);
+                JsonObject record = new JsonObject();
+                record.addProperty("op", "remove");
+                record.addProperty("id", job.id);
+                append(record);
+            }
+            if (!expired.isEmpty()) {
+                LOGGER.debug("Purged {} expired jobs", expired.size());
+            }
+            if (journalLines > Math.max(MIN_COMPACTION_LINES, jobs.size() * 4)) {
+                compact();
+            }
+        } catch (IOException e) {
+            LOGGER.error("Failed to purge expired jobs", e);
+        }
+    }
+
+    /**
+     * Rebuild the job table from the journal. Unreadable lines (a write torn by a crash) are skipped.
+     */
+    private void replay() throws IOException {
+        if (!Files.exists(journalPath)) {
+            return;
+        }
+
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                    String op = record.get("op").getAsString();
+                    if ("put".equals(op)) {
+                        Job job = GSON.fromJson(record.get("job"), Job.class);
+                        jobs.put(job.id, job);
+                    } else if ("remove".equals(op)) {
+                        jobs.remove(record.get("id").getAsString());
+                    }
+                } catch (RuntimeException e) {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable job journal lines in {}", skipped, journalPath);
+        }
+
+        for (Job job : jobs.values()) {
+            if (STATE_RUNNING.equals(job.state)) {
+                // Interrupted by the restart, not a failure of the job itself
+                job.state = STATE_PENDING;
+                job.attempts = Math.max(0, job.attempts - 1);
+                LOGGER.info("Re-queuing job {} ('{}') interrupted by restart", job.id, job.scriptPath);
+            }
+            if (STATE_PENDING.equals(job.state)) {
+                if (job.nextAttemptAt > System.currentTimeMillis()) {
+                    delayed.add(job);
+                } else {
+                    ready.add(job);
+                }
+            }
+        }
+    }
+
+    /**
+     * Rewrite the journal as one put per live job and switch appends to it
+     */
+    private void compact() throws IOException {
+        Path tmp = journalPath.resolveSibling(journalPath.getFileName() + ".tmp");
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            for (Job job : jobs.values()) {
+                writeLine(out, putRecord(job));
+            }
+            out.force(true);
+        }
+
+        synchronized (syncLock) {
+            closeJournal();
+            Files.move(tmp, journalPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal = FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
+            syncedRecords = appendedRecords;  // the compacted journal holds every change so far
+        }
+        journalLines = jobs.size();
+        LOGGER.debug("Compacted job journal to {} jobs", jobs.size());
+    }
+
+    private long appendPut(Job job) throws IOException {
+        return append(putRecord(job));
+    }
+
+    /**
+     * Append one record (caller holds this); it is durable once {@link #awaitDurable} returns for
+     * the returned sequence number
+     */
+    private long append(JsonObject record) throws IOException {
+        if (journal == null) {
+            throw new IOException("Job journal is closed");
+        }
+        writeLine(journal, record);
+        journalLines++;
+        return ++appendedRecords;
+    }
+
+    /**
+     * Wait until the given record is on disk. Whoever syncs covers every record appended so far.
+     * Called without holding this, so submits and status changes do not queue behind the disk.
+     */
+    private void awaitDurable(long record) throws IOException {
+        if (syncedRecords >= record) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedRecords >= record) {
+                return;
+            }
+            long target = appendedRecords;
+            if (journal == null) {
+                throw new IOException("Job journal is closed");
+            }
+            journal.force(false);
+            syncedRecords = target;
+        }
+    }
+
+    private static JsonObject putRecord(Job job) {
+        JsonObject record = new JsonObject();
+        record.addProperty("op", "put");
+        record.add("job", GSON.toJsonTree(job));
+        return record;
+    }
+
+    private static void writeLine(FileChannel channel, JsonObject record) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap((GSON.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    private void closeJournal() {
+        if (journal != null) {
+            try {
+                journal.close();
+            } catch (IOException e) {
+                LOGGER.warn("Failed to close job journal", e);
+            }
+            journal = null;
+        }
+    }
+
+    /**
+     * One queued job, as journaled
+     */
+    public static final class Job {
+        private String id;
+        private String scriptPath;
+        private List<Object> args;
+        private Map<String, Object> kwargs;
+        private int priority;
+        private int maxRetries;
+        private int attempts;
+        private String state;
+        private long submittedAt;
+        private long startedAt;
+        private long completedAt;
+        private long nextAttemptAt;
+        private Object result;
+        private String error;
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("id", id);
+            map.put("scriptPath", scriptPath);
+            map.put("args", args != null ? args : Collections.emptyList());
+            map.put("kwargs", kwargs != null ? kwargs : Collections.emptyMap());
+            map.put("priority", priority);
+            map.put("maxRetries", maxRetries);
+            map.put("attempts", attempts);
+            map.put("state", state);
+            map.put("submittedAt", submittedAt);
+            if (startedAt != 0) {
+                map.put("startedAt", startedAt);
+            }
+            if (completedAt != 0) {
+                map.put("completedAt", completedAt);
+            }
+            if (STATE_PENDING.equals(state) && nextAttemptAt != 0) {
+                map.put("nextAttemptAt", nextAttemptAt);
+            }
+            if (STATE_SUCCEEDED.equals(state)) {
+                map.put("result", result);
+            }
+            if (error != null) {
+                map.put("error", error);
+            }
+            return map;
+        }
+    }
+}
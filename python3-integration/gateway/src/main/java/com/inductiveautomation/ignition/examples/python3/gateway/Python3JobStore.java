@@ -0,0 +1,227 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded, TTL'd store of REST jobs submitted with "async": true.
+ *
+ * A job is an async call ({@link Python3AsyncService}) plus a random id the client polls with.
+ * Finished jobs are kept for -Dignition.python3.jobs.ttlSeconds (default 300) after completion so
+ * the result can be fetched, then dropped. At most -Dignition.python3.jobs.max (default 1000) jobs
+ * are held; when full, expired jobs are purged first, then the oldest finished job is evicted, and
+ * only if every job is still pending is the submission rejected.
+ *
+ * v2.6.0: Added for async REST execution
+ */
+public class Python3JobStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Python3JobStore.class);
+
+    public static final String MAX_JOBS_PROPERTY = "ignition.python3.jobs.max";
+    public static final String TTL_PROPERTY = "ignition.python3.jobs.ttlSeconds";
+
+    public static final String STATUS_QUEUED = "queued";
+    public static final String STATUS_RUNNING = "running";
+    public static final String STATUS_DONE = "done";
+    public static final String STATUS_FAILED = "failed";
+    public static final String STATUS_CANCELLED = "cancelled";
+
+    private final Python3AsyncService asyncService;
+    private final int maxJobs;
+    private final long ttlMillis;
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final LongAdder submitted = new LongAdder();
+    private final LongAdder expired = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+
+    public static Python3JobStore fromSystemProperties(Python3AsyncService asyncService) {
+        return new Python3JobStore(asyncService,
+                Integer.getInteger(MAX_JOBS_PROPERTY, 1000),
+                Long.getLong(TTL_PROPERTY, 300L) * 1000L);
+    }
+
+    public Python3JobStore(Python3AsyncService asyncService, int maxJobs, long ttlMillis) {
+        this.asyncService = asyncService;
+        this.maxJobs = Math.max(1, maxJobs);
+        this.ttlMillis = Math.max(0L, ttlMillis);
+    }
+
+    /**
+     * Queue work as a job.
+     *
+     * @param kind short label ("exec", "call-script", ...)
+     * @param work the blocking call; its return value is the job result
+     * @throws IllegalStateException if the store is full of pending jobs or the async queue is full
+     */
+    public synchronized Job submit(String kind, Callable<Object> work) {
+        // The room check, eviction and put happen under one lock, so concurrent submits cannot
+        // together push the store past maxJobs
+        makeRoom();
+
+        String id = UUID.randomUUID().toString();
+        Python3AsyncService.Handle handle = asyncService.submit(kind, work, null);
+        Job job = new Job(id, kind, handle);
+        handle.toCompletableFuture().whenComplete((value, error) -> job.completedAtMillis = System.currentTimeMillis());
+        jobs.put(id, job);
+        submitted.increment();
+        return job;
+    }
+
+    /**
+     * Look up a job; expired jobs are removed and reported as missing.
+     */
+    public Job get(String id) {
+        Job job = jobs.get(id);
+        if (job != null && job.isExpired(System.currentTimeMillis(), ttlMillis)) {
+            if (jobs.remove(id, job)) {
+                expired.increment();
+            }
+            return null;
+        }
+        return job;
+    }
+
+    /**
+     * Wait up to waitMs for a job to finish (long-poll).
+     *
+     * @return true if the job is finished
+     */
+    public boolean await(Job job, long waitMs) throws InterruptedException {
+        if (waitMs <= 0 || job.handle.isDone()) {
+            return job.handle.isDone();
+        }
+        try {
+            job.handle.toCompletableFuture().get(waitMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (Exception e) {
+            // Failed or cancelled jobs are finished too
+        }
+        return true;
+    }
+
+    /**
+     * Cancel a job that has not started yet.
+     *
+     * @return true if the job was cancelled
+     */
+    public boolean cancel(String id) {
+        Job job = get(id);
+        return job != null && job.handle.cancel();
+    }
+
+    /**
+     * Drop expired jobs; if still full, evict the oldest finished one. Caller holds this.
+     */
+    private void makeRoom() {
+        if (jobs.size() < maxJobs) {
+            return;
+        }
+
+        long now = System.currentTimeMillis();
+        Job oldest = null;
+        for (Job job : jobs.values()) {
+            if (job.isExpired(now, ttlMillis)) {
+                if (jobs.remove(job.id, job)) {
+                    expired.increment();
+                }
+            } else if (job.completedAtMillis != 0
+                    && (oldest == null || job.completedAtMillis < oldest.completedAtMillis)) {
+                oldest = job;
+            }
+        }
+
+        if (jobs.size() >= maxJobs) {
+            if (oldest == null) {
+                rejected.increment();
+                throw new IllegalStateException("Too many pending jobs (" + jobs.size()
+                        + ") - raise -D" + MAX_JOBS_PROPERTY + " or fetch finished results sooner");
+            }
+            jobs.remove(oldest.id, oldest);
+            evicted.increment();
+            LOGGER.debug("Evicted finished job {} to make room", oldest.id);
+        }
+    }
+
+    public Map<String, Object> getStats() {
+        int pending = 0;
+        for (Job job : jobs.values()) {
+            if (!job.handle.isDone()) {
+                pending++;
+            }
+        }
+
+        Map<String, Object> map = new HashMap<>();
+        map.put("jobs", jobs.size());
+        map.put("pending", pending);
+        map.put("maxJobs", maxJobs);
+        map.put("ttlSeconds", ttlMillis / 1000L);
+        map.put("submitted", submitted.sum());
+        map.put("expired", expired.sum());
+        map.put("evicted", evicted.sum());
+        map.put("rejected", rejected.sum());
+        return map;
+    }
+
+    /**
+     * One submitted job
+     */
+    public static final class Job {
+        private final String id;
+        private final String kind;
+        private final Python3AsyncService.Handle handle;
+        private final long createdAtMillis = System.currentTimeMillis();
+        private volatile long completedAtMillis;
+
+        private Job(String id, String kind, Python3AsyncService.Handle handle) {
+            this.id = id;
+            this.kind = kind;
+            this.handle = handle;
+        }
+
+        private boolean isExpired(long now, long ttlMillis) {
+            long completed = completedAtMillis;
+            return completed != 0 && now - completed > ttlMillis;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getKind() {
+            return kind;
+        }
+
+        public long getCreatedAtMillis() {
+            return createdAtMillis;
+        }
+
+        public Python3AsyncService.Handle getHandle() {
+            return handle;
+        }
+
+        /**
+         * One of STATUS_QUEUED, STATUS_RUNNING, STATUS_DONE, STATUS_FAILED or STATUS_CANCELLED
+         */
+        public String getStatus() {
+            if (handle.isCancelled()) {
+                return STATUS_CANCELLED;
+            }
+            if (handle.isDone()) {
+                return handle.isSuccess() ? STATUS_DONE : STATUS_FAILED;
+            }
+            return handle.isStarted() ? STATUS_RUNNING : STATUS_QUEUED;
+        }
+    }
+}
@@ -4,14 +4,20 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
-import java.util.LinkedList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -22,43 +28,93 @@ import java.util.stream.Collectors;
  * - Per-script performance metrics
  * - Historical metric snapshots (circular buffer)
  * - Health alerts when thresholds exceeded
+ *
+ * NEW in v2.6.0:
+ * - Fed from the process pool on every borrow, execute, evaluate, callModule and callScript
+ * - Latency histograms (p50/p90/p99/p999) overall, per command type and per script
+ * - Timings recorded in nanoseconds; recording does not allocate once a command/script is known
+ * - Lock-free recording: counters are LongAdder/LongAccumulator cells and hot histograms are striped,
+ *   so pool threads never contend on a shared lock or CAS loop
+ * - Snapshot history kept in a preallocated ring buffer; snapshots and health alerts are produced
+ *   by a background scheduler ({@link #start()}/{@link #shutdown()}) instead of on the record path
+ * - Executor respawns, timeouts, borrow queue depth and cache hit/miss counters, exported in
+ *   Prometheus text format by {@link Python3PrometheusExporter}
+ * - Per-phase latency (REST parse, pool wait, encode, pipe I/O, bridge phases) from {@link Python3Trace}
+ * - Per-script entries are dropped when the repository deletes or moves the script, and at most
+ *   -Dignition.python3.metrics.maxScripts (default 1000) are kept - the least executed go first
  */
 public class Python3MetricsCollector {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Python3MetricsCollector.class);
 
+    // Command types recorded by the process pool (v2.6.0)
+    public static final String COMMAND_EXECUTE = "execute";
+    public static final String COMMAND_EVALUATE = "evaluate";
+    public static final String COMMAND_CALL_MODULE = "call_module";
+    public static final String COMMAND_CALL_SCRIPT = "call_script";
+    public static final String COMMAND_BATCH = "batch";
+
+    // Cache names for recordCacheAccess (v2.6.0)
+    public static final String CACHE_SCRIPT_ENTRY_POINT = "script_entry_point";
+    public static final String CACHE_SCRIPT_VERIFICATION = "script_verification";
+    public static final String CACHE_SCRIPT_BODY = "script_body";
+
+    public static final String MAX_SCRIPTS_PROPERTY = "ignition.python3.metrics.maxScripts";
+
     // Historical tracking configuration
     private static final int MAX_HISTORY_SNAPSHOTS = 100;  // Keep last 100 snapshots
     private static final long SNAPSHOT_INTERVAL_MS = 60000;  // 1 minute between snapshots
+    private static final long ALERT_CHECK_INTERVAL_MS = 5000;  // Health thresholds evaluated every 5 seconds
+
+    // Execution counters (LongAdder since v2.6.0 - contention-free increments)
+    private final LongAdder totalExecutions = new LongAdder();
+    private final LongAdder successfulExecutions = new LongAdder();
+    private final LongAdder failedExecutions = new LongAdder();
 
-    // Execution counters
-    private final AtomicLong totalExecutions = new AtomicLong(0);
-    private final AtomicLong successfulExecutions = new AtomicLong(0);
-    private final AtomicLong failedExecutions = new AtomicLong(0);
+    // Timing metrics (microseconds since v2.6.0 so sub-millisecond evaluations are not lost)
+    private final LongAdder totalExecutionTime = new LongAdder();
+    private final LongAccumulator minExecutionTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+    private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0L);
 
-    // Timing metrics (milliseconds)
-    private final AtomicLong totalExecutionTime = new AtomicLong(0);
-    private final AtomicLong minExecutionTime = new AtomicLong(Long.MAX_VALUE);
-    private final AtomicLong maxExecutionTime = new AtomicLong(0);
+    // Latency histograms (v2.6.0)
+    private final LatencyHistogram executionLatency = LatencyHistogram.striped();
+    private final LatencyHistogram poolWaitLatency = LatencyHistogram.striped();
+    private final Map<String, LatencyHistogram> commandLatency = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> phaseLatency = new ConcurrentHashMap<>();
 
     // Pool metrics
-    private final AtomicInteger currentPoolSize = new AtomicInteger(0);
-    private final AtomicInteger activeExecutions = new AtomicInteger(0);
-    private final AtomicLong poolWaitTimeTotal = new AtomicLong(0);
-    private final AtomicInteger poolWaitCount = new AtomicInteger(0);
+    private volatile int currentPoolSize = 0;
+    private final LongAdder activeExecutions = new LongAdder();
+    private final LongAdder poolWaitTimeTotal = new LongAdder();  // microseconds
+    private final LongAdder poolWaitCount = new LongAdder();
+    private final LongAdder poolWaiters = new LongAdder();  // callers currently blocked in borrowExecutor
+    private volatile Supplier<Python3ProcessPool.PoolStats> poolStatsSupplier;
+
+    // Process lifecycle (v2.6.0)
+    private final LongAdder executorRespawns = new LongAdder();
+    private final LongAdder executionTimeouts = new LongAdder();
+    private final LongAdder acquireTimeouts = new LongAdder();
+
+    // Cache hit/miss counters keyed by cache name (v2.6.0)
+    private final Map<String, CacheCounters> cacheCounters = new ConcurrentHashMap<>();
 
     // Error tracking
-    private final Map<String, AtomicInteger> errorCounts = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
 
     // Per-script metrics (NEW in v1.16.0)
     private final Map<String, ScriptMetrics> scriptMetrics = new ConcurrentHashMap<>();
+    private final int maxTrackedScripts = Math.max(1, Integer.getInteger(MAX_SCRIPTS_PROPERTY, 1000));
+
+    // Historical metric snapshots (NEW in v1.16.0, ring buffer since v2.6.0)
+    // Written only by the scheduler thread; readers walk back from the write sequence
+    private final AtomicReferenceArray<MetricSnapshot> metricHistory = new AtomicReferenceArray<>(MAX_HISTORY_SNAPSHOTS);
+    private final AtomicLong historySequence = new AtomicLong(0);
 
-    // Historical metric snapshots (NEW in v1.16.0)
-    private final List<MetricSnapshot> metricHistory = Collections.synchronizedList(new LinkedList<>());
-    private long lastSnapshotTime = System.currentTimeMillis();
+    // Health alerts (NEW in v1.16.0) - only mutated by the scheduler thread
+    private final List<HealthAlert> activeAlerts = new CopyOnWriteArrayList<>();
 
-    // Health alerts (NEW in v1.16.0)
-    private final List<HealthAlert> activeAlerts = Collections.synchronizedList(new ArrayList<>());
+    // Background snapshot/alert evaluation (v2.6.0)
+    private ScheduledExecutorService scheduler;
 
     // Start time for uptime calculation
     private final long startTime = System.currentTimeMillis();
@@ -77,28 +133,46 @@ public class Python3MetricsCollector {
      * @param scriptIdentifier Script name or hash (null for anonymous scripts)
      */
     public void recordExecution(long executionTimeMs, String scriptIdentifier) {
-        totalExecutions.incrementAndGet();
-        successfulExecutions.incrementAndGet();
-        totalExecutionTime.addAndGet(executionTimeMs);
+        recordExecution(COMMAND_EXECUTE, scriptIdentifier, TimeUnit.MILLISECONDS.toNanos(executionTimeMs));
+    }
+
+    /**
+     * Record a successful execution of a given command type (NEW in v2.6.0)
+     *
+     * @param command          Command type (see COMMAND_* constants)
+     * @param scriptIdentifier Script path (null for anonymous code)
+     * @param durationNanos    Execution time in nanoseconds, excluding pool wait
+     */
+    public void recordExecution(String command, String scriptIdentifier, long durationNanos) {
+        long micros = durationNanos / 1000L;
 
-        // Update min/max
-        updateMin(minExecutionTime, executionTimeMs);
-        updateMax(maxExecutionTime, executionTimeMs);
+        totalExecutions.increment();
+        successfulExecutions.increment();
+        recordTiming(command, micros);
 
         // Per-script tracking
         if (scriptIdentifier != null && !scriptIdentifier.isEmpty()) {
-            scriptMetrics.computeIfAbsent(scriptIdentifier, k -> new ScriptMetrics(scriptIdentifier))
-                    .recordExecution(executionTimeMs);
+            scriptMetrics(scriptIdentifier).recordExecution(micros);
         }
 
-        // Check if snapshot needed
-        checkAndCreateSnapshot();
-
-        // Check health alerts
-        checkHealthAlerts();
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Recorded {}: {}us (script: {})",
+                    command, micros, scriptIdentifier != null ? scriptIdentifier : "anonymous");
+        }
+    }
 
-        LOGGER.debug("Recorded execution: {}ms (total: {}, script: {})",
-                executionTimeMs, totalExecutions.get(), scriptIdentifier != null ? scriptIdentifier : "anonymous");
+    /**
+     * Record whether a saved-script call found the script already loaded in its executor (v2.6.0)
+     *
+     * @param scriptIdentifier Script path
+     * @param warm             true if only the entry point (or cached code) ran, false if the script was loaded
+     * @param durationNanos    Call time in nanoseconds
+     */
+    public void recordScriptCall(String scriptIdentifier, boolean warm, long durationNanos) {
+        recordCacheAccess(CACHE_SCRIPT_ENTRY_POINT, warm);
+        if (scriptIdentifier != null && !scriptIdentifier.isEmpty()) {
+            scriptMetrics(scriptIdentifier).recordCall(warm, durationNanos / 1000L);
+        }
     }
 
     /**
@@ -116,53 +190,244 @@ public class Python3MetricsCollector {
      * @param scriptIdentifier Script name or hash (null for anonymous scripts)
      */
     public void recordFailure(String errorType, long executionTimeMs, String scriptIdentifier) {
-        totalExecutions.incrementAndGet();
-        failedExecutions.incrementAndGet();
-        totalExecutionTime.addAndGet(executionTimeMs);
+        recordFailure(COMMAND_EXECUTE, errorType, scriptIdentifier, TimeUnit.MILLISECONDS.toNanos(executionTimeMs));
+    }
+
+    /**
+     * Record a failed execution of a given command type (NEW in v2.6.0)
+     *
+     * @param command          Command type (see COMMAND_* constants)
+     * @param errorType        Error class (e.g. "NameError", "ExecutorUnavailable") - keep cardinality low
+     * @param scriptIdentifier Script path (null for anonymous code)
+     * @param durationNanos    Execution time before failure in nanoseconds
+     */
+    public void recordFailure(String command, String errorType, String scriptIdentifier, long durationNanos) {
+        long micros = durationNanos / 1000L;
+
+        totalExecutions.increment();
+        failedExecutions.increment();
+        recordTiming(command, micros);
 
         // Track error types
-        errorCounts.computeIfAbsent(errorType, k -> new AtomicInteger(0)).incrementAndGet();
+        counter(errorCounts, errorType).increment();
 
         // Per-script tracking
         if (scriptIdentifier != null && !scriptIdentifier.isEmpty()) {
-            scriptMetrics.computeIfAbsent(scriptIdentifier, k -> new ScriptMetrics(scriptIdentifier))
-                    .recordFailure(errorType, executionTimeMs);
+            scriptMetrics(scriptIdentifier).recordFailure(errorType, micros);
         }
 
-        // Check health alerts
-        checkHealthAlerts();
-
-        LOGGER.debug("Recorded failure: {} ({}ms, script: {})",
-                errorType, executionTimeMs, scriptIdentifier != null ? scriptIdentifier : "anonymous");
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Recorded {} failure: {} ({}us, script: {})",
+                    command, errorType, micros, scriptIdentifier != null ? scriptIdentifier : "anonymous");
+        }
     }
 
     /**
      * Record pool wait time
      */
     public void recordPoolWait(long waitTimeMs) {
-        poolWaitTimeTotal.addAndGet(waitTimeMs);
-        poolWaitCount.incrementAndGet();
+        recordPoolWaitNanos(TimeUnit.MILLISECONDS.toNanos(waitTimeMs));
+    }
+
+    /**
+     * Record the time a caller spent waiting in borrowExecutor (NEW in v2.6.0)
+     *
+     * @param waitNanos Wait time in nanoseconds
+     */
+    public void recordPoolWaitNanos(long waitNanos) {
+        long micros = waitNanos / 1000L;
+        poolWaitTimeTotal.add(micros);
+        poolWaitCount.increment();
+        poolWaitLatency.recordMicros(micros);
+    }
+
+    /**
+     * Update totals, min/max and the overall and per-command histograms
+     */
+    private void recordTiming(String command, long micros) {
+        totalExecutionTime.add(micros);
+        minExecutionTime.accumulate(micros);
+        maxExecutionTime.accumulate(micros);
+
+        executionLatency.recordMicros(micros);
+
+        String key = command != null ? command : COMMAND_EXECUTE;
+        LatencyHistogram histogram = commandLatency.get(key);
+        if (histogram == null) {
+            histogram = commandLatency.computeIfAbsent(key, k -> LatencyHistogram.striped());
+        }
+        histogram.recordMicros(micros);
+    }
+
+    /**
+     * Record the phase breakdown of a finished trace (v2.6.0)
+     *
+     * @param trace the finished trace
+     */
+    public void recordPhases(Python3Trace trace) {
+        for (Python3Trace.Phase phase : trace.getPhases()) {
+            LatencyHistogram histogram = phaseLatency.get(phase.name);
+            if (histogram == null) {
+                histogram = phaseLatency.computeIfAbsent(phase.name, k -> LatencyHistogram.striped());
+            }
+            histogram.recordNanos(phase.durationNanos);
+        }
+    }
+
+    /**
+     * Mean and p99 per phase in canonical phase order (v2.6.0)
+     *
+     * @return map of phase name to {count, mean_ms, p99_ms}
+     */
+    public Map<String, Object> getPhaseBreakdown() {
+        Map<String, Object> breakdown = new LinkedHashMap<>();
+        for (String phase : Python3Trace.PHASE_ORDER) {
+            LatencyHistogram histogram = phaseLatency.get(phase);
+            if (histogram != null) {
+                breakdown.put(phase, phaseSummary(histogram));
+            }
+        }
+        // Phases reported by a newer bridge that are not in the canonical list
+        phaseLatency.forEach((phase, histogram) -> breakdown.putIfAbsent(phase, phaseSummary(histogram)));
+        return breakdown;
+    }
+
+    private static Map<String, Object> phaseSummary(LatencyHistogram histogram) {
+        long count = histogram.getCount();
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", count);
+        summary.put("mean_ms", count > 0 ? LatencyHistogram.toMillis(histogram.getTotalMicros() / count) : 0.0);
+        summary.put("p99_ms", LatencyHistogram.toMillis(histogram.getValueAtPercentile(99.0)));
+        return summary;
+    }
+
+    /**
+     * Per-script metrics lookup. A plain get() first keeps the common path off
+     * computeIfAbsent, which locks the bin even when the key is present.
+     */
+    private ScriptMetrics scriptMetrics(String scriptIdentifier) {
+        ScriptMetrics metrics = scriptMetrics.get(scriptIdentifier);
+        if (metrics != null) {
+            return metrics;
+        }
+        metrics = scriptMetrics.computeIfAbsent(scriptIdentifier, ScriptMetrics::new);
+        if (scriptMetrics.size() > maxTrackedScripts) {
+            evictLeastExecutedScript(scriptIdentifier);
+        }
+        return metrics;
+    }
+
+    /**
+     * Drop the least executed script other than the one just added. Only runs when a new script
+     * pushes the map over its cap, so the scan stays off the common path.
+     */
+    private void evictLeastExecutedScript(String keep) {
+        ScriptMetrics least = null;
+        for (ScriptMetrics candidate : scriptMetrics.values()) {
+            if (!candidate.scriptIdentifier.equals(keep)
+                    && (least == null || candidate.getTotalExecutions() < least.getTotalExecutions())) {
+                least = candidate;
+            }
+        }
+        if (least != null) {
+            scriptMetrics.remove(least.scriptIdentifier, least);
+        }
+    }
+
+    /**
+     * Forget a script's per-script metrics, e.g. after it was deleted or moved. Callers may have
+     * recorded it with a leading slash or different case, so those entries go too.
+     *
+     * @param scriptPath the script's path ("Folder/Name")
+     *
+     * v2.6.0
+     */
+    public void removeScript(String scriptPath) {
+        String normalized = normalizeScriptPath(scriptPath);
+        scriptMetrics.keySet().removeIf(key -> normalizeScriptPath(key).equalsIgnoreCase(normalized));
+    }
+
+    private static String normalizeScriptPath(String path) {
+        return path.replaceAll("^/+|/+$", "").trim();
+    }
+
+    private static LongAdder counter(Map<String, LongAdder> counters, String key) {
+        LongAdder adder = counters.get(key);
+        return adder != null ? adder : counters.computeIfAbsent(key, k -> new LongAdder());
+    }
+
+    /**
+     * Record that an executor process was replaced (crashed, unhealthy or timed out) (v2.6.0)
+     */
+    public void recordExecutorRespawn() {
+        executorRespawns.increment();
+    }
+
+    /**
+     * Record a request that got no response from its Python process in time (v2.6.0)
+     */
+    public void recordExecutionTimeout() {
+        executionTimeouts.increment();
+    }
+
+    /**
+     * Record a caller that gave up waiting for a free executor (v2.6.0)
+     */
+    public void recordAcquireTimeout() {
+        acquireTimeouts.increment();
+    }
+
+    /**
+     * Track callers blocked waiting for an executor (queue depth) (v2.6.0)
+     */
+    public void incrementPoolWaiters() {
+        poolWaiters.increment();
+    }
+
+    public void decrementPoolWaiters() {
+        poolWaiters.decrement();
+    }
+
+    /**
+     * Record a lookup against a named cache (v2.6.0)
+     *
+     * @param cache Cache name (low cardinality, e.g. "script_verification")
+     * @param hit   true if the lookup was served from the cache
+     */
+    public void recordCacheAccess(String cache, boolean hit) {
+        CacheCounters counters = cacheCounters.get(cache);
+        if (counters == null) {
+            counters = cacheCounters.computeIfAbsent(cache, k -> new CacheCounters());
+        }
+        (hit ? counters.hits : counters.misses).increment();
+    }
+
+    /**
+     * Source of live pool state (standby/healthy executors) for exporters (v2.6.0)
+     */
+    public void setPoolStatsSupplier(Supplier<Python3ProcessPool.PoolStats> supplier) {
+        this.poolStatsSupplier = supplier;
     }
 
     /**
      * Update pool size
      */
     public void setPoolSize(int size) {
-        currentPoolSize.set(size);
+        currentPoolSize = size;
     }
 
     /**
      * Increment active execution count
      */
     public void incrementActiveExecutions() {
-        activeExecutions.incrementAndGet();
+        activeExecutions.increment();
     }
 
     /**
      * Decrement active execution count
      */
     public void decrementActiveExecutions() {
-        activeExecutions.decrementAndGet();
+        activeExecutions.decrement();
     }
 
     /**
@@ -172,9 +437,9 @@ public class Python3MetricsCollector {
         Map<String, Object> metrics = new HashMap<>();
 
         // Execution metrics
-        long total = totalExecutions.get();
-        long successful = successfulExecutions.get();
-        long failed = failedExecutions.get();
+        long total = totalExecutions.sum();
+        long successful = successfulExecutions.sum();
+        long failed = failedExecutions.sum();
 
         metrics.put("total_executions", total);
         metrics.put("successful_executions", successful);
@@ -182,25 +447,45 @@ public class Python3MetricsCollector {
         metrics.put("success_rate", total > 0 ? (double) successful / total * 100.0 : 100.0);
 
         // Timing metrics
-        long totalTime = totalExecutionTime.get();
+        long totalTime = totalExecutionTime.sum() / 1000L;
+        long minTime = minExecutionTime.get();
         metrics.put("total_execution_time_ms", totalTime);
         metrics.put("average_execution_time_ms", total > 0 ? totalTime / total : 0);
-        metrics.put("min_execution_time_ms", minExecutionTime.get() == Long.MAX_VALUE ? 0 : minExecutionTime.get());
-        metrics.put("max_execution_time_ms", maxExecutionTime.get());
+        metrics.put("min_execution_time_ms", minTime == Long.MAX_VALUE ? 0 : minTime / 1000L);
+        metrics.put("max_execution_time_ms", maxExecutionTime.get() / 1000L);
+
+        // Latency percentiles (v2.6.0)
+        metrics.put("p50_execution_time_ms", LatencyHistogram.toMillis(executionLatency.getValueAtPercentile(50.0)));
+        metrics.put("p90_execution_time_ms", LatencyHistogram.toMillis(executionLatency.getValueAtPercentile(90.0)));
+        metrics.put("p99_execution_time_ms", LatencyHistogram.toMillis(executionLatency.getValueAtPercentile(99.0)));
+        metrics.put("p999_execution_time_ms", LatencyHistogram.toMillis(executionLatency.getValueAtPercentile(99.9)));
+
+        Map<String, Object> byCommand = new HashMap<>();
+        commandLatency.forEach((command, histogram) -> byCommand.put(command, histogram.toMap()));
+        metrics.put("latency_by_command", byCommand);
+        metrics.put("latency_by_phase", getPhaseBreakdown());
 
         // Pool metrics
-        metrics.put("pool_size", currentPoolSize.get());
-        metrics.put("active_executions", activeExecutions.get());
-        metrics.put("pool_utilization", currentPoolSize.get() > 0 ?
-            (double) activeExecutions.get() / currentPoolSize.get() * 100.0 : 0.0);
+        int poolSize = currentPoolSize;
+        int active = getActiveExecutions();
+        metrics.put("pool_size", poolSize);
+        metrics.put("active_executions", active);
+        metrics.put("pool_utilization", poolSize > 0 ? (double) active / poolSize * 100.0 : 0.0);
 
-        int waitCount = poolWaitCount.get();
+        int waitCount = poolWaitCount.intValue();
         metrics.put("pool_wait_count", waitCount);
-        metrics.put("average_pool_wait_ms", waitCount > 0 ? poolWaitTimeTotal.get() / waitCount : 0);
+        metrics.put("average_pool_wait_ms", waitCount > 0 ? poolWaitTimeTotal.sum() / 1000L / waitCount : 0);
+        metrics.put("pool_wait", poolWaitLatency.toMap());
+        metrics.put("pool_waiters", getPoolWaiters());
+
+        // Process lifecycle (v2.6.0)
+        metrics.put("executor_respawns", executorRespawns.sum());
+        metrics.put("execution_timeouts", executionTimeouts.sum());
+        metrics.put("acquire_timeouts", acquireTimeouts.sum());
 
         // Error metrics
         Map<String, Integer> errors = new HashMap<>();
-        errorCounts.forEach((key, value) -> errors.put(key, value.get()));
+        errorCounts.forEach((key, value) -> errors.put(key, value.intValue()));
         metrics.put("error_counts", errors);
 
         // Uptime
@@ -210,8 +495,7 @@ public class Python3MetricsCollector {
 
         // Health score (0-100, based on success rate and pool availability)
         double successRate = total > 0 ? (double) successful / total * 100.0 : 100.0;
-        double poolAvailability = currentPoolSize.get() > 0 ?
-            (double) (currentPoolSize.get() - activeExecutions.get()) / currentPoolSize.get() * 100.0 : 100.0;
+        double poolAvailability = poolSize > 0 ? (double) (poolSize - active) / poolSize * 100.0 : 100.0;
         double healthScore = (successRate * 0.7) + (poolAvailability * 0.3);  // Weighted average
         metrics.put("health_score", Math.round(healthScore));
 
@@ -224,8 +508,8 @@ public class Python3MetricsCollector {
     public Map<String, Object> getGatewayImpact() {
         Map<String, Object> impact = new HashMap<>();
 
-        long total = totalExecutions.get();
-        long totalTime = totalExecutionTime.get();
+        long total = totalExecutions.sum();
+        long totalTime = totalExecutionTime.sum() / 1000L;
         long uptimeMs = System.currentTimeMillis() - startTime;
 
         // Execution rate (executions per minute)
@@ -255,13 +539,13 @@ public class Python3MetricsCollector {
         impact.put("memoryUsageMb", Math.round(usedMemoryMb * 100.0) / 100.0);  // v2.5.19: Camel case for JSON parsing
 
         // Pool contention (wait time indicates resource pressure)
-        int waitCount = poolWaitCount.get();
+        int waitCount = poolWaitCount.intValue();
         impact.put("pool_contention_events", waitCount);
-        impact.put("average_wait_time_ms", waitCount > 0 ? poolWaitTimeTotal.get() / waitCount : 0);
+        impact.put("average_wait_time_ms", waitCount > 0 ? poolWaitTimeTotal.sum() / 1000L / waitCount : 0);
+        impact.put("p99_wait_time_ms", LatencyHistogram.toMillis(poolWaitLatency.getValueAtPercentile(99.0)));
 
         // Resource utilization
-        double poolUtil = currentPoolSize.get() > 0 ?
-            (double) activeExecutions.get() / currentPoolSize.get() * 100.0 : 0.0;
+        double poolUtil = getPoolUtilization();
         impact.put("pool_utilization_percent", Math.round(poolUtil * 100.0) / 100.0);
 
         // Impact level assessment
@@ -288,7 +572,7 @@ public class Python3MetricsCollector {
         } else if (executionRate > 20) {
             healthScore -= 10;
         }
-        long failedCount = failedExecutions.get();
+        long failedCount = failedExecutions.sum();
         double successRate = total > 0 ? (double) (total - failedCount) / total * 100.0 : 100.0;
         if (successRate < 90) {
             healthScore -= 20;
@@ -305,43 +589,42 @@ public class Python3MetricsCollector {
      * Reset all metrics
      */
     public void reset() {
-        totalExecutions.set(0);
-        successfulExecutions.set(0);
-        failedExecutions.set(0);
-        totalExecutionTime.set(0);
-        minExecutionTime.set(Long.MAX_VALUE);
-        maxExecutionTime.set(0);
-        poolWaitTimeTotal.set(0);
-        poolWaitCount.set(0);
+        totalExecutions.reset();
+        successfulExecutions.reset();
+        failedExecutions.reset();
+        totalExecutionTime.reset();
+        minExecutionTime.reset();
+        maxExecutionTime.reset();
+        poolWaitTimeTotal.reset();
+        poolWaitCount.reset();
+        executorRespawns.reset();
+        executionTimeouts.reset();
+        acquireTimeouts.reset();
+        cacheCounters.clear();
         errorCounts.clear();
+        executionLatency.reset();
+        poolWaitLatency.reset();
+        commandLatency.clear();
+        phaseLatency.clear();
+        scriptMetrics.clear();
 
         LOGGER.info("Metrics reset");
     }
 
     /**
-     * Atomic min update
+     * Current number of in-flight executions (never negative, even mid-reset)
      */
-    private void updateMin(AtomicLong atomic, long value) {
-        long current;
-        do {
-            current = atomic.get();
-            if (value >= current) {
-                break;
-            }
-        } while (!atomic.compareAndSet(current, value));
+    private int getActiveExecutions() {
+        return (int) Math.max(0L, activeExecutions.sum());
     }
 
-    /**
-     * Atomic max update
-     */
-    private void updateMax(AtomicLong atomic, long value) {
-        long current;
-        do {
-            current = atomic.get();
-            if (value <= current) {
-                break;
-            }
-        } while (!atomic.compareAndSet(current, value));
+    private int getPoolWaiters() {
+        return (int) Math.max(0L, poolWaiters.sum());
+    }
+
+    private double getPoolUtilization() {
+        int poolSize = currentPoolSize;
+        return poolSize > 0 ? (double) getActiveExecutions() / poolSize * 100.0 : 0.0;
     }
 
     /**
@@ -363,11 +646,17 @@ public class Python3MetricsCollector {
      * @return List of metric snapshots (most recent first)
      */
     public List<Map<String, Object>> getHistoricalMetrics() {
-        synchronized (metricHistory) {
-            return metricHistory.stream()
-                    .map(MetricSnapshot::toMap)
-                    .collect(Collectors.toList());
+        long written = historySequence.get();
+        int available = (int) Math.min(written, MAX_HISTORY_SNAPSHOTS);
+
+        List<Map<String, Object>> history = new ArrayList<>(available);
+        for (long seq = written - 1; seq >= written - available; seq--) {
+            MetricSnapshot snapshot = metricHistory.get((int) (seq % MAX_HISTORY_SNAPSHOTS));
+            if (snapshot != null) {
+                history.add(snapshot.toMap());
+            }
         }
+        return history;
     }
 
     /**
@@ -376,59 +665,97 @@ public class Python3MetricsCollector {
      * @return List of active alerts
      */
     public List<Map<String, Object>> getHealthAlerts() {
-        synchronized (activeAlerts) {
-            return activeAlerts.stream()
-                    .map(HealthAlert::toMap)
-                    .collect(Collectors.toList());
+        return activeAlerts.stream()
+                .map(HealthAlert::toMap)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Start the background thread that records history snapshots and evaluates
+     * health alerts (v2.6.0). Safe to call more than once.
+     */
+    public synchronized void start() {
+        if (scheduler != null) {
+            return;
+        }
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Python3-Metrics");
+            t.setDaemon(true);
+            return t;
+        });
+        scheduler.scheduleAtFixedRate(this::runSafely, ALERT_CHECK_INTERVAL_MS, ALERT_CHECK_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+
+        LOGGER.debug("Metrics scheduler started (alerts every {}ms, snapshots every {}ms)",
+                ALERT_CHECK_INTERVAL_MS, SNAPSHOT_INTERVAL_MS);
+    }
+
+    /**
+     * Stop the background metrics thread (v2.6.0)
+     */
+    public synchronized void shutdown() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Scheduler tick - an exception must not cancel the periodic task
+     */
+    private void runSafely() {
+        try {
+            checkHealthAlerts();
+            checkAndCreateSnapshot();
+        } catch (Exception e) {
+            LOGGER.warn("Metrics background evaluation failed", e);
         }
     }
 
     /**
      * Check if periodic snapshot is needed and create it (NEW in v1.16.0)
+     * Called from the scheduler thread only, so the ring buffer has a single writer.
      */
     private void checkAndCreateSnapshot() {
         long now = System.currentTimeMillis();
+        long seq = historySequence.get();
+        MetricSnapshot last = seq > 0 ? metricHistory.get((int) ((seq - 1) % MAX_HISTORY_SNAPSHOTS)) : null;
+        long lastSnapshotTime = last != null ? last.timestamp : startTime;
+
         if (now - lastSnapshotTime >= SNAPSHOT_INTERVAL_MS) {
-            synchronized (metricHistory) {
-                // Create snapshot
-                MetricSnapshot snapshot = new MetricSnapshot(
-                        now,
-                        totalExecutions.get(),
-                        successfulExecutions.get(),
-                        failedExecutions.get(),
-                        totalExecutionTime.get() / Math.max(1, totalExecutions.get()),
-                        activeExecutions.get(),
-                        currentPoolSize.get()
-                );
-
-                metricHistory.add(0, snapshot);  // Add to front (most recent)
-
-                // Remove old snapshots (keep only MAX_HISTORY_SNAPSHOTS)
-                while (metricHistory.size() > MAX_HISTORY_SNAPSHOTS) {
-                    metricHistory.remove(metricHistory.size() - 1);
-                }
-
-                lastSnapshotTime = now;
-                LOGGER.debug("Created metric snapshot: total_executions={}, pool_utilization={}%",
-                        totalExecutions.get(), snapshot.poolUtilization);
-            }
+            long total = totalExecutions.sum();
+            MetricSnapshot snapshot = new MetricSnapshot(
+                    now,
+                    total,
+                    successfulExecutions.sum(),
+                    failedExecutions.sum(),
+                    totalExecutionTime.sum() / 1000L / Math.max(1, total),
+                    getActiveExecutions(),
+                    currentPoolSize
+            );
+
+            // Overwrites the oldest slot once the buffer is full
+            metricHistory.set((int) (seq % MAX_HISTORY_SNAPSHOTS), snapshot);
+            historySequence.set(seq + 1);
+
+            LOGGER.debug("Created metric snapshot: total_executions={}, pool_utilization={}%",
+                    total, snapshot.poolUtilization);
         }
     }
 
     /**
      * Check health thresholds and generate alerts (NEW in v1.16.0)
+     * Evaluated on the scheduler thread since v2.6.0.
      */
     private void checkHealthAlerts() {
         long now = System.currentTimeMillis();
 
         // Clear stale alerts (older than 5 minutes)
-        synchronized (activeAlerts) {
-            activeAlerts.removeIf(alert -> now - alert.timestamp > 300000);
-        }
+        activeAlerts.removeIf(alert -> now - alert.timestamp > 300000);
 
         // Check pool utilization alert
-        double poolUtil = currentPoolSize.get() > 0 ?
-                (double) activeExecutions.get() / currentPoolSize.get() * 100.0 : 0.0;
+        double poolUtil = getPoolUtilization();
 
         if (poolUtil > 90) {
             addAlert("POOL_UTILIZATION_CRITICAL", "Pool utilization is critically high (" +
@@ -439,9 +766,9 @@ public class Python3MetricsCollector {
         }
 
         // Check failure rate alert
-        long total = totalExecutions.get();
+        long total = totalExecutions.sum();
         if (total > 10) {  // Only alert if we have enough data
-            double failureRate = (double) failedExecutions.get() / total * 100.0;
+            double failureRate = (double) failedExecutions.sum() / total * 100.0;
             if (failureRate > 20) {
                 addAlert("FAILURE_RATE_HIGH", "Failure rate is high (" +
                         Math.round(failureRate) + "%). Check for script errors.", "WARNING");
@@ -455,93 +782,198 @@ public class Python3MetricsCollector {
     private void addAlert(String alertId, String message, String severity) {
         long now = System.currentTimeMillis();
 
-        synchronized (activeAlerts) {
-            // Check if this alert was recently added (within 1 minute)
-            boolean alreadyActive = activeAlerts.stream()
-                    .anyMatch(alert -> alert.alertId.equals(alertId) && now - alert.timestamp < 60000);
+        // Check if this alert was recently added (within 1 minute)
+        boolean alreadyActive = activeAlerts.stream()
+                .anyMatch(alert -> alert.alertId.equals(alertId) && now - alert.timestamp < 60000);
 
-            if (!alreadyActive) {
-                activeAlerts.add(new HealthAlert(now, alertId, message, severity));
-                LOGGER.warn("Health Alert [{}]: {}", severity, message);
-            }
+        if (!alreadyActive) {
+            activeAlerts.add(new HealthAlert(now, alertId, message, severity));
+            LOGGER.warn("Health Alert [{}]: {}", severity, message);
         }
     }
 
+    // Raw accessors for Python3PrometheusExporter (v2.6.0) - no maps built per scrape
+
+    long getTotalExecutions() {
+        return totalExecutions.sum();
+    }
+
+    long getSuccessfulExecutions() {
+        return successfulExecutions.sum();
+    }
+
+    long getFailedExecutions() {
+        return failedExecutions.sum();
+    }
+
+    int getConfiguredPoolSize() {
+        return currentPoolSize;
+    }
+
+    int getBusyExecutors() {
+        return getActiveExecutions();
+    }
+
+    int getQueueDepth() {
+        return getPoolWaiters();
+    }
+
+    Python3ProcessPool.PoolStats getPoolStats() {
+        Supplier<Python3ProcessPool.PoolStats> supplier = poolStatsSupplier;
+        return supplier != null ? supplier.get() : null;
+    }
+
+    long getExecutorRespawns() {
+        return executorRespawns.sum();
+    }
+
+    long getExecutionTimeouts() {
+        return executionTimeouts.sum();
+    }
+
+    long getAcquireTimeouts() {
+        return acquireTimeouts.sum();
+    }
+
+    long getUptimeMillis() {
+        return System.currentTimeMillis() - startTime;
+    }
+
+    LatencyHistogram getExecutionLatency() {
+        return executionLatency;
+    }
+
+    LatencyHistogram getPoolWaitLatency() {
+        return poolWaitLatency;
+    }
+
+    Map<String, LatencyHistogram> getCommandLatency() {
+        return commandLatency;
+    }
+
+    Map<String, LatencyHistogram> getPhaseLatency() {
+        return phaseLatency;
+    }
+
+    Map<String, LongAdder> getErrorCounts() {
+        return errorCounts;
+    }
+
+    Map<String, ScriptMetrics> getScriptMetricsById() {
+        return scriptMetrics;
+    }
+
+    Map<String, CacheCounters> getCacheCounters() {
+        return cacheCounters;
+    }
+
     // Inner classes for new features (v1.16.0)
 
     /**
-     * Tracks metrics for a specific script
+     * Tracks metrics for a specific script (timings in microseconds since v2.6.0)
      */
-    private static class ScriptMetrics {
+    static class ScriptMetrics {
         private final String scriptIdentifier;
-        private final AtomicLong totalExecutions = new AtomicLong(0);
-        private final AtomicLong successfulExecutions = new AtomicLong(0);
-        private final AtomicLong failedExecutions = new AtomicLong(0);
-        private final AtomicLong totalExecutionTime = new AtomicLong(0);
-        private final AtomicLong minExecutionTime = new AtomicLong(Long.MAX_VALUE);
-        private final AtomicLong maxExecutionTime = new AtomicLong(0);
-        private final Map<String, AtomicInteger> errorCounts = new ConcurrentHashMap<>();
+        private final LongAdder totalExecutions = new LongAdder();
+        private final LongAdder successfulExecutions = new LongAdder();
+        private final LongAdder failedExecutions = new LongAdder();
+        private final LongAdder totalExecutionTime = new LongAdder();
+        private final LongAccumulator minExecutionTime = new LongAccumulator(Math::min, Long.MAX_VALUE);
+        private final LongAccumulator maxExecutionTime = new LongAccumulator(Math::max, 0L);
+        private final Map<String, LongAdder> errorCounts = new ConcurrentHashMap<>();
+        private final LatencyHistogram latency = new LatencyHistogram();
+        private final LongAdder warmCalls = new LongAdder();  // v2.6.0: script already loaded in the executor
+        private final LongAdder warmCallTime = new LongAdder();
+        private final LongAdder coldCalls = new LongAdder();
+        private final LongAdder coldCallTime = new LongAdder();
 
         ScriptMetrics(String scriptIdentifier) {
             this.scriptIdentifier = scriptIdentifier;
         }
 
-        void recordExecution(long executionTimeMs) {
-            totalExecutions.incrementAndGet();
-            successfulExecutions.incrementAndGet();
-            totalExecutionTime.addAndGet(executionTimeMs);
-            updateMinMax(executionTimeMs);
+        void recordExecution(long executionTimeMicros) {
+            totalExecutions.increment();
+            successfulExecutions.increment();
+            recordTime(executionTimeMicros);
         }
 
-        void recordFailure(String errorType, long executionTimeMs) {
-            totalExecutions.incrementAndGet();
-            failedExecutions.incrementAndGet();
-            totalExecutionTime.addAndGet(executionTimeMs);
-            errorCounts.computeIfAbsent(errorType, k -> new AtomicInteger(0)).incrementAndGet();
-            updateMinMax(executionTimeMs);
+        void recordCall(boolean warm, long callTimeMicros) {
+            (warm ? warmCalls : coldCalls).increment();
+            (warm ? warmCallTime : coldCallTime).add(callTimeMicros);
         }
 
-        private void updateMinMax(long value) {
-            // Update min
-            long currentMin;
-            do {
-                currentMin = minExecutionTime.get();
-                if (value >= currentMin) break;
-            } while (!minExecutionTime.compareAndSet(currentMin, value));
+        void recordFailure(String errorType, long executionTimeMicros) {
+            totalExecutions.increment();
+            failedExecutions.increment();
+            counter(errorCounts, errorType).increment();
+            recordTime(executionTimeMicros);
+        }
 
-            // Update max
-            long currentMax;
-            do {
-                currentMax = maxExecutionTime.get();
-                if (value <= currentMax) break;
-            } while (!maxExecutionTime.compareAndSet(currentMax, value));
+        private void recordTime(long value) {
+            totalExecutionTime.add(value);
+            minExecutionTime.accumulate(value);
+            maxExecutionTime.accumulate(value);
+            latency.recordMicros(value);
         }
 
         long getTotalExecutions() {
-            return totalExecutions.get();
+            return totalExecutions.sum();
+        }
+
+        long getSuccessfulExecutions() {
+            return successfulExecutions.sum();
+        }
+
+        long getFailedExecutions() {
+            return failedExecutions.sum();
+        }
+
+        LatencyHistogram getLatency() {
+            return latency;
         }
 
         Map<String, Object> toMap() {
+            long total = totalExecutions.sum();
+            long successful = successfulExecutions.sum();
+            long minTime = minExecutionTime.get();
+
             Map<String, Object> map = new HashMap<>();
             map.put("script_identifier", scriptIdentifier);
-            map.put("total_executions", totalExecutions.get());
-            map.put("successful_executions", successfulExecutions.get());
-            map.put("failed_executions", failedExecutions.get());
-            map.put("success_rate", totalExecutions.get() > 0 ?
-                    (double) successfulExecutions.get() / totalExecutions.get() * 100.0 : 100.0);
-            map.put("average_execution_time_ms", totalExecutions.get() > 0 ?
-                    totalExecutionTime.get() / totalExecutions.get() : 0);
-            map.put("min_execution_time_ms", minExecutionTime.get() == Long.MAX_VALUE ? 0 : minExecutionTime.get());
-            map.put("max_execution_time_ms", maxExecutionTime.get());
+            map.put("total_executions", total);
+            map.put("successful_executions", successful);
+            map.put("failed_executions", failedExecutions.sum());
+            map.put("success_rate", total > 0 ? (double) successful / total * 100.0 : 100.0);
+            map.put("average_execution_time_ms", total > 0 ? totalExecutionTime.sum() / 1000L / total : 0);
+            map.put("min_execution_time_ms", minTime == Long.MAX_VALUE ? 0 : minTime / 1000L);
+            map.put("max_execution_time_ms", maxExecutionTime.get() / 1000L);
+            map.put("p50_execution_time_ms", LatencyHistogram.toMillis(latency.getValueAtPercentile(50.0)));
+            map.put("p90_execution_time_ms", LatencyHistogram.toMillis(latency.getValueAtPercentile(90.0)));
+            map.put("p99_execution_time_ms", LatencyHistogram.toMillis(latency.getValueAtPercentile(99.0)));
+            map.put("p999_execution_time_ms", LatencyHistogram.toMillis(latency.getValueAtPercentile(99.9)));
+
+            long warm = warmCalls.sum();
+            long cold = coldCalls.sum();
+            map.put("warm_calls", warm);
+            map.put("cold_calls", cold);
+            map.put("average_warm_call_time_us", warm > 0 ? warmCallTime.sum() / warm : 0);
+            map.put("average_cold_call_time_us", cold > 0 ? coldCallTime.sum() / cold : 0);
 
             Map<String, Integer> errors = new HashMap<>();
-            errorCounts.forEach((key, value) -> errors.put(key, value.get()));
+            errorCounts.forEach((key, value) -> errors.put(key, value.intValue()));
             map.put("error_counts", errors);
 
             return map;
         }
     }
 
+    /**
+     * Hit/miss counts for one named cache (v2.6.0)
+     */
+    static class CacheCounters {
+        final LongAdder hits = new LongAdder();
+        final LongAdder misses = new LongAdder();
+    }
+
     /**
      * Snapshot of metrics at a specific point in time
      */
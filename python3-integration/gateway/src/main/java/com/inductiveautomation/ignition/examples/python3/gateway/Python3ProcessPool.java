@@ -4,9 +4,23 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -21,13 +35,36 @@ public class Python3ProcessPool {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Python3ProcessPool.class);
 
+    /**
+     * Largest batch accepted by executeBatch, so one batch cannot hold an executor indefinitely (v2.6.0)
+     */
+    public static final int MAX_BATCH_OPERATIONS = 1000;
+
+    /**
+     * Most prepared code handles held at once, least recently used evicted first (v2.6.0)
+     */
+    public static final String MAX_PREPARED_PROPERTY = "ignition.python3.prepared.max";
+    private static final int MAX_PREPARED = Integer.getInteger(MAX_PREPARED_PROPERTY, 1000);
+
     private final String pythonPath;
     private volatile int poolSize;  // Changed to volatile for dynamic resizing (v1.17.2)
     private final BlockingQueue<Python3Executor> availableExecutors;
     private final CopyOnWriteArrayList<Python3Executor> allExecutors;
     private final ScheduledExecutorService healthCheckExecutor;
+    private final ExecutorService parallelMapExecutor;  // v2.6.0: chunk workers for parallelMap
     private volatile boolean isShutdown = false;
     private final AtomicInteger executorIdCounter = new AtomicInteger(0);
+    private final Python3MetricsCollector metricsCollector;
+    private volatile Python3ExecutionRecorder recorder;  // v2.6.0: null unless recording is enabled
+    private volatile Python3Executor.ScriptSource scriptSource;  // v2.6.0: backs import scripts.* in executors
+
+    // v2.6.0: Prepared code by handle (access-ordered for LRU eviction), guarded by itself
+    private final Map<String, String> preparedCode = new LinkedHashMap<String, String>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > MAX_PREPARED;
+        }
+    };
 
     /**
      * Create a new process pool
@@ -37,16 +74,33 @@ public class Python3ProcessPool {
      * @throws IOException if processes cannot be started
      */
     public Python3ProcessPool(String pythonPath, int poolSize) throws IOException {
+        this(pythonPath, poolSize, new Python3MetricsCollector());
+    }
+
+    /**
+     * Create a new process pool that reports to the given metrics collector
+     *
+     * @param pythonPath       Path to Python 3 executable
+     * @param poolSize         Number of processes to maintain
+     * @param metricsCollector Collector fed on every borrow and execution
+     * @throws IOException if processes cannot be started
+     *
+     * v2.6.0: Added so /api/v1/metrics reflects real pool traffic
+     */
+    public Python3ProcessPool(String pythonPath, int poolSize, Python3MetricsCollector metricsCollector) throws IOException {
         this.pythonPath = pythonPath;
         this.poolSize = poolSize;
+        this.metricsCollector = metricsCollector;
         this.availableExecutors = new LinkedBlockingQueue<>(poolSize);
         this.allExecutors = new CopyOnWriteArrayList<>();
+        metricsCollector.setPoolSize(poolSize);
+        metricsCollector.setPoolStatsSupplier(this::getStats);
 
         LOGGER.info("Initializing Python 3 process pool with {} processes", poolSize);
 
         // Create initial pool
         for (int i = 0; i < poolSize; i++) {
-            Python3Executor executor = createExecutor();
+            Python3Executor executor = createExecutor("startup");
             allExecutors.add(executor);
             availableExecutors.offer(executor);
         }
@@ -58,6 +112,13 @@ public class Python3ProcessPool {
             return t;
         });
 
+        // v2.6.0: Threads only wait on executors, so the pool of callers can be unbounded
+        parallelMapExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "Python3-ParallelMap");
+            t.setDaemon(true);
+            return t;
+        });
+
         healthCheckExecutor.scheduleAtFixedRate(
                 this::performHealthCheck,
                 30, // Initial delay
@@ -70,18 +131,32 @@ public class Python3ProcessPool {
 
     /**
      * Create a new executor instance
+     *
+     * @param reason why the executor is being created ("startup", "replace" or "resize"), for JFR
      */
-    private Python3Executor createExecutor() throws IOException {
+    private Python3Executor createExecutor(String reason) throws IOException {
         int id = executorIdCounter.incrementAndGet();
         LOGGER.debug("Creating Python executor #{}", id);
 
+        Python3JfrEvents.ExecutorSpawn event = new Python3JfrEvents.ExecutorSpawn();
+        event.begin();
+        Python3Executor executor = null;
         try {
-            Python3Executor executor = new Python3Executor(pythonPath);
+            executor = new Python3Executor(pythonPath);
+            executor.setScriptSource(scriptSource);
             LOGGER.info("Python executor #{} created successfully", id);
             return executor;
         } catch (IOException e) {
             LOGGER.error("Failed to create Python executor #{}", id, e);
             throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.executorPid = executor != null ? executor.getPid() : -1L;
+                event.reason = reason;
+                event.success = executor != null;
+                event.commit();
+            }
         }
     }
 
@@ -102,9 +177,18 @@ public class Python3ProcessPool {
             throw new IllegalStateException("Process pool is shutdown");
         }
 
-        Python3Executor executor = availableExecutors.poll(timeout, timeUnit);
+        long waitStart = System.nanoTime();
+        Python3Executor executor;
+        metricsCollector.incrementPoolWaiters();
+        try {
+            executor = availableExecutors.poll(timeout, timeUnit);
+        } finally {
+            metricsCollector.decrementPoolWaiters();
+        }
+        metricsCollector.recordPoolWaitNanos(System.nanoTime() - waitStart);
 
         if (executor == null) {
+            metricsCollector.recordAcquireTimeout();
             throw new TimeoutException("No Python executor available within " + timeout + " " + timeUnit);
         }
 
@@ -124,6 +208,7 @@ public class Python3ProcessPool {
             }
         }
 
+        metricsCollector.incrementActiveExecutions();
         LOGGER.debug("Executor borrowed, {} available", availableExecutors.size());
         return executor;
     }
@@ -134,7 +219,13 @@ public class Python3ProcessPool {
      * @param executor The executor to return
      */
     public void returnExecutor(Python3Executor executor) {
-        if (executor == null || isShutdown) {
+        if (executor == null) {
+            return;
+        }
+
+        metricsCollector.decrementActiveExecutions();
+
+        if (isShutdown) {
             return;
         }
 
@@ -174,17 +265,61 @@ public class Python3ProcessPool {
      * @throws Python3Exception if execution fails
      */
     public Python3Result execute(String code, java.util.Map<String, Object> variables, String securityMode) throws Python3Exception {
-        Python3Executor executor = null;
-        try {
-            executor = borrowExecutor(30, TimeUnit.SECONDS);
-            return executor.execute(code, variables, securityMode);
-        } catch (InterruptedException | TimeoutException e) {
-            throw new Python3Exception("Failed to acquire executor: " + e.getMessage(), e);
-        } finally {
-            if (executor != null) {
-                returnExecutor(executor);
+        return runPooled(Python3MetricsCollector.COMMAND_EXECUTE, null, code,
+                executor -> executor.execute(code, variables, securityMode));
+    }
+
+    /**
+     * Execute a saved script's code using a pooled executor.
+     * Identical to execute() but recorded under the script's path in the metrics collector.
+     *
+     * @param scriptPath   Script path used as the per-script metrics key
+     * @param code         Script source
+     * @param variables    Variables to pass (args/kwargs)
+     * @param securityMode Security mode: "RESTRICTED" or "ADMIN"
+     * @return Result
+     * @throws Python3Exception if execution fails
+     *
+     * v2.6.0: Added for per-script metrics
+     */
+    public Python3Result executeScript(String scriptPath, String code, java.util.Map<String, Object> variables,
+                                       String securityMode) throws Python3Exception {
+        return runPooled(Python3MetricsCollector.COMMAND_CALL_SCRIPT, scriptPath, null,
+                executor -> executor.execute(code, variables, securityMode));
+    }
+
+    /**
+     * Execute a saved script's code with an explicit response timeout instead of the default.
+     *
+     * v2.6.0: Added for long-running background jobs
+     */
+    public Python3Result executeScript(String scriptPath, String code, java.util.Map<String, Object> variables,
+                                       String securityMode, long timeoutMs) throws Python3Exception {
+        return runPooled(Python3MetricsCollector.COMMAND_CALL_SCRIPT, scriptPath, null,
+                executor -> executor.execute(code, variables, securityMode, timeoutMs));
+    }
+
+    /**
+     * Call a saved script through the executor's script cache (see {@link Python3Executor#callScript}).
+     * Warm and cold call times are recorded per script.
+     *
+     * @param scriptPath Script path, for metrics and tracing
+     * @param scriptKey  Script id and last-modified time
+     * @param timeoutMs  Response timeout in milliseconds (0 for the default)
+     *
+     * v2.6.0: Added for entry-point scripts
+     */
+    public Python3Result callScript(String scriptPath, String scriptKey, String code, java.util.List<Object> args,
+                                    java.util.Map<String, Object> kwargs, String securityMode, long timeoutMs)
+            throws Python3Exception {
+        return runPooled(Python3MetricsCollector.COMMAND_CALL_SCRIPT, scriptPath, null, executor -> {
+            long start = System.nanoTime();
+            Python3Result result = executor.callScript(scriptKey, code, args, kwargs, securityMode, timeoutMs);
+            if (result.isSuccess() && result.getWarm() != null) {
+                metricsCollector.recordScriptCall(scriptPath, result.getWarm(), System.nanoTime() - start);
             }
-        }
+            return result;
+        });
     }
 
     /**
@@ -204,17 +339,8 @@ public class Python3ProcessPool {
      * @throws Python3Exception if evaluation fails
      */
     public Python3Result evaluate(String expression, java.util.Map<String, Object> variables, String securityMode) throws Python3Exception {
-        Python3Executor executor = null;
-        try {
-            executor = borrowExecutor(30, TimeUnit.SECONDS);
-            return executor.evaluate(expression, variables, securityMode);
-        } catch (InterruptedException | TimeoutException e) {
-            throw new Python3Exception("Failed to acquire executor: " + e.getMessage(), e);
-        } finally {
-            if (executor != null) {
-                returnExecutor(executor);
-            }
-        }
+        return runPooled(Python3MetricsCollector.COMMAND_EVALUATE, null, expression,
+                executor -> executor.evaluate(expression, variables, securityMode));
     }
 
     /**
@@ -241,16 +367,197 @@ public class Python3ProcessPool {
                                      java.util.List<Object> args,
                                      java.util.Map<String, Object> kwargs,
                                      String securityMode) throws Python3Exception {
-        Python3Executor executor = null;
+        String codeKey = recorder != null ? moduleName + "." + functionName : null;
+        return runPooled(Python3MetricsCollector.COMMAND_CALL_MODULE, null, codeKey,
+                executor -> executor.callModule(moduleName, functionName, args, kwargs, securityMode));
+    }
+
+    /**
+     * Run a batch of execute / evaluate / call_module operations on one pooled executor,
+     * in one round trip. Recorded as a single "batch" execution in the metrics collector.
+     *
+     * @param operations   Operations, each a request map with "command" and its arguments
+     * @param securityMode Security mode applied to every operation: "RESTRICTED" or "ADMIN"
+     * @return Result whose value is the list of per-operation results
+     * @throws Python3Exception if the batch is too large or the request fails
+     *
+     * v2.6.0: Added for batch execution
+     */
+    public Python3Result executeBatch(java.util.List<java.util.Map<String, Object>> operations,
+                                      String securityMode) throws Python3Exception {
+        if (operations.size() > MAX_BATCH_OPERATIONS) {
+            throw new Python3Exception("Batch of " + operations.size() + " operations exceeds the limit of "
+                    + MAX_BATCH_OPERATIONS);
+        }
+        return runPooled(Python3MetricsCollector.COMMAND_BATCH, null, null,
+                executor -> executor.executeBatch(operations, securityMode));
+    }
+
+    /**
+     * Register code once and get a handle (its SHA-256) to run it by. Preparing the same code
+     * again returns the same handle. Nothing is sent to Python until the handle is first run.
+     *
+     * v2.6.0: Added for prepared-code handles
+     */
+    public String prepare(String code) {
+        if (code == null || code.isEmpty()) {
+            throw new IllegalArgumentException("code is required");
+        }
+        String handle = sha256Hex(code);
+        synchronized (preparedCode) {
+            preparedCode.put(handle, code);
+        }
+        return handle;
+    }
+
+    /**
+     * Run prepared code by handle. Each executor is sent the source the first time it runs the
+     * handle and only the handle and variables after that; replaced executors are re-sent the
+     * source transparently.
+     *
+     * @throws Python3Exception if the handle is unknown (never prepared, or evicted) or execution fails
+     *
+     * v2.6.0: Added for prepared-code handles
+     */
+    public Python3Result executePrepared(String handle, java.util.Map<String, Object> variables,
+                                         String securityMode) throws Python3Exception {
+        String code;
+        synchronized (preparedCode) {
+            code = preparedCode.get(handle);
+        }
+        if (code == null) {
+            throw new Python3Exception("Unknown prepared handle '" + handle + "' - call prepare() again");
+        }
+        return runPooled(Python3MetricsCollector.COMMAND_EXECUTE, null, code,
+                executor -> executor.executePrepared(handle, code, variables, securityMode));
+    }
+
+    /**
+     * Number of prepared handles currently registered (v2.6.0)
+     */
+    public int getPreparedCount() {
+        synchronized (preparedCode) {
+            return preparedCode.size();
+        }
+    }
+
+    private static String sha256Hex(String code) {
         try {
-            executor = borrowExecutor(30, TimeUnit.SECONDS);
-            return executor.callModule(moduleName, functionName, args, kwargs, securityMode);
-        } catch (InterruptedException | TimeoutException e) {
-            throw new Python3Exception("Failed to acquire executor: " + e.getMessage(), e);
-        } finally {
-            if (executor != null) {
-                returnExecutor(executor);
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Call a module function once per argument, spreading the calls over several executors.
+     *
+     * The argument list is cut into chunks; each chunk runs as one batch on one executor and
+     * at most maxConcurrency chunks run at a time, so a large map leaves executors free for
+     * other callers. The calling thread works on chunks too. Results keep the order of the
+     * arguments; a failed call (or a chunk whose batch failed) is reported by index without
+     * stopping the rest.
+     *
+     * @param moduleName     Module name
+     * @param functionName   Function name
+     * @param argsList       One entry per call: a list of positional arguments, or a single argument
+     * @param chunkSize      Calls per chunk, or 0 to pick one (about four chunks per worker)
+     * @param maxConcurrency Chunks in flight at once, or 0 for half the pool (capped at the pool size)
+     * @param securityMode   Security mode: "RESTRICTED" or "ADMIN"
+     * @return Ordered results plus per-call errors
+     * @throws Python3Exception if the calling thread is interrupted
+     *
+     * v2.6.0: Added for parallel map
+     */
+    public ParallelMapResult parallelMap(String moduleName, String functionName, List<Object> argsList,
+                                         int chunkSize, int maxConcurrency, String securityMode) throws Python3Exception {
+        long start = System.nanoTime();
+        int items = argsList.size();
+        int concurrency = maxConcurrency > 0 ? Math.min(maxConcurrency, poolSize) : Math.max(1, poolSize / 2);
+        int size = chunkSize > 0 ? chunkSize : Math.max(1, (items + concurrency * 4 - 1) / (concurrency * 4));
+        size = Math.min(size, MAX_BATCH_OPERATIONS);
+        int chunks = (items + size - 1) / size;
+
+        Object[] results = new Object[items];
+        String[] errors = new String[items];
+        AtomicInteger nextChunk = new AtomicInteger();
+        int chunkLength = size;
+        Runnable worker = () -> {
+            int chunk;
+            while ((chunk = nextChunk.getAndIncrement()) < chunks && !isShutdown) {
+                int from = chunk * chunkLength;
+                runMapChunk(moduleName, functionName, argsList, from, Math.min(from + chunkLength, items),
+                        securityMode, results, errors);
+            }
+        };
+
+        int workers = Math.min(concurrency, chunks);
+        List<Future<?>> futures = new ArrayList<>(Math.max(0, workers - 1));
+        for (int i = 1; i < workers; i++) {
+            futures.add(parallelMapExecutor.submit(worker));
+        }
+        if (workers > 0) {
+            worker.run();
+        }
+
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            // Stop handing out chunks; chunks already running finish on their own
+            nextChunk.set(chunks);
+            Thread.currentThread().interrupt();
+            throw new Python3Exception("Interrupted while waiting for parallel map", e);
+        } catch (ExecutionException e) {
+            throw new Python3Exception("Parallel map worker failed: " + e.getCause(), e.getCause());
+        }
+
+        return new ParallelMapResult(results, errors, chunks, size, workers, System.nanoTime() - start);
+    }
+
+    /**
+     * Run one parallelMap chunk as a batch, storing results and errors at the arguments' indexes (v2.6.0)
+     */
+    @SuppressWarnings("unchecked")
+    private void runMapChunk(String moduleName, String functionName, List<Object> argsList, int from, int to,
+                             String securityMode, Object[] results, String[] errors) {
+        List<Map<String, Object>> operations = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            Object args = argsList.get(i);
+            Map<String, Object> operation = new HashMap<>();
+            operation.put("command", "call_module");
+            operation.put("module", moduleName);
+            operation.put("function", functionName);
+            operation.put("args", args instanceof List ? args : Collections.singletonList(args));
+            operation.put("kwargs", Collections.emptyMap());
+            operations.add(operation);
+        }
+
+        String chunkError;
+        try {
+            Python3Result result = executeBatch(operations, securityMode);
+            if (result.isSuccess() && result.getResult() instanceof List) {
+                List<Object> items = (List<Object>) result.getResult();
+                for (int i = from; i < to; i++) {
+                    Object item = i - from < items.size() ? items.get(i - from) : null;
+                    Map<String, Object> itemResult = item instanceof Map ? (Map<String, Object>) item : null;
+                    if (itemResult != null && Boolean.TRUE.equals(itemResult.get("success"))) {
+                        results[i] = itemResult.get("result");
+                    } else {
+                        errors[i] = itemResult != null ? String.valueOf(itemResult.get("error")) : "No result";
+                    }
+                }
+                return;
             }
+            chunkError = result.getError();
+        } catch (Python3Exception e) {
+            chunkError = e.getMessage();
+        }
+
+        for (int i = from; i < to; i++) {
+            errors[i] = chunkError;
         }
     }
 
@@ -262,17 +569,8 @@ public class Python3ProcessPool {
      * @throws Python3Exception if syntax check fails
      */
     public Python3Result checkSyntax(String code) throws Python3Exception {
-        Python3Executor executor = null;
-        try {
-            executor = borrowExecutor(30, TimeUnit.SECONDS);
-            return executor.checkSyntax(code);
-        } catch (InterruptedException | TimeoutException e) {
-            throw new Python3Exception("Failed to acquire executor: " + e.getMessage(), e);
-        } finally {
-            if (executor != null) {
-                returnExecutor(executor);
-            }
-        }
+        // IDE tooling requests are not counted as script executions
+        return runPooled(null, null, null, executor -> executor.checkSyntax(code));
     }
 
     /**
@@ -285,17 +583,180 @@ public class Python3ProcessPool {
      * @throws Python3Exception if completions request fails
      */
     public Python3Result getCompletions(String code, int line, int column) throws Python3Exception {
+        // IDE tooling requests are not counted as script executions
+        return runPooled(null, null, null, executor -> executor.getCompletions(code, line, column));
+    }
+
+    /**
+     * Borrow an executor, run a single request on it, record metrics and return it to the pool.
+     *
+     * @param command          Metrics command type, or null to skip execution metrics
+     * @param scriptIdentifier Script path for per-script metrics (null for anonymous code)
+     * @param codeKey          Code, expression or "module.function" identifying anonymous code for the recorder
+     * @param call             The request to run
+     * @return Result
+     * @throws Python3Exception if no executor is available or communication fails
+     *
+     * v2.6.0: Shared borrow/execute/return path so every request is measured
+     */
+    private Python3Result runPooled(String command, String scriptIdentifier, String codeKey,
+                                    ExecutorCall call) throws Python3Exception {
+        // v2.6.0: Join the caller's trace (REST) or start one for scripting calls
+        Python3Trace trace = Python3Trace.current();
+        boolean ownsTrace = trace == null && command != null;
+        if (ownsTrace) {
+            trace = Python3Trace.begin(command);
+        }
+        if (trace != null) {
+            trace.setAttribute("python3.command", command);
+            trace.setAttribute("python3.script", scriptIdentifier);
+        }
+
         Python3Executor executor = null;
+        long start = System.nanoTime();
+        long poolStart = start;
+        long borrowed = start;
+        byte outcome = Python3ExecutionRecorder.OUTCOME_SUCCESS;
+        Python3JfrEvents.ExecutorBorrow borrowEvent = new Python3JfrEvents.ExecutorBorrow();
+        borrowEvent.begin();
         try {
-            executor = borrowExecutor(30, TimeUnit.SECONDS);
-            return executor.getCompletions(code, line, column);
+            try {
+                executor = borrowExecutor(30, TimeUnit.SECONDS);
+            } finally {
+                commitBorrow(borrowEvent, command, scriptIdentifier, executor);
+            }
+            borrowed = System.nanoTime();
+            if (trace != null) {
+                trace.phase(Python3Trace.PHASE_POOL_WAIT, start, borrowed);
+            }
+            start = borrowed;
+
+            Python3Result result = call.call(executor);
+
+            if (trace != null) {
+                trace.setError(!result.isSuccess());
+                result.attachTrace(trace);
+            }
+            if (!result.isSuccess()) {
+                outcome = Python3ExecutionRecorder.OUTCOME_ERROR;
+            }
+
+            if (command != null) {
+                long elapsed = System.nanoTime() - start;
+                if (result.isSuccess()) {
+                    metricsCollector.recordExecution(command, scriptIdentifier, elapsed);
+                } else {
+                    metricsCollector.recordFailure(command, classifyError(result), scriptIdentifier, elapsed);
+                }
+            }
+            return result;
+
         } catch (InterruptedException | TimeoutException e) {
+            outcome = Python3ExecutionRecorder.OUTCOME_UNAVAILABLE;
+            if (trace != null) {
+                trace.setError(true);
+            }
+            if (command != null) {
+                metricsCollector.recordFailure(command, "ExecutorUnavailable", scriptIdentifier, System.nanoTime() - start);
+            }
             throw new Python3Exception("Failed to acquire executor: " + e.getMessage(), e);
+        } catch (Python3TimeoutException e) {
+            outcome = Python3ExecutionRecorder.OUTCOME_TIMEOUT;
+            if (trace != null) {
+                trace.setError(true);
+            }
+            metricsCollector.recordExecutionTimeout();
+            if (command != null) {
+                metricsCollector.recordFailure(command, "Timeout", scriptIdentifier, System.nanoTime() - start);
+            }
+            throw e;
+        } catch (Python3Exception e) {
+            outcome = Python3ExecutionRecorder.OUTCOME_COMMUNICATION_ERROR;
+            if (trace != null) {
+                trace.setError(true);
+            }
+            if (command != null) {
+                metricsCollector.recordFailure(command, "CommunicationError", scriptIdentifier, System.nanoTime() - start);
+            }
+            throw e;
         } finally {
+            // v2.6.0: Opt-in execution recording for capacity planning
+            Python3ExecutionRecorder activeRecorder = recorder;
+            if (activeRecorder != null && command != null) {
+                long end = System.nanoTime();
+                if (executor != null) {
+                    activeRecorder.record(command, scriptIdentifier, codeKey, borrowed - poolStart,
+                            end - borrowed, executor.getPid(), trace, outcome);
+                } else {
+                    activeRecorder.record(command, scriptIdentifier, codeKey, end - poolStart, 0L, -1L,
+                            trace, outcome);
+                }
+            }
             if (executor != null) {
+                Python3JfrEvents.ExecutorReturn returnEvent = new Python3JfrEvents.ExecutorReturn();
+                returnEvent.begin();
                 returnExecutor(executor);
+                returnEvent.end();
+                if (returnEvent.shouldCommit()) {
+                    returnEvent.command = command;
+                    returnEvent.scriptId = scriptIdentifier;
+                    returnEvent.executorPid = executor.getPid();
+                    returnEvent.heldNanos = System.nanoTime() - borrowed;
+                    returnEvent.healthy = executor.isHealthy();
+                    returnEvent.commit();
+                }
+            }
+            if (ownsTrace) {
+                trace.end(metricsCollector);
+            }
+        }
+    }
+
+    /**
+     * End and (if enabled) commit the JFR borrow event; a null executor means the borrow failed (v2.6.0)
+     */
+    private void commitBorrow(Python3JfrEvents.ExecutorBorrow event, String command, String scriptIdentifier,
+                              Python3Executor executor) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.command = command;
+            event.scriptId = scriptIdentifier;
+            event.executorPid = executor != null ? executor.getPid() : -1L;
+            event.queueDepth = metricsCollector.getQueueDepth();
+            event.timedOut = executor == null;
+            event.commit();
+        }
+    }
+
+    /**
+     * Reduce a failed result to a low-cardinality error type for metrics,
+     * using the exception class from the last traceback line (e.g. "NameError").
+     */
+    private static String classifyError(Python3Result result) {
+        String error = result.getError();
+        if (error != null && error.startsWith("SECURITY ERROR")) {
+            return "SecurityError";
+        }
+
+        String traceback = result.getTraceback();
+        if (traceback != null) {
+            String trimmed = traceback.trim();
+            int lineStart = trimmed.lastIndexOf('\n') + 1;
+            int colon = trimmed.indexOf(':', lineStart);
+            String exceptionType = colon > lineStart ? trimmed.substring(lineStart, colon) : trimmed.substring(lineStart);
+            if (!exceptionType.isEmpty() && exceptionType.length() <= 64 && exceptionType.indexOf(' ') < 0) {
+                return exceptionType;
             }
         }
+        return "PythonError";
+    }
+
+    /**
+     * A single request against a borrowed executor
+     */
+    @FunctionalInterface
+    private interface ExecutorCall {
+        Python3Result call(Python3Executor executor) throws Python3Exception;
     }
 
     /**
@@ -304,24 +765,56 @@ public class Python3ProcessPool {
     private synchronized void replaceExecutor(Python3Executor oldExecutor) throws IOException {
         LOGGER.info("Replacing unhealthy executor");
 
-        // Shutdown old executor
+        Python3JfrEvents.ExecutorReplace event = new Python3JfrEvents.ExecutorReplace();
+        event.begin();
+        Python3Executor newExecutor = null;
         try {
-            oldExecutor.shutdown();
-        } catch (Exception e) {
-            LOGGER.error("Error shutting down old executor", e);
-        }
+            // Shutdown old executor
+            try {
+                oldExecutor.shutdown();
+            } catch (Exception e) {
+                LOGGER.error("Error shutting down old executor", e);
+            }
 
-        // Remove from all executors list
-        allExecutors.remove(oldExecutor);
+            // Remove from all executors list
+            allExecutors.remove(oldExecutor);
 
-        // Create new executor
-        Python3Executor newExecutor = createExecutor();
-        allExecutors.add(newExecutor);
-        availableExecutors.offer(newExecutor);
+            // Create new executor
+            newExecutor = createExecutor("replace");
+            allExecutors.add(newExecutor);
+            availableExecutors.offer(newExecutor);
+            metricsCollector.recordExecutorRespawn();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.oldExecutorPid = oldExecutor.getPid();
+                event.newExecutorPid = newExecutor != null ? newExecutor.getPid() : -1L;
+                event.success = newExecutor != null;
+                event.commit();
+            }
+        }
 
         LOGGER.info("Executor replaced successfully");
     }
 
+    /**
+     * Shut down an executor that is no longer needed, recording a JFR recycle event (v2.6.0)
+     */
+    private static void recycleExecutor(Python3Executor executor, String reason) {
+        Python3JfrEvents.ExecutorRecycle event = new Python3JfrEvents.ExecutorRecycle();
+        event.begin();
+        try {
+            executor.shutdown();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.executorPid = executor.getPid();
+                event.reason = reason;
+                event.commit();
+            }
+        }
+    }
+
     /**
      * Perform health check on all executors
      */
@@ -389,7 +882,7 @@ public class Python3ProcessPool {
             int toAdd = newSize - currentSize;
             for (int i = 0; i < toAdd; i++) {
                 try {
-                    Python3Executor executor = createExecutor();
+                    Python3Executor executor = createExecutor("resize");
                     allExecutors.add(executor);
                     availableExecutors.offer(executor);
                     LOGGER.info("Added executor {} of {}", i + 1, toAdd);
@@ -407,7 +900,7 @@ public class Python3ProcessPool {
                 if (executor != null) {
                     allExecutors.remove(executor);
                     try {
-                        executor.shutdown();
+                        recycleExecutor(executor, "resize");
                         LOGGER.info("Removed available executor {} of {}", i + 1, toRemove);
                     } catch (Exception e) {
                         LOGGER.error("Error shutting down executor during resize", e);
@@ -421,6 +914,7 @@ public class Python3ProcessPool {
         }
 
         poolSize = newSize;
+        metricsCollector.setPoolSize(newSize);
         LOGGER.info("Pool resized to {} (healthy: {}, available: {})",
                 newSize, allExecutors.stream().filter(Python3Executor::isHealthy).count(), availableExecutors.size());
     }
@@ -445,11 +939,12 @@ public class Python3ProcessPool {
 
         // Stop health check
         healthCheckExecutor.shutdownNow();
+        parallelMapExecutor.shutdownNow();
 
         // Shutdown all executors
         for (Python3Executor executor : allExecutors) {
             try {
-                executor.shutdown();
+                recycleExecutor(executor, "shutdown");
             } catch (Exception e) {
                 LOGGER.error("Error shutting down executor", e);
             }
@@ -461,6 +956,52 @@ public class Python3ProcessPool {
         LOGGER.info("Python 3 process pool shutdown complete");
     }
 
+    /**
+     * Record every execution to the given recorder (null stops recording)
+     *
+     * v2.6.0
+     */
+    public void setRecorder(Python3ExecutionRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    public Python3ExecutionRecorder getRecorder() {
+        return recorder;
+    }
+
+    /**
+     * Let executors import saved scripts as scripts.Folder.Name modules (null disables it)
+     *
+     * v2.6.0
+     */
+    public void setScriptSource(Python3Executor.ScriptSource scriptSource) {
+        this.scriptSource = scriptSource;
+        for (Python3Executor executor : allExecutors) {
+            executor.setScriptSource(scriptSource);
+        }
+    }
+
+    /**
+     * A saved script was saved, moved or deleted: executors that imported it reload their scripts.*
+     * modules on their next request
+     *
+     * v2.6.0
+     */
+    public void invalidateScript(String path) {
+        for (Python3Executor executor : allExecutors) {
+            executor.invalidateScript(path);
+        }
+    }
+
+    /**
+     * Get the metrics collector this pool reports to
+     *
+     * v2.6.0
+     */
+    public Python3MetricsCollector getMetricsCollector() {
+        return metricsCollector;
+    }
+
     /**
      * Check if pool is shutdown
      */
@@ -468,6 +1009,55 @@ public class Python3ProcessPool {
         return isShutdown;
     }
 
+    /**
+     * Outcome of {@link #parallelMap}: results in argument order (null where the call failed)
+     * and the failed calls by index (v2.6.0)
+     */
+    public static class ParallelMapResult {
+        public final List<Object> results;
+        public final List<Map<String, Object>> errors;
+        public final int succeeded;
+        public final int failed;
+        public final int chunks;
+        public final int chunkSize;
+        public final int concurrency;
+        public final long elapsedNanos;
+
+        ParallelMapResult(Object[] results, String[] errors, int chunks, int chunkSize, int concurrency,
+                          long elapsedNanos) {
+            List<Map<String, Object>> failures = new ArrayList<>();
+            for (int i = 0; i < errors.length; i++) {
+                if (errors[i] != null) {
+                    Map<String, Object> failure = new HashMap<>();
+                    failure.put("index", i);
+                    failure.put("error", errors[i]);
+                    failures.add(failure);
+                }
+            }
+            this.results = Collections.unmodifiableList(Arrays.asList(results));
+            this.errors = Collections.unmodifiableList(failures);
+            this.succeeded = results.length - failures.size();
+            this.failed = failures.size();
+            this.chunks = chunks;
+            this.chunkSize = chunkSize;
+            this.concurrency = concurrency;
+            this.elapsedNanos = elapsedNanos;
+        }
+
+        public Map<String, Object> toMap() {
+            Map<String, Object> map = new HashMap<>();
+            map.put("results", results);
+            map.put("errors", errors);
+            map.put("succeeded", succeeded);
+            map.put("failed", failed);
+            map.put("chunks", chunks);
+            map.put("chunkSize", chunkSize);
+            map.put("concurrency", concurrency);
+            map.put("elapsedMs", elapsedNanos / 1_000_000.0);
+            return map;
+        }
+    }
+
     /**
      * Pool statistics
      */
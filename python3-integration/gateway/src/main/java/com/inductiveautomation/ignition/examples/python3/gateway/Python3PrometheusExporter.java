@@ -0,0 +1,274 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Renders {@link Python3MetricsCollector} state in the Prometheus text exposition format (0.0.4).
+ *
+ * Output is written straight to the response writer from the collector's live counters and
+ * histograms - no intermediate maps or JSON - so a scrape every few seconds is cheap.
+ *
+ * Histogram buckets are derived from the collector's log-linear histograms. Each "le" is the
+ * highest value the histogram bucket holding the nominal bound can contain (0.0005 is exported as
+ * 0.000503), so it stays an inclusive upper bound.
+ *
+ * v2.6.0: Added for GET /api/v1/metrics/prometheus
+ */
+public final class Python3PrometheusExporter {
+
+    public static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+    // Nominal bucket upper bounds in microseconds (0.5 ms to 60 s), and the "le" each is exported as
+    private static final long[] BUCKET_MICROS = {
+        500L, 1_000L, 2_500L, 5_000L, 10_000L, 25_000L, 50_000L,
+        100_000L, 250_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 30_000_000L, 60_000_000L
+    };
+    private static final String[] BUCKET_LABELS = bucketLabels(BUCKET_MICROS);
+
+    private Python3PrometheusExporter() {
+    }
+
+    private static String[] bucketLabels(long[] boundsMicros) {
+        String[] labels = new String[boundsMicros.length];
+        for (int i = 0; i < boundsMicros.length; i++) {
+            long upperMicros = LatencyHistogram.highestEquivalentMicros(boundsMicros[i]);
+            labels[i] = BigDecimal.valueOf(upperMicros, 6).stripTrailingZeros().toPlainString();
+        }
+        return labels;
+    }
+
+    /**
+     * Write all metrics to the given writer.
+     *
+     * @param out       destination (typically the servlet response writer)
+     * @param collector metrics source
+     * @throws IOException if writing fails
+     */
+    public static void write(Writer out, Python3MetricsCollector collector) throws IOException {
+        long[] cumulative = new long[BUCKET_MICROS.length];
+
+        // Pool gauges
+        Python3ProcessPool.PoolStats stats = collector.getPoolStats();
+        int poolSize = stats != null ? stats.totalSize : collector.getConfiguredPoolSize();
+
+        gauge(out, "python3_pool_size", "Configured number of Python executor processes", poolSize);
+        gauge(out, "python3_pool_busy", "Executors currently running a request", collector.getBusyExecutors());
+        if (stats != null) {
+            gauge(out, "python3_pool_standby", "Idle executors ready to be borrowed", stats.available);
+            gauge(out, "python3_pool_healthy", "Executors whose process is alive and responsive", stats.healthy);
+        }
+        gauge(out, "python3_pool_queue_depth", "Callers blocked waiting for a free executor",
+                collector.getQueueDepth());
+
+        header(out, "python3_pool_wait_seconds", "Time spent waiting to borrow an executor", "histogram");
+        histogram(out, "python3_pool_wait_seconds", null, null, collector.getPoolWaitLatency(), cumulative);
+
+        // Execution counters and latency
+        header(out, "python3_executions_total", "Completed pooled executions by outcome", "counter");
+        sample(out, "python3_executions_total", "result", "success", collector.getSuccessfulExecutions());
+        sample(out, "python3_executions_total", "result", "failure", collector.getFailedExecutions());
+
+        header(out, "python3_execution_errors_total", "Failed executions by error type", "counter");
+        for (Map.Entry<String, LongAdder> entry : collector.getErrorCounts().entrySet()) {
+            sample(out, "python3_execution_errors_total", "type", entry.getKey(), entry.getValue().sum());
+        }
+
+        header(out, "python3_execution_seconds", "Execution time by command, excluding pool wait", "histogram");
+        for (Map.Entry<String, LatencyHistogram> entry : collector.getCommandLatency().entrySet()) {
+            histogram(out, "python3_execution_seconds", "command", entry.getKey(), entry.getValue(), cumulative);
+        }
+
+        header(out, "python3_phase_seconds", "Time per execution phase (REST, pool, IPC and bridge)", "histogram");
+        for (Map.Entry<String, LatencyHistogram> entry : collector.getPhaseLatency().entrySet()) {
+            histogram(out, "python3_phase_seconds", "phase", entry.getKey(), entry.getValue(), cumulative);
+        }
+
+        header(out, "python3_script_executions_total", "Saved script executions by outcome", "counter");
+        for (Map.Entry<String, Python3MetricsCollector.ScriptMetrics> entry
+                : collector.getScriptMetricsById().entrySet()) {
+            Python3MetricsCollector.ScriptMetrics script = entry.getValue();
+            sample(out, "python3_script_executions_total", "script", entry.getKey(), "result", "success",
+                    script.getSuccessfulExecutions());
+            sample(out, "python3_script_executions_total", "script", entry.getKey(), "result", "failure",
+                    script.getFailedExecutions());
+        }
+
+        header(out, "python3_script_execution_seconds", "Saved script execution time", "histogram");
+        for (Map.Entry<String, Python3MetricsCollector.ScriptMetrics> entry
+                : collector.getScriptMetricsById().entrySet()) {
+            histogram(out, "python3_script_execution_seconds", "script", entry.getKey(),
+                    entry.getValue().getLatency(), cumulative);
+        }
+
+        // Process lifecycle
+        header(out, "python3_executor_respawns_total", "Executor processes replaced after failure", "counter");
+        sample(out, "python3_executor_respawns_total", collector.getExecutorRespawns());
+
+        header(out, "python3_timeouts_total", "Requests that timed out", "counter");
+        sample(out, "python3_timeouts_total", "kind", "execution", collector.getExecutionTimeouts());
+        sample(out, "python3_timeouts_total", "kind", "acquire", collector.getAcquireTimeouts());
+
+        // Caches
+        Map<String, Python3MetricsCollector.CacheCounters> caches = collector.getCacheCounters();
+        header(out, "python3_cache_requests_total", "Cache lookups by cache and result", "counter");
+        for (Map.Entry<String, Python3MetricsCollector.CacheCounters> entry : caches.entrySet()) {
+            sample(out, "python3_cache_requests_total", "cache", entry.getKey(), "result", "hit",
+                    entry.getValue().hits.sum());
+            sample(out, "python3_cache_requests_total", "cache", entry.getKey(), "result", "miss",
+                    entry.getValue().misses.sum());
+        }
+
+        header(out, "python3_cache_hit_ratio", "Fraction of cache lookups served from the cache", "gauge");
+        for (Map.Entry<String, Python3MetricsCollector.CacheCounters> entry : caches.entrySet()) {
+            long hits = entry.getValue().hits.sum();
+            long total = hits + entry.getValue().misses.sum();
+            out.write("python3_cache_hit_ratio{cache=\"");
+            writeLabelValue(out, entry.getKey());
+            out.write("\"} ");
+            out.write(Double.toString(total > 0 ? (double) hits / total : 0.0));
+            out.write('\n');
+        }
+
+        gauge(out, "python3_uptime_seconds", "Time since the metrics collector was created",
+                collector.getUptimeMillis() / 1000.0);
+
+        out.flush();
+    }
+
+    private static void header(Writer out, String name, String help, String type) throws IOException {
+        out.write("# HELP ");
+        out.write(name);
+        out.write(' ');
+        out.write(help);
+        out.write("\n# TYPE ");
+        out.write(name);
+        out.write(' ');
+        out.write(type);
+        out.write('\n');
+    }
+
+    private static void gauge(Writer out, String name, String help, long value) throws IOException {
+        header(out, name, help, "gauge");
+        sample(out, name, value);
+    }
+
+    private static void gauge(Writer out, String name, String help, double value) throws IOException {
+        header(out, name, help, "gauge");
+        out.write(name);
+        out.write(' ');
+        out.write(Double.toString(value));
+        out.write('\n');
+    }
+
+    private static void sample(Writer out, String name, long value) throws IOException {
+        out.write(name);
+        out.write(' ');
+        out.write(Long.toString(value));
+        out.write('\n');
+    }
+
+    private static void sample(Writer out, String name, String label, String labelValue, long value)
+            throws IOException {
+        out.write(name);
+        out.write('{');
+        writeLabel(out, label, labelValue);
+        out.write("} ");
+        out.write(Long.toString(value));
+        out.write('\n');
+    }
+
+    private static void sample(Writer out, String name, String label1, String value1,
+                               String label2, String value2, long value) throws IOException {
+        out.write(name);
+        out.write('{');
+        writeLabel(out, label1, value1);
+        out.write(',');
+        writeLabel(out, label2, value2);
+        out.write("} ");
+        out.write(Long.toString(value));
+        out.write('\n');
+    }
+
+    /**
+     * Write the _bucket, _sum and _count series for one histogram (optionally with one label).
+     */
+    private static void histogram(Writer out, String name, String label, String labelValue,
+                                  LatencyHistogram histogram, long[] cumulative) throws IOException {
+        histogram.getCumulativeCounts(BUCKET_MICROS, cumulative);
+        long count = histogram.getCount();
+        long sumMicros = histogram.getTotalMicros();
+
+        for (int i = 0; i <= BUCKET_LABELS.length; i++) {
+            out.write(name);
+            out.write("_bucket{");
+            if (label != null) {
+                writeLabel(out, label, labelValue);
+                out.write(',');
+            }
+            out.write("le=\"");
+            out.write(i < BUCKET_LABELS.length ? BUCKET_LABELS[i] : "+Inf");
+            out.write("\"} ");
+            // Buckets are read separately from the count, so keep them monotonic and <= count
+            out.write(Long.toString(i < BUCKET_LABELS.length ? Math.min(cumulative[i], count) : count));
+            out.write('\n');
+        }
+
+        out.write(name);
+        out.write("_sum");
+        writeOptionalLabel(out, label, labelValue);
+        out.write(Double.toString(sumMicros / 1_000_000.0));
+        out.write('\n');
+
+        out.write(name);
+        out.write("_count");
+        writeOptionalLabel(out, label, labelValue);
+        out.write(Long.toString(count));
+        out.write('\n');
+    }
+
+    private static void writeOptionalLabel(Writer out, String label, String labelValue) throws IOException {
+        if (label != null) {
+            out.write('{');
+            writeLabel(out, label, labelValue);
+            out.write("} ");
+        } else {
+            out.write(' ');
+        }
+    }
+
+    private static void writeLabel(Writer out, String label, String labelValue) throws IOException {
+        out.write(label);
+        out.write("=\"");
+        writeLabelValue(out, labelValue);
+        out.write('"');
+    }
+
+    /**
+     * Escape a label value per the exposition format (backslash, double quote, newline).
+     */
+    private static void writeLabelValue(Writer out, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                default:
+                    out.write(c);
+            }
+        }
+    }
+}
@@ -2,12 +2,15 @@ package com.inductiveautomation.ignition.examples.python3.gateway;
 
 import com.inductiveautomation.ignition.common.gson.JsonArray;
 import com.inductiveautomation.ignition.common.gson.JsonElement;
+import com.inductiveautomation.ignition.common.gson.JsonNull;
 import com.inductiveautomation.ignition.common.gson.JsonObject;
 import com.inductiveautomation.ignition.common.gson.JsonParser;
+import com.inductiveautomation.ignition.common.gson.JsonPrimitive;
 import com.inductiveautomation.ignition.gateway.dataroutes.HttpMethod;
 import com.inductiveautomation.ignition.gateway.dataroutes.RequestContext;
 import com.inductiveautomation.ignition.gateway.dataroutes.RouteGroup;
 import com.inductiveautomation.ignition.gateway.dataroutes.RouteAccess;
+import com.inductiveautomation.ignition.gateway.dataroutes.RouteHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.slf4j.Logger;
@@ -22,8 +25,10 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.PatternSyntaxException;
 
 /**
  * REST API endpoints for Python 3 Integration module.
@@ -38,6 +43,11 @@ public final class Python3RestEndpoints {
     private static Python3ScriptRepository scriptRepository;
     private static Python3MetricsCollector metricsCollector = new Python3MetricsCollector();
     private static Python3PackageManager packageManager;
+    private static volatile Python3JobStore jobStore;
+    private static volatile Python3JobQueue jobQueue;
+
+    // Longest a GET /jobs/:id long-poll may hold its request thread (v2.6.0)
+    private static final long MAX_JOB_WAIT_MS = 30_000L;
 
     // Security: Rate limiting (100 requests per minute per user)
     private static final int RATE_LIMIT_PER_MINUTE = 100;
@@ -50,6 +60,8 @@ public final class Python3RestEndpoints {
     private static final int MAX_CODE_SIZE = 1_048_576;  // 1MB
     private static final int MAX_SCRIPT_NAME_LENGTH = 255;
     private static final int MAX_FOLDER_PATH_LENGTH = 1000;
+    private static final int MAX_BATCH_SCRIPTS = 200;  // v2.6.0: per /scripts/batch call
+    private static final int MAX_SEARCH_QUERY_LENGTH = 1000;  // v2.6.0: /scripts/search
 
     private Python3RestEndpoints() {
         // Private constructor for utility class
@@ -462,6 +474,37 @@ public final class Python3RestEndpoints {
         LOGGER.info("Script repository configured");
     }
 
+    /**
+     * Set the metrics collector fed by the process pool.
+     * Called from GatewayHook so /metrics reports real pool traffic.
+     *
+     * @since v2.6.0
+     */
+    public static void setMetricsCollector(Python3MetricsCollector collector) {
+        metricsCollector = collector;
+        LOGGER.info("Metrics collector configured");
+    }
+
+    /**
+     * Set the job store behind "async": true requests and /jobs (null disables async mode).
+     * Called from GatewayHook during startup and shutdown.
+     *
+     * @since v2.6.0
+     */
+    public static void setJobStore(Python3JobStore store) {
+        jobStore = store;
+    }
+
+    /**
+     * Set the durable background job queue behind /queue routes (null when unavailable).
+     * Called from GatewayHook during startup and shutdown.
+     *
+     * @since v2.6.0
+     */
+    public static void setJobQueue(Python3JobQueue queue) {
+        jobQueue = queue;
+    }
+
     /**
      * Set the package manager for package management endpoints.
      * Called from GatewayHook during startup.
@@ -485,7 +528,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/exec - Execute Python code
         routes.newRoute("/api/v1/exec")
-            .handler(Python3RestEndpoints::handleExec)
+            .handler(timed("/api/v1/exec", Python3RestEndpoints::handleExec))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -493,7 +536,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/shell-exec - Execute shell command (v2.5.0)
         routes.newRoute("/api/v1/shell-exec")
-            .handler(Python3RestEndpoints::handleShellExec)
+            .handler(timed("/api/v1/shell-exec", Python3RestEndpoints::handleShellExec))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -501,7 +544,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/shell-interactive/create - Create interactive shell session (v2.5.8)
         routes.newRoute("/api/v1/shell-interactive/create")
-            .handler(Python3RestEndpoints::handleCreateShellSession)
+            .handler(timed("/api/v1/shell-interactive/create", Python3RestEndpoints::handleCreateShellSession))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -509,7 +552,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/shell-interactive/exec - Execute command in interactive shell (v2.5.8)
         routes.newRoute("/api/v1/shell-interactive/exec")
-            .handler(Python3RestEndpoints::handleInteractiveShellExec)
+            .handler(timed("/api/v1/shell-interactive/exec", Python3RestEndpoints::handleInteractiveShellExec))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -517,7 +560,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/shell-interactive/close - Close interactive shell session (v2.5.8)
         routes.newRoute("/api/v1/shell-interactive/close")
-            .handler(Python3RestEndpoints::handleCloseShellSession)
+            .handler(timed("/api/v1/shell-interactive/close", Python3RestEndpoints::handleCloseShellSession))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -525,7 +568,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/eval - Evaluate Python expression
         routes.newRoute("/api/v1/eval")
-            .handler(Python3RestEndpoints::handleEval)
+            .handler(timed("/api/v1/eval", Python3RestEndpoints::handleEval))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -533,7 +576,31 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/call-module - Call Python module function
         routes.newRoute("/api/v1/call-module")
-            .handler(Python3RestEndpoints::handleCallModule)
+            .handler(timed("/api/v1/call-module", Python3RestEndpoints::handleCallModule))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // POST /data/python3integration/api/v1/batch - Run many exec/eval/call-module operations in one round trip
+        routes.newRoute("/api/v1/batch")
+            .handler(timed("/api/v1/batch", Python3RestEndpoints::handleBatch))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // POST /data/python3integration/api/v1/prepare - Register code once, get a handle (v2.6.0)
+        routes.newRoute("/api/v1/prepare")
+            .handler(timed("/api/v1/prepare", Python3RestEndpoints::handlePrepare))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // POST /data/python3integration/api/v1/exec-prepared - Execute prepared code by handle (v2.6.0)
+        routes.newRoute("/api/v1/exec-prepared")
+            .handler(timed("/api/v1/exec-prepared", Python3RestEndpoints::handleExecPrepared))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -541,7 +608,55 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/call-script - Call saved Python script
         routes.newRoute("/api/v1/call-script")
-            .handler(Python3RestEndpoints::handleCallScript)
+            .handler(timed("/api/v1/call-script", Python3RestEndpoints::handleCallScript))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // GET /data/python3integration/api/v1/jobs/{id}?waitMs=N - Poll or long-poll an async job (v2.6.0)
+        routes.newRoute("/api/v1/jobs/:id")
+            .handler(timed("/api/v1/jobs/:id", Python3RestEndpoints::handleGetJob))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // POST /data/python3integration/api/v1/jobs/cancel/{id} - Cancel a queued async job (v2.6.0)
+        routes.newRoute("/api/v1/jobs/cancel/:id")
+            .handler(timed("/api/v1/jobs/cancel/:id", Python3RestEndpoints::handleCancelJob))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // POST /data/python3integration/api/v1/queue/submit - Queue a durable background job (v2.6.0)
+        routes.newRoute("/api/v1/queue/submit")
+            .handler(timed("/api/v1/queue/submit", Python3RestEndpoints::handleQueueSubmit))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // GET /data/python3integration/api/v1/queue/jobs?state=...&limit=N - List background jobs (v2.6.0)
+        routes.newRoute("/api/v1/queue/jobs")
+            .handler(timed("/api/v1/queue/jobs", Python3RestEndpoints::handleQueueList))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // GET /data/python3integration/api/v1/queue/jobs/{id} - Get one background job (v2.6.0)
+        routes.newRoute("/api/v1/queue/jobs/:id")
+            .handler(timed("/api/v1/queue/jobs/:id", Python3RestEndpoints::handleQueueGet))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // POST /data/python3integration/api/v1/queue/cancel/{id} - Cancel a pending background job (v2.6.0)
+        routes.newRoute("/api/v1/queue/cancel/:id")
+            .handler(timed("/api/v1/queue/cancel/:id", Python3RestEndpoints::handleQueueCancel))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -549,7 +664,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/version - Get Python version
         routes.newRoute("/api/v1/version")
-            .handler(Python3RestEndpoints::handleGetVersion)
+            .handler(timed("/api/v1/version", Python3RestEndpoints::handleGetVersion))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -557,7 +672,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/pool-stats - Get process pool statistics
         routes.newRoute("/api/v1/pool-stats")
-            .handler(Python3RestEndpoints::handleGetPoolStats)
+            .handler(timed("/api/v1/pool-stats", Python3RestEndpoints::handleGetPoolStats))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -565,7 +680,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/pool-size - Set process pool size (NEW v1.17.2)
         routes.newRoute("/api/v1/pool-size")
-            .handler(Python3RestEndpoints::handleSetPoolSize)
+            .handler(timed("/api/v1/pool-size", Python3RestEndpoints::handleSetPoolSize))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH (requires management permission)
@@ -573,7 +688,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/health - Health check
         routes.newRoute("/api/v1/health")
-            .handler(Python3RestEndpoints::handleHealthCheck)
+            .handler(timed("/api/v1/health", Python3RestEndpoints::handleHealthCheck))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -581,7 +696,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/diagnostics - Performance diagnostics
         routes.newRoute("/api/v1/diagnostics")
-            .handler(Python3RestEndpoints::handleDiagnostics)
+            .handler(timed("/api/v1/diagnostics", Python3RestEndpoints::handleDiagnostics))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -589,7 +704,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/example - Run example test
         routes.newRoute("/api/v1/example")
-            .handler(Python3RestEndpoints::handleExample)
+            .handler(timed("/api/v1/example", Python3RestEndpoints::handleExample))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -597,7 +712,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/check-syntax - Check Python syntax
         routes.newRoute("/api/v1/check-syntax")
-            .handler(Python3RestEndpoints::handleCheckSyntax)
+            .handler(timed("/api/v1/check-syntax", Python3RestEndpoints::handleCheckSyntax))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkExecutePermission)  // ✅ AUTH + RATE LIMIT
@@ -605,7 +720,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/completions - Get code completions
         routes.newRoute("/api/v1/completions")
-            .handler(Python3RestEndpoints::handleGetCompletions)
+            .handler(timed("/api/v1/completions", Python3RestEndpoints::handleGetCompletions))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (completions are read-only)
@@ -615,7 +730,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/metrics - Get performance metrics
         routes.newRoute("/api/v1/metrics")
-            .handler(Python3RestEndpoints::handleGetMetrics)
+            .handler(timed("/api/v1/metrics", Python3RestEndpoints::handleGetMetrics))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -623,7 +738,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/gateway-impact - Get Gateway impact assessment
         routes.newRoute("/api/v1/gateway-impact")
-            .handler(Python3RestEndpoints::handleGetGatewayImpact)
+            .handler(timed("/api/v1/gateway-impact", Python3RestEndpoints::handleGetGatewayImpact))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -631,7 +746,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/metrics/script-metrics - Get per-script metrics (NEW v1.16.0)
         routes.newRoute("/api/v1/metrics/script-metrics")
-            .handler(Python3RestEndpoints::handleGetScriptMetrics)
+            .handler(timed("/api/v1/metrics/script-metrics", Python3RestEndpoints::handleGetScriptMetrics))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)
@@ -639,7 +754,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/metrics/historical - Get historical metrics (NEW v1.16.0)
         routes.newRoute("/api/v1/metrics/historical")
-            .handler(Python3RestEndpoints::handleGetHistoricalMetrics)
+            .handler(timed("/api/v1/metrics/historical", Python3RestEndpoints::handleGetHistoricalMetrics))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)
@@ -647,17 +762,25 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/metrics/alerts - Get active health alerts (NEW v1.16.0)
         routes.newRoute("/api/v1/metrics/alerts")
-            .handler(Python3RestEndpoints::handleGetHealthAlerts)
+            .handler(timed("/api/v1/metrics/alerts", Python3RestEndpoints::handleGetHealthAlerts))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)
             .mount();
 
+        // GET /data/python3integration/api/v1/metrics/prometheus - Prometheus text exposition (NEW v2.6.0)
+        routes.newRoute("/api/v1/metrics/prometheus")
+            .handler(timed("/api/v1/metrics/prometheus", Python3RestEndpoints::handleGetPrometheusMetrics))
+            .method(HttpMethod.GET)
+            .type(Python3PrometheusExporter.CONTENT_TYPE)
+            .accessControl(Python3RestEndpoints::checkReadPermission)
+            .mount();
+
         // Script Management Endpoints
 
         // POST /data/python3integration/api/v1/scripts/save - Save a script
         routes.newRoute("/api/v1/scripts/save")
-            .handler(Python3RestEndpoints::handleSaveScript)
+            .handler(timed("/api/v1/scripts/save", Python3RestEndpoints::handleSaveScript))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH + RATE LIMIT
@@ -665,15 +788,23 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/scripts/load/{name} - Load a script
         routes.newRoute("/api/v1/scripts/load/:name")
-            .handler(Python3RestEndpoints::handleLoadScript)
+            .handler(timed("/api/v1/scripts/load/:name", Python3RestEndpoints::handleLoadScript))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
             .mount();
 
+        // POST /data/python3integration/api/v1/scripts/batch - Load several scripts at once (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/batch")
+            .handler(timed("/api/v1/scripts/batch", Python3RestEndpoints::handleBatchLoadScripts))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
         // GET /data/python3integration/api/v1/scripts/list - List all scripts
         routes.newRoute("/api/v1/scripts/list")
-            .handler(Python3RestEndpoints::handleListScripts)
+            .handler(timed("/api/v1/scripts/list", Python3RestEndpoints::handleListScripts))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -681,15 +812,55 @@ public final class Python3RestEndpoints {
 
         // DELETE /data/python3integration/api/v1/scripts/delete/{name} - Delete a script
         routes.newRoute("/api/v1/scripts/delete/:name")
-            .handler(Python3RestEndpoints::handleDeleteScript)
+            .handler(timed("/api/v1/scripts/delete/:name", Python3RestEndpoints::handleDeleteScript))
             .method(HttpMethod.DELETE)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH + RATE LIMIT
             .mount();
 
+        // GET /data/python3integration/api/v1/scripts/history/{name} - List revisions (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/history/:name")
+            .handler(timed("/api/v1/scripts/history/:name", Python3RestEndpoints::handleScriptHistory))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // GET /data/python3integration/api/v1/scripts/diff/{name}?from=N&to=M - Diff two revisions (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/diff/:name")
+            .handler(timed("/api/v1/scripts/diff/:name", Python3RestEndpoints::handleScriptDiff))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // POST /data/python3integration/api/v1/scripts/restore/{name} - Restore a revision (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/restore/:name")
+            .handler(timed("/api/v1/scripts/restore/:name", Python3RestEndpoints::handleScriptRestore))
+            .method(HttpMethod.POST)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH + RATE LIMIT
+            .mount();
+
+        // GET /data/python3integration/api/v1/scripts/changes?since=N - Scripts changed since a revision (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/changes")
+            .handler(timed("/api/v1/scripts/changes", Python3RestEndpoints::handleScriptChanges))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
+        // GET /data/python3integration/api/v1/scripts/search?q=... - Search script sources (NEW v2.6.0)
+        routes.newRoute("/api/v1/scripts/search")
+            .handler(timed("/api/v1/scripts/search", Python3RestEndpoints::handleScriptSearch))
+            .method(HttpMethod.GET)
+            .type(RouteGroup.TYPE_JSON)
+            .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
+            .mount();
+
         // GET /data/python3integration/api/v1/scripts/available - Get available scripts (NEW v2.0.24)
         routes.newRoute("/api/v1/scripts/available")
-            .handler(Python3RestEndpoints::handleGetAvailableScripts)
+            .handler(timed("/api/v1/scripts/available", Python3RestEndpoints::handleGetAvailableScripts))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -699,7 +870,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/packages/catalog - Get available packages
         routes.newRoute("/api/v1/packages/catalog")
-            .handler(Python3RestEndpoints::handleGetPackageCatalog)
+            .handler(timed("/api/v1/packages/catalog", Python3RestEndpoints::handleGetPackageCatalog))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -707,7 +878,7 @@ public final class Python3RestEndpoints {
 
         // GET /data/python3integration/api/v1/packages/status - Get package installation status
         routes.newRoute("/api/v1/packages/status")
-            .handler(Python3RestEndpoints::handleGetPackageStatus)
+            .handler(timed("/api/v1/packages/status", Python3RestEndpoints::handleGetPackageStatus))
             .method(HttpMethod.GET)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only)
@@ -715,7 +886,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/packages/install/:name - Install a package bundle
         routes.newRoute("/api/v1/packages/install/:name")
-            .handler(Python3RestEndpoints::handleInstallPackage)
+            .handler(timed("/api/v1/packages/install/:name", Python3RestEndpoints::handleInstallPackage))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH + RATE LIMIT
@@ -723,7 +894,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/packages/uninstall/:name - Uninstall a package bundle
         routes.newRoute("/api/v1/packages/uninstall/:name")
-            .handler(Python3RestEndpoints::handleUninstallPackage)
+            .handler(timed("/api/v1/packages/uninstall/:name", Python3RestEndpoints::handleUninstallPackage))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkManagePermission)  // ✅ AUTH + RATE LIMIT
@@ -731,7 +902,7 @@ public final class Python3RestEndpoints {
 
         // POST /data/python3integration/api/v1/packages/verify - Verify installed packages
         routes.newRoute("/api/v1/packages/verify")
-            .handler(Python3RestEndpoints::handleVerifyPackages)
+            .handler(timed("/api/v1/packages/verify", Python3RestEndpoints::handleVerifyPackages))
             .method(HttpMethod.POST)
             .type(RouteGroup.TYPE_JSON)
             .accessControl(Python3RestEndpoints::checkReadPermission)  // ✅ AUTH (read-only, verification)
@@ -745,12 +916,16 @@ public final class Python3RestEndpoints {
      *
      * Request body: {"code": "...", "variables": {...}}
      * Response: {"success": true/false, "result": ..., "error": "..."}
+     * With "async": true: 202 {"success": true, "jobId": "...", "status": "queued"} (v2.6.0, see GET /jobs/:id)
      *
      * v1.17.0: Enhanced with security headers and CSRF protection
      */
     private static JsonObject handleExec(RequestContext req, HttpServletResponse res) {
         LOGGER.debug("REST API: /exec called");
 
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/exec");
+
         try {
             // SECURITY HEADERS: Apply to all responses (v1.17.0)
             applySecurityHeaders(res);
@@ -762,7 +937,9 @@ public final class Python3RestEndpoints {
             //     return createErrorResponse("CSRF token validation failed");
             // }
 
+            long parseStart = System.nanoTime();
             JsonObject requestBody = parseJsonBody(req);
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
             String code = requestBody.has("code") ? requestBody.get("code").getAsString() : "";
             Map<String, Object> variables = new HashMap<>();
 
@@ -780,19 +957,33 @@ public final class Python3RestEndpoints {
             // AUDIT LOG: Log code execution attempt
             auditLog("PYTHON_EXEC", code);
 
-            Object result = scriptModule.exec(code, variables, securityMode);
+            Map<String, Object> execVariables = variables;
+            Callable<JsonObject> work = () -> {
+                Object result = scriptModule.exec(code, execVariables, securityMode);
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
-            response.addProperty("result", result != null ? result.toString() : null);
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.addProperty("result", result != null ? result.toString() : null);
+                return response;
+            };
+
+            // v2.6.0: "async": true answers 202 with a job id instead of holding this thread
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("exec", work, res), trace, res);
+            }
 
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
             LOGGER.debug("REST API: /exec completed successfully");
             return response;
 
         } catch (Exception e) {
             LOGGER.error("REST API: /exec failed", e);
             applySecurityHeaders(res);  // Apply headers even on error
-            return createErrorResponse(e.getMessage());
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
         }
     }
 
@@ -986,12 +1177,18 @@ public final class Python3RestEndpoints {
      *
      * Request body: {"expression": "...", "variables": {...}}
      * Response: {"success": true/false, "result": ..., "error": "..."}
+     * With "async": true: 202 {"success": true, "jobId": "...", "status": "queued"} (v2.6.0, see GET /jobs/:id)
      */
     private static JsonObject handleEval(RequestContext req, HttpServletResponse res) {
         LOGGER.debug("REST API: /eval called");
 
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/eval");
+
         try {
+            long parseStart = System.nanoTime();
             JsonObject requestBody = parseJsonBody(req);
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
             String expression = requestBody.has("expression") ? requestBody.get("expression").getAsString() : "";
             Map<String, Object> variables = new HashMap<>();
 
@@ -1009,18 +1206,32 @@ public final class Python3RestEndpoints {
             // AUDIT LOG: Log expression evaluation
             auditLog("PYTHON_EVAL", expression);
 
-            Object result = scriptModule.eval(expression, variables, securityMode);
+            Map<String, Object> evalVariables = variables;
+            Callable<JsonObject> work = () -> {
+                Object result = scriptModule.eval(expression, evalVariables, securityMode);
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
-            response.addProperty("result", result != null ? result.toString() : null);
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.addProperty("result", result != null ? result.toString() : null);
+                return response;
+            };
+
+            // v2.6.0: "async": true answers 202 with a job id instead of holding this thread
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("eval", work, res), trace, res);
+            }
 
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
             LOGGER.debug("REST API: /eval completed successfully");
             return response;
 
         } catch (Exception e) {
             LOGGER.error("REST API: /eval failed", e);
-            return createErrorResponse(e.getMessage());
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
         }
     }
 
@@ -1029,12 +1240,18 @@ public final class Python3RestEndpoints {
      *
      * Request body: {"module": "...", "function": "...", "args": [...]}
      * Response: {"success": true/false, "result": ..., "error": "..."}
+     * With "async": true: 202 {"success": true, "jobId": "...", "status": "queued"} (v2.6.0, see GET /jobs/:id)
      */
     private static JsonObject handleCallModule(RequestContext req, HttpServletResponse res) {
         LOGGER.debug("REST API: /call-module called");
 
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/call-module");
+
         try {
+            long parseStart = System.nanoTime();
             JsonObject requestBody = parseJsonBody(req);
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
             String moduleName = requestBody.has("module") ? requestBody.get("module").getAsString() : "";
             String functionName = requestBody.has("function") ? requestBody.get("function").getAsString() : "";
             List<Object> args = new ArrayList<>();
@@ -1053,181 +1270,672 @@ public final class Python3RestEndpoints {
             // AUDIT LOG: Log module call
             auditLog("PYTHON_CALL_MODULE", moduleName + "." + functionName + "(" + args + ")");
 
-            Object result = scriptModule.callModule(moduleName, functionName, args, Collections.emptyMap(), securityMode);
+            Callable<JsonObject> work = () -> {
+                Object result = scriptModule.callModule(moduleName, functionName, args, Collections.emptyMap(),
+                        securityMode);
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
-            response.addProperty("result", result != null ? result.toString() : null);
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.addProperty("result", result != null ? result.toString() : null);
+                return response;
+            };
+
+            // v2.6.0: "async": true answers 202 with a job id instead of holding this thread
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("call-module", work, res), trace, res);
+            }
 
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
             LOGGER.debug("REST API: /call-module completed successfully");
             return response;
 
         } catch (Exception e) {
             LOGGER.error("REST API: /call-module failed", e);
-            return createErrorResponse(e.getMessage());
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
         }
     }
 
     /**
-     * Handle POST /call-script - Call saved Python script by path
+     * Handle POST /batch - Run several operations on one executor in a single round trip
      *
-     * Request body: {"scriptPath": "...", "args": [...], "kwargs": {...}}
-     * Response: {"success": true/false, "result": ..., "error": "..."}
+     * Request body: {"operations": [
+     *     {"command": "execute", "code": "...", "variables": {...}},
+     *     {"command": "evaluate", "expression": "...", "variables": {...}},
+     *     {"command": "call_module", "module": "...", "function": "...", "args": [...], "kwargs": {...}}]}
+     * Response: {"success": true, "results": [{"success": ..., "result": ..., "error": "..."}, ...],
+     *            "count": n, "failed": n}
+     *
+     * A failing operation is reported in its own result and does not stop the batch.
+     * With "async": true the batch runs as a job (202 + jobId, see GET /jobs/:id).
+     *
+     * v2.6.0: Added for batch execution
      */
-    private static JsonObject handleCallScript(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /call-script called");
+    private static JsonObject handleBatch(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /batch called");
+
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/batch");
 
         try {
+            long parseStart = System.nanoTime();
             JsonObject requestBody = parseJsonBody(req);
-            String scriptPath = requestBody.has("scriptPath") ? requestBody.get("scriptPath").getAsString() : "";
+            if (!requestBody.has("operations") || !requestBody.get("operations").isJsonArray()) {
+                return createErrorResponse("operations array is required");
+            }
 
-            if (scriptPath.isEmpty()) {
-                return createErrorResponse("scriptPath is required");
+            JsonArray jsonOperations = requestBody.getAsJsonArray("operations");
+            if (jsonOperations.size() > Python3ProcessPool.MAX_BATCH_OPERATIONS) {
+                return createErrorResponse("Batch exceeds maximum of " + Python3ProcessPool.MAX_BATCH_OPERATIONS
+                        + " operations. Provided: " + jsonOperations.size());
             }
 
-            List<Object> args = new ArrayList<>();
-            if (requestBody.has("args") && requestBody.get("args").isJsonArray()) {
-                JsonArray jsonArgs = requestBody.getAsJsonArray("args");
-                for (JsonElement element : jsonArgs) {
-                    args.add(jsonElementToObject(element));
+            List<Map<String, Object>> operations = new ArrayList<>(jsonOperations.size());
+            for (JsonElement element : jsonOperations) {
+                if (!element.isJsonObject()) {
+                    return createErrorResponse("Each operation must be a JSON object");
                 }
+                operations.add(parseBatchOperation(element.getAsJsonObject()));
             }
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
 
-            Map<String, Object> kwargs = new HashMap<>();
-            if (requestBody.has("kwargs") && requestBody.get("kwargs").isJsonObject()) {
-                kwargs = jsonToMap(requestBody.getAsJsonObject("kwargs"));
-            }
+            // SECURITY: Determine security mode based on user role (applies to every operation)
+            String securityMode = getSecurityMode(req);
+            LOGGER.debug("Security mode for /batch: {}", securityMode);
 
-            // AUDIT LOG: Log script execution
-            auditLog("PYTHON_CALL_SCRIPT", "scriptPath=" + scriptPath);
+            // AUDIT LOG: Log batch size (individual operations are not logged)
+            auditLog("PYTHON_BATCH", operations.size() + " operations");
 
-            Object result = scriptModule.callScript(scriptPath, args, kwargs);
+            Callable<JsonObject> work = () -> {
+                List<Map<String, Object>> results = scriptModule.runBatch(operations, securityMode);
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
-            response.addProperty("result", result != null ? result.toString() : null);
+                JsonArray jsonResults = new JsonArray();
+                int failed = 0;
+                for (Map<String, Object> result : results) {
+                    if (!Boolean.TRUE.equals(result.get("success"))) {
+                        failed++;
+                    }
+                    jsonResults.add(objectToJson(result));
+                }
 
-            LOGGER.debug("REST API: /call-script completed successfully for script: {}", scriptPath);
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.add("results", jsonResults);
+                response.addProperty("count", results.size());
+                response.addProperty("failed", failed);
+                return response;
+            };
+
+            // v2.6.0: "async": true answers 202 with a job id instead of holding this thread
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("batch", work, res), trace, res);
+            }
+
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
+            LOGGER.debug("REST API: /batch completed successfully ({} operations, {} failed)",
+                    response.get("count").getAsInt(), response.get("failed").getAsInt());
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /call-script failed", e);
-            return createErrorResponse(e.getMessage());
+            LOGGER.error("REST API: /batch failed", e);
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
         }
     }
 
     /**
-     * Handle GET /version - Get Python version
-     *
-     * Response: {"version": "...", "pythonVersion": "...", "available": true/false}
-     *
-     * v1.17.1: Fix - ensure pythonVersion field is always present
+     * Validate one /batch operation and convert it to a bridge request map
      */
-    private static JsonObject handleGetVersion(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /version called");
-
-        try {
-            Map<String, Object> versionInfo = scriptModule.getVersion();
-            JsonObject response = mapToJson(versionInfo);
-
-            // Ensure pythonVersion field exists for client compatibility (v1.17.1)
-            if (response.has("python_version") && !response.has("pythonVersion")) {
-                response.addProperty("pythonVersion", response.get("python_version").getAsString());
+    private static Map<String, Object> parseBatchOperation(JsonObject json) {
+        String command = json.has("command") ? json.get("command").getAsString() : "";
+        Map<String, Object> operation = new HashMap<>();
+        operation.put("command", command);
+
+        if ("execute".equals(command) || "evaluate".equals(command)) {
+            String key = "execute".equals(command) ? "code" : "expression";
+            String code = json.has(key) ? json.get(key).getAsString() : "";
+            // INPUT VALIDATION: Same limits as /exec and /eval
+            validateCode(code);
+            operation.put(key, code);
+            if (json.has("variables") && json.get("variables").isJsonObject()) {
+                operation.put("variables", jsonToMap(json.getAsJsonObject("variables")));
             }
-            if (response.has("version") && !response.has("pythonVersion")) {
-                response.addProperty("pythonVersion", response.get("version").getAsString());
+        } else if ("call_module".equals(command)) {
+            operation.put("module", json.has("module") ? json.get("module").getAsString() : "");
+            operation.put("function", json.has("function") ? json.get("function").getAsString() : "");
+            List<Object> args = new ArrayList<>();
+            if (json.has("args") && json.get("args").isJsonArray()) {
+                for (JsonElement element : json.getAsJsonArray("args")) {
+                    args.add(jsonElementToObject(element));
+                }
             }
-
-            LOGGER.debug("REST API: /version completed successfully");
-            return response;
-
-        } catch (Exception e) {
-            LOGGER.error("REST API: /version failed", e);
-            return createErrorResponse(e.getMessage());
+            operation.put("args", args);
+            operation.put("kwargs", json.has("kwargs") && json.get("kwargs").isJsonObject()
+                    ? jsonToMap(json.getAsJsonObject("kwargs")) : Collections.emptyMap());
+        } else {
+            throw new IllegalArgumentException("Unsupported batch command: '" + command
+                    + "' (expected execute, evaluate or call_module)");
         }
+        return operation;
     }
 
     /**
-     * Handle GET /pool-stats - Get process pool statistics
+     * Handle POST /prepare - Register code once and return its handle
      *
-     * Response: {"totalSize": ..., "available": ..., "inUse": ..., "healthy": ...}
+     * Request body: {"code": "..."}
+     * Response: {"success": true, "handle": "..."}
+     *
+     * v2.6.0: Added for prepared-code handles
      */
-    private static JsonObject handleGetPoolStats(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /pool-stats called");
+    private static JsonObject handlePrepare(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /prepare called");
 
         try {
-            Map<String, Object> poolStats = scriptModule.getPoolStats();
-            JsonObject response = mapToJson(poolStats);
+            JsonObject requestBody = parseJsonBody(req);
+            String code = requestBody.has("code") ? requestBody.get("code").getAsString() : "";
 
-            LOGGER.debug("REST API: /pool-stats completed successfully");
+            // INPUT VALIDATION: Same limits as /exec
+            validateCode(code);
+
+            // AUDIT LOG: The code is logged once here; /exec-prepared only logs the handle
+            auditLog("PYTHON_PREPARE", code);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("handle", scriptModule.prepare(code));
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /pool-stats failed", e);
+            LOGGER.error("REST API: /prepare failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
     /**
-     * Handle POST /pool-size - Set process pool size
+     * Handle POST /exec-prepared - Execute prepared code by handle
      *
-     * Request body: {"size": ...}
-     * Response: {"success": true/false, "poolSize": ..., "message": "..."}
+     * Request body: {"handle": "...", "variables": {...}}
+     * Response: {"success": true/false, "result": ..., "error": "..."}
+     * With "async": true: 202 {"success": true, "jobId": "...", "status": "queued"} (see GET /jobs/:id)
      *
-     * v1.17.2: New endpoint for dynamic pool size adjustment (1-20)
+     * v2.6.0: Added for prepared-code handles
      */
-    private static JsonObject handleSetPoolSize(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /pool-size called");
+    private static JsonObject handleExecPrepared(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /exec-prepared called");
+
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/exec-prepared");
 
         try {
+            long parseStart = System.nanoTime();
             JsonObject requestBody = parseJsonBody(req);
-
-            if (!requestBody.has("size")) {
-                return createErrorResponse("Pool size parameter is required");
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
+            String handle = requestBody.has("handle") ? requestBody.get("handle").getAsString() : "";
+            if (handle.isEmpty()) {
+                return createErrorResponse("handle is required");
             }
 
-            int newSize = requestBody.get("size").getAsInt();
+            Map<String, Object> variables = requestBody.has("variables") && requestBody.get("variables").isJsonObject()
+                    ? jsonToMap(requestBody.getAsJsonObject("variables")) : new HashMap<>();
 
-            // Validate pool size range
-            if (newSize < 1 || newSize > 20) {
-                return createErrorResponse("Pool size must be between 1 and 20");
-            }
+            // SECURITY: Determine security mode based on user role
+            String securityMode = getSecurityMode(req);
 
-            // AUDIT LOG: Log pool size change
-            auditLog("POOL_SIZE_CHANGE", "newSize=" + newSize);
+            // AUDIT LOG: Log the handle (the code was logged by /prepare)
+            auditLog("PYTHON_EXEC_PREPARED", "handle=" + handle);
 
-            // Resize the pool via script module
-            scriptModule.resizePool(newSize);
+            Callable<JsonObject> work = () -> {
+                Object result = scriptModule.execPrepared(handle, variables, securityMode);
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
-            response.addProperty("poolSize", newSize);
-            response.addProperty("message", "Pool size changed to " + newSize);
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.addProperty("result", result != null ? result.toString() : null);
+                return response;
+            };
 
-            LOGGER.info("REST API: Pool size changed to {}", newSize);
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("exec-prepared", work, res), trace, res);
+            }
+
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /pool-size failed", e);
-            return createErrorResponse(e.getMessage());
+            LOGGER.error("REST API: /exec-prepared failed", e);
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
         }
     }
 
     /**
-     * Handle GET /health - Health check
+     * Handle POST /call-script - Call saved Python script by path
      *
-     * Response: {"healthy": true/false, "available": true/false}
+     * Request body: {"scriptPath": "...", "args": [...], "kwargs": {...}}
+     * Response: {"success": true/false, "result": ..., "error": "..."}
+     * With "async": true: 202 {"success": true, "jobId": "...", "status": "queued"} (v2.6.0, see GET /jobs/:id)
      */
-    private static JsonObject handleHealthCheck(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /health called");
+    private static JsonObject handleCallScript(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /call-script called");
 
-        try {
-            boolean available = scriptModule.isAvailable();
+        // v2.6.0: Trace context and phase timing (continues an incoming W3C traceparent)
+        Python3Trace trace = beginTrace(req, "POST /api/v1/call-script");
 
-            JsonObject response = new JsonObject();
-            response.addProperty("healthy", available);
-            response.addProperty("available", available);
-            response.addProperty("timestamp", System.currentTimeMillis());
+        try {
+            long parseStart = System.nanoTime();
+            JsonObject requestBody = parseJsonBody(req);
+            trace.phase(Python3Trace.PHASE_REST_PARSE, parseStart, System.nanoTime());
+            String scriptPath = requestBody.has("scriptPath") ? requestBody.get("scriptPath").getAsString() : "";
+
+            if (scriptPath.isEmpty()) {
+                return createErrorResponse("scriptPath is required");
+            }
+
+            List<Object> args = new ArrayList<>();
+            if (requestBody.has("args") && requestBody.get("args").isJsonArray()) {
+                JsonArray jsonArgs = requestBody.getAsJsonArray("args");
+                for (JsonElement element : jsonArgs) {
+                    args.add(jsonElementToObject(element));
+                }
+            }
+
+            Map<String, Object> kwargs = new HashMap<>();
+            if (requestBody.has("kwargs") && requestBody.get("kwargs").isJsonObject()) {
+                kwargs = jsonToMap(requestBody.getAsJsonObject("kwargs"));
+            }
+
+            // AUDIT LOG: Log script execution
+            auditLog("PYTHON_CALL_SCRIPT", "scriptPath=" + scriptPath);
+
+            Map<String, Object> scriptKwargs = kwargs;
+            Callable<JsonObject> work = () -> {
+                Object result = scriptModule.callScript(scriptPath, args, scriptKwargs);
+
+                JsonObject response = new JsonObject();
+                response.addProperty("success", true);
+                response.addProperty("result", result != null ? result.toString() : null);
+                return response;
+            };
+
+            // v2.6.0: "async": true answers 202 with a job id instead of holding this thread
+            if (isAsyncRequest(req, requestBody)) {
+                return addTraceTiming(submitJob("call-script", work, res), trace, res);
+            }
+
+            JsonObject response = work.call();
+            addTraceTiming(response, trace, res);
+            LOGGER.debug("REST API: /call-script completed successfully for script: {}", scriptPath);
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /call-script failed", e);
+            trace.setError(true);
+            return addTraceTiming(createErrorResponse(e.getMessage()), trace, res);
+        } finally {
+            trace.end(metricsCollector);
+        }
+    }
+
+    /**
+     * Handle GET /jobs/:id - Fetch an async job, optionally waiting up to ?waitMs= for it to finish
+     *
+     * Response while pending: 202 {"success": true, "jobId": "...", "status": "queued" | "running"}
+     * Response when finished: the synchronous endpoint's response plus "jobId", "status"
+     * ("done", "failed" or "cancelled"), "queuedMs" and "runMs"
+     * Unknown or expired ids: 404
+     *
+     * waitMs is capped at 30 s so a long-poll cannot hold a request thread for a whole script run.
+     *
+     * v2.6.0: Added for async REST execution
+     */
+    private static JsonObject handleGetJob(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /jobs called");
+
+        try {
+            Python3JobStore store = jobStore;
+            if (store == null) {
+                return createErrorResponse("Async jobs are not available (module not started)");
+            }
+
+            String requestPath = req.getRequest().getRequestURI();
+            String id = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+            Python3JobStore.Job job = store.get(id);
+            if (job == null) {
+                res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return createErrorResponse("Job not found or expired: " + id);
+            }
+
+            String waitParam = req.getRequest().getParameter("waitMs");
+            long waitMs = waitParam != null ? Math.min(Long.parseLong(waitParam), MAX_JOB_WAIT_MS) : 0L;
+            store.await(job, waitMs);
+
+            return jobResponse(job, res);
+
+        } catch (NumberFormatException e) {
+            return createErrorResponse("waitMs must be a number of milliseconds");
+        } catch (Exception e) {
+            LOGGER.error("REST API: /jobs failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle POST /jobs/cancel/:id - Cancel an async job that has not started yet
+     *
+     * Response: {"success": true, "jobId": "...", "cancelled": true/false, "status": "..."}
+     *
+     * v2.6.0: Added for async REST execution
+     */
+    private static JsonObject handleCancelJob(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /jobs/cancel called");
+
+        try {
+            Python3JobStore store = jobStore;
+            if (store == null) {
+                return createErrorResponse("Async jobs are not available (module not started)");
+            }
+
+            String requestPath = req.getRequest().getRequestURI();
+            String id = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+            Python3JobStore.Job job = store.get(id);
+            if (job == null) {
+                res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return createErrorResponse("Job not found or expired: " + id);
+            }
+
+            boolean cancelled = store.cancel(id);
+            auditLog("PYTHON_JOB_CANCEL", "jobId=" + id + ", cancelled=" + cancelled);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("jobId", id);
+            response.addProperty("cancelled", cancelled);
+            response.addProperty("status", job.getStatus());
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /jobs/cancel failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle POST /queue/submit - Queue a saved script as a durable background job
+     *
+     * Request body: {"scriptPath": "...", "args": [...], "kwargs": {...}, "priority": 0, "maxRetries": 0}
+     * Response: {"success": true, "job": {"id": "...", "state": "pending", ...}}
+     *
+     * v2.6.0: Added for the background job queue
+     */
+    private static JsonObject handleQueueSubmit(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /queue/submit called");
+
+        try {
+            Python3JobQueue queue = jobQueue;
+            if (queue == null) {
+                return createErrorResponse("Job queue is not available (check Gateway logs)");
+            }
+
+            JsonObject requestBody = parseJsonBody(req);
+            String scriptPath = requestBody.has("scriptPath") ? requestBody.get("scriptPath").getAsString() : "";
+            if (scriptPath.isEmpty()) {
+                return createErrorResponse("scriptPath is required");
+            }
+
+            List<Object> args = new ArrayList<>();
+            if (requestBody.has("args") && requestBody.get("args").isJsonArray()) {
+                for (JsonElement element : requestBody.getAsJsonArray("args")) {
+                    args.add(jsonElementToObject(element));
+                }
+            }
+            Map<String, Object> kwargs = requestBody.has("kwargs") && requestBody.get("kwargs").isJsonObject()
+                    ? jsonToMap(requestBody.getAsJsonObject("kwargs")) : Collections.emptyMap();
+            int priority = requestBody.has("priority") ? requestBody.get("priority").getAsInt() : 0;
+            int maxRetries = requestBody.has("maxRetries") ? requestBody.get("maxRetries").getAsInt() : 0;
+
+            // AUDIT LOG: Log job submission
+            auditLog("PYTHON_QUEUE_SUBMIT", "scriptPath=" + scriptPath + ", priority=" + priority
+                    + ", maxRetries=" + maxRetries);
+
+            Map<String, Object> job = queue.submit(scriptPath, args, kwargs, priority, maxRetries);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.add("job", objectToJson(job));
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /queue/submit failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /queue/jobs - List background jobs, optionally ?state=pending|running|succeeded|failed|cancelled
+     * and ?limit=N
+     *
+     * Response: {"success": true, "jobs": [...], "count": n, "stats": {...}}
+     *
+     * v2.6.0: Added for the background job queue
+     */
+    private static JsonObject handleQueueList(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /queue/jobs called");
+
+        try {
+            Python3JobQueue queue = jobQueue;
+            if (queue == null) {
+                return createErrorResponse("Job queue is not available (check Gateway logs)");
+            }
+
+            String state = req.getRequest().getParameter("state");
+            String limitParam = req.getRequest().getParameter("limit");
+            int limit = limitParam != null ? Integer.parseInt(limitParam) : 0;
+
+            List<Map<String, Object>> jobs = queue.list(state, limit);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.add("jobs", objectToJson(jobs));
+            response.addProperty("count", jobs.size());
+            response.add("stats", mapToJson(queue.getStats()));
+            return response;
+
+        } catch (NumberFormatException e) {
+            return createErrorResponse("limit must be a number");
+        } catch (Exception e) {
+            LOGGER.error("REST API: /queue/jobs failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /queue/jobs/:id - Get one background job with its result or error
+     *
+     * Response: {"success": true, "job": {...}}; 404 for unknown or expired ids
+     *
+     * v2.6.0: Added for the background job queue
+     */
+    private static JsonObject handleQueueGet(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /queue/jobs/:id called");
+
+        try {
+            Python3JobQueue queue = jobQueue;
+            if (queue == null) {
+                return createErrorResponse("Job queue is not available (check Gateway logs)");
+            }
+
+            String requestPath = req.getRequest().getRequestURI();
+            String id = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+            Map<String, Object> job = queue.get(id);
+            if (job == null) {
+                res.setStatus(HttpServletResponse.SC_NOT_FOUND);
+                return createErrorResponse("Job not found or expired: " + id);
+            }
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.add("job", objectToJson(job));
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /queue/jobs/:id failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle POST /queue/cancel/:id - Cancel a pending background job
+     *
+     * Response: {"success": true, "jobId": "...", "cancelled": true/false}
+     *
+     * v2.6.0: Added for the background job queue
+     */
+    private static JsonObject handleQueueCancel(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /queue/cancel called");
+
+        try {
+            Python3JobQueue queue = jobQueue;
+            if (queue == null) {
+                return createErrorResponse("Job queue is not available (check Gateway logs)");
+            }
+
+            String requestPath = req.getRequest().getRequestURI();
+            String id = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+            boolean cancelled = queue.cancel(id);
+            auditLog("PYTHON_QUEUE_CANCEL", "jobId=" + id + ", cancelled=" + cancelled);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("jobId", id);
+            response.addProperty("cancelled", cancelled);
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /queue/cancel failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /version - Get Python version
+     *
+     * Response: {"version": "...", "pythonVersion": "...", "available": true/false}
+     *
+     * v1.17.1: Fix - ensure pythonVersion field is always present
+     */
+    private static JsonObject handleGetVersion(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /version called");
+
+        try {
+            Map<String, Object> versionInfo = scriptModule.getVersion();
+            JsonObject response = mapToJson(versionInfo);
+
+            // Ensure pythonVersion field exists for client compatibility (v1.17.1)
+            if (response.has("python_version") && !response.has("pythonVersion")) {
+                response.addProperty("pythonVersion", response.get("python_version").getAsString());
+            }
+            if (response.has("version") && !response.has("pythonVersion")) {
+                response.addProperty("pythonVersion", response.get("version").getAsString());
+            }
+
+            LOGGER.debug("REST API: /version completed successfully");
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /version failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /pool-stats - Get process pool statistics
+     *
+     * Response: {"totalSize": ..., "available": ..., "inUse": ..., "healthy": ...}
+     */
+    private static JsonObject handleGetPoolStats(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /pool-stats called");
+
+        try {
+            Map<String, Object> poolStats = scriptModule.getPoolStats();
+            JsonObject response = mapToJson(poolStats);
+
+            LOGGER.debug("REST API: /pool-stats completed successfully");
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /pool-stats failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle POST /pool-size - Set process pool size
+     *
+     * Request body: {"size": ...}
+     * Response: {"success": true/false, "poolSize": ..., "message": "..."}
+     *
+     * v1.17.2: New endpoint for dynamic pool size adjustment (1-20)
+     */
+    private static JsonObject handleSetPoolSize(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /pool-size called");
+
+        try {
+            JsonObject requestBody = parseJsonBody(req);
+
+            if (!requestBody.has("size")) {
+                return createErrorResponse("Pool size parameter is required");
+            }
+
+            int newSize = requestBody.get("size").getAsInt();
+
+            // Validate pool size range
+            if (newSize < 1 || newSize > 20) {
+                return createErrorResponse("Pool size must be between 1 and 20");
+            }
+
+            // AUDIT LOG: Log pool size change
+            auditLog("POOL_SIZE_CHANGE", "newSize=" + newSize);
+
+            // Resize the pool via script module
+            scriptModule.resizePool(newSize);
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("poolSize", newSize);
+            response.addProperty("message", "Pool size changed to " + newSize);
+
+            LOGGER.info("REST API: Pool size changed to {}", newSize);
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /pool-size failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /health - Health check
+     *
+     * Response: {"healthy": true/false, "available": true/false}
+     */
+    private static JsonObject handleHealthCheck(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /health called");
+
+        try {
+            boolean available = scriptModule.isAvailable();
+
+            JsonObject response = new JsonObject();
+            response.addProperty("healthy", available);
+            response.addProperty("available", available);
+            response.addProperty("timestamp", System.currentTimeMillis());
 
             LOGGER.debug("REST API: /health completed successfully");
             return response;
@@ -1265,6 +1973,18 @@ public final class Python3RestEndpoints {
             Map<String, Object> distributionInfo = scriptModule.getDistributionInfo();
             response.add("distributionInfo", mapToJson(distributionInfo));
 
+            // v2.6.0: Execution totals and per-phase latency (consumed by the Designer diagnostics panel)
+            if (metricsCollector != null) {
+                Map<String, Object> metrics = metricsCollector.getMetrics();
+                response.addProperty("totalExecutions", ((Number) metrics.get("total_executions")).longValue());
+                response.addProperty("successfulExecutions",
+                        ((Number) metrics.get("successful_executions")).longValue());
+                response.addProperty("failedExecutions", ((Number) metrics.get("failed_executions")).longValue());
+                response.addProperty("averageExecutionTime",
+                        ((Number) metrics.get("average_execution_time_ms")).doubleValue());
+                response.add("phaseBreakdown", mapToJson(metricsCollector.getPhaseBreakdown()));
+            }
+
             // Timestamp
             response.addProperty("timestamp", System.currentTimeMillis());
 
@@ -1512,57 +2232,433 @@ public final class Python3RestEndpoints {
             response.add("historical_metrics", historyArray);
             response.addProperty("count", historyArray.size());
 
-            LOGGER.debug("REST API: /metrics/historical completed successfully, {} snapshots",
-                    historyArray.size());
+            LOGGER.debug("REST API: /metrics/historical completed successfully, {} snapshots",
+                    historyArray.size());
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /metrics/historical failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /metrics/alerts - Get active health alerts (NEW v1.16.0)
+     *
+     * Response: [{"timestamp": ..., "alert_id": "...", "message": "...", "severity": "WARNING|CRITICAL"}, ...]
+     */
+    private static JsonObject handleGetHealthAlerts(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /metrics/alerts called");
+
+        try {
+            List<Map<String, Object>> healthAlerts = metricsCollector.getHealthAlerts();
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+
+            JsonArray alertsArray = new JsonArray();
+            for (Map<String, Object> alert : healthAlerts) {
+                alertsArray.add(mapToJson(alert));
+            }
+            response.add("alerts", alertsArray);
+            response.addProperty("count", alertsArray.size());
+
+            LOGGER.debug("REST API: /metrics/alerts completed successfully, {} active alerts",
+                    alertsArray.size());
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /metrics/alerts failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /metrics/prometheus - Prometheus text exposition format (NEW v2.6.0)
+     *
+     * Streams pool gauges, execution counters and latency histograms directly to the
+     * response writer; returns null so no JSON body is rendered.
+     */
+    private static JsonObject handleGetPrometheusMetrics(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /metrics/prometheus called");
+
+        try {
+            res.setContentType(Python3PrometheusExporter.CONTENT_TYPE);
+            Python3PrometheusExporter.write(res.getWriter(), metricsCollector);
+            return null;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /metrics/prometheus failed", e);
+            res.setStatus(HttpServletResponse.SC_INTERNAL_SERVER_ERROR);
+            return null;
+        }
+    }
+
+    // Script Management Handlers
+
+    /**
+     * Handle POST /scripts/save - Save a Python script
+     *
+     * Request body: {"name": "...", "code": "...", "description": "...", "author": "...", "folderPath": "...", "version": "..."}
+     * Response: {"success": true/false, "script": {...}}
+     */
+    private static JsonObject handleSaveScript(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/save called");
+
+        try {
+
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
+            }
+
+            JsonObject requestBody = parseJsonBody(req);
+            String name = requestBody.has("name") ? requestBody.get("name").getAsString() : null;
+            String code = requestBody.has("code") ? requestBody.get("code").getAsString() : "";
+            String description = requestBody.has("description") ? requestBody.get("description").getAsString() : null;
+            String author = requestBody.has("author") ? requestBody.get("author").getAsString() : "Unknown";
+            String folderPath = requestBody.has("folderPath") ? requestBody.get("folderPath").getAsString() : "";
+            String version = requestBody.has("version") ? requestBody.get("version").getAsString() : "1.0";
+
+            if (name == null || name.trim().isEmpty()) {
+                return createErrorResponse("Script name is required");
+            }
+
+            // INPUT VALIDATION: Validate all inputs
+            validateScriptName(name);
+            validateCode(code);
+            validateFolderPath(folderPath);
+
+            // AUDIT LOG: Log script save
+            auditLog("SCRIPT_SAVE", "name=" + name + ", folder=" + folderPath + ", code_hash=" + hashCode(code));
+
+            Python3ScriptRepository.SavedScript script = scriptRepository.saveScript(
+                name, code, description, author, folderPath, version
+            );
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+
+            JsonObject scriptJson = new JsonObject();
+            scriptJson.addProperty("id", script.getId());
+            scriptJson.addProperty("name", script.getName());
+            scriptJson.addProperty("description", script.getDescription());
+            scriptJson.addProperty("author", script.getAuthor());
+            scriptJson.addProperty("createdDate", script.getCreatedDate());
+            scriptJson.addProperty("lastModified", script.getLastModified());
+            scriptJson.addProperty("folderPath", script.getFolderPath());
+            scriptJson.addProperty("version", script.getVersion());
+            response.add("script", scriptJson);
+
+            LOGGER.info("REST API: Script saved: {} in folder: {}", name, folderPath);
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /scripts/save failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /scripts/load/:name - Load a saved script
+     *
+     * v2.6.0: ETag is the script id and lastModified; a matching If-None-Match gets 304 Not Modified
+     * and no body, without the code being read
+     */
+    private static JsonObject handleLoadScript(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/load called");
+
+        try {
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
+            }
+
+            // Extract name from URL path
+            String requestPath = req.getRequest().getRequestURI();
+            String name = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+
+            if (name == null || name.trim().isEmpty()) {
+                return createErrorResponse("Script name is required");
+            }
+
+            Python3ScriptRepository.ScriptMetadata metadata = scriptRepository.getScriptMetadata(name);
+            if (metadata != null) {
+                String etag = scriptEtag(metadata.getId(), metadata.getLastModified());
+                if (etagMatches(req.getRequest().getHeader("If-None-Match"), etag)) {
+                    res.setHeader("ETag", etag);
+                    res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                    return null;
+                }
+            }
+
+            Python3ScriptRepository.SavedScript script = scriptRepository.loadScript(name);
+
+            if (script == null) {
+                return createErrorResponse("Script not found: " + name);
+            }
+
+            // Tag what was actually loaded, in case a save landed after the metadata was read
+            res.setHeader("ETag", scriptEtag(script.getId(), script.getLastModified()));
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.add("script", savedScriptToJson(script));
+
+            LOGGER.debug("REST API: Script loaded: {}", name);
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /scripts/load failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle POST /scripts/batch - Load several saved scripts in one call
+     *
+     * Request: {"names": ["a", "b", ...], "cached": {"<id>": "<lastModified>", ...}}
+     * Response: {"success": true, "scripts": [...], "notModified": ["<id>", ...], "missing": ["b", ...]}
+     *
+     * Scripts whose cached lastModified is still current are listed in notModified instead of being
+     * sent. Scripts that are not found or fail signature verification are listed in missing.
+     *
+     * v2.6.0
+     */
+    private static JsonObject handleBatchLoadScripts(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/batch called");
+
+        try {
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
+            }
+
+            JsonObject requestBody = parseJsonBody(req);
+            if (!requestBody.has("names") || !requestBody.get("names").isJsonArray()) {
+                return createErrorResponse("names array is required");
+            }
+            JsonArray names = requestBody.getAsJsonArray("names");
+            if (names.size() > MAX_BATCH_SCRIPTS) {
+                return createErrorResponse("Batch exceeds maximum of " + MAX_BATCH_SCRIPTS + " scripts");
+            }
+            JsonObject cached = requestBody.has("cached") && requestBody.get("cached").isJsonObject()
+                    ? requestBody.getAsJsonObject("cached")
+                    : new JsonObject();
+
+            JsonArray scriptsArray = new JsonArray();
+            JsonArray notModified = new JsonArray();
+            JsonArray missing = new JsonArray();
+            for (JsonElement element : names) {
+                String name = element.getAsString();
+                Python3ScriptRepository.ScriptMetadata metadata = scriptRepository.getScriptMetadata(name);
+                if (metadata == null) {
+                    missing.add(name);
+                    continue;
+                }
+                JsonElement cachedVersion = cached.get(metadata.getId());
+                if (cachedVersion != null && !cachedVersion.isJsonNull()
+                        && cachedVersion.getAsString().equals(metadata.getLastModified())) {
+                    notModified.add(metadata.getId());
+                    continue;
+                }
+                try {
+                    Python3ScriptRepository.SavedScript script = scriptRepository.loadScript(name);
+                    if (script == null) {
+                        missing.add(name);
+                    } else {
+                        scriptsArray.add(savedScriptToJson(script));
+                    }
+                } catch (SecurityException e) {
+                    LOGGER.warn("REST API: /scripts/batch skipped {}: {}", name, e.getMessage());
+                    missing.add(name);
+                }
+            }
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.add("scripts", scriptsArray);
+            response.add("notModified", notModified);
+            response.add("missing", missing);
+
+            LOGGER.debug("REST API: Batch loaded {} scripts ({} not modified, {} missing)",
+                    scriptsArray.size(), notModified.size(), missing.size());
+            return response;
+
+        } catch (Exception e) {
+            LOGGER.error("REST API: /scripts/batch failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Entity tag of one revision of a script: changes whenever the script is saved
+     */
+    private static String scriptEtag(String id, String lastModified) {
+        return "\"" + id + "@" + lastModified + "\"";
+    }
+
+    /**
+     * Whether an If-None-Match header matches an ETag (RFC 9110 13.1.2): "*", or any entity tag in the
+     * comma-separated list under weak comparison, so a W/ prefix on either side is ignored. Parsing
+     * stops at the first malformed tag.
+     */
+    private static boolean etagMatches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || etag == null) {
+            return false;
+        }
+        if (ifNoneMatch.trim().equals("*")) {
+            return true;
+        }
+        String opaqueTag = etag.startsWith("W/") ? etag.substring(2) : etag;
+        int i = 0;
+        int length = ifNoneMatch.length();
+        while (i < length) {
+            char c = ifNoneMatch.charAt(i);
+            if (c == ',' || c == ' ' || c == '\t') {
+                i++;
+                continue;
+            }
+            if (ifNoneMatch.startsWith("W/", i)) {
+                i += 2;
+            }
+            if (i >= length || ifNoneMatch.charAt(i) != '"') {
+                return false;
+            }
+            int close = ifNoneMatch.indexOf('"', i + 1);
+            if (close < 0) {
+                return false;
+            }
+            if (close + 1 - i == opaqueTag.length() && ifNoneMatch.regionMatches(i, opaqueTag, 0, close + 1 - i)) {
+                return true;
+            }
+            i = close + 1;
+        }
+        return false;
+    }
+
+    /**
+     * A saved script with its code, plus the ETag a conditional /scripts/load would get for it
+     */
+    private static JsonObject savedScriptToJson(Python3ScriptRepository.SavedScript script) {
+        JsonObject scriptJson = new JsonObject();
+        scriptJson.addProperty("id", script.getId());
+        scriptJson.addProperty("name", script.getName());
+        scriptJson.addProperty("code", script.getCode());
+        scriptJson.addProperty("description", script.getDescription());
+        scriptJson.addProperty("author", script.getAuthor());
+        scriptJson.addProperty("createdDate", script.getCreatedDate());
+        scriptJson.addProperty("lastModified", script.getLastModified());
+        scriptJson.addProperty("folderPath", script.getFolderPath());
+        scriptJson.addProperty("version", script.getVersion());
+        scriptJson.addProperty("etag", scriptEtag(script.getId(), script.getLastModified()));
+        return scriptJson;
+    }
+
+    /**
+     * Handle GET /scripts/list - List all saved scripts
+     *
+     * Response: {"success": true, "revision": N, "scripts": [...]}
+     *
+     * v2.6.0: ETag is the repository revision; a matching If-None-Match gets 304 Not Modified and no body
+     */
+    private static JsonObject handleListScripts(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/list called");
+
+        try {
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
+            }
+
+            // Read before listing: if a save lands in between, the tag is older than the list and the
+            // next request just gets the list again
+            long revision = scriptRepository.getRevision();
+            String etag = "\"" + revision + "\"";
+            res.setHeader("ETag", etag);
+            if (etagMatches(req.getRequest().getHeader("If-None-Match"), etag)) {
+                res.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+                return null;
+            }
+
+            List<Python3ScriptRepository.ScriptMetadata> scripts = scriptRepository.listScripts();
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("revision", revision);
+            response.add("scripts", scriptMetadataToJson(scripts));
+
+            LOGGER.debug("REST API: Listed {} scripts", scripts.size());
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /metrics/historical failed", e);
+            LOGGER.error("REST API: /scripts/list failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
     /**
-     * Handle GET /metrics/alerts - Get active health alerts (NEW v1.16.0)
+     * Handle GET /scripts/changes - Scripts added, updated and deleted since a repository revision
      *
-     * Response: [{"timestamp": ..., "alert_id": "...", "message": "...", "severity": "WARNING|CRITICAL"}, ...]
+     * Query: ?since=N (the revision from an earlier /scripts/list or /scripts/changes response)
+     * Response: {"success": true, "revision": M, "reset": false, "added": [...], "updated": [...],
+     *            "deleted": [...]}
+     *
+     * If the changes since N are no longer known (or since is omitted), reset is true and added holds
+     * every script. Deleted entries are the scripts as they were before deletion.
+     *
+     * v2.6.0
      */
-    private static JsonObject handleGetHealthAlerts(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /metrics/alerts called");
+    private static JsonObject handleScriptChanges(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/changes called");
 
         try {
-            List<Map<String, Object>> healthAlerts = metricsCollector.getHealthAlerts();
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
+            }
 
-            JsonObject response = new JsonObject();
-            response.addProperty("success", true);
+            String sinceParam = req.getRequest().getParameter("since");
+            long since = sinceParam != null ? Long.parseLong(sinceParam) : -1;
 
-            JsonArray alertsArray = new JsonArray();
-            for (Map<String, Object> alert : healthAlerts) {
-                alertsArray.add(mapToJson(alert));
-            }
-            response.add("alerts", alertsArray);
-            response.addProperty("count", alertsArray.size());
+            Python3ScriptRepository.ScriptChanges changes = scriptRepository.changesSince(since);
 
-            LOGGER.debug("REST API: /metrics/alerts completed successfully, {} active alerts",
-                    alertsArray.size());
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("revision", changes.getRevision());
+            response.addProperty("reset", changes.isReset());
+            response.add("added", scriptMetadataToJson(changes.getAdded()));
+            response.add("updated", scriptMetadataToJson(changes.getUpdated()));
+            response.add("deleted", scriptMetadataToJson(changes.getDeleted()));
             return response;
 
+        } catch (NumberFormatException e) {
+            return createErrorResponse("since must be a revision number");
         } catch (Exception e) {
-            LOGGER.error("REST API: /metrics/alerts failed", e);
+            LOGGER.error("REST API: /scripts/changes failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
-    // Script Management Handlers
+    private static JsonArray scriptMetadataToJson(List<Python3ScriptRepository.ScriptMetadata> scripts) {
+        JsonArray scriptsArray = new JsonArray();
+        for (Python3ScriptRepository.ScriptMetadata script : scripts) {
+            JsonObject scriptJson = new JsonObject();
+            scriptJson.addProperty("id", script.getId());
+            scriptJson.addProperty("name", script.getName());
+            scriptJson.addProperty("description", script.getDescription());
+            scriptJson.addProperty("author", script.getAuthor());
+            scriptJson.addProperty("createdDate", script.getCreatedDate());
+            scriptJson.addProperty("lastModified", script.getLastModified());
+            scriptJson.addProperty("folderPath", script.getFolderPath());
+            scriptJson.addProperty("version", script.getVersion());
+            scriptsArray.add(scriptJson);
+        }
+        return scriptsArray;
+    }
 
     /**
-     * Handle POST /scripts/save - Save a Python script
+     * Handle DELETE /scripts/delete/:name - Delete a saved script
      *
-     * Request body: {"name": "...", "code": "...", "description": "...", "author": "...", "folderPath": "...", "version": "..."}
-     * Response: {"success": true/false, "script": {...}}
+     * Response: {"success": true/false}
      */
-    private static JsonObject handleSaveScript(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /scripts/save called");
+    private static JsonObject handleDeleteScript(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/delete called");
 
         try {
 
@@ -1570,187 +2666,285 @@ public final class Python3RestEndpoints {
                 return createErrorResponse("Script repository not initialized");
             }
 
-            JsonObject requestBody = parseJsonBody(req);
-            String name = requestBody.has("name") ? requestBody.get("name").getAsString() : null;
-            String code = requestBody.has("code") ? requestBody.get("code").getAsString() : "";
-            String description = requestBody.has("description") ? requestBody.get("description").getAsString() : null;
-            String author = requestBody.has("author") ? requestBody.get("author").getAsString() : "Unknown";
-            String folderPath = requestBody.has("folderPath") ? requestBody.get("folderPath").getAsString() : "";
-            String version = requestBody.has("version") ? requestBody.get("version").getAsString() : "1.0";
+            // Extract name from URL path
+            String requestPath = req.getRequest().getRequestURI();
+            String name = requestPath.substring(requestPath.lastIndexOf('/') + 1);
 
             if (name == null || name.trim().isEmpty()) {
                 return createErrorResponse("Script name is required");
             }
 
-            // INPUT VALIDATION: Validate all inputs
-            validateScriptName(name);
-            validateCode(code);
-            validateFolderPath(folderPath);
-
-            // AUDIT LOG: Log script save
-            auditLog("SCRIPT_SAVE", "name=" + name + ", folder=" + folderPath + ", code_hash=" + hashCode(code));
+            // AUDIT LOG: Log script deletion
+            auditLog("SCRIPT_DELETE", "name=" + name);
 
-            Python3ScriptRepository.SavedScript script = scriptRepository.saveScript(
-                name, code, description, author, folderPath, version
-            );
+            boolean deleted = scriptRepository.deleteScript(name);
 
             JsonObject response = new JsonObject();
-            response.addProperty("success", true);
+            response.addProperty("success", deleted);
 
-            JsonObject scriptJson = new JsonObject();
-            scriptJson.addProperty("id", script.getId());
-            scriptJson.addProperty("name", script.getName());
-            scriptJson.addProperty("description", script.getDescription());
-            scriptJson.addProperty("author", script.getAuthor());
-            scriptJson.addProperty("createdDate", script.getCreatedDate());
-            scriptJson.addProperty("lastModified", script.getLastModified());
-            scriptJson.addProperty("folderPath", script.getFolderPath());
-            scriptJson.addProperty("version", script.getVersion());
-            response.add("script", scriptJson);
+            if (!deleted) {
+                response.addProperty("message", "Script not found: " + name);
+            } else {
+                response.addProperty("message", "Script deleted successfully");
+            }
 
-            LOGGER.info("REST API: Script saved: {} in folder: {}", name, folderPath);
+            LOGGER.info("REST API: Script deletion: {} - {}", name, deleted ? "success" : "not found");
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /scripts/save failed", e);
+            LOGGER.error("REST API: /scripts/delete failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
     /**
-     * Handle GET /scripts/load/:name - Load a saved script
+     * Handle GET /scripts/history/:name - List a script's revisions, newest first
      *
-     * Response: {"success": true/false, "script": {...}}
+     * Query: ?revision=N also returns that revision's code
+     * Response: {"success": true, "name": "...", "revisions": [{revision, contentHash, lastModified, author,
+     *            version, folderPath, description, current}, ...], "code": "..."}
+     *
+     * v2.6.0
      */
-    private static JsonObject handleLoadScript(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /scripts/load called");
+    private static JsonObject handleScriptHistory(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/history called");
 
         try {
             if (scriptRepository == null) {
                 return createErrorResponse("Script repository not initialized");
             }
 
-            // Extract name from URL path
             String requestPath = req.getRequest().getRequestURI();
             String name = requestPath.substring(requestPath.lastIndexOf('/') + 1);
-
-            if (name == null || name.trim().isEmpty()) {
+            if (name.trim().isEmpty()) {
                 return createErrorResponse("Script name is required");
             }
 
-            Python3ScriptRepository.SavedScript script = scriptRepository.loadScript(name);
-
-            if (script == null) {
+            List<Python3ScriptRepository.ScriptRevision> revisions = scriptRepository.listHistory(name);
+            if (revisions == null) {
                 return createErrorResponse("Script not found: " + name);
             }
 
             JsonObject response = new JsonObject();
             response.addProperty("success", true);
+            response.addProperty("name", name);
+
+            JsonArray revisionsArray = new JsonArray();
+            for (Python3ScriptRepository.ScriptRevision revision : revisions) {
+                JsonObject revisionJson = new JsonObject();
+                revisionJson.addProperty("revision", revision.getRevision());
+                revisionJson.addProperty("contentHash", revision.getContentHash());
+                revisionJson.addProperty("lastModified", revision.getLastModified());
+                revisionJson.addProperty("author", revision.getAuthor());
+                revisionJson.addProperty("version", revision.getVersion());
+                revisionJson.addProperty("folderPath", revision.getFolderPath());
+                revisionJson.addProperty("description", revision.getDescription());
+                revisionJson.addProperty("current", revision.isCurrent());
+                revisionsArray.add(revisionJson);
+            }
+            response.add("revisions", revisionsArray);
 
-            JsonObject scriptJson = new JsonObject();
-            scriptJson.addProperty("id", script.getId());
-            scriptJson.addProperty("name", script.getName());
-            scriptJson.addProperty("code", script.getCode());
-            scriptJson.addProperty("description", script.getDescription());
-            scriptJson.addProperty("author", script.getAuthor());
-            scriptJson.addProperty("createdDate", script.getCreatedDate());
-            scriptJson.addProperty("lastModified", script.getLastModified());
-            scriptJson.addProperty("folderPath", script.getFolderPath());
-            scriptJson.addProperty("version", script.getVersion());
-            response.add("script", scriptJson);
+            String revisionParam = req.getRequest().getParameter("revision");
+            if (revisionParam != null) {
+                int revision = Integer.parseInt(revisionParam);
+                response.addProperty("revision", revision);
+                response.addProperty("code", scriptRepository.loadRevision(name, revision));
+            }
 
-            LOGGER.debug("REST API: Script loaded: {}", name);
             return response;
 
+        } catch (NumberFormatException e) {
+            return createErrorResponse("revision must be a number");
         } catch (Exception e) {
-            LOGGER.error("REST API: /scripts/load failed", e);
+            LOGGER.error("REST API: /scripts/history failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
     /**
-     * Handle GET /scripts/list - List all saved scripts
+     * Handle GET /scripts/diff/:name - Unified diff between two revisions
      *
-     * Response: {"success": true, "scripts": [...]}
+     * Query: ?from=N&to=M (default: the current revision against the one before it)
+     * Response: {"success": true, "from": N, "to": M, "diff": "--- ...\n+++ ...\n@@ ..."}
+     *
+     * v2.6.0
      */
-    private static JsonObject handleListScripts(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /scripts/list called");
+    private static JsonObject handleScriptDiff(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/diff called");
 
         try {
             if (scriptRepository == null) {
                 return createErrorResponse("Script repository not initialized");
             }
 
-            List<Python3ScriptRepository.ScriptMetadata> scripts = scriptRepository.listScripts();
+            String requestPath = req.getRequest().getRequestURI();
+            String name = requestPath.substring(requestPath.lastIndexOf('/') + 1);
+            if (name.trim().isEmpty()) {
+                return createErrorResponse("Script name is required");
+            }
+
+            List<Python3ScriptRepository.ScriptRevision> revisions = scriptRepository.listHistory(name);
+            if (revisions == null) {
+                return createErrorResponse("Script not found: " + name);
+            }
+
+            String toParam = req.getRequest().getParameter("to");
+            String fromParam = req.getRequest().getParameter("from");
+            int to = toParam != null ? Integer.parseInt(toParam) : revisions.get(0).getRevision();
+            int from = fromParam != null ? Integer.parseInt(fromParam) : Math.max(1, to - 1);
 
             JsonObject response = new JsonObject();
             response.addProperty("success", true);
+            response.addProperty("name", name);
+            response.addProperty("from", from);
+            response.addProperty("to", to);
+            response.addProperty("diff", scriptRepository.diffRevisions(name, from, to));
+            return response;
 
-            JsonArray scriptsArray = new JsonArray();
-            for (Python3ScriptRepository.ScriptMetadata script : scripts) {
-                JsonObject scriptJson = new JsonObject();
-                scriptJson.addProperty("id", script.getId());
-                scriptJson.addProperty("name", script.getName());
-                scriptJson.addProperty("description", script.getDescription());
-                scriptJson.addProperty("author", script.getAuthor());
-                scriptJson.addProperty("createdDate", script.getCreatedDate());
-                scriptJson.addProperty("lastModified", script.getLastModified());
-                scriptJson.addProperty("folderPath", script.getFolderPath());
-                scriptJson.addProperty("version", script.getVersion());
-                scriptsArray.add(scriptJson);
+        } catch (NumberFormatException e) {
+            return createErrorResponse("from and to must be revision numbers");
+        } catch (Exception e) {
+            LOGGER.error("REST API: /scripts/diff failed", e);
+            return createErrorResponse(e.getMessage());
+        }
+    }
+
+    /**
+     * Handle GET /scripts/search - Find scripts by substring or regex in their code or path
+     *
+     * Query: ?q=text&regex=false&matchCase=false&limit=50&matches=5
+     * Response: {"success": true, "total": N, "results": [{id, name, folderPath, path, lastModified,
+     *            pathMatch, matchingLines, matches: [{line, column, text}, ...]}, ...]}
+     *
+     * Results are ranked path matches first, then by number of matching lines; total counts all
+     * matching scripts, results holds at most limit of them. Queries are limited to
+     * MAX_SEARCH_QUERY_LENGTH characters, and a regex search to -Dignition.python3.scripts.searchTimeoutMs.
+     *
+     * v2.6.0
+     */
+    private static JsonObject handleScriptSearch(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/search called");
+
+        try {
+            if (scriptRepository == null) {
+                return createErrorResponse("Script repository not initialized");
             }
-            response.add("scripts", scriptsArray);
 
-            LOGGER.debug("REST API: Listed {} scripts", scripts.size());
+            String query = req.getRequest().getParameter("q");
+            if (query == null || query.isEmpty()) {
+                return createErrorResponse("Search query (q) is required");
+            }
+            if (query.length() > MAX_SEARCH_QUERY_LENGTH) {
+                return createErrorResponse("Search query too long. Maximum: " + MAX_SEARCH_QUERY_LENGTH
+                        + " characters");
+            }
+            boolean regex = Boolean.parseBoolean(req.getRequest().getParameter("regex"));
+            boolean matchCase = Boolean.parseBoolean(req.getRequest().getParameter("matchCase"));
+            String limitParam = req.getRequest().getParameter("limit");
+            String matchesParam = req.getRequest().getParameter("matches");
+            int limit = limitParam != null ? Integer.parseInt(limitParam) : 50;
+            int maxMatches = matchesParam != null ? Integer.parseInt(matchesParam) : 5;
+
+            List<Python3ScriptRepository.ScriptSearchResult> results =
+                    scriptRepository.search(query, regex, matchCase, Math.max(0, maxMatches));
+
+            JsonArray resultsArray = new JsonArray();
+            for (Python3ScriptRepository.ScriptSearchResult result
+                    : results.subList(0, Math.min(Math.max(0, limit), results.size()))) {
+                JsonObject resultJson = new JsonObject();
+                resultJson.addProperty("id", result.getId());
+                resultJson.addProperty("name", result.getName());
+                resultJson.addProperty("folderPath", result.getFolderPath());
+                resultJson.addProperty("path", result.getPath());
+                resultJson.addProperty("lastModified", result.getLastModified());
+                resultJson.addProperty("pathMatch", result.isPathMatch());
+                resultJson.addProperty("matchingLines", result.getMatchingLines());
+
+                JsonArray matchesArray = new JsonArray();
+                for (Python3ScriptRepository.ScriptSearchMatch match : result.getMatches()) {
+                    JsonObject matchJson = new JsonObject();
+                    matchJson.addProperty("line", match.getLine());
+                    matchJson.addProperty("column", match.getColumn());
+                    matchJson.addProperty("text", match.getText());
+                    matchesArray.add(matchJson);
+                }
+                resultJson.add("matches", matchesArray);
+                resultsArray.add(resultJson);
+            }
+
+            JsonObject response = new JsonObject();
+            response.addProperty("success", true);
+            response.addProperty("total", results.size());
+            response.add("results", resultsArray);
             return response;
 
+        } catch (NumberFormatException e) {
+            return createErrorResponse("limit and matches must be numbers");
+        } catch (PatternSyntaxException e) {
+            return createErrorResponse("Invalid regular expression: " + e.getDescription());
+        } catch (Python3ScriptRepository.SearchTimeoutException e) {
+            LOGGER.warn("REST API: /scripts/search timed out: {}", req.getRequest().getParameter("q"));
+            return createErrorResponse(e.getMessage());
         } catch (Exception e) {
-            LOGGER.error("REST API: /scripts/list failed", e);
+            LOGGER.error("REST API: /scripts/search failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
 
     /**
-     * Handle DELETE /scripts/delete/:name - Delete a saved script
+     * Handle POST /scripts/restore/:name - Make an earlier revision current (saved as a new revision)
      *
-     * Response: {"success": true/false}
+     * Request body: {"revision": N, "author": "..."}
+     * Response: {"success": true, "restoredRevision": N, "script": {...}}
+     *
+     * v2.6.0
      */
-    private static JsonObject handleDeleteScript(RequestContext req, HttpServletResponse res) {
-        LOGGER.debug("REST API: /scripts/delete called");
+    private static JsonObject handleScriptRestore(RequestContext req, HttpServletResponse res) {
+        LOGGER.debug("REST API: /scripts/restore called");
 
         try {
-
             if (scriptRepository == null) {
                 return createErrorResponse("Script repository not initialized");
             }
 
-            // Extract name from URL path
             String requestPath = req.getRequest().getRequestURI();
             String name = requestPath.substring(requestPath.lastIndexOf('/') + 1);
-
-            if (name == null || name.trim().isEmpty()) {
+            if (name.trim().isEmpty()) {
                 return createErrorResponse("Script name is required");
             }
 
-            // AUDIT LOG: Log script deletion
-            auditLog("SCRIPT_DELETE", "name=" + name);
+            JsonObject requestBody = parseJsonBody(req);
+            if (!requestBody.has("revision")) {
+                return createErrorResponse("revision is required");
+            }
+            int revision = requestBody.get("revision").getAsInt();
+            String author = requestBody.has("author") ? requestBody.get("author").getAsString() : "Unknown";
 
-            boolean deleted = scriptRepository.deleteScript(name);
+            // AUDIT LOG: Log script restore
+            auditLog("SCRIPT_RESTORE", "name=" + name + ", revision=" + revision);
+
+            Python3ScriptRepository.SavedScript script = scriptRepository.restoreRevision(name, revision, author);
 
             JsonObject response = new JsonObject();
-            response.addProperty("success", deleted);
+            response.addProperty("success", true);
+            response.addProperty("restoredRevision", revision);
 
-            if (!deleted) {
-                response.addProperty("message", "Script not found: " + name);
-            } else {
-                response.addProperty("message", "Script deleted successfully");
-            }
+            JsonObject scriptJson = new JsonObject();
+            scriptJson.addProperty("id", script.getId());
+            scriptJson.addProperty("name", script.getName());
+            scriptJson.addProperty("description", script.getDescription());
+            scriptJson.addProperty("author", script.getAuthor());
+            scriptJson.addProperty("createdDate", script.getCreatedDate());
+            scriptJson.addProperty("lastModified", script.getLastModified());
+            scriptJson.addProperty("folderPath", script.getFolderPath());
+            scriptJson.addProperty("version", script.getVersion());
+            response.add("script", scriptJson);
 
-            LOGGER.info("REST API: Script deletion: {} - {}", name, deleted ? "success" : "not found");
+            LOGGER.info("REST API: Script {} restored to revision {}", name, revision);
             return response;
 
         } catch (Exception e) {
-            LOGGER.error("REST API: /scripts/delete failed", e);
+            LOGGER.error("REST API: /scripts/restore failed", e);
             return createErrorResponse(e.getMessage());
         }
     }
@@ -2044,6 +3238,137 @@ public final class Python3RestEndpoints {
         return JsonParser.parseString(jsonString).getAsJsonObject();
     }
 
+    /**
+     * Wrap a route handler so each call is recorded as a JFR RestRequest event (v2.6.0).
+     * A call counts as failed if it throws or returns a JSON body with "success": false.
+     */
+    private static RouteHandler timed(String route, RouteHandler handler) {
+        return (req, res) -> {
+            Python3JfrEvents.RestRequest event = new Python3JfrEvents.RestRequest();
+            event.begin();
+            boolean success = false;
+            try {
+                Object response = handler.handle(req, res);
+                success = !isFailureResponse(response);
+                return response;
+            } finally {
+                event.end();
+                if (event.shouldCommit()) {
+                    event.route = route;
+                    event.success = success;
+                    event.commit();
+                }
+            }
+        };
+    }
+
+    private static boolean isFailureResponse(Object response) {
+        if (response instanceof JsonObject) {
+            JsonObject json = (JsonObject) response;
+            return json.has("success") && json.get("success").isJsonPrimitive() && !json.get("success").getAsBoolean();
+        }
+        return false;
+    }
+
+    /**
+     * True if the client asked for a job instead of a synchronous result:
+     * "async": true in the body or ?async=true (v2.6.0)
+     */
+    private static boolean isAsyncRequest(RequestContext req, JsonObject requestBody) {
+        if (requestBody.has("async") && requestBody.get("async").isJsonPrimitive()) {
+            return requestBody.get("async").getAsBoolean();
+        }
+        return "true".equalsIgnoreCase(req.getRequest().getParameter("async"));
+    }
+
+    /**
+     * Queue an execution as a job and answer 202 with its id (v2.6.0)
+     */
+    private static JsonObject submitJob(String kind, Callable<JsonObject> work, HttpServletResponse res) {
+        Python3JobStore store = jobStore;
+        if (store == null) {
+            return createErrorResponse("Async jobs are not available (module not started)");
+        }
+
+        Python3JobStore.Job job;
+        try {
+            job = store.submit(kind, work::call);
+        } catch (IllegalStateException e) {
+            LOGGER.warn("REST API: rejected async {} job: {}", kind, e.getMessage());
+            res.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            return createErrorResponse(e.getMessage());
+        }
+
+        String statusUrl = "/data/python3integration/api/v1/jobs/" + job.getId();
+        res.setStatus(HttpServletResponse.SC_ACCEPTED);
+        res.setHeader("Location", statusUrl);
+
+        JsonObject response = new JsonObject();
+        response.addProperty("success", true);
+        response.addProperty("jobId", job.getId());
+        response.addProperty("status", job.getStatus());
+        response.addProperty("statusUrl", statusUrl);
+        return response;
+    }
+
+    /**
+     * Job status body: 202 while pending, otherwise the job's own response plus job fields (v2.6.0)
+     */
+    private static JsonObject jobResponse(Python3JobStore.Job job, HttpServletResponse res) {
+        Map<String, Object> status = job.getHandle().toMap();
+        JsonObject response;
+
+        if (!job.getHandle().isDone()) {
+            res.setStatus(HttpServletResponse.SC_ACCEPTED);
+            response = new JsonObject();
+            response.addProperty("success", true);
+        } else if (job.getHandle().isSuccess()) {
+            response = ((JsonObject) status.get("result")).deepCopy();
+        } else {
+            response = createErrorResponse(String.valueOf(status.get("error")));
+        }
+
+        response.addProperty("jobId", job.getId());
+        response.addProperty("kind", job.getKind());
+        response.addProperty("status", job.getStatus());
+        if (status.containsKey("queuedMs")) {
+            response.addProperty("queuedMs", (Double) status.get("queuedMs"));
+        }
+        if (status.containsKey("elapsedMs")) {
+            response.addProperty("runMs", (Double) status.get("elapsedMs"));
+        }
+        return response;
+    }
+
+    /**
+     * Start a trace for a REST execution, continuing the caller's W3C traceparent header if present (v2.6.0)
+     */
+    private static Python3Trace beginTrace(RequestContext req, String name) {
+        Python3Trace trace = Python3Trace.begin(name, req.getRequest().getHeader("traceparent"));
+        trace.setAttribute("http.route", name);
+        return trace;
+    }
+
+    /**
+     * Add timing fields to an execution response and echo the traceparent header (v2.6.0)
+     *
+     * Adds "executionTimeMs", "timestamp", "traceId" and "phases" ({phase: ms} in execution order).
+     */
+    private static JsonObject addTraceTiming(JsonObject response, Python3Trace trace, HttpServletResponse res) {
+        response.addProperty("executionTimeMs", trace.getDurationNanos() / 1_000_000L);
+        response.addProperty("timestamp", System.currentTimeMillis());
+        response.addProperty("traceId", trace.getTraceId());
+
+        JsonObject phases = new JsonObject();
+        for (Map.Entry<String, Double> phase : trace.getPhasesMillis().entrySet()) {
+            phases.addProperty(phase.getKey(), Math.round(phase.getValue() * 1000.0) / 1000.0);
+        }
+        response.add("phases", phases);
+
+        res.setHeader("traceparent", trace.toTraceparent());
+        return response;
+    }
+
     private static JsonObject createErrorResponse(String errorMessage) {
         JsonObject response = new JsonObject();
         response.addProperty("success", false);
@@ -2061,6 +3386,11 @@ public final class Python3RestEndpoints {
                 json.addProperty(entry.getKey(), (Number) value);
             } else if (value instanceof Boolean) {
                 json.addProperty(entry.getKey(), (Boolean) value);
+            } else if (value instanceof Map) {
+                // v2.6.0: Nested maps (e.g. latency_by_command, error_counts) as JSON objects
+                @SuppressWarnings("unchecked")
+                Map<String, Object> nested = (Map<String, Object>) value;
+                json.add(entry.getKey(), mapToJson(nested));
             } else if (value != null) {
                 json.addProperty(entry.getKey(), value.toString());
             }
@@ -2068,6 +3398,32 @@ public final class Python3RestEndpoints {
         return json;
     }
 
+    /**
+     * Convert a value decoded from the bridge (maps, lists, strings, numbers, booleans) to JSON (v2.6.0)
+     */
+    private static JsonElement objectToJson(Object value) {
+        if (value == null) {
+            return JsonNull.INSTANCE;
+        } else if (value instanceof Map) {
+            JsonObject json = new JsonObject();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                json.add(String.valueOf(entry.getKey()), objectToJson(entry.getValue()));
+            }
+            return json;
+        } else if (value instanceof List) {
+            JsonArray json = new JsonArray();
+            for (Object item : (List<?>) value) {
+                json.add(objectToJson(item));
+            }
+            return json;
+        } else if (value instanceof Number) {
+            return new JsonPrimitive((Number) value);
+        } else if (value instanceof Boolean) {
+            return new JsonPrimitive((Boolean) value);
+        }
+        return new JsonPrimitive(value.toString());
+    }
+
     private static Map<String, Object> jsonToMap(JsonObject json) {
         Map<String, Object> map = new HashMap<>();
         for (String key : json.keySet()) {
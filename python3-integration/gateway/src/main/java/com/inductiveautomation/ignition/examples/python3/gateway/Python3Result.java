@@ -9,6 +9,8 @@ public class Python3Result {
     private final Object result;
     private final String error;
     private final String traceback;
+    private Python3Trace trace;  // v2.6.0: phase timings, set by the pool
+    private Boolean warm;  // v2.6.0: saved-script calls only, null otherwise
 
     public Python3Result(boolean success, Object result, String error, String traceback) {
         this.success = success;
@@ -33,6 +35,42 @@ public class Python3Result {
         return traceback;
     }
 
+    /**
+     * Trace with the phase breakdown of this execution (v2.6.0)
+     *
+     * @return the trace, or null if the execution was not traced
+     */
+    public Python3Trace getTrace() {
+        return trace;
+    }
+
+    /**
+     * Phase durations in milliseconds in execution order (v2.6.0)
+     *
+     * @return phase timings, empty if the execution was not traced
+     */
+    public java.util.Map<String, Double> getPhasesMillis() {
+        return trace != null ? trace.getPhasesMillis() : java.util.Collections.emptyMap();
+    }
+
+    void attachTrace(Python3Trace trace) {
+        this.trace = trace;
+    }
+
+    /**
+     * For saved-script calls: true if the executor already had the script loaded (only the entry
+     * point, or the cached code object, ran), false if it compiled the script for this call (v2.6.0)
+     *
+     * @return warm/cold flag, or null for other commands
+     */
+    public Boolean getWarm() {
+        return warm;
+    }
+
+    void setWarm(Boolean warm) {
+        this.warm = warm;
+    }
+
     /**
      * Get result or throw exception if failed
      */
@@ -0,0 +1,325 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Line diffs between script revisions (Myers' O(ND) algorithm).
+ *
+ * Used for the unified diffs returned by the history REST routes and for the deltas older
+ * revisions are stored as. A delta rebuilds a text from its base: each op is either [start, count]
+ * (copy that many base lines) or a string (insert it). Texts differing in more than
+ * {@value #MAX_EDIT_DISTANCE} lines are treated as entirely replaced.
+ *
+ * v2.6.0: Added with script version history
+ */
+public final class Python3ScriptDiff {
+
+    private static final int MAX_EDIT_DISTANCE = 2000;  // bounds the O(D^2) trace memory
+
+    private static final char EQUAL = '=';
+    private static final char DELETE = '-';
+    private static final char INSERT = '+';
+
+    private Python3ScriptDiff() {
+    }
+
+    /**
+     * Unified diff from one text to another, or an empty string if they are equal
+     *
+     * @param context number of unchanged lines shown around each change
+     */
+    public static String unified(String from, String to, String fromLabel, String toLabel, int context) {
+        List<String> a = lines(from);
+        List<String> b = lines(to);
+        List<Edit> edits = edits(a, b);
+        if (edits == null) {
+            edits = replaceAll(a, b);
+        }
+
+        StringBuilder out = new StringBuilder();
+        int n = edits.size();
+        int i = 0;
+        while (i < n) {
+            while (i < n && edits.get(i).op == EQUAL) {
+                i++;
+            }
+            if (i >= n) {
+                break;
+            }
+            if (out.length() == 0) {
+                out.append("--- ").append(fromLabel).append('\n');
+                out.append("+++ ").append(toLabel).append('\n');
+            }
+
+            // Extend the hunk until a run of unchanged lines is long enough to split on
+            int start = contextStart(edits, i, context);
+            int j = i;
+            int end;
+            while (true) {
+                while (j < n && edits.get(j).op != EQUAL) {
+                    j++;
+                }
+                int equalStart = j;
+                while (j < n && edits.get(j).op == EQUAL) {
+                    j++;
+                }
+                if (j >= n || j - equalStart > 2 * context) {
+                    end = Math.min(equalStart + context, n);
+                    break;
+                }
+            }
+
+            appendHunk(out, a, b, edits.subList(start, end));
+            i = end;
+        }
+        return out.toString();
+    }
+
+    /**
+     * Delta that rebuilds target from base with {@link #apply}
+     */
+    public static JsonArray delta(String base, String target) {
+        List<String> a = lines(base);
+        List<String> b = lines(target);
+        List<Edit> edits = edits(a, b);
+
+        JsonArray ops = new JsonArray();
+        if (edits == null) {
+            ops.add(target);
+            return ops;
+        }
+
+        int i = 0;
+        while (i < edits.size()) {
+            Edit edit = edits.get(i);
+            if (edit.op == EQUAL) {
+                int startLine = edit.aIndex;
+                int count = 0;
+                while (i < edits.size() && edits.get(i).op == EQUAL && edits.get(i).aIndex == startLine + count) {
+                    count++;
+                    i++;
+                }
+                JsonArray copy = new JsonArray();
+                copy.add(startLine);
+                copy.add(count);
+                ops.add(copy);
+            } else if (edit.op == INSERT) {
+                StringBuilder text = new StringBuilder();
+                while (i < edits.size() && edits.get(i).op == INSERT) {
+                    text.append(b.get(edits.get(i).bIndex));
+                    i++;
+                }
+                ops.add(text.toString());
+            } else {
+                i++;
+            }
+        }
+        return ops;
+    }
+
+    /**
+     * Rebuild a text from its base and a delta produced by {@link #delta}
+     *
+     * @throws IllegalArgumentException if the delta does not fit the base
+     */
+    public static String apply(String base, JsonArray ops) {
+        List<String> a = lines(base);
+        StringBuilder out = new StringBuilder();
+        for (JsonElement op : ops) {
+            if (op.isJsonArray()) {
+                int start = op.getAsJsonArray().get(0).getAsInt();
+                int count = op.getAsJsonArray().get(1).getAsInt();
+                if (start < 0 || count < 0 || start + count > a.size()) {
+                    throw new IllegalArgumentException("Delta copies lines " + start + "+" + count
+                            + " from a base of " + a.size() + " lines");
+                }
+                for (int line = start; line < start + count; line++) {
+                    out.append(a.get(line));
+                }
+            } else {
+                out.append(op.getAsString());
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Split into lines, each keeping its terminator, so joining them gives the text back
+     */
+    static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        int start = 0;
+        for (int i = 0; i < text.length(); i++) {
+            if (text.charAt(i) == '\n') {
+                lines.add(text.substring(start, i + 1));
+                start = i + 1;
+            }
+        }
+        if (start < text.length()) {
+            lines.add(text.substring(start));
+        }
+        return lines;
+    }
+
+    /**
+     * Index of the first edit of a hunk whose first change is at i: up to context unchanged lines earlier
+     */
+    private static int contextStart(List<Edit> edits, int i, int context) {
+        int start = i;
+        while (start > 0 && i - start < context && edits.get(start - 1).op == EQUAL) {
+            start--;
+        }
+        return start;
+    }
+
+    private static void appendHunk(StringBuilder out, List<String> a, List<String> b, List<Edit> hunk) {
+        int oldCount = 0;
+        int newCount = 0;
+        for (Edit edit : hunk) {
+            if (edit.op != INSERT) {
+                oldCount++;
+            }
+            if (edit.op != DELETE) {
+                newCount++;
+            }
+        }
+        Edit first = hunk.get(0);
+        int oldStart = oldCount == 0 ? first.aIndex : first.aIndex + 1;
+        int newStart = newCount == 0 ? first.bIndex : first.bIndex + 1;
+        out.append("@@ -").append(oldStart).append(',').append(oldCount)
+                .append(" +").append(newStart).append(',').append(newCount).append(" @@\n");
+
+        for (Edit edit : hunk) {
+            String line = edit.op == INSERT ? b.get(edit.bIndex) : a.get(edit.aIndex);
+            out.append(edit.op == EQUAL ? ' ' : edit.op).append(line);
+            if (!line.endsWith("\n")) {
+                out.append("\n\\ No newline at end of file\n");
+            }
+        }
+    }
+
+    private static List<Edit> replaceAll(List<String> a, List<String> b) {
+        List<Edit> edits = new ArrayList<>();
+        for (int i = 0; i < a.size(); i++) {
+            edits.add(new Edit(DELETE, i, 0));
+        }
+        for (int j = 0; j < b.size(); j++) {
+            edits.add(new Edit(INSERT, a.size(), j));
+        }
+        return edits;
+    }
+
+    /**
+     * Shortest edit script from a to b, or null if more than MAX_EDIT_DISTANCE lines differ
+     */
+    private static List<Edit> edits(List<String> a, List<String> b) {
+        int n = a.size();
+        int m = b.size();
+        int prefix = 0;
+        while (prefix < n && prefix < m && a.get(prefix).equals(b.get(prefix))) {
+            prefix++;
+        }
+        int suffix = 0;
+        while (suffix < n - prefix && suffix < m - prefix && a.get(n - 1 - suffix).equals(b.get(m - 1 - suffix))) {
+            suffix++;
+        }
+
+        List<Edit> middle = myers(a, prefix, n - prefix - suffix, b, prefix, m - prefix - suffix);
+        if (middle == null) {
+            return null;
+        }
+
+        List<Edit> edits = new ArrayList<>(prefix + middle.size() + suffix);
+        for (int i = 0; i < prefix; i++) {
+            edits.add(new Edit(EQUAL, i, i));
+        }
+        edits.addAll(middle);
+        for (int s = 0; s < suffix; s++) {
+            edits.add(new Edit(EQUAL, n - suffix + s, m - suffix + s));
+        }
+        return edits;
+    }
+
+    private static List<Edit> myers(List<String> a, int aOffset, int n, List<String> b, int bOffset, int m) {
+        int max = n + m;
+        int offset = max + 1;
+        int[] v = new int[2 * max + 3];
+        List<int[]> trace = new ArrayList<>();
+
+        for (int d = 0; d <= Math.min(max, MAX_EDIT_DISTANCE); d++) {
+            // v as it was before step d, for diagonals -d-1..d+1
+            int[] snapshot = new int[2 * d + 3];
+            System.arraycopy(v, offset - d - 1, snapshot, 0, snapshot.length);
+            trace.add(snapshot);
+
+            for (int k = -d; k <= d; k += 2) {
+                int x = k == -d || (k != d && v[offset + k - 1] < v[offset + k + 1])
+                        ? v[offset + k + 1]
+                        : v[offset + k - 1] + 1;
+                int y = x - k;
+                while (x < n && y < m && a.get(aOffset + x).equals(b.get(bOffset + y))) {
+                    x++;
+                    y++;
+                }
+                v[offset + k] = x;
+                if (x >= n && y >= m) {
+                    return backtrack(trace, d, n, m, aOffset, bOffset);
+                }
+            }
+        }
+        return null;
+    }
+
+    private static List<Edit> backtrack(List<int[]> trace, int distance, int n, int m, int aOffset, int bOffset) {
+        List<Edit> edits = new ArrayList<>();
+        int x = n;
+        int y = m;
+        for (int d = distance; d > 0; d--) {
+            int[] v = trace.get(d);
+            int k = x - y;
+            int prevK = k == -d || (k != d && v[k - 1 + d + 1] < v[k + 1 + d + 1]) ? k + 1 : k - 1;
+            int prevX = v[prevK + d + 1];
+            int prevY = prevX - prevK;
+            while (x > prevX && y > prevY) {
+                edits.add(new Edit(EQUAL, aOffset + x - 1, bOffset + y - 1));
+                x--;
+                y--;
+            }
+            if (x == prevX) {
+                edits.add(new Edit(INSERT, aOffset + x, bOffset + y - 1));
+            } else {
+                edits.add(new Edit(DELETE, aOffset + x - 1, bOffset + y));
+            }
+            x = prevX;
+            y = prevY;
+        }
+        while (x > 0 && y > 0) {
+            edits.add(new Edit(EQUAL, aOffset + x - 1, bOffset + y - 1));
+            x--;
+            y--;
+        }
+        Collections.reverse(edits);
+        return edits;
+    }
+
+    /**
+     * One line of an edit script. For inserts aIndex is the position in a the line goes before;
+     * for deletes bIndex is the position in b.
+     */
+    private static final class Edit {
+        final char op;
+        final int aIndex;
+        final int bIndex;
+
+        Edit(char op, int aIndex, int bIndex) {
+            this.op = op;
+            this.aIndex = aIndex;
+            this.bIndex = bIndex;
+        }
+    }
+}
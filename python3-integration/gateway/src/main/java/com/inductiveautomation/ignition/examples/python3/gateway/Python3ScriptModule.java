@@ -4,10 +4,12 @@ import com.inductiveautomation.ignition.examples.python3.Python3RpcFunctions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 /**
@@ -110,6 +112,88 @@ public class Python3ScriptModule implements Python3RpcFunctions {
         }
     }
 
+    /**
+     * Register Python 3 code once and get a handle to run it by.
+     * The same code always gets the same handle (a SHA-256 content hash).
+     *
+     * v2.6.0: Added for prepared-code handles
+     *
+     * @param code Python code to prepare
+     * @return Handle to pass to execPrepared()
+     */
+    @Override
+    public String prepare(String code) {
+        Python3ProcessPool pool = getProcessPool();
+        if (pool == null) {
+            String errorMsg = "Python 3 process pool is not initialized. Check Gateway logs for initialization errors.";
+            LOGGER.error(errorMsg);
+            throw new RuntimeException(errorMsg);
+        }
+        return pool.prepare(code);
+    }
+
+    /**
+     * Execute prepared code by handle.
+     *
+     * @param handle Handle returned by prepare()
+     * @return Result of execution
+     */
+    public Object execPrepared(String handle) throws Exception {
+        return execPrepared(handle, Collections.emptyMap());
+    }
+
+    /**
+     * Execute prepared code by handle with variables. Only the handle and variables are sent to
+     * an executor that has already run this handle.
+     *
+     * @param handle    Handle returned by prepare()
+     * @param variables Dictionary of variables to pass to Python
+     * @return Result of execution
+     */
+    @Override
+    public Object execPrepared(String handle, Map<String, Object> variables) throws Exception {
+        return execPrepared(handle, variables, "RESTRICTED");
+    }
+
+    /**
+     * Execute prepared code by handle with variables and security mode.
+     *
+     * @param handle       Handle returned by prepare()
+     * @param variables    Dictionary of variables to pass to Python
+     * @param securityMode Security mode: "RESTRICTED" or "ADMIN"
+     * @return Result of execution
+     */
+    public Object execPrepared(String handle, Map<String, Object> variables, String securityMode) throws Exception {
+        LOGGER.debug("execPrepared() called with handle: {}, security mode: {}", handle, securityMode);
+
+        try {
+            Python3ProcessPool pool = getProcessPool();
+            if (pool == null) {
+                String errorMsg = "Python 3 process pool is not initialized. Check Gateway logs for initialization errors.";
+                LOGGER.error(errorMsg);
+                throw new RuntimeException(errorMsg);
+            }
+
+            Python3Result result = pool.executePrepared(handle,
+                    variables != null ? variables : Collections.emptyMap(), securityMode);
+
+            if (result.isSuccess()) {
+                return result.getResult();
+            } else {
+                String errorMsg = "Python error: " + result.getError();
+                if (result.getTraceback() != null && !result.getTraceback().isEmpty()) {
+                    errorMsg += "\n" + result.getTraceback();
+                }
+                LOGGER.error(errorMsg);
+                throw new RuntimeException(errorMsg);
+            }
+
+        } catch (Python3Exception e) {
+            LOGGER.error("Failed to execute prepared Python code", e);
+            throw new RuntimeException("Failed to execute prepared Python code: " + e.getMessage(), e);
+        }
+    }
+
     /**
      * Evaluate a Python 3 expression and return the result.
      *
@@ -246,6 +330,230 @@ public class Python3ScriptModule implements Python3RpcFunctions {
         }
     }
 
+    /**
+     * Run several pieces of Python 3 code on one executor in a single round trip.
+     *
+     * Each item is either a code string or a dictionary describing one operation:
+     * {"code": ..., "variables": {...}} for exec (the default), or with "command" set to
+     * "evaluate" ({"expression": ...}) or "call_module" ({"module", "function", "args", "kwargs"}).
+     *
+     * v2.6.0: Added for batch execution
+     *
+     * @param operations Code strings or operation dictionaries
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    @Override
+    public List<Map<String, Object>> execBatch(List<Object> operations) throws Exception {
+        return execBatch(operations, "RESTRICTED");
+    }
+
+    /**
+     * Run several pieces of Python 3 code on one executor with a security mode.
+     *
+     * @param operations   Code strings or operation dictionaries
+     * @param securityMode Security mode applied to every item: "RESTRICTED" or "ADMIN"
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    public List<Map<String, Object>> execBatch(List<Object> operations, String securityMode) throws Exception {
+        return runBatch(toBatchOperations(operations, "execute", Collections.emptyMap()), securityMode);
+    }
+
+    /**
+     * Evaluate several Python 3 expressions on one executor in a single round trip.
+     *
+     * v2.6.0: Added for batch execution
+     *
+     * @param expressions Expression strings (or operation dictionaries, see execBatch)
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    public List<Map<String, Object>> evalBatch(List<Object> expressions) throws Exception {
+        return evalBatch(expressions, Collections.emptyMap());
+    }
+
+    /**
+     * Evaluate several Python 3 expressions with shared variables on one executor.
+     *
+     * @param expressions Expression strings (or operation dictionaries, see execBatch)
+     * @param variables   Variables passed to every expression
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    @Override
+    public List<Map<String, Object>> evalBatch(List<Object> expressions, Map<String, Object> variables)
+            throws Exception {
+        return evalBatch(expressions, variables, "RESTRICTED");
+    }
+
+    /**
+     * Evaluate several Python 3 expressions with shared variables and a security mode.
+     *
+     * @param expressions  Expression strings (or operation dictionaries, see execBatch)
+     * @param variables    Variables passed to every expression
+     * @param securityMode Security mode applied to every item: "RESTRICTED" or "ADMIN"
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    public List<Map<String, Object>> evalBatch(List<Object> expressions, Map<String, Object> variables,
+                                               String securityMode) throws Exception {
+        return runBatch(toBatchOperations(expressions, "evaluate",
+                variables != null ? variables : Collections.emptyMap()), securityMode);
+    }
+
+    /**
+     * Run prepared batch operations (as built by toBatchOperations or the REST API).
+     * A failing item is reported in its own entry; only a failure of the whole batch throws.
+     *
+     * @param operations   Request maps with "command" and its arguments
+     * @param securityMode Security mode applied to every item
+     * @return One dictionary per item with success, result, error and traceback
+     */
+    @SuppressWarnings("unchecked")
+    public List<Map<String, Object>> runBatch(List<Map<String, Object>> operations, String securityMode) {
+        LOGGER.debug("runBatch() called with {} operations, security mode: {}", operations.size(), securityMode);
+
+        if (operations.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        try {
+            Python3ProcessPool pool = getProcessPool();
+            if (pool == null) {
+                String errorMsg = "Python 3 process pool is not initialized. Check Gateway logs for initialization errors.";
+                LOGGER.error(errorMsg);
+                throw new RuntimeException(errorMsg);
+            }
+
+            Python3Result result = pool.executeBatch(operations, securityMode);
+
+            if (result.isSuccess() && result.getResult() instanceof List) {
+                return (List<Map<String, Object>>) result.getResult();
+            } else {
+                String errorMsg = "Python error: " + result.getError();
+                if (result.getTraceback() != null) {
+                    errorMsg += "\n" + result.getTraceback();
+                }
+                LOGGER.error(errorMsg);
+                throw new RuntimeException(errorMsg);
+            }
+
+        } catch (Python3Exception e) {
+            LOGGER.error("Failed to execute Python batch", e);
+            throw new RuntimeException("Failed to execute Python batch: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Call a module function once per argument across several executors.
+     *
+     * v2.6.0: Added for parallel map
+     *
+     * @param moduleName   Module name (e.g., "math")
+     * @param functionName Function name (e.g., "sqrt")
+     * @param argsList     One entry per call: a list of positional arguments, or a single argument
+     * @return Dictionary with "results" (in argument order, None where a call failed), "errors"
+     *         ([{index, error}]), "succeeded", "failed", "chunks", "chunkSize", "concurrency" and "elapsedMs"
+     */
+    public Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList)
+            throws Exception {
+        return parallelMap(moduleName, functionName, argsList, 0);
+    }
+
+    /**
+     * Call a module function once per argument across several executors, in chunks of chunkSize calls.
+     *
+     * @param moduleName   Module name
+     * @param functionName Function name
+     * @param argsList     One entry per call: a list of positional arguments, or a single argument
+     * @param chunkSize    Calls sent to an executor at a time (0 picks a size)
+     * @return Dictionary with ordered results and per-call errors (see above)
+     */
+    @Override
+    public Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList,
+                                           int chunkSize) throws Exception {
+        return parallelMap(moduleName, functionName, argsList, chunkSize, 0);
+    }
+
+    /**
+     * Call a module function once per argument, with at most maxConcurrency executors in use.
+     *
+     * @param moduleName     Module name
+     * @param functionName   Function name
+     * @param argsList       One entry per call: a list of positional arguments, or a single argument
+     * @param chunkSize      Calls sent to an executor at a time (0 picks a size)
+     * @param maxConcurrency Executors used at once (0 = half the pool)
+     * @return Dictionary with ordered results and per-call errors (see above)
+     */
+    public Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList,
+                                           int chunkSize, int maxConcurrency) throws Exception {
+        return parallelMap(moduleName, functionName, argsList, chunkSize, maxConcurrency, "RESTRICTED");
+    }
+
+    /**
+     * Call a module function once per argument across several executors with a security mode.
+     *
+     * @param moduleName     Module name
+     * @param functionName   Function name
+     * @param argsList       One entry per call: a list of positional arguments, or a single argument
+     * @param chunkSize      Calls sent to an executor at a time (0 picks a size)
+     * @param maxConcurrency Executors used at once (0 = half the pool)
+     * @param securityMode   Security mode: "RESTRICTED" or "ADMIN"
+     * @return Dictionary with ordered results and per-call errors (see above)
+     */
+    public Map<String, Object> parallelMap(String moduleName, String functionName, List<Object> argsList,
+                                           int chunkSize, int maxConcurrency, String securityMode) {
+        LOGGER.debug("parallelMap() called: {}.{}() x {}, chunk size: {}, max concurrency: {}",
+                moduleName, functionName, argsList != null ? argsList.size() : 0, chunkSize, maxConcurrency);
+
+        try {
+            Python3ProcessPool pool = getProcessPool();
+            if (pool == null) {
+                String errorMsg = "Python 3 process pool is not initialized. Check Gateway logs for initialization errors.";
+                LOGGER.error(errorMsg);
+                throw new RuntimeException(errorMsg);
+            }
+
+            Python3ProcessPool.ParallelMapResult result = pool.parallelMap(moduleName, functionName,
+                    argsList != null ? argsList : Collections.emptyList(), chunkSize, maxConcurrency, securityMode);
+
+            if (result.failed > 0) {
+                LOGGER.warn("parallelMap() {}.{}(): {} of {} calls failed", moduleName, functionName,
+                        result.failed, result.results.size());
+            }
+            return result.toMap();
+
+        } catch (Python3Exception e) {
+            LOGGER.error("Failed to run parallel map", e);
+            throw new RuntimeException("Failed to run parallel map: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Turn scripting batch items (strings or dictionaries) into bridge operations.
+     * Strings use the default command; dictionaries may set their own "command".
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> toBatchOperations(List<Object> items, String defaultCommand,
+                                                               Map<String, Object> sharedVariables) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+
+        List<Map<String, Object>> operations = new ArrayList<>(items.size());
+        for (Object item : items) {
+            Map<String, Object> operation = new HashMap<>();
+            if (item instanceof Map) {
+                operation.putAll((Map<String, Object>) item);
+                operation.putIfAbsent("command", defaultCommand);
+            } else {
+                operation.put("command", defaultCommand);
+                operation.put("execute".equals(defaultCommand) ? "code" : "expression", String.valueOf(item));
+            }
+            if (!sharedVariables.isEmpty() && !operation.containsKey("variables")) {
+                operation.put("variables", sharedVariables);
+            }
+            operations.add(operation);
+        }
+        return operations;
+    }
+
     /**
      * Execute shell command on Gateway and return output.
      *
@@ -521,7 +829,9 @@ public class Python3ScriptModule implements Python3RpcFunctions {
 
     /**
      * Call a saved Python script by path with arguments.
-     * The script's 'result' variable will be returned.
+     * The script's 'result' variable will be returned. If the script declares an entry point
+     * ({@code __entry_point__ = "main"} naming one of its functions), its body runs once per executor
+     * and later calls only invoke that function, whose return value is the result (v2.6.0).
      *
      * @param scriptPath Path to the script (e.g., "My Script" or "Folder/My Script")
      * @param args       Positional arguments to pass to the script
@@ -531,6 +841,23 @@ public class Python3ScriptModule implements Python3RpcFunctions {
      */
     @Override
     public Object callScript(String scriptPath, List<Object> args, Map<String, Object> kwargs) throws Exception {
+        return callScript(scriptPath, args, kwargs, 0L);
+    }
+
+    /**
+     * Call a saved Python script with an explicit executor response timeout.
+     *
+     * v2.6.0: Added for the background job queue, whose jobs outlive the default timeout
+     *
+     * @param scriptPath Path to the script
+     * @param args       Positional arguments to pass to the script
+     * @param kwargs     Keyword arguments to pass to the script
+     * @param timeoutMs  Response timeout in milliseconds (0 = -Dignition.python3.timeout.ms)
+     * @return The value of the 'result' variable from the script
+     * @throws Exception if script not found or execution fails
+     */
+    public Object callScript(String scriptPath, List<Object> args, Map<String, Object> kwargs, long timeoutMs)
+            throws Exception {
         LOGGER.debug("callScript() called with path: {}", scriptPath);
 
         try {
@@ -551,19 +878,6 @@ public class Python3ScriptModule implements Python3RpcFunctions {
 
             LOGGER.debug("Loaded script: {} with code length: {}", script.getName(), script.getCode().length());
 
-            // Prepare variables to inject into the script
-            Map<String, Object> variables = new HashMap<>();
-            if (args != null) {
-                variables.put("args", args);
-            } else {
-                variables.put("args", Collections.emptyList());
-            }
-            if (kwargs != null) {
-                variables.put("kwargs", kwargs);
-            } else {
-                variables.put("kwargs", Collections.emptyMap());
-            }
-
             LOGGER.debug("Executing script with {} args and {} kwargs",
                 args != null ? args.size() : 0,
                 kwargs != null ? kwargs.size() : 0);
@@ -576,7 +890,13 @@ public class Python3ScriptModule implements Python3RpcFunctions {
                 throw new RuntimeException(errorMsg);
             }
 
-            Python3Result result = pool.execute(script.getCode(), variables);
+            // v2.6.0: Executors cache the loaded script by id + lastModified, so a re-save is picked up;
+            // scripts declaring __entry_point__ run their body once per executor
+            String scriptKey = script.getId() + "@" + script.getLastModified();
+            Python3Result result = pool.callScript(script.getPath(), scriptKey, script.getCode(),
+                    args != null ? args : Collections.emptyList(),
+                    kwargs != null ? kwargs : Collections.emptyMap(),
+                    "RESTRICTED", timeoutMs);
 
             if (result.isSuccess()) {
                 LOGGER.debug("Script executed successfully");
@@ -607,6 +927,345 @@ public class Python3ScriptModule implements Python3RpcFunctions {
         return callScript(scriptPath, Collections.emptyList(), Collections.emptyMap());
     }
 
+    /**
+     * Lazily get the durable job queue from the gateway hook.
+     */
+    private Python3JobQueue getJobQueue() {
+        Python3JobQueue queue = gatewayHook.getJobQueue();
+        if (queue == null) {
+            String errorMsg = "Python 3 job queue is not initialized. Check Gateway logs for initialization errors.";
+            LOGGER.error(errorMsg);
+            throw new RuntimeException(errorMsg);
+        }
+        return queue;
+    }
+
+    /**
+     * Queue a saved script as a durable background job with default priority and no retries.
+     *
+     * v2.6.0: Added for the background job queue
+     *
+     * @param scriptPath Path to the script
+     * @return Job status dictionary (id, state, ...)
+     */
+    public Map<String, Object> submitJob(String scriptPath) throws Exception {
+        return submitJob(scriptPath, Collections.emptyList(), Collections.emptyMap());
+    }
+
+    /**
+     * Queue a saved script with arguments as a durable background job.
+     *
+     * @param scriptPath Path to the script
+     * @param args       Positional arguments to pass to the script
+     * @param kwargs     Keyword arguments to pass to the script
+     * @return Job status dictionary (id, state, ...)
+     */
+    public Map<String, Object> submitJob(String scriptPath, List<Object> args, Map<String, Object> kwargs)
+            throws Exception {
+        return submitJob(scriptPath, args, kwargs, 0, 0);
+    }
+
+    /**
+     * Queue a saved script as a durable background job. The job survives gateway restarts,
+     * runs within the queue's own executor budget and is retried with backoff on failure.
+     *
+     * @param scriptPath Path to the script
+     * @param args       Positional arguments to pass to the script
+     * @param kwargs     Keyword arguments to pass to the script
+     * @param priority   Higher runs first (default 0)
+     * @param maxRetries Retries after a failed attempt (0-20)
+     * @return Job status dictionary (id, state, ...)
+     */
+    @Override
+    public Map<String, Object> submitJob(String scriptPath, List<Object> args, Map<String, Object> kwargs,
+                                         int priority, int maxRetries) throws Exception {
+        LOGGER.debug("submitJob() called for script: {}", scriptPath);
+        return getJobQueue().submit(scriptPath, args, kwargs, priority, maxRetries);
+    }
+
+    /**
+     * Get a background job's status and, once finished, its result or error.
+     *
+     * @param jobId Job id returned by submitJob
+     * @return Job status dictionary, or None if unknown or expired
+     */
+    @Override
+    public Map<String, Object> getJob(String jobId) {
+        return getJobQueue().get(jobId);
+    }
+
+    /**
+     * List all background jobs still held (pending, running and unexpired finished jobs).
+     *
+     * @return Job status dictionaries in submission order
+     */
+    public List<Map<String, Object>> listJobs() {
+        return listJobs(null);
+    }
+
+    /**
+     * List background jobs in one state.
+     *
+     * @param state "pending", "running", "succeeded", "failed" or "cancelled" (None for all)
+     * @return Job status dictionaries in submission order
+     */
+    @Override
+    public List<Map<String, Object>> listJobs(String state) {
+        return getJobQueue().list(state, 0);
+    }
+
+    /**
+     * Cancel a background job that has not started yet or is waiting to retry.
+     *
+     * @param jobId Job id returned by submitJob
+     * @return True if the job was cancelled
+     */
+    @Override
+    public boolean cancelJob(String jobId) throws Exception {
+        return getJobQueue().cancel(jobId);
+    }
+
+    /**
+     * Lazily get the async scripting service from the gateway hook.
+     */
+    private Python3AsyncService getAsyncService() {
+        Python3AsyncService service = gatewayHook.getAsyncService();
+        if (service == null) {
+            String errorMsg = "Python 3 async service is not initialized. Check Gateway logs for initialization errors.";
+            LOGGER.error(errorMsg);
+            throw new RuntimeException(errorMsg);
+        }
+        return service;
+    }
+
+    /**
+     * Execute Python 3 code without blocking the calling thread.
+     *
+     * v2.6.0: Added for the async scripting API
+     *
+     * @param code Python code to execute
+     * @return Handle with get([timeoutMs]), isDone(), cancel() and toMap()
+     */
+    public Python3AsyncService.Handle execAsync(String code) {
+        return execAsync(code, Collections.emptyMap());
+    }
+
+    /**
+     * Execute Python 3 code with variables without blocking the calling thread.
+     *
+     * @param code      Python code to execute
+     * @param variables Dictionary of variables to pass to Python
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle execAsync(String code, Map<String, Object> variables) {
+        return execAsync(code, variables, null);
+    }
+
+    /**
+     * Execute Python 3 code and call back with its status when it finishes.
+     *
+     * @param code      Python code to execute
+     * @param variables Dictionary of variables to pass to Python
+     * @param callback  Function taking one status dictionary (see handle toMap()), or None
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle execAsync(String code, Map<String, Object> variables,
+                                                Consumer<Map<String, Object>> callback) {
+        return execAsync(code, variables, callback, "RESTRICTED");
+    }
+
+    /**
+     * Execute Python 3 code asynchronously with a security mode.
+     *
+     * @param code         Python code to execute
+     * @param variables    Dictionary of variables to pass to Python
+     * @param callback     Function taking one status dictionary, or None
+     * @param securityMode Security mode: "RESTRICTED" or "ADMIN"
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle execAsync(String code, Map<String, Object> variables,
+                                                Consumer<Map<String, Object>> callback, String securityMode) {
+        Map<String, Object> vars = variables != null ? new HashMap<>(variables) : Collections.emptyMap();
+        return getAsyncService().submit("exec", () -> exec(code, vars, securityMode), callback);
+    }
+
+    /**
+     * Evaluate a Python 3 expression without blocking the calling thread.
+     *
+     * @param expression Python expression to evaluate
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle evalAsync(String expression) {
+        return evalAsync(expression, Collections.emptyMap());
+    }
+
+    /**
+     * Evaluate a Python 3 expression with variables without blocking the calling thread.
+     *
+     * @param expression Python expression to evaluate
+     * @param variables  Dictionary of variables to pass to Python
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle evalAsync(String expression, Map<String, Object> variables) {
+        return evalAsync(expression, variables, null);
+    }
+
+    /**
+     * Evaluate a Python 3 expression and call back with its status when it finishes.
+     *
+     * @param expression Python expression to evaluate
+     * @param variables  Dictionary of variables to pass to Python
+     * @param callback   Function taking one status dictionary, or None
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle evalAsync(String expression, Map<String, Object> variables,
+                                                Consumer<Map<String, Object>> callback) {
+        Map<String, Object> vars = variables != null ? new HashMap<>(variables) : Collections.emptyMap();
+        return getAsyncService().submit("eval", () -> eval(expression, vars, "RESTRICTED"), callback);
+    }
+
+    /**
+     * Call a Python 3 module function without blocking the calling thread.
+     *
+     * @param moduleName   Module name (e.g., "math")
+     * @param functionName Function name (e.g., "sqrt")
+     * @param args         Function arguments
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callModuleAsync(String moduleName, String functionName, List<Object> args) {
+        return callModuleAsync(moduleName, functionName, args, Collections.emptyMap());
+    }
+
+    /**
+     * Call a Python 3 module function with kwargs without blocking the calling thread.
+     *
+     * @param moduleName   Module name
+     * @param functionName Function name
+     * @param args         Positional arguments
+     * @param kwargs       Keyword arguments
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callModuleAsync(String moduleName, String functionName, List<Object> args,
+                                                      Map<String, Object> kwargs) {
+        return callModuleAsync(moduleName, functionName, args, kwargs, null);
+    }
+
+    /**
+     * Call a Python 3 module function and call back with its status when it finishes.
+     *
+     * @param moduleName   Module name
+     * @param functionName Function name
+     * @param args         Positional arguments
+     * @param kwargs       Keyword arguments
+     * @param callback     Function taking one status dictionary, or None
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callModuleAsync(String moduleName, String functionName, List<Object> args,
+                                                      Map<String, Object> kwargs,
+                                                      Consumer<Map<String, Object>> callback) {
+        List<Object> argsCopy = args != null ? new ArrayList<>(args) : Collections.emptyList();
+        Map<String, Object> kwargsCopy = kwargs != null ? new HashMap<>(kwargs) : Collections.emptyMap();
+        return getAsyncService().submit("callModule " + moduleName + "." + functionName,
+                () -> callModule(moduleName, functionName, argsCopy, kwargsCopy, "RESTRICTED"), callback);
+    }
+
+    /**
+     * Call a saved Python script without blocking the calling thread.
+     *
+     * @param scriptPath Path to the script
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callScriptAsync(String scriptPath) {
+        return callScriptAsync(scriptPath, Collections.emptyList(), Collections.emptyMap());
+    }
+
+    /**
+     * Call a saved Python script with arguments without blocking the calling thread.
+     *
+     * @param scriptPath Path to the script
+     * @param args       Positional arguments to pass to the script
+     * @param kwargs     Keyword arguments to pass to the script
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callScriptAsync(String scriptPath, List<Object> args,
+                                                      Map<String, Object> kwargs) {
+        return callScriptAsync(scriptPath, args, kwargs, null);
+    }
+
+    /**
+     * Call a saved Python script and call back with its status when it finishes.
+     *
+     * @param scriptPath Path to the script
+     * @param args       Positional arguments to pass to the script
+     * @param kwargs     Keyword arguments to pass to the script
+     * @param callback   Function taking one status dictionary, or None
+     * @return Handle for the pending result
+     */
+    public Python3AsyncService.Handle callScriptAsync(String scriptPath, List<Object> args,
+                                                      Map<String, Object> kwargs,
+                                                      Consumer<Map<String, Object>> callback) {
+        List<Object> argsCopy = args != null ? new ArrayList<>(args) : Collections.emptyList();
+        Map<String, Object> kwargsCopy = kwargs != null ? new HashMap<>(kwargs) : Collections.emptyMap();
+        return getAsyncService().submit("callScript " + scriptPath,
+                () -> callScript(scriptPath, argsCopy, kwargsCopy), callback);
+    }
+
+    /**
+     * Wait for every async handle to finish.
+     *
+     * @param handles Handles returned by the *Async functions
+     * @return One status dictionary per handle, in order
+     */
+    public List<Map<String, Object>> awaitAll(List<Object> handles) throws InterruptedException {
+        return awaitAll(handles, 0);
+    }
+
+    /**
+     * Wait up to timeoutMs in total for async handles to finish.
+     *
+     * @param handles   Handles returned by the *Async functions
+     * @param timeoutMs Total time to wait (0 waits without limit)
+     * @return One status dictionary per handle, in order; unfinished calls have "done": False
+     */
+    public List<Map<String, Object>> awaitAll(List<Object> handles, long timeoutMs) throws InterruptedException {
+        return Python3AsyncService.awaitAll(toHandles(handles), timeoutMs);
+    }
+
+    /**
+     * Wait up to timeoutMs for any one async handle to finish.
+     *
+     * @param handles   Handles returned by the *Async functions
+     * @param timeoutMs Time to wait (0 waits without limit)
+     * @return The first finished handle, or None on timeout
+     */
+    public Python3AsyncService.Handle awaitAny(List<Object> handles, long timeoutMs) throws InterruptedException {
+        return Python3AsyncService.awaitAny(toHandles(handles), timeoutMs);
+    }
+
+    /**
+     * Status of every async handle without waiting.
+     *
+     * @param handles Handles returned by the *Async functions
+     * @return One status dictionary per handle, in order
+     */
+    public List<Map<String, Object>> pollAll(List<Object> handles) {
+        return Python3AsyncService.pollAll(toHandles(handles));
+    }
+
+    private static List<Python3AsyncService.Handle> toHandles(List<Object> items) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+        List<Python3AsyncService.Handle> handles = new ArrayList<>(items.size());
+        for (Object item : items) {
+            if (!(item instanceof Python3AsyncService.Handle)) {
+                throw new IllegalArgumentException("Not an async handle: " + item);
+            }
+            handles.add((Python3AsyncService.Handle) item);
+        }
+        return handles;
+    }
+
     /**
      * Get list of available saved scripts with metadata.
      * Useful for autocomplete helpers and script browsers.
@@ -2,32 +2,142 @@ package com.inductiveautomation.ignition.examples.python3.gateway;
 
 import com.google.gson.Gson;
 import com.google.gson.GsonBuilder;
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
 import com.google.gson.reflect.TypeToken;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.io.BufferedReader;
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * Manages saved Python scripts for the Python 3 Integration module.
  * Scripts are stored as JSON files in the Gateway data directory.
+ *
+ * v2.6.0: Thread-safe. Lookups read an immutable {@link Index} snapshot through a volatile field and
+ * never lock; saves and deletes are serialized, build a new snapshot, persist it, then publish it.
+ *
+ * v2.6.0: Saves and deletes append one JSON line to "scripts/index.journal" instead of rewriting
+ * index.json. Concurrent writers share an fsync (group commit); a save returns once its line is on
+ * disk. A background thread compacts when the journal outgrows the live script count: the journal
+ * is rotated to index.journal.1 under the write lock, the snapshot is written to index.json.tmp and
+ * atomically renamed over index.json, then the rotated journal is deleted. Startup loads index.json
+ * and replays index.journal.1 and index.journal on top (last record per script wins), so a crash at
+ * any point of a save or compaction loses nothing that was acknowledged.
+ *
+ * v2.6.0: Only metadata is kept in memory. Source lives in "scripts/bodies/ab/abcd....py", named by
+ * its SHA-256 so identical scripts share one file, and is read on demand (memory-mapped when large)
+ * through a byte-bounded LRU cache (-Dignition.python3.scripts.cacheMb, default 32). Bodies are
+ * checked against their hash whenever they are read from disk. Compaction deletes bodies that no
+ * script references any more. Indexes from older versions, which embed the code, are migrated on load.
+ *
+ * v2.6.0: Every save is also appended to "scripts/history/{id}.jsonl", so earlier revisions can be
+ * listed, diffed and restored. Once a revision is superseded, its body is rewritten in the background
+ * as a line delta against its successor ("abcd....delta"); current revisions always stay whole files,
+ * so loading a script costs the same as before. Deleting a script deletes its history.
+ *
+ * v2.6.0: {@link #search} finds scripts by substring or regex. A trigram index over the current
+ * sources ({@link Python3ScriptSearchIndex}) is built in the background at startup and updated on
+ * every save and delete, so only scripts that can match are read and scanned.
+ *
+ * v2.6.0: Every save and delete bumps a repository revision ({@link #getRevision}), which survives
+ * restarts: journal records carry it and compaction stores it in "scripts/index.revision". The last
+ * changes (-Dignition.python3.scripts.changeLogSize, default 10000) are kept in memory so clients can
+ * ask for what changed since the revision they last saw ({@link #changesSince}) instead of listing
+ * every script again.
  */
 public class Python3ScriptRepository {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(Python3ScriptRepository.class);
     private static final Gson GSON = new GsonBuilder().setPrettyPrinting().create();
+    private static final Gson JOURNAL_GSON = new Gson();  // v2.6.0: one record per line
+    private static final int MIN_COMPACTION_LINES = 256;
+
+    public static final String CACHE_MB_PROPERTY = "ignition.python3.scripts.cacheMb";
+    private static final long MMAP_THRESHOLD = 64 * 1024;  // smaller bodies are cheaper to read than to map
+    private static final long ORPHAN_TMP_AGE_MS = 60 * 60 * 1000L;
+    private static final int MAX_DELTA_CHAIN = 10000;  // bounds the recursion when rebuilding a revision
+    public static final String CHANGE_LOG_SIZE_PROPERTY = "ignition.python3.scripts.changeLogSize";
+    public static final String SEARCH_TIMEOUT_PROPERTY = "ignition.python3.scripts.searchTimeoutMs";
 
     private final Path scriptsDirectory;
     private final Path scriptsIndexFile;
-    private final Map<String, SavedScript> scriptIndex;
+    private final Path journalPath;
+    private final Path rotatedJournalPath;
+    private final Path bodiesDirectory;
+    private final Path historyDirectory;
+    private final Path revisionPath;
+    private final BodyCache bodyCache = new BodyCache(Long.getLong(CACHE_MB_PROPERTY, 32L) * 1024 * 1024);
+    // v2.6.0: Bodies written by saves not yet published, hash -> count (added under writeLock); compaction
+    // must not delete them
+    private final Map<String, Integer> pendingBodies = new ConcurrentHashMap<>();
+    // v2.6.0: Full-text search; updates are applied under searchLock from the published index
+    private final Python3ScriptSearchIndex searchIndex = new Python3ScriptSearchIndex();
+    private final Object searchLock = new Object();
+    private final Set<String> staleSearchEntries = ConcurrentHashMap.newKeySet();
+    private volatile boolean searchIndexReady = false;
+    private volatile Index index = Index.EMPTY;  // v2.6.0: replaced wholesale under writeLock
+    private final Object writeLock = new Object();
+
+    // v2.6.0: Recent changes, oldest first; published together with the index under the deque's lock.
+    // Clients that last saw a revision before changeLogFloor have to list everything again.
+    private final ArrayDeque<Change> changeLog = new ArrayDeque<>();
+    private final int changeLogSize = Math.max(1, Integer.getInteger(CHANGE_LOG_SIZE_PROPERTY, 10000));
+    private long changeLogFloor = 0;
+
+    // v2.6.0: Journal state. Appends happen under writeLock; fsyncs under syncLock so they can batch.
+    private final Object syncLock = new Object();
+    private final Object compactLock = new Object();
+    private FileChannel journal;
+    private volatile long appendedRecords = 0;
+    private volatile long syncedRecords = 0;
+    private volatile int journalLines = 0;
+    private final ScheduledExecutorService maintenance;
+    private final List<Consumer<String>> changeListeners = new CopyOnWriteArrayList<>();  // v2.6.0
+
+    // v2.6.0: Scripts whose signature already verified, id -> lastModified + signature. Code only
+    // changes through saveScript, which re-signs and bumps lastModified, so one HMAC per version is enough.
+    private final Map<String, String> verifiedSignatures = new ConcurrentHashMap<>();
+    private volatile Python3MetricsCollector metricsCollector;
 
     /**
      * Creates a new script repository.
@@ -38,13 +148,33 @@ public class Python3ScriptRepository {
     public Python3ScriptRepository(Path baseDirectory) throws IOException {
         this.scriptsDirectory = baseDirectory.resolve("scripts");
         this.scriptsIndexFile = scriptsDirectory.resolve("index.json");
-        this.scriptIndex = new HashMap<>();
+        this.journalPath = scriptsDirectory.resolve("index.journal");
+        this.rotatedJournalPath = scriptsDirectory.resolve("index.journal.1");
+        this.bodiesDirectory = scriptsDirectory.resolve("bodies");
+        this.historyDirectory = scriptsDirectory.resolve("history");
+        this.revisionPath = scriptsDirectory.resolve("index.revision");
 
         // Create directories if they don't exist
         Files.createDirectories(scriptsDirectory);
+        Files.createDirectories(bodiesDirectory);
+        Files.createDirectories(historyDirectory);
+
+        // Load existing scripts: snapshot, then any journaled changes (v2.6.0). Any journal bytes at all
+        // mean compacting first, so a line torn by a crash is never continued by the next append.
+        boolean migrated = loadIndex();
+        if (migrated || (Files.exists(journalPath) && Files.size(journalPath) > 0) || Files.exists(rotatedJournalPath)) {
+            compact();
+        } else {
+            journal = openJournal();
+        }
 
-        // Load existing scripts
-        loadIndex();
+        maintenance = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "Python3-ScriptRepository-Compaction");
+            t.setDaemon(true);
+            return t;
+        });
+        maintenance.scheduleWithFixedDelay(this::compactIfNeeded, 1, 1, TimeUnit.MINUTES);
+        maintenance.execute(this::ensureSearchIndex);
 
         LOGGER.info("Python3ScriptRepository initialized at: {}", scriptsDirectory);
     }
@@ -70,39 +200,88 @@ public class Python3ScriptRepository {
 
         // Sanitize name for filesystem
         String sanitizedName = sanitizeName(name);
-        String now = Instant.now().toString();
-
-        // Check if updating existing script
-        SavedScript existing = scriptIndex.get(sanitizedName);
-        String createdDate = existing != null ? existing.getCreatedDate() : now;
 
         // Generate HMAC signature for tamper protection (v1.17.0)
         String signature = Python3ScriptSigner.signScript(code);
         LOGGER.debug("Generated signature for script: {}, signature hash: {}...",
                 name, signature.substring(0, Math.min(16, signature.length())));
 
-        // Create script object
-        SavedScript script = new SavedScript(
-                sanitizedName,
-                name,
-                code,
-                description,
-                author != null ? author : "Unknown",
-                createdDate,
-                now,
-                folderPath != null ? folderPath : "",
-                version != null ? version : "1.0",
-                signature  // v1.17.0: Store signature
-        );
+        // v2.6.0: The body is on disk before the record that refers to it. Registering under writeLock
+        // means a compaction sweep either finished deleting before writeBody looks for the file, or
+        // sees the hash as pending and keeps it.
+        String contentHash = sha256Hex(code);
+        synchronized (writeLock) {
+            pendingBodies.merge(contentHash, 1, Integer::sum);
+        }
+
+        SavedScript existing;
+        SavedScript script;
+        try {
+            writeBody(contentHash, code);
+
+            long record;
+            synchronized (writeLock) {
+                String now = Instant.now().toString();
+
+                // Check if updating existing script
+                existing = index.byId.get(sanitizedName);
+                String createdDate = existing != null ? existing.getCreatedDate() : now;
+
+                // Create script object (metadata only; code is in the body file)
+                script = new SavedScript(
+                        sanitizedName,
+                        name,
+                        null,
+                        description,
+                        author != null ? author : "Unknown",
+                        createdDate,
+                        now,
+                        folderPath != null ? folderPath : "",
+                        version != null ? version : "1.0",
+                        signature,  // v1.17.0: Store signature
+                        contentHash
+                );
 
-        // Save to index
-        scriptIndex.put(sanitizedName, script);
+                // History, journal, then publish the new snapshot
+                Index next = index.with(script, existing);
+                appendHistory(script, existing);
+                JsonObject put = new JsonObject();
+                put.addProperty("op", "put");
+                put.addProperty("rev", next.revision);
+                put.add("script", JOURNAL_GSON.toJsonTree(script));
+                record = append(put);
+                publish(next, script.getId(), existing);
+                if (existing != null) {
+                    verifiedSignatures.remove(existing.getId());
+                }
+            }
+            awaitDurable(record);
+            forceHistory(script.getId());
+        } finally {
+            pendingBodies.computeIfPresent(contentHash, (hash, count) -> count > 1 ? count - 1 : null);
+        }
+        bodyCache.put(contentHash, code);
+
+        // v2.6.0: The superseded revision is only needed for history now
+        if (existing != null && !existing.getContentHash().equals(contentHash)) {
+            String supersededHash = existing.getContentHash();
+            try {
+                maintenance.execute(() -> storeAsDelta(supersededHash, contentHash));
+            } catch (RejectedExecutionException e) {
+                LOGGER.debug("Repository closed - revision {} stays a full copy", supersededHash);
+            }
+        }
 
-        // Persist index
-        saveIndex();
+        // v2.6.0: A re-save may also move the script to another folder
+        if (existing != null && !existing.getPath().equalsIgnoreCase(script.getPath())) {
+            forgetMetrics(existing.getPath());
+            fireChanged(existing.getPath());
+        }
+        updateSearchIndex(script.getId());
+        fireChanged(script.getPath());
 
         LOGGER.info("Script saved: {} in folder: {} (signed)", name, folderPath);
-        return script;
+        return script.withCode(code);
     }
 
     /**
@@ -123,33 +302,76 @@ public class Python3ScriptRepository {
      */
     public SavedScript loadScript(String name) {
         String sanitizedName = sanitizeName(name);
-        SavedScript script = scriptIndex.get(sanitizedName);
+        SavedScript entry = index.byId.get(sanitizedName);
 
-        if (script == null) {
+        if (entry == null) {
             LOGGER.warn("Script not found: {}", name);
             return null;
         }
 
-        // Verify signature (v1.17.0)
-        if (script.getSignature() != null) {
-            boolean valid = Python3ScriptSigner.verifyScript(script.getCode(), script.getSignature());
+        SavedScript script = withBody(entry);
+        verifySignature(script, name);
+        return script;
+    }
 
-            if (!valid) {
-                LOGGER.error("SECURITY: Script signature verification FAILED for: {} - possible tampering detected!", name);
-                throw new SecurityException(
-                        "Script signature verification failed for: " + name +
-                        ". The script may have been tampered with. Please re-save the script."
-                );
-            }
+    /**
+     * Metadata of a saved script by name, without reading its code.
+     *
+     * @param name the script name
+     * @return the script metadata, or null if not found
+     *
+     * v2.6.0: Lets conditional loads answer "not modified" without touching the body
+     */
+    public ScriptMetadata getScriptMetadata(String name) {
+        SavedScript entry = index.byId.get(sanitizeName(name));
+        return entry != null ? toMetadata(entry) : null;
+    }
 
-            LOGGER.debug("Script signature verified for: {}", name);
-        } else {
+    /**
+     * Copy of an index entry with its code loaded from the body cache or disk (v2.6.0)
+     *
+     * @throws UncheckedIOException if the body file cannot be read
+     * @throws SecurityException if the body file does not match its content hash
+     */
+    private SavedScript withBody(SavedScript entry) {
+        return entry.withCode(readBody(entry.getContentHash(), entry.getPath()));
+    }
+
+    /**
+     * Verifies a script's HMAC signature once per (id, lastModified, signature).
+     *
+     * @throws SecurityException if verification fails (tampered)
+     *
+     * v1.17.0: Signature verification; v2.6.0: successful verifications are cached
+     */
+    private void verifySignature(SavedScript script, String displayName) {
+        if (script.getSignature() == null) {
             // Legacy script without signature - log warning
             LOGGER.warn("Script loaded without signature verification (legacy): {}. " +
-                    "Re-save to add tamper protection.", name);
+                    "Re-save to add tamper protection.", displayName);
+            return;
         }
 
-        return script;
+        String verifiedAs = script.getLastModified() + "|" + script.getSignature();
+        boolean cached = verifiedAs.equals(verifiedSignatures.get(script.getId()));
+        Python3MetricsCollector collector = metricsCollector;
+        if (collector != null) {
+            collector.recordCacheAccess(Python3MetricsCollector.CACHE_SCRIPT_VERIFICATION, cached);
+        }
+        if (cached) {
+            return;
+        }
+
+        if (!Python3ScriptSigner.verifyScript(script.getCode(), script.getSignature())) {
+            LOGGER.error("SECURITY: Script signature verification FAILED for: {} - possible tampering detected!", displayName);
+            throw new SecurityException(
+                    "Script signature verification failed for: " + displayName +
+                    ". The script may have been tampered with. Please re-save the script."
+            );
+        }
+
+        verifiedSignatures.put(script.getId(), verifiedAs);
+        LOGGER.debug("Script signature verified for: {}", displayName);
     }
 
     /**
@@ -172,241 +394,1703 @@ public class Python3ScriptRepository {
         // Normalize path: remove leading/trailing slashes
         String normalizedPath = scriptPath.replaceAll("^/+|/+$", "").trim();
 
-        // Split into folder path and script name
-        String folderPath;
-        String scriptName;
-
-        int lastSlash = normalizedPath.lastIndexOf('/');
-        if (lastSlash == -1) {
-            // No folder path, script is at root
-            folderPath = "";
-            scriptName = normalizedPath;
-        } else {
-            // Extract folder path and script name
-            folderPath = normalizedPath.substring(0, lastSlash);
-            scriptName = normalizedPath.substring(lastSlash + 1);
+        SavedScript entry = findScriptByPath(normalizedPath);
+        if (entry == null) {
+            LOGGER.warn("Script not found by path: {}", scriptPath);
+            return null;
         }
+        return withBody(entry);
+    }
 
-        // Search for script with matching name and folder path
-        for (SavedScript script : scriptIndex.values()) {
-            String scriptFolderPath = script.getFolderPath() != null ? script.getFolderPath() : "";
-
-            // Match script name and folder path
-            if (script.getName().equals(scriptName) && scriptFolderPath.equals(folderPath)) {
-                LOGGER.debug("Found script by path: {} in folder: {}", scriptName, folderPath);
-                return script;
-            }
+    /**
+     * Finds a script by normalized path, exact match first, then case-insensitive.
+     */
+    private SavedScript findScriptByPath(String normalizedPath) {
+        Index current = index;
+        SavedScript script = current.byPath.get(normalizedPath);
+        if (script == null) {
+            script = current.byLowerPath.get(normalizedPath.toLowerCase(Locale.ROOT));
         }
+        return script;
+    }
 
-        // Try case-insensitive match
-        for (SavedScript script : scriptIndex.values()) {
-            String scriptFolderPath = script.getFolderPath() != null ? script.getFolderPath() : "";
+    /**
+     * Resolves a bridge import of {@code scripts.<Folder>.<Name>} (requested as "Folder/Name").
+     * A script at that path is returned as a module, otherwise a folder containing scripts is
+     * returned as a package.
+     *
+     * @param path the requested path
+     * @return {"kind": "module", "path", "code", "version"}, {"kind": "package", "path"}, or null if not found
+     * @throws SecurityException if the script's signature does not verify
+     *
+     * v2.6.0: Added for saved-script imports
+     */
+    public Map<String, Object> resolveImport(String path) {
+        String normalizedPath = path.replaceAll("^/+|/+$", "").trim();
+
+        Map<String, Object> result = new HashMap<>();
+        SavedScript entry = findScriptByPath(normalizedPath);
+        if (entry != null) {
+            SavedScript script = withBody(entry);
+            verifySignature(script, script.getPath());
+            result.put("kind", "module");
+            result.put("path", script.getPath());
+            result.put("code", script.getCode());
+            result.put("version", script.getLastModified());
+            return result;
+        }
 
-            if (script.getName().equalsIgnoreCase(scriptName) &&
-                scriptFolderPath.equalsIgnoreCase(folderPath)) {
-                LOGGER.debug("Found script by path (case-insensitive): {} in folder: {}", scriptName, folderPath);
-                return script;
+        String prefix = normalizedPath + "/";
+        for (SavedScript candidate : index.byId.values()) {
+            String folder = candidate.getFolderPath() != null ? candidate.getFolderPath() : "";
+            if (folder.equalsIgnoreCase(normalizedPath) || folder.regionMatches(true, 0, prefix, 0, prefix.length())) {
+                result.put("kind", "package");
+                result.put("path", folder.substring(0, normalizedPath.length()));
+                return result;
             }
         }
-
-        LOGGER.warn("Script not found by path: {}", scriptPath);
         return null;
     }
 
     /**
-     * Lists all saved scripts.
+     * Register a listener called with a script's path ("Folder/Name") whenever it is saved,
+     * moved or deleted
      *
-     * @return list of saved scripts (metadata only, no code)
+     * v2.6.0
      */
-    public List<ScriptMetadata> listScripts() {
-        return scriptIndex.values().stream()
-                .map(script -> new ScriptMetadata(
-                        script.getId(),
-                        script.getName(),
-                        script.getDescription(),
-                        script.getAuthor(),
-                        script.getCreatedDate(),
-                        script.getLastModified(),
-                        script.getFolderPath(),
-                        script.getVersion()
-                ))
-                .collect(Collectors.toList());
+    public void addChangeListener(Consumer<String> listener) {
+        changeListeners.add(listener);
+    }
+
+    public void removeChangeListener(Consumer<String> listener) {
+        changeListeners.remove(listener);
     }
 
     /**
-     * Deletes a saved script.
-     *
-     * @param name the script name
-     * @return true if deleted, false if not found
-     * @throws IOException if delete fails
+     * Report signature verification cache hits/misses to the given collector (v2.6.0)
      */
-    public boolean deleteScript(String name) throws IOException {
-        String sanitizedName = sanitizeName(name);
+    public void setMetricsCollector(Python3MetricsCollector metricsCollector) {
+        this.metricsCollector = metricsCollector;
+    }
 
-        if (scriptIndex.remove(sanitizedName) != null) {
-            saveIndex();
-            LOGGER.info("Script deleted: {}", name);
-            return true;
+    /**
+     * Drop per-script metrics for a path no script has any more, so deleted and moved scripts do
+     * not keep their histograms and exported series
+     */
+    private void forgetMetrics(String path) {
+        Python3MetricsCollector collector = metricsCollector;
+        if (collector != null && findScriptByPath(path) == null) {
+            collector.removeScript(path);
         }
+    }
 
-        LOGGER.warn("Script not found for deletion: {}", name);
-        return false;
+    private void fireChanged(String path) {
+        for (Consumer<String> listener : changeListeners) {
+            try {
+                listener.accept(path);
+            } catch (Exception e) {
+                LOGGER.error("Script change listener failed for: {}", path, e);
+            }
+        }
     }
 
     /**
-     * Checks if a script exists.
+     * Lists all saved scripts.
      *
-     * @param name the script name
-     * @return true if exists
+     * @return list of saved scripts (metadata only, no code)
      */
-    public boolean exists(String name) {
-        return scriptIndex.containsKey(sanitizeName(name));
+    public List<ScriptMetadata> listScripts() {
+        return new ArrayList<>(index.metadata());
     }
 
     /**
-     * Gets the number of saved scripts.
+     * Searches the code of all saved scripts. Matching is per line; a script whose path contains the
+     * query also matches. Results are ranked by path hits first, then by number of matching lines.
      *
-     * @return count of scripts
+     * @param query the text or regular expression to find
+     * @param regex whether query is a regular expression
+     * @param matchCase whether matching is case-sensitive
+     * @param maxMatchesPerScript how many matching lines to return per script (all are counted)
+     * @return the matching scripts, best first
+     * @throws java.util.regex.PatternSyntaxException if regex is set and the query is not a valid pattern
+     * @throws SearchTimeoutException if a regex search runs past -Dignition.python3.scripts.searchTimeoutMs
+     *         (default 5000), e.g. from catastrophic backtracking
+     *
+     * v2.6.0
      */
-    public int getScriptCount() {
-        return scriptIndex.size();
+    public List<ScriptSearchResult> search(String query, boolean regex, boolean matchCase, int maxMatchesPerScript) {
+        if (query == null || query.isEmpty()) {
+            throw new IllegalArgumentException("Search query is empty");
+        }
+        Pattern pattern = regex
+                ? Pattern.compile(query, matchCase ? 0 : Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE)
+                : null;
+
+        long timeoutMs = Long.getLong(SEARCH_TIMEOUT_PROPERTY, 5000L);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMs);
+
+        ensureSearchIndex();
+        Set<String> candidates = searchIndex.candidates(
+                regex ? Python3ScriptSearchIndex.requiredLiterals(query) : List.of(query));
+
+        Index current = index;
+        List<ScriptSearchResult> results = new ArrayList<>();
+        for (SavedScript entry : current.byId.values()) {
+            boolean pathMatch = regex
+                    ? pattern.matcher(new DeadlineCharSequence(entry.getPath(), deadline, timeoutMs)).find()
+                    : containsText(entry.getPath(), query, matchCase);
+            if (!pathMatch && candidates != null && !candidates.contains(entry.getId())) {
+                continue;
+            }
+
+            String code;
+            try {
+                code = readBody(entry.getContentHash(), entry.getPath());
+            } catch (RuntimeException e) {
+                LOGGER.warn("Search skipped unreadable script {}: {}", entry.getPath(), e.getMessage());
+                continue;
+            }
+
+            List<ScriptSearchMatch> matches = new ArrayList<>();
+            int matchingLines = 0;
+            int lineNumber = 0;
+            for (String line : code.split("\\r?\\n", -1)) {
+                lineNumber++;
+                int column = regex
+                        ? regexColumn(pattern, new DeadlineCharSequence(line, deadline, timeoutMs))
+                        : textColumn(line, query, matchCase);
+                if (column < 0) {
+                    continue;
+                }
+                matchingLines++;
+                if (matches.size() < maxMatchesPerScript) {
+                    matches.add(new ScriptSearchMatch(lineNumber, column + 1, snippet(line, column)));
+                }
+            }
+
+            if (pathMatch || matchingLines > 0) {
+                results.add(new ScriptSearchResult(entry.getId(), entry.getName(), entry.getFolderPath(),
+                        entry.getPath(), entry.getLastModified(), pathMatch, matchingLines, matches));
+            }
+        }
+
+        results.sort((a, b) -> {
+            if (a.isPathMatch() != b.isPathMatch()) {
+                return a.isPathMatch() ? -1 : 1;
+            }
+            if (a.getMatchingLines() != b.getMatchingLines()) {
+                return Integer.compare(b.getMatchingLines(), a.getMatchingLines());
+            }
+            return a.getPath().compareToIgnoreCase(b.getPath());
+        });
+        return results;
+    }
+
+    private static boolean containsText(String text, String query, boolean matchCase) {
+        return textColumn(text, query, matchCase) >= 0;
+    }
+
+    private static int textColumn(String line, String query, boolean matchCase) {
+        if (matchCase) {
+            return line.indexOf(query);
+        }
+        for (int i = 0; i + query.length() <= line.length(); i++) {
+            if (line.regionMatches(true, i, query, 0, query.length())) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int regexColumn(Pattern pattern, CharSequence line) {
+        Matcher matcher = pattern.matcher(line);
+        return matcher.find() ? matcher.start() : -1;
     }
 
     /**
-     * Loads the script index from disk.
+     * Text that ends a regex search once its deadline passes. Backtracking keeps re-reading the input,
+     * so checking the clock every few thousand reads bounds even a catastrophic pattern.
      */
-    private void loadIndex() throws IOException {
-        if (!Files.exists(scriptsIndexFile)) {
-            LOGGER.info("No existing script index found, starting fresh");
-            return;
+    private static final class DeadlineCharSequence implements CharSequence {
+        private final CharSequence text;
+        private final long deadline;
+        private final long timeoutMs;
+        private int reads = 0;
+
+        DeadlineCharSequence(CharSequence text, long deadline, long timeoutMs) {
+            this.text = text;
+            this.deadline = deadline;
+            this.timeoutMs = timeoutMs;
         }
 
-        try {
-            String json = Files.readString(scriptsIndexFile);
-            Map<String, SavedScript> loaded = GSON.fromJson(
-                    json,
-                    new TypeToken<Map<String, SavedScript>>() {}.getType()
-            );
-
-            if (loaded != null) {
-                scriptIndex.putAll(loaded);
-                LOGGER.info("Loaded {} saved scripts", scriptIndex.size());
+        @Override
+        public char charAt(int index) {
+            if ((++reads & 0xFFF) == 0 && System.nanoTime() - deadline > 0) {
+                throw new SearchTimeoutException("Search timed out after " + timeoutMs
+                        + "ms - simplify the regular expression");
             }
+            return text.charAt(index);
+        }
 
-        } catch (Exception e) {
-            LOGGER.error("Failed to load script index, starting fresh", e);
+        @Override
+        public int length() {
+            return text.length();
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new DeadlineCharSequence(text.subSequence(start, end), deadline, timeoutMs);
+        }
+
+        @Override
+        public String toString() {
+            return text.toString();
         }
     }
 
     /**
-     * Saves the script index to disk.
+     * A regex search ran out of time (v2.6.0)
      */
-    private void saveIndex() throws IOException {
-        String json = GSON.toJson(scriptIndex);
-        Files.writeString(
-                scriptsIndexFile,
-                json,
-                StandardOpenOption.CREATE,
-                StandardOpenOption.TRUNCATE_EXISTING
-        );
+    public static class SearchTimeoutException extends RuntimeException {
+        public SearchTimeoutException(String message) {
+            super(message);
+        }
     }
 
     /**
-     * Sanitizes a script name for use as a filesystem identifier.
-     *
-     * @param name the original name
-     * @return sanitized name
+     * The line, shortened to about 160 characters around the match
      */
-    private String sanitizeName(String name) {
-        if (name == null) {
-            return "unnamed";
+    private static String snippet(String line, int column) {
+        int max = 160;
+        if (line.length() <= max) {
+            return line;
         }
-
-        // Replace spaces with underscores, remove special characters
-        return name.trim()
-                .toLowerCase()
-                .replaceAll("[^a-z0-9_-]", "_")
-                .replaceAll("_+", "_");
+        int start = Math.max(0, Math.min(column - max / 4, line.length() - max));
+        return (start > 0 ? "..." : "") + line.substring(start, start + max) + (start + max < line.length() ? "..." : "");
     }
 
     /**
-     * Represents a saved Python script.
-     *
-     * v1.17.0: Added signature field for tamper protection
+     * Build the search index from all current scripts, once
      */
-    public static class SavedScript {
-        private final String id;
-        private final String name;
-        private final String code;
-        private final String description;
-        private final String author;
-        private final String createdDate;
-        private final String lastModified;
-        private final String folderPath;
-        private final String version;
-        private final String signature;  // v1.17.0: HMAC signature for tamper detection
-
-        public SavedScript(String id, String name, String code, String description,
-                          String author, String createdDate, String lastModified,
-                          String folderPath, String version, String signature) {
-            this.id = id;
-            this.name = name;
-            this.code = code;
-            this.description = description;
-            this.author = author;
-            this.createdDate = createdDate;
-            this.lastModified = lastModified;
-            this.folderPath = folderPath;
-            this.version = version;
-            this.signature = signature;  // Can be null for backward compatibility
+    private void ensureSearchIndex() {
+        if (searchIndexReady) {
+            return;
         }
+        synchronized (searchLock) {
+            if (searchIndexReady) {
+                return;
+            }
+            long start = System.nanoTime();
+            for (SavedScript entry : index.byId.values()) {
+                indexScript(entry);
+            }
+            searchIndexReady = true;
+            refreshStaleSearchEntries();  // changed while the build was running
+            LOGGER.info("Indexed {} scripts for search in {} ms", searchIndex.size(),
+                    (System.nanoTime() - start) / 1_000_000L);
+        }
+    }
 
-        // Constructor for backward compatibility (without signature)
-        public SavedScript(String id, String name, String code, String description,
-                          String author, String createdDate, String lastModified,
-                          String folderPath, String version) {
-            this(id, name, code, description, author, createdDate, lastModified,
-                 folderPath, version, null);
+    /**
+     * Bring one script's search entry up to date with the published index. Entries are re-read from
+     * the index under searchLock, so concurrent saves of the same script cannot apply out of order;
+     * changes made during the initial build are queued and applied when it finishes.
+     */
+    private void updateSearchIndex(String id) {
+        staleSearchEntries.add(id);
+        if (searchIndexReady) {
+            synchronized (searchLock) {
+                refreshStaleSearchEntries();
+            }
         }
+    }
 
-        public String getId() {
-            return id;
+    private void refreshStaleSearchEntries() {
+        Iterator<String> stale = staleSearchEntries.iterator();
+        while (stale.hasNext()) {
+            String id = stale.next();
+            stale.remove();
+            SavedScript entry = index.byId.get(id);
+            if (entry == null) {
+                searchIndex.remove(id);
+            } else {
+                indexScript(entry);
+            }
         }
+    }
 
-        public String getName() {
-            return name;
+    private void indexScript(SavedScript entry) {
+        try {
+            searchIndex.put(entry.getId(), readBody(entry.getContentHash(), entry.getPath()));
+        } catch (RuntimeException e) {
+            LOGGER.warn("Script {} could not be indexed for search: {}", entry.getPath(), e.getMessage());
+            searchIndex.remove(entry.getId());
         }
+    }
 
-        public String getCode() {
-            return code;
+    /**
+     * Make a new index current and log the change (caller holds writeLock)
+     *
+     * @param before the script as it was before the change, null if it did not exist
+     */
+    private void publish(Index next, String id, SavedScript before) {
+        synchronized (changeLog) {
+            index = next;
+            changeLog.addLast(new Change(next.revision, id, before));
+            if (changeLog.size() > changeLogSize) {
+                changeLogFloor = changeLog.removeFirst().revision;
+            }
         }
+    }
 
-        public String getDescription() {
-            return description;
+    /**
+     * The repository revision: incremented by every save and delete, and never reused.
+     *
+     * v2.6.0
+     */
+    public long getRevision() {
+        return index.revision;
+    }
+
+    /**
+     * Scripts added, updated and deleted since a revision returned by {@link #getRevision} or an
+     * earlier call. A script changed several times is reported once, as it is now. If the changes
+     * are no longer known (too old, or from before a restart that lost them) the result is a reset:
+     * every current script is reported as added and the client should drop what it has.
+     *
+     * @param since the revision the client is up to date with
+     *
+     * v2.6.0
+     */
+    public ScriptChanges changesSince(long since) {
+        Index current;
+        List<Change> changes = new ArrayList<>();
+        synchronized (changeLog) {
+            current = index;
+            if (since < changeLogFloor || since > current.revision) {
+                return new ScriptChanges(current.revision, true, current.metadata(),
+                        Collections.emptyList(), Collections.emptyList());
+            }
+            Iterator<Change> newestFirst = changeLog.descendingIterator();
+            while (newestFirst.hasNext()) {
+                Change change = newestFirst.next();
+                if (change.revision <= since) {
+                    break;
+                }
+                changes.add(change);
+            }
         }
 
-        public String getAuthor() {
-            return author;
+        // Oldest change per script tells whether it existed at the client's revision
+        Map<String, SavedScript> before = new LinkedHashMap<>();
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            Change change = changes.get(i);
+            if (!before.containsKey(change.id)) {
+                before.put(change.id, change.before);
+            }
         }
 
-        public String getCreatedDate() {
-            return createdDate;
+        List<ScriptMetadata> added = new ArrayList<>();
+        List<ScriptMetadata> updated = new ArrayList<>();
+        List<ScriptMetadata> deleted = new ArrayList<>();
+        for (Map.Entry<String, SavedScript> entry : before.entrySet()) {
+            SavedScript now = current.byId.get(entry.getKey());
+            if (now != null) {
+                (entry.getValue() == null ? added : updated).add(toMetadata(now));
+            } else if (entry.getValue() != null) {
+                deleted.add(toMetadata(entry.getValue()));
+            }
         }
+        return new ScriptChanges(current.revision, false, added, updated, deleted);
+    }
 
-        public String getLastModified() {
-            return lastModified;
+    /**
+     * Deletes a saved script.
+     *
+     * @param name the script name
+     * @return true if deleted, false if not found
+     * @throws IOException if delete fails
+     */
+    public boolean deleteScript(String name) throws IOException {
+        String sanitizedName = sanitizeName(name);
+
+        SavedScript removed;
+        long record = 0;
+        synchronized (writeLock) {
+            removed = index.byId.get(sanitizedName);
+            if (removed != null) {
+                Index next = index.without(removed);
+                JsonObject remove = new JsonObject();
+                remove.addProperty("op", "remove");
+                remove.addProperty("rev", next.revision);
+                remove.addProperty("id", removed.getId());
+                record = append(remove);
+                publish(next, removed.getId(), removed);
+                verifiedSignatures.remove(removed.getId());
+            }
         }
 
-        public String getFolderPath() {
-            return folderPath;
+        if (removed != null) {
+            awaitDurable(record);
+            // History goes only once the remove is durable - a crash before that replays the script,
+            // which must still have its revisions. A script re-created meanwhile owns the file now.
+            synchronized (writeLock) {
+                if (!index.byId.containsKey(removed.getId())) {
+                    Files.deleteIfExists(historyPath(removed.getId()));
+                }
+            }
+            LOGGER.info("Script deleted: {}", name);
+            updateSearchIndex(removed.getId());
+            forgetMetrics(removed.getPath());
+            fireChanged(removed.getPath());
+            return true;
         }
 
-        public String getVersion() {
-            return version;
+        LOGGER.warn("Script not found for deletion: {}", name);
+        return false;
+    }
+
+    /**
+     * Lists a script's revisions, newest first. Scripts saved before history was kept have a single
+     * revision until they are saved again.
+     *
+     * @param name the script name
+     * @return the revisions, or null if the script does not exist
+     *
+     * v2.6.0
+     */
+    public List<ScriptRevision> listHistory(String name) throws IOException {
+        SavedScript entry = index.byId.get(sanitizeName(name));
+        if (entry == null) {
+            return null;
         }
+        List<ScriptRevision> revisions = history(entry);
+        Collections.reverse(revisions);
+        return revisions;
+    }
 
-        public String getSignature() {
-            return signature;
+    /**
+     * Code of one revision of a script
+     *
+     * @throws IllegalArgumentException if the script or revision does not exist
+     * @throws SecurityException if the stored revision does not match its content hash
+     *
+     * v2.6.0
+     */
+    public String loadRevision(String name, int revision) throws IOException {
+        SavedScript entry = requireScript(name);
+        return readBody(requireRevision(entry, revision).getContentHash(), entry.getPath() + "@r" + revision);
+    }
+
+    /**
+     * Unified diff between two revisions of a script
+     *
+     * @param from the older revision
+     * @param to the newer revision
+     * @return the diff, empty if the revisions have the same code
+     * @throws IllegalArgumentException if the script or a revision does not exist
+     *
+     * v2.6.0
+     */
+    public String diffRevisions(String name, int from, int to) throws IOException {
+        SavedScript entry = requireScript(name);
+        ScriptRevision fromRevision = requireRevision(entry, from);
+        ScriptRevision toRevision = requireRevision(entry, to);
+        // Each side is labelled with the path it had then, which differs for revisions before a move
+        String fromLabel = fromRevision.getPath() + "@r" + from;
+        String toLabel = toRevision.getPath() + "@r" + to;
+        String fromCode = readBody(fromRevision.getContentHash(), fromLabel);
+        String toCode = readBody(toRevision.getContentHash(), toLabel);
+        return Python3ScriptDiff.unified(fromCode, toCode, fromLabel, toLabel, 3);
+    }
+
+    /**
+     * Make an earlier revision's code current again. The restore is saved (and signed) as a new
+     * revision; folder, description and version stay as they are now.
+     *
+     * @return the saved script
+     * @throws IllegalArgumentException if the script or revision does not exist
+     *
+     * v2.6.0
+     */
+    public SavedScript restoreRevision(String name, int revision, String author) throws IOException {
+        SavedScript entry = requireScript(name);
+        String code = loadRevision(name, revision);
+        LOGGER.info("Restoring script {} to revision {}", entry.getPath(), revision);
+        return saveScript(entry.getName(), code, entry.getDescription(), author, entry.getFolderPath(),
+                entry.getVersion());
+    }
+
+    private SavedScript requireScript(String name) {
+        SavedScript entry = index.byId.get(sanitizeName(name));
+        if (entry == null) {
+            throw new IllegalArgumentException("Script not found: " + name);
+        }
+        return entry;
+    }
+
+    private ScriptRevision requireRevision(SavedScript entry, int revision) throws IOException {
+        List<ScriptRevision> revisions = history(entry);
+        if (revision < 1 || revision > revisions.size()) {
+            throw new IllegalArgumentException("Script " + entry.getPath() + " has no revision " + revision
+                    + " (revisions 1-" + revisions.size() + ")");
+        }
+        return revisions.get(revision - 1);
+    }
+
+    /**
+     * Revisions oldest first, numbered from 1, with the current version last
+     */
+    private List<ScriptRevision> history(SavedScript entry) throws IOException {
+        List<JsonObject> records = new ArrayList<>();
+        Path path = historyPath(entry.getId());
+        if (Files.exists(path)) {
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                try {
+                    JsonObject record = line.isBlank() ? null : JsonParser.parseString(line).getAsJsonObject();
+                    if (record != null && record.has("contentHash")) {
+                        records.add(record);
+                    }
+                } catch (RuntimeException e) {
+                    LOGGER.debug("Skipping unreadable history line for {}", entry.getPath());
+                }
+            }
+        }
+
+        // Saves always write history before the journal, so only pre-history scripts (or a failed
+        // save) leave the current version unrecorded
+        JsonObject last = records.isEmpty() ? null : records.get(records.size() - 1);
+        if (last == null || !Objects.equals(entry.getContentHash(), stringOrNull(last, "contentHash"))
+                || !Objects.equals(entry.getLastModified(), stringOrNull(last, "lastModified"))) {
+            records.add(revisionRecord(entry));
+        }
+
+        List<ScriptRevision> revisions = new ArrayList<>(records.size());
+        for (int i = 0; i < records.size(); i++) {
+            JsonObject record = records.get(i);
+            String revisionName = stringOrNull(record, "name");
+            revisions.add(new ScriptRevision(
+                    i + 1,
+                    revisionName != null ? revisionName : entry.getName(),
+                    record.get("contentHash").getAsString(),
+                    stringOrNull(record, "lastModified"),
+                    stringOrNull(record, "author"),
+                    stringOrNull(record, "version"),
+                    stringOrNull(record, "folderPath"),
+                    stringOrNull(record, "description"),
+                    i == records.size() - 1
+            ));
+        }
+        return revisions;
+    }
+
+    private static String stringOrNull(JsonObject record, String key) {
+        return record.has(key) && !record.get(key).isJsonNull() ? record.get(key).getAsString() : null;
+    }
+
+    private static JsonObject revisionRecord(SavedScript script) {
+        JsonObject record = new JsonObject();
+        record.addProperty("contentHash", script.getContentHash());
+        record.addProperty("name", script.getName());
+        record.addProperty("lastModified", script.getLastModified());
+        record.addProperty("author", script.getAuthor());
+        record.addProperty("version", script.getVersion());
+        record.addProperty("folderPath", script.getFolderPath());
+        record.addProperty("description", script.getDescription());
+        return record;
+    }
+
+    private Path historyPath(String id) {
+        return historyDirectory.resolve(id + ".jsonl");
+    }
+
+    /**
+     * Append a save to the script's history (caller holds writeLock). A script saved before history
+     * was kept gets its previous version recorded first, so that version stays restorable.
+     */
+    private void appendHistory(SavedScript script, SavedScript replaced) throws IOException {
+        Path path = historyPath(script.getId());
+        StringBuilder lines = new StringBuilder();
+        if (replaced == null) {
+            // A new script - any file left is the history of a deleted one with the same id
+            Files.deleteIfExists(path);
+        } else if (!Files.exists(path)) {
+            lines.append(JOURNAL_GSON.toJson(revisionRecord(replaced))).append('\n');
+        } else if (!endsWithNewline(path)) {
+            lines.append('\n');  // a line torn by a crash
+        }
+        lines.append(JOURNAL_GSON.toJson(revisionRecord(script))).append('\n');
+        Files.write(path, lines.toString().getBytes(StandardCharsets.UTF_8), StandardOpenOption.CREATE,
+                StandardOpenOption.APPEND);
+    }
+
+    private static boolean endsWithNewline(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (in.size() == 0) {
+                return true;
+            }
+            ByteBuffer last = ByteBuffer.allocate(1);
+            in.read(last, in.size() - 1);
+            return last.get(0) == '\n';
+        }
+    }
+
+    private void forceHistory(String id) throws IOException {
+        try (FileChannel out = FileChannel.open(historyPath(id), StandardOpenOption.WRITE)) {
+            out.force(false);
+        } catch (NoSuchFileException e) {
+            // The script was deleted since it was saved - its history went with it
+        }
+    }
+
+    /**
+     * Checks if a script exists.
+     *
+     * @param name the script name
+     * @return true if exists
+     */
+    public boolean exists(String name) {
+        return index.byId.containsKey(sanitizeName(name));
+    }
+
+    /**
+     * Gets the number of saved scripts.
+     *
+     * @return count of scripts
+     */
+    public int getScriptCount() {
+        return index.byId.size();
+    }
+
+    /**
+     * Loads the script index from disk: the index.json snapshot, then the journals (v2.6.0).
+     *
+     * @return true if scripts with embedded code were moved to body files (index needs rewriting)
+     */
+    private boolean loadIndex() throws IOException {
+        Map<String, SavedScript> scripts = new HashMap<>();
+        if (!Files.exists(scriptsIndexFile)) {
+            LOGGER.info("No existing script index found, starting fresh");
+        } else {
+            try {
+                String json = Files.readString(scriptsIndexFile);
+                Map<String, SavedScript> loaded = GSON.fromJson(
+                        json,
+                        new TypeToken<Map<String, SavedScript>>() {}.getType()
+                );
+
+                if (loaded != null) {
+                    scripts.putAll(loaded);
+                }
+
+            } catch (Exception e) {
+                LOGGER.error("Failed to load script index, starting fresh", e);
+            }
+        }
+
+        // v2.6.0: The revision compaction stored, raised by any journaled changes after it
+        long[] revision = {readRevision()};
+        int replayed = replay(rotatedJournalPath, scripts, revision) + replay(journalPath, scripts, revision);
+
+        // v2.6.0: Move code embedded by older versions into body files
+        int migrated = 0;
+        for (Map.Entry<String, SavedScript> entry : scripts.entrySet()) {
+            SavedScript script = entry.getValue();
+            if (script.getContentHash() == null) {
+                String code = script.getCode() != null ? script.getCode() : "";
+                String contentHash = sha256Hex(code);
+                writeBody(contentHash, code);
+                entry.setValue(script.withoutCode(contentHash));
+                migrated++;
+            }
+        }
+        if (migrated > 0) {
+            LOGGER.info("Moved the code of {} saved scripts into {}", migrated, bodiesDirectory);
+        }
+
+        index = Index.of(scripts, revision[0]);
+        changeLogFloor = revision[0];
+        journalLines = replayed;
+        LOGGER.info("Loaded {} saved scripts ({} journaled changes, revision {})", scripts.size(), replayed,
+                revision[0]);
+        return migrated > 0;
+    }
+
+    private long readRevision() {
+        try {
+            return Files.exists(revisionPath) ? Long.parseLong(Files.readString(revisionPath).trim()) : 0;
+        } catch (IOException | NumberFormatException e) {
+            LOGGER.warn("Unreadable {} - script revisions restart from the journal", revisionPath);
+            return 0;
+        }
+    }
+
+    /**
+     * Apply a journal to the loaded scripts. Unreadable lines (a write torn by a crash) are skipped.
+     *
+     * @param revision raised to the highest revision applied; records from before revisions were
+     *                 journaled count one each
+     * @return the number of records applied
+     */
+    private int replay(Path path, Map<String, SavedScript> scripts, long[] revision) throws IOException {
+        if (!Files.exists(path)) {
+            return 0;
+        }
+
+        int applied = 0;
+        int skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    JsonObject record = JsonParser.parseString(line).getAsJsonObject();
+                    String op = record.get("op").getAsString();
+                    if ("put".equals(op)) {
+                        SavedScript script = JOURNAL_GSON.fromJson(record.get("script"), SavedScript.class);
+                        scripts.put(script.getId(), script);
+                    } else if ("remove".equals(op)) {
+                        scripts.remove(record.get("id").getAsString());
+                    }
+                    revision[0] = record.has("rev") ? Math.max(revision[0], record.get("rev").getAsLong())
+                            : revision[0] + 1;
+                    applied++;
+                } catch (RuntimeException e) {
+                    skipped++;
+                }
+            }
+        }
+        if (skipped > 0) {
+            LOGGER.warn("Skipped {} unreadable script journal lines in {}", skipped, path);
+        }
+        return applied;
+    }
+
+    /**
+     * Append one record to the journal (caller holds writeLock); it is durable once
+     * {@link #awaitDurable} returns for the returned sequence number.
+     */
+    private long append(JsonObject record) throws IOException {
+        if (journal == null) {
+            throw new IOException("Script repository is closed");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap((JOURNAL_GSON.toJson(record) + "\n").getBytes(StandardCharsets.UTF_8));
+        while (buffer.hasRemaining()) {
+            journal.write(buffer);
+        }
+        journalLines++;
+        return ++appendedRecords;
+    }
+
+    /**
+     * Wait until the given record is on disk. Whoever syncs covers every record appended so far, so
+     * writers that arrive while an fsync is running share the next one.
+     */
+    private void awaitDurable(long record) throws IOException {
+        if (syncedRecords >= record) {
+            return;
+        }
+        synchronized (syncLock) {
+            if (syncedRecords >= record) {
+                return;
+            }
+            long target = appendedRecords;
+            if (journal == null) {
+                throw new IOException("Script repository is closed");
+            }
+            journal.force(false);
+            syncedRecords = target;
+        }
+    }
+
+    private FileChannel openJournal() throws IOException {
+        return FileChannel.open(journalPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Compact once the journal holds more records than there are scripts (maintenance thread)
+     */
+    private void compactIfNeeded() {
+        if (journalLines <= Math.max(MIN_COMPACTION_LINES, index.byId.size())) {
+            return;
+        }
+        try {
+            compact();
+        } catch (Exception e) {
+            LOGGER.error("Failed to compact script journal", e);
+        }
+    }
+
+    /**
+     * Fold the journal into index.json. Only the journal rotation holds the write lock; the snapshot
+     * is written without blocking saves.
+     */
+    private void compact() throws IOException {
+        synchronized (compactLock) {
+            Index snapshot;
+            synchronized (writeLock) {
+                synchronized (syncLock) {
+                    if (journal != null) {
+                        journal.force(false);
+                        syncedRecords = appendedRecords;
+                        journal.close();
+                        journal = null;
+                    }
+                    if (Files.exists(journalPath)) {
+                        if (Files.exists(rotatedJournalPath)) {
+                            // An earlier compaction did not finish: keep both journals' records
+                            Files.write(rotatedJournalPath, Files.readAllBytes(journalPath), StandardOpenOption.APPEND,
+                                    StandardOpenOption.SYNC);
+                            Files.delete(journalPath);
+                        } else {
+                            Files.move(journalPath, rotatedJournalPath, StandardCopyOption.ATOMIC_MOVE);
+                        }
+                    }
+                    journal = openJournal();
+                    journalLines = 0;
+                }
+                snapshot = index;
+            }
+
+            writeSnapshot(snapshot);
+            writeAtomically(revisionPath, Long.toString(snapshot.revision).getBytes(StandardCharsets.UTF_8));
+            Files.deleteIfExists(rotatedJournalPath);
+            LOGGER.debug("Compacted script journal into {} ({} scripts)", scriptsIndexFile, snapshot.byId.size());
+
+            deleteUnreferencedBodies(snapshot);
+        }
+    }
+
+    /**
+     * Delete body files no script refers to. A body stays while the durable snapshot, the live index
+     * or an in-flight save refers to it, so a crash can never leave a record without its body.
+     * Full copies of old revisions that storeAsDelta could not remove go too. A file that cannot be
+     * deleted yet (on Windows, one still memory-mapped by a recent read) is retried next compaction.
+     */
+    private void deleteUnreferencedBodies(Index snapshot) throws IOException {
+        List<Path> files;
+        try (Stream<Path> paths = Files.walk(bodiesDirectory, 2)) {
+            files = paths.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+
+        // Revisions in history, and the bases their deltas are rebuilt from. Read after the snapshot
+        // was taken: a version superseded since then is still in the snapshot.
+        Set<String> inHistory = new HashSet<>();
+        List<Path> historyFiles;
+        try (Stream<Path> paths = Files.list(historyDirectory)) {
+            historyFiles = paths.filter(path -> path.toString().endsWith(".jsonl")).collect(Collectors.toList());
+        }
+        for (Path historyFile : historyFiles) {
+            try {
+                for (String line : Files.readAllLines(historyFile, StandardCharsets.UTF_8)) {
+                    try {
+                        inHistory.add(JsonParser.parseString(line).getAsJsonObject().get("contentHash").getAsString());
+                    } catch (RuntimeException e) {
+                        // torn line
+                    }
+                }
+            } catch (IOException e) {
+                // deleted with its script meanwhile
+            }
+        }
+        List<String> unresolved = new ArrayList<>(inHistory);
+        while (!unresolved.isEmpty()) {
+            String base = deltaBase(unresolved.remove(unresolved.size() - 1));
+            if (base != null && inHistory.add(base)) {
+                unresolved.add(base);
+            }
+        }
+
+        long staleBefore = System.currentTimeMillis() - ORPHAN_TMP_AGE_MS;
+        int deleted = 0;
+        int failed = 0;
+        synchronized (writeLock) {
+            Set<String> current = new HashSet<>();
+            for (SavedScript script : snapshot.byId.values()) {
+                current.add(script.getContentHash());
+            }
+            for (SavedScript script : index.byId.values()) {
+                current.add(script.getContentHash());
+            }
+            Set<String> live = new HashSet<>(inHistory);
+            live.addAll(current);
+
+            for (Path file : files) {
+                String fileName = file.getFileName().toString();
+                try {
+                    if (fileName.endsWith(".py") || fileName.endsWith(".delta")) {
+                        String contentHash = fileName.substring(0, fileName.lastIndexOf('.'));
+                        if (pendingBodies.containsKey(contentHash)) {
+                            continue;
+                        }
+                        boolean unreferenced = !live.contains(contentHash);
+                        boolean supersededByDelta = fileName.endsWith(".py") && !current.contains(contentHash)
+                                && Files.exists(deltaPath(contentHash)) && deltaResolves(contentHash);
+                        if ((unreferenced || supersededByDelta) && Files.deleteIfExists(file)) {
+                            bodyCache.remove(contentHash);
+                            deleted++;
+                        }
+                    } else if (fileName.endsWith(".tmp")
+                            && Files.getLastModifiedTime(file).compareTo(FileTime.fromMillis(staleBefore)) < 0) {
+                        // Left behind by a crash during writeBody
+                        Files.deleteIfExists(file);
+                    }
+                } catch (IOException e) {
+                    failed++;
+                    LOGGER.debug("Could not delete script body {} yet: {}", fileName, e.getMessage());
+                }
+            }
+        }
+        if (deleted > 0) {
+            LOGGER.debug("Deleted {} unreferenced script bodies", deleted);
+        }
+        if (failed > 0) {
+            LOGGER.info("{} unreferenced script bodies could not be deleted - retrying at the next compaction",
+                    failed);
+        }
+    }
+
+    private Path bodyPath(String contentHash) {
+        return bodiesDirectory.resolve(contentHash.substring(0, 2)).resolve(contentHash + ".py");
+    }
+
+    private Path deltaPath(String contentHash) {
+        return bodiesDirectory.resolve(contentHash.substring(0, 2)).resolve(contentHash + ".delta");
+    }
+
+    private boolean isCurrent(String contentHash) {
+        for (SavedScript script : index.byId.values()) {
+            if (contentHash.equals(script.getContentHash())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether a revision's delta chain ends at a full body other than its own, so its full copy can go
+     */
+    private boolean deltaResolves(String contentHash) {
+        Set<String> seen = new HashSet<>();
+        seen.add(contentHash);
+        String base = deltaBase(contentHash);
+        while (base != null && seen.add(base)) {
+            if (Files.exists(bodyPath(base))) {
+                return true;
+            }
+            base = deltaBase(base);
+        }
+        return false;
+    }
+
+    /**
+     * The hash a stored delta is rebuilt from, or null if the revision is a full file (or unreadable)
+     */
+    private String deltaBase(String contentHash) {
+        Path delta = deltaPath(contentHash);
+        if (!Files.exists(delta)) {
+            return null;
+        }
+        try {
+            return JsonParser.parseString(Files.readString(delta)).getAsJsonObject().get("base").getAsString();
+        } catch (IOException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Write a body file unless one with the same content already exists (tmp file, fsync, atomic rename).
+     * A delta left over from when this code was an old revision is no longer needed, and is dropped
+     * either way - left next to the full copy it could later make the full copy look redundant.
+     */
+    private void writeBody(String contentHash, String code) throws IOException {
+        Path target = bodyPath(contentHash);
+        if (!Files.exists(target)) {
+            writeAtomically(target, code.getBytes(StandardCharsets.UTF_8));
+        }
+        Files.deleteIfExists(deltaPath(contentHash));
+    }
+
+    /**
+     * Replace a superseded revision's body with a delta against the revision that replaced it, if that
+     * is smaller. Runs on the maintenance thread. The full file is only removed once the delta is on
+     * disk, and not if the code has meanwhile become current again (for this or another script) - then
+     * the delta goes instead, since its base may itself be rebuilt from this revision later.
+     */
+    private void storeAsDelta(String contentHash, String successorHash) {
+        Path full = bodyPath(contentHash);
+        Path delta = deltaPath(contentHash);
+        try {
+            if (!Files.exists(full) || Files.exists(delta)) {
+                return;
+            }
+            String code = readBody(contentHash, contentHash);
+            String successor = readBody(successorHash, successorHash);
+
+            JsonObject record = new JsonObject();
+            record.addProperty("base", successorHash);
+            record.add("ops", Python3ScriptDiff.delta(successor, code));
+            byte[] bytes = JOURNAL_GSON.toJson(record).getBytes(StandardCharsets.UTF_8);
+            if (bytes.length >= Files.size(full)) {
+                return;
+            }
+            writeAtomically(delta, bytes);
+
+            synchronized (writeLock) {
+                if (!Files.exists(delta)) {
+                    return;
+                }
+                if (pendingBodies.containsKey(contentHash) || isCurrent(contentHash)) {
+                    Files.deleteIfExists(delta);
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(full);
+                } catch (IOException e) {
+                    // Still mapped by a recent read (Windows) - the next compaction removes it
+                    LOGGER.debug("Full copy of revision {} stays until the next compaction: {}", contentHash,
+                            e.getMessage());
+                }
+            }
+            LOGGER.debug("Stored revision {} as a {} byte delta", contentHash, bytes.length);
+        } catch (Exception e) {
+            LOGGER.warn("Failed to store script revision {} as a delta - keeping the full copy", contentHash, e);
+        }
+    }
+
+    private static void writeAtomically(Path target, byte[] bytes) throws IOException {
+        Files.createDirectories(target.getParent());
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                while (buffer.hasRemaining()) {
+                    out.write(buffer);
+                }
+                out.force(true);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * Script source by content hash, from the LRU cache or the body file
+     */
+    private String readBody(String contentHash, String displayName) {
+        return readBody(contentHash, displayName, new HashSet<>());
+    }
+
+    /**
+     * @param chain hashes already being rebuilt further up this delta chain
+     */
+    private String readBody(String contentHash, String displayName, Set<String> chain) {
+        String code = bodyCache.get(contentHash);
+        Python3MetricsCollector collector = metricsCollector;
+        if (collector != null) {
+            collector.recordCacheAccess(Python3MetricsCollector.CACHE_SCRIPT_BODY, code != null);
+        }
+        if (code != null) {
+            return code;
+        }
+
+        try {
+            Path full = bodyPath(contentHash);
+            code = Files.exists(full) ? readFile(full) : applyDelta(contentHash, displayName, chain);
+        } catch (IOException e) {
+            LOGGER.error("Failed to read the code of script: {}", displayName, e);
+            throw new UncheckedIOException("Failed to read the code of script: " + displayName, e);
+        }
+
+        if (!contentHash.equals(sha256Hex(code))) {
+            LOGGER.error("SECURITY: Code file for script {} does not match its content hash - possible tampering detected!",
+                    displayName);
+            throw new SecurityException("Code file for script " + displayName + " does not match its content hash. "
+                    + "The script may have been tampered with. Please re-save the script.");
+        }
+
+        bodyCache.put(contentHash, code);
+        return code;
+    }
+
+    /**
+     * Rebuild an old revision from its delta and the (possibly also delta-stored) revision after it
+     */
+    private String applyDelta(String contentHash, String displayName, Set<String> chain) throws IOException {
+        if (!chain.add(contentHash)) {
+            throw new IOException("Revision " + contentHash + " is rebuilt from itself - its delta chain loops");
+        }
+        if (chain.size() > MAX_DELTA_CHAIN) {
+            throw new IOException("Revision chain too long at " + contentHash);
+        }
+        String base;
+        JsonArray ops;
+        try {
+            JsonObject record = JsonParser.parseString(readFile(deltaPath(contentHash))).getAsJsonObject();
+            base = record.get("base").getAsString();
+            ops = record.getAsJsonArray("ops");
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt delta for revision " + contentHash, e);
+        }
+
+        String baseCode = readBody(base, displayName, chain);
+        try {
+            return Python3ScriptDiff.apply(baseCode, ops);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupt delta for revision " + contentHash, e);
+        }
+    }
+
+    /**
+     * Read a whole file as UTF-8, memory-mapped if it is large
+     */
+    private static String readFile(Path path) throws IOException {
+        try (FileChannel in = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = in.size();
+            ByteBuffer buffer;
+            if (size >= MMAP_THRESHOLD) {
+                buffer = in.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                buffer = ByteBuffer.allocate((int) size);
+                while (buffer.hasRemaining()) {
+                    if (in.read(buffer) < 0) {
+                        break;
+                    }
+                }
+                buffer.flip();
+            }
+            return StandardCharsets.UTF_8.decode(buffer).toString();
+        }
+    }
+
+    private static String sha256Hex(String code) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(code.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Saves the script index to disk (index.json.tmp, fsync, atomic rename).
+     */
+    private void writeSnapshot(Index snapshot) throws IOException {
+        Path tmp = scriptsIndexFile.resolveSibling(scriptsIndexFile.getFileName() + ".tmp");
+        ByteBuffer buffer = ByteBuffer.wrap(GSON.toJson(snapshot.byId).getBytes(StandardCharsets.UTF_8));
+        try (FileChannel out = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                out.write(buffer);
+            }
+            out.force(true);
+        }
+        Files.move(tmp, scriptsIndexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Stop background compaction and close the journal. Saves and deletes fail afterwards.
+     *
+     * v2.6.0
+     */
+    public void close() {
+        maintenance.shutdownNow();
+        synchronized (writeLock) {
+            synchronized (syncLock) {
+                if (journal != null) {
+                    try {
+                        journal.force(false);
+                        syncedRecords = appendedRecords;
+                        journal.close();
+                    } catch (IOException e) {
+                        LOGGER.warn("Failed to close script journal", e);
+                    }
+                    journal = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Sanitizes a script name for use as a filesystem identifier.
+     *
+     * @param name the original name
+     * @return sanitized name
+     */
+    private String sanitizeName(String name) {
+        if (name == null) {
+            return "unnamed";
+        }
+
+        // Replace spaces with underscores, remove special characters
+        return name.trim()
+                .toLowerCase()
+                .replaceAll("[^a-z0-9_-]", "_")
+                .replaceAll("_+", "_");
+    }
+
+    /**
+     * Immutable lookup snapshot: by id (sanitized name), by "Folder/Name" and by lower-case path.
+     * Ids are lower-cased names, so no two scripts share a path even ignoring case.
+     *
+     * v2.6.0
+     */
+    private static final class Index {
+        static final Index EMPTY = new Index(Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap(), 0);
+
+        final Map<String, SavedScript> byId;
+        final Map<String, SavedScript> byPath;
+        final Map<String, SavedScript> byLowerPath;
+        final long revision;
+        private volatile List<ScriptMetadata> metadata;  // built on first listScripts
+
+        private Index(Map<String, SavedScript> byId, Map<String, SavedScript> byPath,
+                      Map<String, SavedScript> byLowerPath, long revision) {
+            this.byId = Collections.unmodifiableMap(byId);
+            this.byPath = Collections.unmodifiableMap(byPath);
+            this.byLowerPath = Collections.unmodifiableMap(byLowerPath);
+            this.revision = revision;
+        }
+
+        static Index of(Map<String, SavedScript> scripts, long revision) {
+            Map<String, SavedScript> byId = new HashMap<>(scripts);
+            Map<String, SavedScript> byPath = new HashMap<>();
+            Map<String, SavedScript> byLowerPath = new HashMap<>();
+            for (SavedScript script : byId.values()) {
+                byPath.put(script.getPath(), script);
+                byLowerPath.put(script.getPath().toLowerCase(Locale.ROOT), script);
+            }
+            return new Index(byId, byPath, byLowerPath, revision);
+        }
+
+        /**
+         * Copy with script added, replacing (and un-indexing the old path of) the given previous version
+         */
+        Index with(SavedScript script, SavedScript replaced) {
+            Map<String, SavedScript> nextById = new HashMap<>(byId);
+            Map<String, SavedScript> nextByPath = new HashMap<>(byPath);
+            Map<String, SavedScript> nextByLowerPath = new HashMap<>(byLowerPath);
+            if (replaced != null) {
+                nextByPath.remove(replaced.getPath(), replaced);
+                nextByLowerPath.remove(replaced.getPath().toLowerCase(Locale.ROOT), replaced);
+            }
+            nextById.put(script.getId(), script);
+            nextByPath.put(script.getPath(), script);
+            nextByLowerPath.put(script.getPath().toLowerCase(Locale.ROOT), script);
+            return new Index(nextById, nextByPath, nextByLowerPath, revision + 1);
+        }
+
+        List<ScriptMetadata> metadata() {
+            List<ScriptMetadata> result = metadata;
+            if (result == null) {
+                result = Collections.unmodifiableList(byId.values().stream()
+                        .map(Python3ScriptRepository::toMetadata)
+                        .collect(Collectors.toList()));
+                metadata = result;
+            }
+            return result;
+        }
+
+        Index without(SavedScript script) {
+            Map<String, SavedScript> nextById = new HashMap<>(byId);
+            Map<String, SavedScript> nextByPath = new HashMap<>(byPath);
+            Map<String, SavedScript> nextByLowerPath = new HashMap<>(byLowerPath);
+            nextById.remove(script.getId(), script);
+            nextByPath.remove(script.getPath(), script);
+            nextByLowerPath.remove(script.getPath().toLowerCase(Locale.ROOT), script);
+            return new Index(nextById, nextByPath, nextByLowerPath, revision + 1);
+        }
+    }
+
+    private static ScriptMetadata toMetadata(SavedScript script) {
+        return new ScriptMetadata(
+                script.getId(),
+                script.getName(),
+                script.getDescription(),
+                script.getAuthor(),
+                script.getCreatedDate(),
+                script.getLastModified(),
+                script.getFolderPath(),
+                script.getVersion()
+        );
+    }
+
+    /**
+     * One logged save or delete (v2.6.0)
+     */
+    private static final class Change {
+        final long revision;
+        final String id;
+        final SavedScript before;  // null if the change created the script
+
+        Change(long revision, String id, SavedScript before) {
+            this.revision = revision;
+            this.id = id;
+            this.before = before;
+        }
+    }
+
+    /**
+     * Script sources by content hash, least recently used evicted first once the total size passes
+     * the limit. Bodies larger than the whole limit are not cached.
+     *
+     * v2.6.0
+     */
+    private static final class BodyCache {
+        private final long maxBytes;
+        private long bytes = 0;
+        private final LinkedHashMap<String, String> bodies = new LinkedHashMap<>(16, 0.75f, true);
+
+        BodyCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized String get(String contentHash) {
+            return bodies.get(contentHash);
+        }
+
+        synchronized void put(String contentHash, String code) {
+            long size = sizeOf(code);
+            if (size > maxBytes || bodies.containsKey(contentHash)) {
+                return;
+            }
+            bodies.put(contentHash, code);
+            bytes += size;
+            Iterator<Map.Entry<String, String>> eldest = bodies.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= sizeOf(eldest.next().getValue());
+                eldest.remove();
+            }
+        }
+
+        synchronized void remove(String contentHash) {
+            String code = bodies.remove(contentHash);
+            if (code != null) {
+                bytes -= sizeOf(code);
+            }
+        }
+
+        private static long sizeOf(String code) {
+            return 2L * code.length();
+        }
+    }
+
+    /**
+     * Represents a saved Python script.
+     *
+     * v1.17.0: Added signature field for tamper protection
+     */
+    public static class SavedScript {
+        private final String id;
+        private final String name;
+        private final String code;
+        private final String description;
+        private final String author;
+        private final String createdDate;
+        private final String lastModified;
+        private final String folderPath;
+        private final String version;
+        private final String signature;  // v1.17.0: HMAC signature for tamper detection
+        private final String contentHash;  // v2.6.0: SHA-256 of code, names the body file
+
+        public SavedScript(String id, String name, String code, String description,
+                          String author, String createdDate, String lastModified,
+                          String folderPath, String version, String signature) {
+            this(id, name, code, description, author, createdDate, lastModified, folderPath, version, signature,
+                 null);
+        }
+
+        SavedScript(String id, String name, String code, String description,
+                    String author, String createdDate, String lastModified,
+                    String folderPath, String version, String signature, String contentHash) {
+            this.id = id;
+            this.name = name;
+            this.code = code;
+            this.description = description;
+            this.author = author;
+            this.createdDate = createdDate;
+            this.lastModified = lastModified;
+            this.folderPath = folderPath;
+            this.version = version;
+            this.signature = signature;  // Can be null for backward compatibility
+            this.contentHash = contentHash;
+        }
+
+        // Constructor for backward compatibility (without signature)
+        public SavedScript(String id, String name, String code, String description,
+                          String author, String createdDate, String lastModified,
+                          String folderPath, String version) {
+            this(id, name, code, description, author, createdDate, lastModified,
+                 folderPath, version, null);
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public String getCreatedDate() {
+            return createdDate;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getFolderPath() {
+            return folderPath;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getSignature() {
+            return signature;
+        }
+
+        /**
+         * SHA-256 (hex) of the code; null for scripts not created by the repository (v2.6.0)
+         */
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        SavedScript withCode(String code) {
+            return new SavedScript(id, name, code, description, author, createdDate, lastModified, folderPath,
+                    version, signature, contentHash);
+        }
+
+        SavedScript withoutCode(String contentHash) {
+            return new SavedScript(id, name, null, description, author, createdDate, lastModified, folderPath,
+                    version, signature, contentHash);
+        }
+
+        /**
+         * Folder path and name joined with '/', as accepted by loadScriptByPath (v2.6.0)
+         */
+        public String getPath() {
+            return folderPath == null || folderPath.isEmpty() ? name : folderPath + "/" + name;
+        }
+    }
+
+    /**
+     * One saved revision of a script (metadata; code via loadRevision).
+     *
+     * v2.6.0
+     */
+    public static class ScriptRevision {
+        private final int revision;
+        private final String name;
+        private final String contentHash;
+        private final String lastModified;
+        private final String author;
+        private final String version;
+        private final String folderPath;
+        private final String description;
+        private final boolean current;
+
+        public ScriptRevision(int revision, String name, String contentHash, String lastModified, String author,
+                              String version, String folderPath, String description, boolean current) {
+            this.revision = revision;
+            this.name = name;
+            this.contentHash = contentHash;
+            this.lastModified = lastModified;
+            this.author = author;
+            this.version = version;
+            this.folderPath = folderPath;
+            this.description = description;
+            this.current = current;
+        }
+
+        public int getRevision() {
+            return revision;
+        }
+
+        public String getContentHash() {
+            return contentHash;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public String getAuthor() {
+            return author;
+        }
+
+        public String getVersion() {
+            return version;
+        }
+
+        public String getFolderPath() {
+            return folderPath;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+
+        public boolean isCurrent() {
+            return current;
+        }
+
+        /**
+         * Folder path and name of the script as of this revision
+         */
+        public String getPath() {
+            return folderPath == null || folderPath.isEmpty() ? name : folderPath + "/" + name;
+        }
+    }
+
+    /**
+     * A script matched by {@link #search}.
+     *
+     * v2.6.0
+     */
+    public static class ScriptSearchResult {
+        private final String id;
+        private final String name;
+        private final String folderPath;
+        private final String path;
+        private final String lastModified;
+        private final boolean pathMatch;
+        private final int matchingLines;
+        private final List<ScriptSearchMatch> matches;
+
+        public ScriptSearchResult(String id, String name, String folderPath, String path, String lastModified,
+                                  boolean pathMatch, int matchingLines, List<ScriptSearchMatch> matches) {
+            this.id = id;
+            this.name = name;
+            this.folderPath = folderPath;
+            this.path = path;
+            this.lastModified = lastModified;
+            this.pathMatch = pathMatch;
+            this.matchingLines = matchingLines;
+            this.matches = matches;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getFolderPath() {
+            return folderPath;
+        }
+
+        public String getPath() {
+            return path;
+        }
+
+        public String getLastModified() {
+            return lastModified;
+        }
+
+        public boolean isPathMatch() {
+            return pathMatch;
+        }
+
+        public int getMatchingLines() {
+            return matchingLines;
+        }
+
+        public List<ScriptSearchMatch> getMatches() {
+            return matches;
+        }
+    }
+
+    /**
+     * One matching line: 1-based line and column of the first match, and the line text (v2.6.0)
+     */
+    public static class ScriptSearchMatch {
+        private final int line;
+        private final int column;
+        private final String text;
+
+        public ScriptSearchMatch(int line, int column, String text) {
+            this.line = line;
+            this.column = column;
+            this.text = text;
+        }
+
+        public int getLine() {
+            return line;
+        }
+
+        public int getColumn() {
+            return column;
+        }
+
+        public String getText() {
+            return text;
+        }
+    }
+
+    /**
+     * Result of {@link #changesSince}: what changed up to revision, or everything if reset.
+     *
+     * v2.6.0
+     */
+    public static class ScriptChanges {
+        private final long revision;
+        private final boolean reset;
+        private final List<ScriptMetadata> added;
+        private final List<ScriptMetadata> updated;
+        private final List<ScriptMetadata> deleted;
+
+        public ScriptChanges(long revision, boolean reset, List<ScriptMetadata> added,
+                             List<ScriptMetadata> updated, List<ScriptMetadata> deleted) {
+            this.revision = revision;
+            this.reset = reset;
+            this.added = added;
+            this.updated = updated;
+            this.deleted = deleted;
+        }
+
+        public long getRevision() {
+            return revision;
+        }
+
+        public boolean isReset() {
+            return reset;
+        }
+
+        public List<ScriptMetadata> getAdded() {
+            return added;
+        }
+
+        public List<ScriptMetadata> getUpdated() {
+            return updated;
+        }
+
+        /**
+         * Deleted scripts as they were before deletion
+         */
+        public List<ScriptMetadata> getDeleted() {
+            return deleted;
         }
     }
 
@@ -0,0 +1,297 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trigram index over saved script sources, used to narrow a search to the scripts that can match
+ * before their code is scanned.
+ *
+ * Every run of three characters in a script is recorded (case-folded), so a substring of three or
+ * more characters can only occur in scripts holding all of its trigrams. Regex queries are narrowed
+ * by the literal runs they require; queries without any (short, or alternation at the top level)
+ * scan every script. Candidates are a superset of the matches; callers always verify.
+ *
+ * v2.6.0: Added for /api/v1/scripts/search
+ */
+public final class Python3ScriptSearchIndex {
+
+    private final Map<Long, Set<String>> postings = new HashMap<>();
+    private final Map<String, long[]> trigramsById = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /**
+     * Index (or re-index) a script's code
+     */
+    public void put(String id, String code) {
+        long[] trigrams = trigrams(code);
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            trigramsById.put(id, trigrams);
+            for (long trigram : trigrams) {
+                postings.computeIfAbsent(trigram, key -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(String id) {
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void removeLocked(String id) {
+        long[] previous = trigramsById.remove(id);
+        if (previous == null) {
+            return;
+        }
+        for (long trigram : previous) {
+            Set<String> ids = postings.get(trigram);
+            if (ids != null) {
+                ids.remove(id);
+                if (ids.isEmpty()) {
+                    postings.remove(trigram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Scripts that contain every one of the given literals
+     *
+     * @return the candidate ids, or null if no literal is long enough to narrow the search
+     */
+    public Set<String> candidates(Collection<String> literals) {
+        Set<Long> required = new HashSet<>();
+        for (String literal : literals) {
+            for (long trigram : trigrams(literal)) {
+                required.add(trigram);
+            }
+        }
+        if (required.isEmpty()) {
+            return null;
+        }
+
+        lock.readLock().lock();
+        try {
+            // Intersect starting from the rarest trigram
+            List<Set<String>> lists = new ArrayList<>(required.size());
+            for (long trigram : required) {
+                Set<String> ids = postings.get(trigram);
+                if (ids == null) {
+                    return Collections.emptySet();
+                }
+                lists.add(ids);
+            }
+            lists.sort((a, b) -> Integer.compare(a.size(), b.size()));
+
+            Set<String> result = new HashSet<>(lists.get(0));
+            for (int i = 1; i < lists.size() && !result.isEmpty(); i++) {
+                result.retainAll(lists.get(i));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Number of indexed scripts
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return trigramsById.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Literal runs every match of the regex must contain, for a pattern compiled without the COMMENTS
+     * or LITERAL flags. Conservative: group and character class contents are ignored, characters made
+     * optional by ?, * or {n,m} are dropped, escapes other than a quoted symbol (\d, \x41, \p{L},
+     * back references...) end a run, and a top-level alternation or any inline flag (such as (?x))
+     * means nothing is required.
+     */
+    public static List<String> requiredLiterals(String regex) {
+        List<String> literals = new ArrayList<>();
+        StringBuilder run = new StringBuilder();
+        int depth = 0;
+        int i = 0;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '\\' && i + 1 < regex.length()) {
+                char escaped = regex.charAt(i + 1);
+                if (escaped == 'Q') {
+                    break;  // quoted section: stop with what is known so far
+                }
+                if (Character.isLetterOrDigit(escaped)) {
+                    flush(run, literals);
+                    i = skipEscape(regex, i + 1);
+                } else {
+                    i += 2;
+                    if (depth == 0 && !isOptional(regex, i)) {
+                        run.append(escaped);
+                    } else {
+                        flush(run, literals);
+                    }
+                }
+            } else if (c == '[') {
+                flush(run, literals);
+                i = skipCharacterClass(regex, i);
+            } else if (c == '(') {
+                if (i + 2 < regex.length() && regex.charAt(i + 1) == '?' && "idmsuxU-".indexOf(regex.charAt(i + 2)) >= 0) {
+                    return Collections.emptyList();  // inline flags may change what the literals mean
+                }
+                flush(run, literals);
+                depth++;
+                i++;
+            } else if (c == ')') {
+                flush(run, literals);
+                depth = Math.max(0, depth - 1);
+                i++;
+            } else if (c == '|') {
+                if (depth == 0) {
+                    return Collections.emptyList();
+                }
+                i++;
+            } else if (c == '{') {
+                flush(run, literals);
+                int close = regex.indexOf('}', i);
+                i = close < 0 ? regex.length() : close + 1;
+            } else if ("^$.*+?".indexOf(c) >= 0) {
+                flush(run, literals);
+                i++;
+            } else {
+                if (depth == 0 && !isOptional(regex, i + 1)) {
+                    run.append(c);
+                } else {
+                    flush(run, literals);
+                }
+                i++;
+            }
+        }
+        flush(run, literals);
+        return literals;
+    }
+
+    private static boolean isOptional(String regex, int next) {
+        return next < regex.length() && "?*{".indexOf(regex.charAt(next)) >= 0;
+    }
+
+    /**
+     * Index just past an escape whose letter or digit is at the given index, including its arguments
+     * (\x41, \x{41}, \0101, \cA, \k&lt;name&gt;, \p{L}, \N{name}, \12, and the four-digit u escape)
+     */
+    private static int skipEscape(String regex, int at) {
+        char escaped = regex.charAt(at);
+        int i = at + 1;
+        switch (escaped) {
+            case 'x':
+                return regex.startsWith("{", i) ? skipPast(regex, i, '}') : Math.min(i + 2, regex.length());
+            case 'u':
+                return Math.min(i + 4, regex.length());
+            case 'c':
+                return Math.min(i + 1, regex.length());
+            case 'k':
+                return regex.startsWith("<", i) ? skipPast(regex, i, '>') : i;
+            case 'p':
+            case 'P':
+            case 'N':
+                return regex.startsWith("{", i) ? skipPast(regex, i, '}') : Math.min(i + 1, regex.length());
+            case '0':
+                while (i < regex.length() && i < at + 4 && regex.charAt(i) >= '0' && regex.charAt(i) <= '7') {
+                    i++;
+                }
+                return i;
+            default:
+                while (Character.isDigit(escaped) && i < regex.length() && Character.isDigit(regex.charAt(i))) {
+                    i++;  // back reference
+                }
+                return i;
+        }
+    }
+
+    private static int skipPast(String regex, int from, char close) {
+        int end = regex.indexOf(close, from);
+        return end < 0 ? regex.length() : end + 1;
+    }
+
+    private static int skipCharacterClass(String regex, int open) {
+        int depth = 0;
+        int i = open;
+        while (i < regex.length()) {
+            char c = regex.charAt(i);
+            if (c == '[') {
+                // A ] straight after the opening bracket (or ^) is a member, not the end
+                depth++;
+                i++;
+                if (i < regex.length() && regex.charAt(i) == '^') {
+                    i++;
+                }
+                if (i < regex.length() && regex.charAt(i) == ']') {
+                    i++;
+                }
+            } else if (c == ']') {
+                depth--;
+                i++;
+                if (depth == 0) {
+                    return i;
+                }
+            } else {
+                i += c == '\\' ? 2 : 1;
+            }
+        }
+        return regex.length();
+    }
+
+    private static void flush(StringBuilder run, List<String> literals) {
+        if (run.length() >= 3) {
+            literals.add(run.toString());
+        }
+        run.setLength(0);
+    }
+
+    private static long[] trigrams(String text) {
+        if (text.length() < 3) {
+            return new long[0];
+        }
+        Set<Long> unique = new HashSet<>();
+        char a = fold(text.charAt(0));
+        char b = fold(text.charAt(1));
+        for (int i = 2; i < text.length(); i++) {
+            char c = fold(text.charAt(i));
+            unique.add(((long) a << 32) | ((long) b << 16) | c);
+            a = b;
+            b = c;
+        }
+        long[] result = new long[unique.size()];
+        int i = 0;
+        for (long trigram : unique) {
+            result[i++] = trigram;
+        }
+        return result;
+    }
+
+    /**
+     * Case folding that agrees with case-insensitive matching (which compares upper and lower case)
+     */
+    private static char fold(char c) {
+        return Character.toLowerCase(Character.toUpperCase(c));
+    }
+}
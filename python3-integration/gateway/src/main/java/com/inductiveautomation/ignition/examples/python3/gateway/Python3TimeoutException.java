@@ -0,0 +1,14 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+/**
+ * Thrown when a Python process does not answer a request within its timeout.
+ * The executor is marked unhealthy and will be replaced when returned to the pool.
+ *
+ * v2.6.0: Split out from Python3Exception so timeouts can be counted separately
+ */
+public class Python3TimeoutException extends Python3Exception {
+
+    public Python3TimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,303 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Trace context and phase timings for a single execution.
+ *
+ * A trace is started by whoever receives the request (a REST handler, or the process pool for
+ * scripting calls) and is bound to the current thread, so the pool and executor can add phases
+ * without changing every method signature. Phases are recorded in order:
+ *
+ * <pre>
+ *   rest_parse -> pool_wait -> encode -> pipe_write -> python_decode -> python_security ->
+ *   python_setup -> python_import -> python_user_code -> python_serialize -> python_encode ->
+ *   pipe_wait -> decode
+ * </pre>
+ *
+ * The python_* phases are measured by the bridge and returned with the response. pipe_wait is
+ * the round trip minus the bridge's own time (pipe transfer, scheduling and the reader thread).
+ *
+ * Trace and span ids follow W3C Trace Context, so an incoming {@code traceparent} header can be
+ * continued and the spans written by {@link Python3TraceExporter} line up with the caller's trace.
+ *
+ * Not thread-safe: a trace belongs to the thread that is executing the request.
+ *
+ * v2.6.0: Added for end-to-end phase timing
+ */
+public final class Python3Trace {
+
+    // Java-side phases
+    public static final String PHASE_REST_PARSE = "rest_parse";
+    public static final String PHASE_POOL_WAIT = "pool_wait";
+    public static final String PHASE_ENCODE = "encode";
+    public static final String PHASE_PIPE_WRITE = "pipe_write";
+    public static final String PHASE_PIPE_WAIT = "pipe_wait";
+    public static final String PHASE_DECODE = "decode";
+
+    // Bridge-side phases are reported as "<name>_us" and recorded with this prefix
+    public static final String PYTHON_PHASE_PREFIX = "python_";
+
+    /**
+     * Canonical display order of all known phases.
+     */
+    public static final List<String> PHASE_ORDER = Collections.unmodifiableList(List.of(
+            PHASE_REST_PARSE, PHASE_POOL_WAIT, PHASE_ENCODE, PHASE_PIPE_WRITE,
+            "python_decode", "python_security", "python_setup", "python_import",
+            "python_user_code", "python_serialize", "python_encode",
+            PHASE_PIPE_WAIT, PHASE_DECODE
+    ));
+
+    private static final ThreadLocal<Python3Trace> CURRENT = new ThreadLocal<>();
+    private static volatile Python3TraceExporter exporter;
+
+    private final String name;
+    private final String traceId;
+    private final String spanId;
+    private final String parentSpanId;
+    private final long startEpochNanos;
+    private final long startNanoTime;
+    private final List<Phase> phases = new ArrayList<>(16);
+    private final Map<String, String> attributes = new LinkedHashMap<>();
+    private long endNanoTime;
+    private boolean error;
+    private int requestChars;
+    private int responseChars;
+
+    private Python3Trace(String name, String traceId, String parentSpanId) {
+        this.name = name;
+        this.traceId = traceId != null ? traceId : randomHex(16);
+        this.spanId = randomHex(8);
+        this.parentSpanId = parentSpanId;
+        this.startEpochNanos = System.currentTimeMillis() * 1_000_000L;
+        this.startNanoTime = System.nanoTime();
+    }
+
+    /**
+     * Start a new trace and bind it to the current thread.
+     *
+     * @param name span name, e.g. "POST /api/v1/exec" or "execute"
+     * @return the new trace
+     */
+    public static Python3Trace begin(String name) {
+        return begin(name, null);
+    }
+
+    /**
+     * Start a trace, continuing a W3C {@code traceparent} if one is given and valid.
+     *
+     * @param name        span name
+     * @param traceparent incoming header value ("00-{trace-id}-{parent-id}-{flags}"), may be null
+     * @return the new trace
+     */
+    public static Python3Trace begin(String name, String traceparent) {
+        String traceId = null;
+        String parentSpanId = null;
+        if (traceparent != null) {
+            String[] parts = traceparent.trim().split("-");
+            if (parts.length == 4 && isHex(parts[1], 32) && isHex(parts[2], 16)) {
+                traceId = parts[1].toLowerCase();
+                parentSpanId = parts[2].toLowerCase();
+            }
+        }
+
+        Python3Trace trace = new Python3Trace(name, traceId, parentSpanId);
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    /**
+     * @return the trace bound to the current thread, or null when the call is not traced
+     */
+    public static Python3Trace current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Set the span exporter (null disables export). Configured from GatewayHook.
+     */
+    public static void setExporter(Python3TraceExporter traceExporter) {
+        exporter = traceExporter;
+    }
+
+    /**
+     * Record a phase from two {@link System#nanoTime()} readings.
+     */
+    public void phase(String phaseName, long startNanos, long endNanos) {
+        phases.add(new Phase(phaseName, startNanos, Math.max(0L, endNanos - startNanos)));
+    }
+
+    /**
+     * Record a phase measured elsewhere (e.g. by the bridge) with an estimated start time.
+     */
+    public void phaseDuration(String phaseName, long startNanos, long durationNanos) {
+        phases.add(new Phase(phaseName, startNanos, Math.max(0L, durationNanos)));
+    }
+
+    public void setAttribute(String key, String value) {
+        if (value != null) {
+            attributes.put(key, value);
+        }
+    }
+
+    public void setError(boolean error) {
+        this.error = error;
+    }
+
+    /**
+     * Record the length of the request and response JSON lines (characters, 0 if there was no response).
+     */
+    public void setPayloadSizes(int requestChars, int responseChars) {
+        this.requestChars = requestChars;
+        this.responseChars = responseChars;
+    }
+
+    /**
+     * Finish the trace: feed the phase histograms, export the spans and unbind it from the thread.
+     *
+     * @param collector metrics collector to record phase latencies into (may be null)
+     */
+    public void end(Python3MetricsCollector collector) {
+        if (endNanoTime == 0L) {
+            endNanoTime = System.nanoTime();
+
+            if (collector != null) {
+                collector.recordPhases(this);
+            }
+
+            Python3TraceExporter traceExporter = exporter;
+            if (traceExporter != null) {
+                traceExporter.export(this);
+            }
+        }
+
+        if (CURRENT.get() == this) {
+            CURRENT.remove();
+        }
+    }
+
+    /**
+     * Phase durations in milliseconds, in recorded order (repeated phases are summed).
+     */
+    public Map<String, Double> getPhasesMillis() {
+        Map<String, Double> map = new LinkedHashMap<>();
+        for (Phase phase : phases) {
+            map.merge(phase.name, phase.durationNanos / 1_000_000.0, Double::sum);
+        }
+        return map;
+    }
+
+    /**
+     * Total duration so far (or until {@link #end}) in nanoseconds.
+     */
+    public long getDurationNanos() {
+        return (endNanoTime != 0L ? endNanoTime : System.nanoTime()) - startNanoTime;
+    }
+
+    /**
+     * @return the W3C traceparent for this span (sampled)
+     */
+    public String toTraceparent() {
+        return "00-" + traceId + "-" + spanId + "-01";
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getTraceId() {
+        return traceId;
+    }
+
+    public String getSpanId() {
+        return spanId;
+    }
+
+    public String getParentSpanId() {
+        return parentSpanId;
+    }
+
+    public boolean isError() {
+        return error;
+    }
+
+    public int getRequestChars() {
+        return requestChars;
+    }
+
+    public int getResponseChars() {
+        return responseChars;
+    }
+
+    public List<Phase> getPhases() {
+        return Collections.unmodifiableList(phases);
+    }
+
+    public Map<String, String> getAttributes() {
+        return Collections.unmodifiableMap(attributes);
+    }
+
+    public String getAttribute(String key) {
+        return attributes.get(key);
+    }
+
+    /**
+     * Convert a {@link System#nanoTime()} reading taken during this trace to Unix epoch nanoseconds.
+     */
+    public long toEpochNanos(long nanoTime) {
+        return startEpochNanos + (nanoTime - startNanoTime);
+    }
+
+    public long getStartEpochNanos() {
+        return startEpochNanos;
+    }
+
+    public long getEndEpochNanos() {
+        return toEpochNanos(endNanoTime != 0L ? endNanoTime : System.nanoTime());
+    }
+
+    private static String randomHex(int bytes) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        StringBuilder sb = new StringBuilder(bytes * 2);
+        for (int i = 0; i < bytes; i++) {
+            int b = random.nextInt(256);
+            sb.append(Character.forDigit(b >>> 4, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return sb.toString();
+    }
+
+    private static boolean isHex(String value, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        boolean allZero = true;
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (Character.digit(c, 16) < 0) {
+                return false;
+            }
+            allZero &= c == '0';
+        }
+        return !allZero;
+    }
+
+    /**
+     * One timed phase of an execution
+     */
+    public static final class Phase {
+        public final String name;
+        public final long startNanos;
+        public final long durationNanos;
+
+        Phase(String name, long startNanos, long durationNanos) {
+            this.name = name;
+            this.startNanos = startNanos;
+            this.durationNanos = durationNanos;
+        }
+    }
+}
@@ -0,0 +1,287 @@
+package com.inductiveautomation.ignition.examples.python3.gateway;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Writes finished {@link Python3Trace}s as spans to a local file in OTLP/JSON format.
+ *
+ * Each line is one ExportTraceServiceRequest (the format read by the OpenTelemetry Collector's
+ * file receiver / otlpjsonfile), holding a batch of traces. Each trace becomes a root span plus
+ * one child span per phase. Export is asynchronous: executions only enqueue the trace, and traces
+ * are dropped (and counted) if the writer falls behind.
+ *
+ * Enabled with -Dignition.python3.trace.file=/path/to/python3-traces.jsonl. The file is rolled
+ * to "&lt;file&gt;.1" when it exceeds -Dignition.python3.trace.maxMb (default 100).
+ *
+ * v2.6.0: Added for end-to-end phase timing
+ */
+public class Python3TraceExporter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(Python3TraceExporter.class);
+
+    public static final String FILE_PROPERTY = "ignition.python3.trace.file";
+    public static final String MAX_MB_PROPERTY = "ignition.python3.trace.maxMb";
+
+    private static final int QUEUE_CAPACITY = 10_000;
+    private static final int MAX_BATCH = 256;
+    private static final int SPAN_KIND_INTERNAL = 1;
+    private static final int SPAN_KIND_SERVER = 2;
+    private static final int STATUS_CODE_ERROR = 2;
+
+    private final Path file;
+    private final long maxBytes;
+    private final String serviceVersion;
+    private final BlockingQueue<Python3Trace> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final LongAdder dropped = new LongAdder();
+    private final Thread writerThread;
+    private volatile boolean running = true;
+    private BufferedWriter writer;
+    private long writtenBytes;
+
+    /**
+     * Create an exporter from system properties.
+     *
+     * @param serviceVersion module version reported as service.version
+     * @return the exporter, or null if tracing to file is not enabled
+     */
+    public static Python3TraceExporter fromSystemProperties(String serviceVersion) {
+        String path = System.getProperty(FILE_PROPERTY);
+        if (path == null || path.isBlank()) {
+            return null;
+        }
+        long maxMb = Long.getLong(MAX_MB_PROPERTY, 100L);
+        try {
+            return new Python3TraceExporter(Path.of(path), maxMb * 1024 * 1024, serviceVersion);
+        } catch (IOException e) {
+            LOGGER.error("Failed to open trace file {} - span export disabled", path, e);
+            return null;
+        }
+    }
+
+    public Python3TraceExporter(Path file, long maxBytes, String serviceVersion) throws IOException {
+        this.file = file;
+        this.maxBytes = maxBytes;
+        this.serviceVersion = serviceVersion;
+        openWriter();
+
+        writerThread = new Thread(this::writeLoop, "Python3-TraceExporter");
+        writerThread.setDaemon(true);
+        writerThread.start();
+
+        LOGGER.info("Exporting execution traces (OTLP/JSON) to {}", file);
+    }
+
+    /**
+     * Queue a finished trace for export. Never blocks.
+     */
+    public void export(Python3Trace trace) {
+        if (!running || !queue.offer(trace)) {
+            dropped.increment();
+        }
+    }
+
+    /**
+     * @return number of traces dropped because the queue was full or the exporter was stopped
+     */
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    /**
+     * Flush queued traces and close the file.
+     */
+    public void shutdown() {
+        // No interrupt: an interrupted channel write would close the file mid-batch
+        running = false;
+        try {
+            writerThread.join(5000);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void writeLoop() {
+        List<Python3Trace> batch = new ArrayList<>(MAX_BATCH);
+        try {
+            while (running || !queue.isEmpty()) {
+                Python3Trace first;
+                try {
+                    first = queue.poll(250, TimeUnit.MILLISECONDS);
+                } catch (InterruptedException e) {
+                    first = queue.poll();
+                }
+                if (first == null) {
+                    continue;
+                }
+
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                writeBatch(batch);
+                batch.clear();
+            }
+        } finally {
+            closeWriter();
+        }
+    }
+
+    private void writeBatch(List<Python3Trace> batch) {
+        try {
+            String line = toExportRequest(batch).toString();
+            if (writtenBytes + line.length() > maxBytes) {
+                roll();
+            }
+            writer.write(line);
+            writer.newLine();
+            writer.flush();
+            writtenBytes += line.length() + 1;
+        } catch (IOException e) {
+            dropped.add(batch.size());
+            LOGGER.warn("Failed to write {} traces to {}", batch.size(), file, e);
+        }
+    }
+
+    private JsonObject toExportRequest(List<Python3Trace> batch) {
+        JsonArray spans = new JsonArray();
+        for (Python3Trace trace : batch) {
+            spans.add(rootSpan(trace));
+            for (Python3Trace.Phase phase : trace.getPhases()) {
+                spans.add(phaseSpan(trace, phase));
+            }
+        }
+
+        JsonObject scope = new JsonObject();
+        scope.addProperty("name", "python3-integration");
+        scope.addProperty("version", serviceVersion);
+
+        JsonObject scopeSpans = new JsonObject();
+        scopeSpans.add("scope", scope);
+        scopeSpans.add("spans", spans);
+
+        JsonArray resourceAttributes = new JsonArray();
+        resourceAttributes.add(attribute("service.name", "ignition-python3"));
+        resourceAttributes.add(attribute("service.version", serviceVersion));
+
+        JsonObject resource = new JsonObject();
+        resource.add("attributes", resourceAttributes);
+
+        JsonArray scopeSpansArray = new JsonArray();
+        scopeSpansArray.add(scopeSpans);
+
+        JsonObject resourceSpans = new JsonObject();
+        resourceSpans.add("resource", resource);
+        resourceSpans.add("scopeSpans", scopeSpansArray);
+
+        JsonArray resourceSpansArray = new JsonArray();
+        resourceSpansArray.add(resourceSpans);
+
+        JsonObject request = new JsonObject();
+        request.add("resourceSpans", resourceSpansArray);
+        return request;
+    }
+
+    private JsonObject rootSpan(Python3Trace trace) {
+        JsonObject span = new JsonObject();
+        span.addProperty("traceId", trace.getTraceId());
+        span.addProperty("spanId", trace.getSpanId());
+        if (trace.getParentSpanId() != null) {
+            span.addProperty("parentSpanId", trace.getParentSpanId());
+        }
+        span.addProperty("name", trace.getName());
+        span.addProperty("kind", trace.getParentSpanId() != null || trace.getName().contains("/api/")
+                ? SPAN_KIND_SERVER : SPAN_KIND_INTERNAL);
+        span.addProperty("startTimeUnixNano", Long.toString(trace.getStartEpochNanos()));
+        span.addProperty("endTimeUnixNano", Long.toString(trace.getEndEpochNanos()));
+
+        JsonArray attributes = new JsonArray();
+        for (Map.Entry<String, String> entry : trace.getAttributes().entrySet()) {
+            attributes.add(attribute(entry.getKey(), entry.getValue()));
+        }
+        span.add("attributes", attributes);
+
+        if (trace.isError()) {
+            JsonObject status = new JsonObject();
+            status.addProperty("code", STATUS_CODE_ERROR);
+            span.add("status", status);
+        }
+        return span;
+    }
+
+    private JsonObject phaseSpan(Python3Trace trace, Python3Trace.Phase phase) {
+        long start = trace.toEpochNanos(phase.startNanos);
+
+        JsonObject span = new JsonObject();
+        span.addProperty("traceId", trace.getTraceId());
+        span.addProperty("spanId", childSpanId(trace.getSpanId(), phase));
+        span.addProperty("parentSpanId", trace.getSpanId());
+        span.addProperty("name", phase.name);
+        span.addProperty("kind", SPAN_KIND_INTERNAL);
+        span.addProperty("startTimeUnixNano", Long.toString(start));
+        span.addProperty("endTimeUnixNano", Long.toString(start + phase.durationNanos));
+        return span;
+    }
+
+    /**
+     * Phase span ids are derived rather than stored so recording a phase stays allocation-light.
+     */
+    private static String childSpanId(String parentSpanId, Python3Trace.Phase phase) {
+        long mixed = Long.parseUnsignedLong(parentSpanId, 16) ^ (phase.name.hashCode() * 0x9E3779B97F4A7C15L)
+                ^ phase.startNanos;
+        String hex = Long.toHexString(mixed == 0 ? 1 : mixed);
+        return "0000000000000000".substring(hex.length()) + hex;
+    }
+
+    private static JsonObject attribute(String key, String value) {
+        JsonObject stringValue = new JsonObject();
+        stringValue.addProperty("stringValue", value);
+
+        JsonObject attribute = new JsonObject();
+        attribute.addProperty("key", key);
+        attribute.add("value", stringValue);
+        return attribute;
+    }
+
+    private void openWriter() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        writtenBytes = Files.size(file);
+    }
+
+    private void roll() throws IOException {
+        closeWriter();
+        Files.move(file, file.resolveSibling(file.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+        openWriter();
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOGGER.warn("Error closing trace file {}", file, e);
+            }
+            writer = null;
+        }
+    }
+}
@@ -5,12 +5,19 @@ This script runs as a persistent subprocess and handles JSON-RPC style commands.
 """
 
 import sys
+import builtins
 import json
 import traceback
 import importlib
+import importlib.abc
+import importlib.machinery
+import importlib.util
 import io
+import ast
 import contextlib
+import collections
 import os
+import time
 from typing import Any, Dict
 
 # Resource limits (configured via environment variables)
@@ -45,6 +52,60 @@ class SecurityException(Exception):
     pass
 
 
+class SavedScriptImporter(importlib.abc.MetaPathFinder, importlib.abc.Loader):
+    """Imports saved gateway scripts as modules: scripts.Folder.Name -> "Folder/Name" (v2.6.0)
+
+    The source is fetched from the gateway the first time a process imports a script; afterwards the
+    module is served from sys.modules like any other. Folders become packages. When an imported script
+    is re-saved, the gateway marks the next request with reset_scripts and every scripts.* module is
+    dropped, so dependents that did "from scripts.X import f" are reloaded too.
+
+    A module runs with the builtins and import checks of the request that imported it, and every
+    scripts.* module is dropped when a request arrives in another security mode, so a module loaded
+    for an ADMIN request is never reused by a RESTRICTED one.
+    """
+
+    PACKAGE = 'scripts'
+
+    def __init__(self, bridge):
+        self.bridge = bridge
+
+    def find_spec(self, fullname, path=None, target=None):
+        if fullname == self.PACKAGE:
+            return importlib.machinery.ModuleSpec(fullname, self, origin='gateway', is_package=True)
+        if not fullname.startswith(self.PACKAGE + '.'):
+            return None
+
+        script = self.bridge.fetch_script(fullname[len(self.PACKAGE) + 1:].replace('.', '/'))
+        if 'error' in script:
+            raise ImportError(f"Cannot import {fullname}: {script['error']}", name=fullname)
+        if script.get('kind') not in ('module', 'package'):
+            return None
+
+        spec = importlib.machinery.ModuleSpec(fullname, self, origin=f"gateway:{script['path']}",
+                                              is_package=script['kind'] == 'package')
+        spec.loader_state = script
+        return spec
+
+    def create_module(self, spec):
+        return None  # default module creation
+
+    def exec_module(self, module):
+        script = module.__spec__.loader_state
+        if script is None or script['kind'] == 'package':
+            return
+
+        # Validated and run under the importing request's security mode
+        code = script['code']
+        security_mode = self.bridge.security_mode
+        self.bridge._validate_code_security(code, security_mode)
+
+        module.__builtins__ = self.bridge._builtins_for(security_mode)
+        module.__script_path__ = script['path']
+        module.__script_version__ = script.get('version')
+        exec(compile(code, f"<script {script['path']}>", 'exec'), module.__dict__)
+
+
 class PythonBridge:
     """Handles communication between Java and Python 3"""
 
@@ -58,7 +119,8 @@ class PythonBridge:
             'decimal', 'random', 're', 'statistics', 'time', 'calendar',
             'uuid', 'hashlib', 'base64', 'string', 'textwrap',
             'difflib', 'enum', 'functools', 'operator', 'copy',
-            'ast'  # For syntax checking
+            'ast',  # For syntax checking
+            SavedScriptImporter.PACKAGE  # v2.6.0: saved gateway scripts (validated on import)
         }
 
         # Security: Admin modules (allowed ONLY in ADMIN mode)
@@ -85,17 +147,47 @@ class PythonBridge:
             'delattr', 'hasattr'
         }
 
+        # Phase timings (microseconds) for the current request, or None when not traced (v2.6.0)
+        self._timing = None
+
+        # Prepared code by gateway content hash: [code, code object or None, compile error or None,
+        # security modes already validated], least recently used first (v2.6.0)
+        self.prepared = collections.OrderedDict()
+
+        # Saved scripts by gateway key (script id + last modified), least recently used first (v2.6.0)
+        self.scripts = collections.OrderedDict()
+
+        # v2.6.0: Saved scripts importable as scripts.Folder.Name, ahead of anything on sys.path
+        self.security_mode = 'RESTRICTED'
+        self.script_modules_mode = 'RESTRICTED'  # mode the scripts.* modules in sys.modules were loaded in
+        sys.meta_path.insert(0, SavedScriptImporter(self))
+
+    def _phase(self, name: str, start_ns: int) -> int:
+        """Record a phase that started at start_ns (if tracing) and return the current time"""
+        now = time.perf_counter_ns()
+        if self._timing is not None:
+            key = name + '_us'
+            self._timing[key] = self._timing.get(key, 0) + (now - start_ns) // 1000
+        return now
+
     def _validate_code_security(self, code: str, security_mode: str = "RESTRICTED") -> None:
         """Validate code for security violations (raises exception if unsafe)
 
+        This is a text screen run before the code. Import statements are checked again when they run
+        (see _builtins_for), which catches imports the text does not show.
+
         Security modes:
-        - RESTRICTED: Only safe_modules allowed (default, for regular users)
-        - ADMIN: safe_modules + admin_modules allowed (for Ignition Administrators)
+        - RESTRICTED: admin_modules, blocked_functions and eval/exec/open-style calls rejected (default,
+          for regular users)
+        - ADMIN: admin_modules allowed and logged (for Ignition Administrators)
         """
         code_upper = code.upper()
 
+        # v2.6.0: Every module check needs an IMPORT keyword - skip them for plain expressions
+        has_import = 'IMPORT' in code_upper
+
         # Always check for always-blocked modules
-        for module in self.always_blocked_modules:
+        for module in (self.always_blocked_modules if has_import else ()):
             if f'IMPORT {module.upper()}' in code_upper or f'FROM {module.upper()} IMPORT' in code_upper:
                 raise SecurityException(
                     f"Security violation: Module '{module}' is always blocked for security reasons"
@@ -103,7 +195,7 @@ class PythonBridge:
 
         # In RESTRICTED mode, block admin modules
         if security_mode == "RESTRICTED":
-            blocked_modules = self.admin_modules
+            blocked_modules = self.admin_modules if has_import else ()
 
             for module in blocked_modules:
                 # Check "import module" pattern
@@ -143,17 +235,26 @@ class PythonBridge:
         # In ADMIN mode, allow admin modules but still log usage
         elif security_mode == "ADMIN":
             # Just log admin module usage for audit
-            for module in self.admin_modules:
+            for module in (self.admin_modules if has_import else ()):
                 if f'IMPORT {module.upper()}' in code_upper or f'FROM {module.upper()} IMPORT' in code_upper:
                     print(f"ADMIN MODE: Using privileged module '{module}'", file=sys.stderr)
 
     def _safe_import(self, name: str, security_mode: str = "RESTRICTED", *args, **kwargs):
-        """Restricted import function for safe module loading
+        """Whitelisted import for explicit module loads (call_module)
 
         Security modes:
         - RESTRICTED: Only safe_modules allowed
         - ADMIN: safe_modules + admin_modules allowed
+
+        Import statements use the same check through the __import__ from _builtins_for.
         """
+        self._check_import(name, security_mode)
+
+        # Import the module
+        return importlib.import_module(name)
+
+    def _check_import(self, name: str, security_mode: str) -> None:
+        """Raise ImportError unless the module may be imported in the security mode"""
         # Check if module is always blocked
         if name in self.always_blocked_modules or name.split('.')[0] in self.always_blocked_modules:
             raise ImportError(
@@ -177,43 +278,98 @@ class PythonBridge:
                     f"Allowed modules: {', '.join(sorted(allowed))}"
                 )
 
-        # Import the module
-        return importlib.import_module(name)
+    def _builtins_for(self, security_mode: str):
+        """Builtins for user code and the saved scripts it imports
 
-    def execute_code(self, code: str, variables: Dict[str, Any] = None, security_mode: str = "RESTRICTED") -> Dict[str, Any]:
+        RESTRICTED: the builtins without blocked_functions, and an __import__ that applies the
+        safe_modules whitelist whenever an import statement runs - in executed code, evaluated
+        expressions and saved-script modules alike. A module outside the whitelist raises ImportError
+        even if the text screen in _validate_code_security let it through. ADMIN: all builtins.
+        """
+        if security_mode != "RESTRICTED":
+            return builtins
+
+        def checked_import(name, globals=None, locals=None, fromlist=(), level=0):
+            target = name
+            if level > 0:
+                target = importlib.util.resolve_name('.' * level + name, (globals or {}).get('__package__'))
+            self._check_import(target, security_mode)
+            return builtins.__import__(name, globals, locals, fromlist, level)
+
+        safe_builtins = {k: v for k, v in vars(builtins).items() if k not in self.blocked_functions}
+        safe_builtins['__import__'] = checked_import
+        return safe_builtins
+
+    def fetch_script(self, path: str) -> Dict[str, Any]:
+        """Ask the gateway for a saved script or folder in the middle of a request (v2.6.0)
+
+        Writes {"fetch_script": path} instead of a response and reads the gateway's reply, which is
+        {"kind": "module", "path", "code", "version"}, {"kind": "package", "path"}, {} when nothing is
+        there, or {"error": ...}. Goes to the real stdout since user code may be redirecting sys.stdout.
+        """
+        t = time.perf_counter_ns()
+        sys.__stdout__.write(json.dumps({'fetch_script': path}) + '\n')
+        sys.__stdout__.flush()
+        line = sys.stdin.readline()
+        self._phase('fetch_script', t)
+        if not line:
+            raise ImportError(f"Gateway closed the connection while importing '{path}'")
+        return json.loads(line)
+
+    def _drop_script_modules(self) -> None:
+        """Forget every imported scripts.* module (v2.6.0)"""
+        prefix = SavedScriptImporter.PACKAGE + '.'
+        for name in list(sys.modules):
+            if name == SavedScriptImporter.PACKAGE or name.startswith(prefix):
+                del sys.modules[name]
+
+    def _exec_globals(self, variables: Dict[str, Any], security_mode: str) -> Dict[str, Any]:
+        """Globals for running user code: shared globals, the request's variables and mode-specific builtins"""
+        # Merge provided variables with globals
+        exec_globals = self.globals_dict.copy()
+        if variables:
+            exec_globals.update(variables)
+
+        # Add safe __import__ override with security mode
+        exec_globals['__import__'] = lambda name, *args, **kwargs: self._safe_import(name, security_mode, *args, **kwargs)
+
+        # Remove dangerous builtins (only in RESTRICTED mode)
+        exec_globals['__builtins__'] = self._builtins_for(security_mode)
+        return exec_globals
+
+    def execute_code(self, code: str, variables: Dict[str, Any] = None, security_mode: str = "RESTRICTED",
+                     compiled=None, validated_modes: set = None) -> Dict[str, Any]:
         """Execute Python code in restricted environment
 
         Security modes:
         - RESTRICTED: Only safe_modules allowed (default)
         - ADMIN: safe_modules + admin_modules allowed (for Ignition Administrators)
+
+        Prepared code (v2.6.0) passes its code object and the set of security modes it has already
+        passed validation in, so neither the compile nor the scan is repeated.
         """
         try:
             # SECURITY CHECK: Validate code before execution
-            self._validate_code_security(code, security_mode)
-
-            # Merge provided variables with globals
-            exec_globals = self.globals_dict.copy()
-            if variables:
-                exec_globals.update(variables)
+            t = time.perf_counter_ns()
+            if validated_modes is None or security_mode not in validated_modes:
+                self._validate_code_security(code, security_mode)
+                if validated_modes is not None:
+                    validated_modes.add(security_mode)
+            t = self._phase('security', t)
 
-            # Add safe __import__ override with security mode
-            exec_globals['__import__'] = lambda name, *args, **kwargs: self._safe_import(name, security_mode, *args, **kwargs)
-
-            # Remove dangerous builtins (only in RESTRICTED mode)
-            if security_mode == "RESTRICTED":
-                safe_builtins = {k: v for k, v in __builtins__.items()
-                               if k not in self.blocked_functions}
-                exec_globals['__builtins__'] = safe_builtins
-            else:  # ADMIN mode - allow all builtins
-                exec_globals['__builtins__'] = __builtins__
+            exec_globals = self._exec_globals(variables, security_mode)
 
             # Capture stdout during execution
             stdout_capture = io.StringIO()
+            t = self._phase('setup', t)
 
-            with contextlib.redirect_stdout(stdout_capture):
-                # Execute code in restricted environment
-                exec_locals = {}
-                exec(code, exec_globals, exec_locals)
+            try:
+                with contextlib.redirect_stdout(stdout_capture):
+                    # Execute code in restricted environment
+                    exec_locals = {}
+                    exec(compiled if compiled is not None else code, exec_globals, exec_locals)
+            finally:
+                t = self._phase('user_code', t)
 
             # Get captured output
             captured_output = stdout_capture.getvalue()
@@ -223,10 +379,12 @@ class PythonBridge:
 
             # Return the 'result' variable if it exists, otherwise return captured output
             result = exec_locals.get('result', captured_output if captured_output else None)
+            serialized = self._serialize(result)
+            self._phase('serialize', t)
 
             return {
                 'success': True,
-                'result': self._serialize(result),
+                'result': serialized,
                 'output': captured_output if captured_output else None
             }
 
@@ -243,6 +401,162 @@ class PythonBridge:
                 'traceback': traceback.format_exc()
             }
 
+    # Most prepared handles, and separately saved scripts, cached per process (v2.6.0)
+    MAX_PREPARED = 1000
+    UNKNOWN_HANDLE_ERROR = 'PREPARED_HANDLE_UNKNOWN'
+
+    def execute_prepared(self, handle: str, code: str = None, variables: Dict[str, Any] = None,
+                         security_mode: str = "RESTRICTED") -> Dict[str, Any]:
+        """Run code registered under a handle, installing it first if the request carries the code (v2.6.0)
+
+        The gateway sends the source only the first time this process sees a handle; afterwards
+        requests carry just the handle and variables. Code that fails to compile is kept too, so the
+        same error comes back without the source being sent again. An unknown handle without code
+        (evicted here, or a desync with the gateway) returns UNKNOWN_HANDLE_ERROR and the gateway
+        re-sends the source.
+        """
+        entry = self.prepared.get(handle)
+        if entry is None:
+            if code is None:
+                return {
+                    'success': False,
+                    'error': f"{self.UNKNOWN_HANDLE_ERROR}: {handle}"
+                }
+
+            t = time.perf_counter_ns()
+            try:
+                entry = [code, compile(code, f"<prepared {handle[:12]}>", 'exec'), None, set()]
+            except SyntaxError as e:
+                entry = [code, None, f"SyntaxError: {e}", set()]
+            self._phase('compile', t)
+
+            self.prepared[handle] = entry
+            if len(self.prepared) > self.MAX_PREPARED:
+                self.prepared.popitem(last=False)
+        else:
+            self.prepared.move_to_end(handle)
+
+        if entry[1] is None:
+            return {
+                'success': False,
+                'error': entry[2],
+                'traceback': ''
+            }
+        return self.execute_code(entry[0], variables, security_mode, compiled=entry[1], validated_modes=entry[3])
+
+    def call_script(self, key: str, code: str = None, args: list = None, kwargs: dict = None,
+                    security_mode: str = "RESTRICTED") -> Dict[str, Any]:
+        """Call a saved script cached under key (script id + last modified) (v2.6.0)
+
+        A script that opts in with a top-level __entry_point__ = "main" (naming one of its top-level
+        functions) has its body run once per security mode into its own namespace, so helpers and
+        constants stay defined; later calls only invoke that function and its return value is the
+        result. Every other script runs top to bottom with 'args'/'kwargs' variables as before, from a
+        cached code object. The response's 'warm' is False when this call loaded the script.
+        Like prepared code, the source is sent only the first time; an unknown key without code returns
+        UNKNOWN_HANDLE_ERROR.
+        """
+        entry = self.scripts.get(key)
+        if entry is None:
+            if code is None:
+                return {
+                    'success': False,
+                    'error': f"{self.UNKNOWN_HANDLE_ERROR}: {key}"
+                }
+
+            t = time.perf_counter_ns()
+            entry = {'code': code, 'compiled': None, 'error': None, 'entry_point': None,
+                     'validated': set(), 'main': {}}
+            try:
+                tree = compile(code, f"<script {key}>", 'exec', ast.PyCF_ONLY_AST)
+                entry['entry_point'] = self._declared_entry_point(tree)
+                entry['compiled'] = compile(tree, f"<script {key}>", 'exec')
+            except SyntaxError as e:
+                entry['error'] = f"SyntaxError: {e}"
+            self._phase('compile', t)
+
+            self.scripts[key] = entry
+            if len(self.scripts) > self.MAX_PREPARED:
+                self.scripts.popitem(last=False)
+            warm = False
+        else:
+            self.scripts.move_to_end(key)
+            warm = entry['entry_point'] is None or security_mode in entry['main']
+
+        if entry['error'] is not None:
+            return {
+                'success': False,
+                'error': entry['error'],
+                'traceback': ''
+            }
+
+        if entry['entry_point'] is None:
+            response = self.execute_code(entry['code'], {'args': args or [], 'kwargs': kwargs or {}},
+                                         security_mode, compiled=entry['compiled'],
+                                         validated_modes=entry['validated'])
+            response['warm'] = warm
+            return response
+
+        try:
+            t = time.perf_counter_ns()
+            if security_mode not in entry['validated']:
+                self._validate_code_security(entry['code'], security_mode)
+                entry['validated'].add(security_mode)
+            t = self._phase('security', t)
+
+            stdout_capture = io.StringIO()
+            try:
+                with contextlib.redirect_stdout(stdout_capture):
+                    main = entry['main'].get(security_mode)
+                    if main is None:
+                        # One namespace for globals and locals, so main sees the module's helpers
+                        namespace = self._exec_globals(None, security_mode)
+                        namespace['__name__'] = '__script__'
+                        exec(entry['compiled'], namespace)
+                        main = namespace.get(entry['entry_point'])
+                        if not callable(main):
+                            raise TypeError(f"Script entry point '{entry['entry_point']}' is not callable")
+                        entry['main'][security_mode] = main
+                    result = main(*(args or []), **(kwargs or {}))
+            finally:
+                t = self._phase('user_code', t)
+
+            captured_output = stdout_capture.getvalue()
+            serialized = self._serialize(result)
+            self._phase('serialize', t)
+
+            return {
+                'success': True,
+                'result': serialized,
+                'output': captured_output if captured_output else None,
+                'warm': warm
+            }
+
+        except SecurityException as e:
+            return {
+                'success': False,
+                'error': f"SECURITY ERROR: {str(e)}",
+                'traceback': ''  # Don't expose internal stack trace for security errors
+            }
+        except Exception as e:
+            return {
+                'success': False,
+                'error': str(e),
+                'traceback': traceback.format_exc()
+            }
+
+    @staticmethod
+    def _declared_entry_point(tree):
+        """Function named by a top-level __entry_point__ = "name" in a script, or None (v2.6.0)"""
+        functions = {node.name for node in tree.body if isinstance(node, ast.FunctionDef)}
+        for node in tree.body:
+            if (isinstance(node, ast.Assign) and len(node.targets) == 1
+                    and isinstance(node.targets[0], ast.Name) and node.targets[0].id == '__entry_point__'
+                    and isinstance(node.value, ast.Constant) and isinstance(node.value.value, str)
+                    and node.value.value in functions):
+                return node.value.value
+        return None
+
     def evaluate_expression(self, expression: str, variables: Dict[str, Any] = None, security_mode: str = "RESTRICTED") -> Dict[str, Any]:
         """Evaluate a Python expression in restricted environment
 
@@ -252,7 +566,9 @@ class PythonBridge:
         """
         try:
             # SECURITY CHECK: Validate expression before evaluation
+            t = time.perf_counter_ns()
             self._validate_code_security(expression, security_mode)
+            t = self._phase('security', t)
 
             # Merge provided variables with globals
             eval_globals = self.globals_dict.copy()
@@ -263,19 +579,21 @@ class PythonBridge:
             eval_globals['__import__'] = lambda name, *args, **kwargs: self._safe_import(name, security_mode, *args, **kwargs)
 
             # Remove dangerous builtins (only in RESTRICTED mode)
-            if security_mode == "RESTRICTED":
-                safe_builtins = {k: v for k, v in __builtins__.items()
-                               if k not in self.blocked_functions}
-                eval_globals['__builtins__'] = safe_builtins
-            else:  # ADMIN mode - allow all builtins
-                eval_globals['__builtins__'] = __builtins__
+            eval_globals['__builtins__'] = self._builtins_for(security_mode)
 
             # Evaluate expression in restricted environment
-            result = eval(expression, eval_globals)
+            t = self._phase('setup', t)
+            try:
+                result = eval(expression, eval_globals)
+            finally:
+                t = self._phase('user_code', t)
+
+            serialized = self._serialize(result)
+            self._phase('serialize', t)
 
             return {
                 'success': True,
-                'result': self._serialize(result)
+                'result': serialized
             }
 
         except SecurityException as e:
@@ -300,6 +618,7 @@ class PythonBridge:
         """
         try:
             # SECURITY CHECK: Validate module is always-blocked
+            t = time.perf_counter_ns()
             if module_name in self.always_blocked_modules or module_name.split('.')[0] in self.always_blocked_modules:
                 raise SecurityException(
                     f"Module '{module_name}' is always blocked for security reasons"
@@ -322,8 +641,11 @@ class PythonBridge:
                         f"Allowed modules: {', '.join(sorted(allowed))}"
                     )
 
+            t = self._phase('security', t)
+
             # Import module using safe import with security mode
             module = self._safe_import(module_name, security_mode)
+            t = self._phase('import', t)
 
             # Get function
             if not hasattr(module, function_name):
@@ -334,11 +656,17 @@ class PythonBridge:
             # Call function
             args = args or []
             kwargs = kwargs or {}
-            result = func(*args, **kwargs)
+            try:
+                result = func(*args, **kwargs)
+            finally:
+                t = self._phase('user_code', t)
+
+            serialized = self._serialize(result)
+            self._phase('serialize', t)
 
             return {
                 'success': True,
-                'result': self._serialize(result)
+                'result': serialized
             }
 
         except SecurityException as e:
@@ -354,6 +682,49 @@ class PythonBridge:
                 'traceback': traceback.format_exc()
             }
 
+    # Commands that may appear inside a batch (v2.6.0)
+    BATCH_COMMANDS = ('execute', 'evaluate', 'call_module')
+
+    def execute_batch(self, operations: list, security_mode: str = "RESTRICTED") -> Dict[str, Any]:
+        """Run execute / evaluate / call_module operations in order in one request (v2.6.0)
+
+        Every operation runs with the batch's security mode and gets its own success/result/error
+        entry, so a failing item does not stop the items after it.
+        """
+        if not isinstance(operations, list):
+            return {
+                'success': False,
+                'error': "Batch 'operations' must be a list"
+            }
+
+        results = []
+        for operation in operations:
+            if not isinstance(operation, dict):
+                results.append({'success': False, 'error': 'Batch operation must be an object'})
+                continue
+
+            command = operation.get('command')
+            if command not in self.BATCH_COMMANDS:
+                results.append({'success': False, 'error': f"Command not allowed in a batch: {command}"})
+                continue
+
+            # Items cannot choose their own security mode
+            item = dict(operation)
+            item['security_mode'] = security_mode
+            try:
+                results.append(self.process_request(item))
+            except Exception as e:
+                results.append({
+                    'success': False,
+                    'error': f"Unexpected error: {str(e)}",
+                    'traceback': traceback.format_exc()
+                })
+
+        return {
+            'success': True,
+            'result': results
+        }
+
     def get_version(self) -> Dict[str, Any]:
         """Get Python version information"""
         return {
@@ -629,6 +1000,12 @@ class PythonBridge:
         # Extract security_mode from request (default to RESTRICTED)
         security_mode = request.get('security_mode', 'RESTRICTED')
 
+        # v2.6.0: An imported saved script changed, or the script modules were loaded in another mode
+        if request.get('reset_scripts') or security_mode != self.script_modules_mode:
+            self._drop_script_modules()
+        self.script_modules_mode = security_mode
+        self.security_mode = security_mode
+
         if command == 'execute':
             return self.execute_code(
                 request.get('code', ''),
@@ -652,6 +1029,29 @@ class PythonBridge:
                 security_mode
             )
 
+        elif command == 'execute_prepared':
+            return self.execute_prepared(
+                request.get('handle', ''),
+                request.get('code'),
+                request.get('variables'),
+                security_mode
+            )
+
+        elif command == 'call_script':
+            return self.call_script(
+                request.get('key', ''),
+                request.get('code'),
+                request.get('args'),
+                request.get('kwargs'),
+                security_mode
+            )
+
+        elif command == 'batch':
+            return self.execute_batch(
+                request.get('operations'),
+                security_mode
+            )
+
         elif command == 'version':
             return self.get_version()
 
@@ -702,8 +1102,13 @@ class PythonBridge:
                     break
 
                 # Parse request
+                t = time.perf_counter_ns()
                 request = json.loads(line.strip())
 
+                # v2.6.0: Phase timing requested by a traced caller
+                self._timing = {} if request.get('trace') else None
+                self._phase('decode', t)
+
                 # Check for shutdown command
                 if request.get('command') == 'shutdown':
                     sys.stdout.write(json.dumps({'success': True, 'result': 'shutting down'}) + '\n')
@@ -714,7 +1119,14 @@ class PythonBridge:
                 response = self.process_request(request)
 
                 # Write response
-                sys.stdout.write(json.dumps(response) + '\n')
+                t = time.perf_counter_ns()
+                encoded = json.dumps(response)
+                if self._timing is not None and len(encoded) > 2 and encoded.endswith('}'):
+                    # Splice the timing in rather than encoding the response twice
+                    self._phase('encode', t)
+                    encoded = encoded[:-1] + ', "timing": ' + json.dumps(self._timing) + '}'
+                    self._timing = None
+                sys.stdout.write(encoded + '\n')
                 sys.stdout.flush()
 
             except json.JSONDecodeError as e:
@@ -28,3 +28,4 @@ rootProject.name = "python3-integration"
 include(":common")
 include(":gateway")
 include(":designer")  // Designer scope for Python 3 IDE (v1.7.0+)
+include(":benchmarks")  // JMH microbenchmarks (v2.6.0, not packaged)